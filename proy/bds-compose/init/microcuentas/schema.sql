@@ -6,9 +6,13 @@ CREATE TABLE IF NOT EXISTS cuenta (
     saldo_inicial DECIMAL(19,2) NOT NULL DEFAULT 0.00,
     estado VARCHAR(20) NOT NULL,
     fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
+-- Bases creadas antes de la versión (bloqueo optimista y ETag de cuentas y estados de cuenta)
+ALTER TABLE cuenta ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 -- Crear tabla de movimientos
 CREATE TABLE IF NOT EXISTS movimiento (
     id BIGSERIAL PRIMARY KEY,
@@ -0,0 +1,180 @@
+#!/bin/bash
+
+# Benchmark de arranque de los servicios
+# Uso: [ETIQUETA=texto] ./benchmark-arranque.sh [servicio|all] [modo|all] [repeticiones]
+#
+# Por cada arranque mide:
+#   - primera_peticion_ms: desde que se lanza la JVM hasta la primera respuesta 200 de la URL del servicio
+#   - rss_kb: memoria residente del proceso justo después de esa primera respuesta
+#   - clases: clases cargadas en ese momento (jcmd PerfCounter.print)
+#   - metaspace_kb: metaspace usado (jcmd GC.heap_info)
+#   - heap_kb: heap usado tras un GC completo (jcmd GC.run + GC.heap_info)
+# y añade una línea a benchmark-arranque/resultados.csv.
+#
+# ETIQUETA distingue compilaciones del mismo servicio (por ejemplo "antes" y "despues" de un cambio
+# de dependencias): el resumen final agrupa por servicio, modo y etiqueta.
+#
+# Modos:
+#   normal       JAR ejecutable habitual (mvn package)
+#   rapido       JAR de mvn -Parranque-rapido package: Spring AOT + archivo AppCDS (target/app.jsa)
+#   rapido-lazy  igual que rapido, con spring.main.lazy-initialization=true
+#
+# microclientes y microcuentas necesitan su base de datos levantada; Eureka no es necesario
+# (el cliente reintenta el registro en segundo plano).
+
+SERVICIO=${1:-all}
+MODO=${2:-all}
+REPETICIONES=${3:-5}
+ETIQUETA=${ETIQUETA:-actual}
+
+# Colores para output
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+CYAN='\033[0;36m'
+NC='\033[0m' # No Color
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+RESULTADOS_DIR="$DIR/benchmark-arranque"
+RESULTADOS="$RESULTADOS_DIR/resultados.csv"
+TIMEOUT_S=180
+
+# servicio -> directorio del proyecto y URL de la primera petición
+declare -A PROYECTO=(
+    [eureka]="eureka-server"
+    [gateway]="gateway/gateway"
+    [clientes]="microclientes/microclientes"
+    [cuentas]="microcuentas/microcuentas"
+)
+declare -A URL=(
+    [eureka]="http://localhost:8761/actuator/health"
+    [gateway]="http://localhost:8083/actuator/health"
+    [clientes]="http://localhost:8080/clientes?size=1"
+    [cuentas]="http://localhost:8081/cuentas"
+)
+
+ms_ahora() {
+    date +%s%3N
+}
+
+# Línea de comandos java para un servicio y un modo
+comando() {
+    local proyecto="$DIR/${PROYECTO[$1]}"
+    local modo=$2
+    local opciones="-Dspring.devtools.restart.enabled=false"
+    case $modo in
+        normal)
+            local jar
+            jar=$(ls "$proyecto"/target/*.jar 2>/dev/null | grep -v -- '-exec.jar$' | head -1)
+            echo "java $opciones -jar $jar"
+            ;;
+        rapido|rapido-lazy)
+            local jar
+            jar=$(ls "$proyecto"/target/*.jar 2>/dev/null | grep -v -- '-exec.jar$' | head -1)
+            opciones="$opciones -XX:SharedArchiveFile=$proyecto/target/app.jsa -Dspring.aot.enabled=true -Dspring.cloud.refresh.enabled=false"
+            if [ "$modo" = "rapido-lazy" ]; then
+                opciones="$opciones -Dspring.main.lazy-initialization=true"
+            fi
+            echo "java $opciones -jar $jar"
+            ;;
+    esac
+}
+
+medir() {
+    local servicio=$1
+    local modo=$2
+    local repeticion=$3
+    local cmd
+    cmd=$(comando "$servicio" "$modo")
+
+    if [[ "$modo" != "normal" && ! -f "$DIR/${PROYECTO[$servicio]}/target/app.jsa" ]]; then
+        echo -e "${RED}Falta target/app.jsa en ${PROYECTO[$servicio]}: compilar con mvn -Parranque-rapido package${NC}"
+        return 1
+    fi
+
+    local inicio
+    inicio=$(ms_ahora)
+    (cd "$DIR/${PROYECTO[$servicio]}" && exec $cmd > "$RESULTADOS_DIR/$servicio-$modo.log" 2>&1) &
+    local pid=$!
+
+    local fin=""
+    while [ $(( $(ms_ahora) - inicio )) -lt $(( TIMEOUT_S * 1000 )) ]; do
+        if ! kill -0 $pid 2>/dev/null; then
+            break
+        fi
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' "${URL[$servicio]}")" = "200" ]; then
+            fin=$(ms_ahora)
+            break
+        fi
+        sleep 0.05
+    done
+
+    local rss clases metaspace heap
+    rss=$(awk '/VmRSS/ {print $2}' /proc/$pid/status 2>/dev/null)
+    clases=$(jcmd $pid PerfCounter.print 2>/dev/null \
+        | awk -F= '/java.cls.loadedClasses=/ {l=$2} /java.cls.unloadedClasses=/ {u=$2} END {print l-u}')
+    jcmd $pid GC.run > /dev/null 2>&1
+    local heap_info
+    heap_info=$(jcmd $pid GC.heap_info 2>/dev/null)
+    heap=$(echo "$heap_info" | grep -v Metaspace | grep -o -m1 'used [0-9]*K' | grep -o '[0-9]*')
+    metaspace=$(echo "$heap_info" | grep -o 'Metaspace *used [0-9]*K' | grep -o '[0-9]*')
+    kill $pid 2>/dev/null
+    wait $pid 2>/dev/null
+
+    if [ -z "$fin" ]; then
+        echo -e "${RED}$servicio ($modo): sin respuesta en ${TIMEOUT_S}s, ver $RESULTADOS_DIR/$servicio-$modo.log${NC}"
+        return 1
+    fi
+
+    local total=$(( fin - inicio ))
+    echo "$(date -Iseconds),$servicio,$modo,$ETIQUETA,$repeticion,$total,$rss,$clases,$metaspace,$heap" >> "$RESULTADOS"
+    echo -e "  ${GREEN}$servicio${NC} ($modo, $ETIQUETA) #$repeticion: ${YELLOW}${total} ms${NC}, RSS ${rss} kB," \
+        "$clases clases, metaspace ${metaspace} kB, heap ${heap} kB"
+}
+
+mkdir -p "$RESULTADOS_DIR"
+if [ ! -f "$RESULTADOS" ]; then
+    echo "fecha,servicio,modo,etiqueta,repeticion,primera_peticion_ms,rss_kb,clases,metaspace_kb,heap_kb" > "$RESULTADOS"
+fi
+
+if [ "$SERVICIO" = "all" ]; then
+    SERVICIOS="eureka gateway clientes cuentas"
+else
+    SERVICIOS=$SERVICIO
+fi
+if [ "$MODO" = "all" ]; then
+    MODOS="normal rapido rapido-lazy"
+else
+    MODOS=$MODO
+fi
+
+echo -e "${CYAN}=== Benchmark de arranque ($REPETICIONES repeticiones) ===${NC}"
+for servicio in $SERVICIOS; do
+    if [ -z "${PROYECTO[$servicio]}" ]; then
+        echo -e "${RED}Servicio desconocido: $servicio (eureka, gateway, clientes, cuentas)${NC}"
+        exit 1
+    fi
+    for modo in $MODOS; do
+        for i in $(seq 1 "$REPETICIONES"); do
+            medir "$servicio" "$modo" "$i"
+        done
+    done
+done
+
+# Mediana por servicio, modo y etiqueta de todas las mediciones guardadas
+mediana() {
+    awk -F, -v s="$1" -v m="$2" -v e="$3" -v c="$4" '$2==s && $3==m && $4==e {print $c}' "$RESULTADOS" | sort -n \
+        | awk '{v[NR]=$1} END {print (NR%2 ? v[(NR+1)/2] : int((v[NR/2]+v[NR/2+1])/2))}'
+}
+
+echo ""
+echo -e "${CYAN}=== Mediana por servicio, modo y etiqueta ===${NC}"
+printf "%-10s %-12s %-10s %8s %9s %8s %15s %10s\n" "servicio" "modo" "etiqueta" "ms" "RSS (MB)" "clases" "metaspace (MB)" "heap (MB)"
+tail -n +2 "$RESULTADOS" | cut -d, -f2,3,4 | sort -u | while IFS=, read -r servicio modo etiqueta; do
+    printf "%-10s %-12s %-10s %8s %9s %8s %15s %10s\n" "$servicio" "$modo" "$etiqueta" \
+        "$(mediana "$servicio" "$modo" "$etiqueta" 6)" \
+        "$(( $(mediana "$servicio" "$modo" "$etiqueta" 7) / 1024 ))" \
+        "$(mediana "$servicio" "$modo" "$etiqueta" 8)" \
+        "$(( $(mediana "$servicio" "$modo" "$etiqueta" 9) / 1024 ))" \
+        "$(( $(mediana "$servicio" "$modo" "$etiqueta" 10) / 1024 ))"
+done
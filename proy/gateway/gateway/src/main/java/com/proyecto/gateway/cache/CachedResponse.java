@@ -0,0 +1,106 @@
+package com.proyecto.gateway.cache;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Respuesta GET almacenada en la caché del gateway.
+ * Es inmutable: una revalidación crea una copia con la nueva marca de tiempo.
+ *
+ * Guarda también los valores que tenían en la petición las cabeceras nombradas en el Vary de
+ * la respuesta; solo se sirve a peticiones con los mismos valores.
+ */
+public final class CachedResponse {
+
+    /** Sobrecoste aproximado por entrada (objeto, clave, nodos del mapa) */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+    private final long storedAtNanos;
+    private final long size;
+    private final Map<String, List<String>> varyValues;
+
+    public CachedResponse(int status, HttpHeaders headers, byte[] body, long storedAtNanos) {
+        this(status, headers, body, storedAtNanos, Map.of());
+    }
+
+    public CachedResponse(int status, HttpHeaders headers, byte[] body, long storedAtNanos,
+            Map<String, List<String>> varyValues) {
+        this.status = status;
+        this.varyValues = Map.copyOf(varyValues);
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+        this.etag = headers.getETag();
+        this.storedAtNanos = storedAtNanos;
+        this.size = body.length + headerBytes(headers) + ENTRY_OVERHEAD;
+    }
+
+    private CachedResponse(CachedResponse source, long storedAtNanos) {
+        this.status = source.status;
+        this.headers = source.headers;
+        this.body = source.body;
+        this.etag = source.etag;
+        this.storedAtNanos = storedAtNanos;
+        this.size = source.size;
+        this.varyValues = source.varyValues;
+    }
+
+    /**
+     * Copia de la entrada marcada como recién validada por el backend (304)
+     */
+    public CachedResponse refreshed(long nowNanos) {
+        return new CachedResponse(this, nowNanos);
+    }
+
+    /**
+     * @return true si la petición tiene los mismos valores que la original en las cabeceras del Vary
+     */
+    public boolean matches(HttpHeaders requestHeaders) {
+        for (Map.Entry<String, List<String>> vary : varyValues.entrySet()) {
+            List<String> values = requestHeaders.getOrEmpty(vary.getKey());
+            if (!vary.getValue().equals(values)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getStoredAtNanos() {
+        return storedAtNanos;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    private static long headerBytes(HttpHeaders headers) {
+        long bytes = 0;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                bytes += header.getKey().length() + value.length();
+            }
+        }
+        return bytes;
+    }
+}
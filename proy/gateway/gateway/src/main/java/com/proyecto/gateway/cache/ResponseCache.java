@@ -0,0 +1,148 @@
+package com.proyecto.gateway.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché LRU de respuestas de una ruta, acotada por número de entradas y por bytes.
+ * Las operaciones sobre el mapa se sincronizan; los contadores son LongAdder
+ * para no contender en la ruta de lectura de métricas.
+ *
+ * Cada invalidación incrementa una generación: una respuesta pedida antes de la invalidación
+ * se descarta al guardarla, para no dejar en caché una lectura anterior a la escritura.
+ */
+public class ResponseCache {
+
+    private final String routeId;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long maxEntrySize;
+
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ResponseCache(String routeId, Duration ttl, int maxEntries, long maxBytes, long maxEntrySize) {
+        this.routeId = routeId;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Guarda una respuesta y expulsa las menos usadas hasta respetar los límites
+     * @return false si la respuesta supera el tamaño máximo por entrada
+     */
+    public synchronized boolean put(String key, CachedResponse response) {
+        if (response.getSize() > maxEntrySize) {
+            return false;
+        }
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            bytes -= previous.getSize();
+        }
+        bytes += response.getSize();
+
+        Iterator<CachedResponse> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().getSize();
+            eldest.remove();
+        }
+        return true;
+    }
+
+    /**
+     * Guarda la respuesta solo si no ha habido invalidaciones desde que se leyó la generación
+     * @return false si la respuesta es anterior a una invalidación o supera el tamaño máximo
+     */
+    public synchronized boolean put(String key, CachedResponse response, long expectedGeneration) {
+        return generation == expectedGeneration && put(key, response);
+    }
+
+    /**
+     * Generación actual; se lee antes de pedir la respuesta al backend
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        if (!entries.isEmpty()) {
+            entries.clear();
+            bytes = 0;
+        }
+        invalidations.increment();
+    }
+
+    public boolean isFresh(CachedResponse response, long nowNanos) {
+        return nowNanos - response.getStoredAtNanos() < ttlNanos;
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Proporción de peticiones servidas sin transferir el cuerpo desde el backend
+     * (aciertos directos y revalidaciones con 304)
+     */
+    public double getHitRatio() {
+        long served = hits.sum() + revalidations.sum();
+        long total = served + misses.sum();
+        return total == 0 ? 0.0 : (double) served / total;
+    }
+}
@@ -0,0 +1,93 @@
+package com.proyecto.gateway.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.proyecto.gateway.config.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Crea una caché por ruta configurada y publica sus métricas en Micrometer
+ * (gateway.cache.*, etiquetadas por route).
+ */
+@Component
+public class ResponseCacheManager {
+
+    private final Map<String, ResponseCache> caches = new HashMap<>();
+
+    // Ruta que recibe la escritura -> cachés que deben invalidarse
+    private final Map<String, List<ResponseCache>> invalidations = new HashMap<>();
+
+    public ResponseCacheManager(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        properties.getRoutes().forEach((routeId, config) -> {
+            ResponseCache cache = new ResponseCache(routeId, config.getTtl(), config.getMaxEntries(),
+                    config.getMaxBytes().toBytes(), config.getMaxEntrySize().toBytes());
+            caches.put(routeId, cache);
+            invalidations.computeIfAbsent(routeId, id -> new ArrayList<>()).add(cache);
+            config.getInvalidatedBy().forEach(other ->
+                    invalidations.computeIfAbsent(other, id -> new ArrayList<>()).add(cache));
+            registerMetrics(cache, meterRegistry);
+        });
+    }
+
+    /**
+     * @return la caché de la ruta o null si la ruta no está configurada
+     */
+    public ResponseCache getCache(String routeId) {
+        return caches.get(routeId);
+    }
+
+    /**
+     * Invalida la caché de la ruta y las que dependen de ella
+     */
+    public void invalidate(String routeId) {
+        List<ResponseCache> affected = invalidations.get(routeId);
+        if (affected != null) {
+            affected.forEach(ResponseCache::invalidateAll);
+        }
+    }
+
+    public boolean invalidates(String routeId) {
+        return invalidations.containsKey(routeId);
+    }
+
+    public Map<String, ResponseCache> getCaches() {
+        return Collections.unmodifiableMap(caches);
+    }
+
+    private void registerMetrics(ResponseCache cache, MeterRegistry registry) {
+        String route = cache.getRouteId();
+        Gauge.builder("gateway.cache.bytes", cache, ResponseCache::getBytes)
+                .tag("route", route)
+                .baseUnit("bytes")
+                .description("Bytes retenidos por la caché de respuestas")
+                .register(registry);
+        Gauge.builder("gateway.cache.entries", cache, ResponseCache::size)
+                .tag("route", route)
+                .register(registry);
+        Gauge.builder("gateway.cache.hit.ratio", cache, ResponseCache::getHitRatio)
+                .tag("route", route)
+                .description("Aciertos (incluidas revalidaciones 304) sobre el total de GET cacheables")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.requests", cache, ResponseCache::getHits)
+                .tag("route", route).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.requests", cache, ResponseCache::getMisses)
+                .tag("route", route).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.requests", cache, ResponseCache::getRevalidations)
+                .tag("route", route).tag("result", "revalidated")
+                .register(registry);
+        FunctionCounter.builder("gateway.cache.invalidations", cache, ResponseCache::getInvalidations)
+                .tag("route", route)
+                .register(registry);
+    }
+}
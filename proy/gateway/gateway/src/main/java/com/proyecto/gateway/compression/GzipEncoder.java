@@ -0,0 +1,127 @@
+package com.proyecto.gateway.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Codificador gzip incremental: recibe el cuerpo por trozos y devuelve en cada llamada
+ * los bytes comprimidos que el Deflater ya tiene listos, sin retener el cuerpo completo.
+ * Lee directamente de los ByteBuffer de entrada, sin copiarlos a un array.
+ */
+public class GzipEncoder implements AutoCloseable {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] chunk = new byte[8192];
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(8192);
+
+    private boolean headerWritten;
+    private long bytesIn;
+    private long bytesOut;
+
+    public GzipEncoder(int level) {
+        this.deflater = new Deflater(level, true);
+    }
+
+    /**
+     * Comprime un trozo del cuerpo
+     * @return los bytes comprimidos disponibles (puede estar vacío)
+     */
+    public byte[] encode(ByteBuffer input) {
+        write(input);
+        return take();
+    }
+
+    /**
+     * Comprime un trozo sin devolver nada todavía: la salida se acumula hasta take(), para
+     * juntar en un solo bloque la de varios ByteBuffer de la misma entrada
+     */
+    public void write(ByteBuffer input) {
+        writeHeader();
+        bytesIn += input.remaining();
+        crc.update(input.duplicate());
+        deflater.setInput(input);
+        while (!deflater.needsInput()) {
+            drain(Deflater.NO_FLUSH);
+        }
+    }
+
+    /**
+     * Vacía lo que el Deflater tiene retenido (SYNC_FLUSH) para que el cliente pueda descomprimir
+     * todo lo recibido hasta ahora; se usa en respuestas en streaming
+     * @return los bytes comprimidos disponibles, incluidos los acumulados con write
+     */
+    public byte[] flush() {
+        writeHeader();
+        int n;
+        do {
+            n = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH);
+            if (n > 0) {
+                pending.write(chunk, 0, n);
+            }
+        } while (n == chunk.length);
+        return take();
+    }
+
+    /**
+     * Termina el stream: vacía el Deflater y añade el trailer gzip (CRC32 y tamaño)
+     */
+    public byte[] finish() {
+        writeHeader();
+        deflater.finish();
+        while (!deflater.finished()) {
+            drain(Deflater.NO_FLUSH);
+        }
+        writeIntLE((int) crc.getValue());
+        writeIntLE((int) bytesIn);
+        return take();
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    @Override
+    public void close() {
+        deflater.end();
+    }
+
+    private void writeHeader() {
+        if (!headerWritten) {
+            pending.write(HEADER, 0, HEADER.length);
+            headerWritten = true;
+        }
+    }
+
+    private void drain(int flush) {
+        int n = deflater.deflate(chunk, 0, chunk.length, flush);
+        if (n > 0) {
+            pending.write(chunk, 0, n);
+        }
+    }
+
+    private void writeIntLE(int value) {
+        pending.write(value & 0xff);
+        pending.write((value >> 8) & 0xff);
+        pending.write((value >> 16) & 0xff);
+        pending.write((value >> 24) & 0xff);
+    }
+
+    /**
+     * Bytes comprimidos acumulados desde la última llamada (puede estar vacío)
+     */
+    public byte[] take() {
+        byte[] bytes = pending.toByteArray();
+        pending.reset();
+        bytesOut += bytes.length;
+        return bytes;
+    }
+}
@@ -0,0 +1,70 @@
+package com.proyecto.gateway.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Compresión de respuestas en el gateway (ver CompressionFilter).
+ */
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    /** Respuestas con Content-Length menor no se comprimen; las de longitud desconocida sí */
+    private DataSize minSize = DataSize.ofKilobytes(2);
+
+    /** Tipos de contenido que se comprimen */
+    private List<String> mimeTypes = new ArrayList<>(List.of(
+            "application/json", "application/x-ndjson", "application/xml",
+            "application/javascript", "text/*"));
+
+    /** Nivel de Deflater (1 = más rápido, 9 = más compacto) */
+    private int level = 6;
+
+    /** Rutas a las que se aplica; vacío = todas */
+    private List<String> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(DataSize minSize) {
+        this.minSize = minSize;
+    }
+
+    public List<String> getMimeTypes() {
+        return mimeTypes;
+    }
+
+    public void setMimeTypes(List<String> mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public List<String> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<String> routes) {
+        this.routes = routes;
+    }
+}
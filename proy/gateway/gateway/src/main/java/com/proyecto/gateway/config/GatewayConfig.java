@@ -2,6 +2,9 @@ package com.proyecto.gateway.config;
 
 import java.util.Arrays;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -9,8 +12,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.proyecto.gateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
 
 @Configuration
+@EnableConfigurationProperties({ResponseCacheProperties.class, LoadBalancingProperties.class,
+        RateLimitProperties.class, UpstreamPoolProperties.class, CompressionProperties.class})
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
 public class GatewayConfig {
 
     @Bean
@@ -21,40 +30,50 @@ public class GatewayConfig {
                         .path("/api/v1/clientes/**")
                         .filters(f -> f
                                 .stripPrefix(1)
-                                .addRequestHeader("X-Response-Time", System.currentTimeMillis() + "")
                                 .addResponseHeader("X-Gateway-Source", "Spring-Cloud-Gateway"))
-                        .uri("http://localhost:8080"))
+                        .uri("lb://microclientes"))
                 
                 // Ruta para microservicio de cuentas
                 .route("cuentas-service", r -> r
                         .path("/api/v1/cuentas/**")
                         .filters(f -> f
                                 .stripPrefix(1)
-                                .addRequestHeader("X-Response-Time", System.currentTimeMillis() + "")
                                 .addResponseHeader("X-Gateway-Source", "Spring-Cloud-Gateway"))
-                        .uri("http://localhost:8081"))
+                        .uri("lb://microcuentas"))
                 
                 // Ruta para microservicio de movimientos
                 .route("movimientos-service", r -> r
                         .path("/api/v1/movimientos/**")
                         .filters(f -> f
                                 .stripPrefix(1)
-                                .addRequestHeader("X-Response-Time", System.currentTimeMillis() + "")
                                 .addResponseHeader("X-Gateway-Source", "Spring-Cloud-Gateway"))
-                        .uri("http://localhost:8081"))
+                        .uri("lb://microcuentas"))
                 
-                // Ruta para microservicio de reportes
+                // Ruta para microservicio de reportes. /reportes/jobs se balancea sin afinidad: el estado
+                // de los jobs está en la tabla reporte_job y sus resultados en un directorio compartido por
+                // las instancias de microcuentas, así que cualquiera responde al progreso y a la descarga
                 .route("reportes-service", r -> r
                         .path("/api/v1/reportes/**")
                         .filters(f -> f
                                 .stripPrefix(1)
-                                .addRequestHeader("X-Response-Time", System.currentTimeMillis() + "")
                                 .addResponseHeader("X-Gateway-Source", "Spring-Cloud-Gateway"))
-                        .uri("http://localhost:8081"))
+                        .uri("lb://microcuentas"))
                 
                 .build();
     }
 
+    /**
+     * WebClient que resuelve http://microclientes y http://microcuentas por Eureka,
+     * usado por los endpoints compuestos del gateway (ResumenController).
+     * Parte del WebClient.Builder de Spring Boot (codecs y ObservationRegistry, que propaga
+     * traceparent); no se declara un WebClient.Builder propio porque el de Boot dejaría de crearse.
+     */
+    @Bean
+    public WebClient loadBalancedWebClient(WebClient.Builder webClientBuilder,
+                                           LoadBalancedExchangeFilterFunction loadBalancerFilter) {
+        return webClientBuilder.clone().filter(loadBalancerFilter).build();
+    }
+
     @Bean
     public CorsWebFilter corsWebFilter() {
         CorsConfiguration corsConfig = new CorsConfiguration();
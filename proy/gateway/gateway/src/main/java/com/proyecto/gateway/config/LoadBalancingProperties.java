@@ -0,0 +1,34 @@
+package com.proyecto.gateway.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parámetros del balanceador por latencia (LatencyAwareLoadBalancer).
+ */
+@ConfigurationProperties(prefix = "gateway.loadbalancer")
+public class LoadBalancingProperties {
+
+    /** Constante de tiempo con la que la latencia observada de una instancia se olvida */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /** Latencia que se imputa a una instancia cuando la petición falla o responde 5xx */
+    private Duration errorPenalty = Duration.ofSeconds(1);
+
+    public Duration getDecayTime() {
+        return decayTime;
+    }
+
+    public void setDecayTime(Duration decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    public Duration getErrorPenalty() {
+        return errorPenalty;
+    }
+
+    public void setErrorPenalty(Duration errorPenalty) {
+        this.errorPenalty = errorPenalty;
+    }
+}
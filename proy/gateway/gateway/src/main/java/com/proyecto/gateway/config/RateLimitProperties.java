@@ -0,0 +1,112 @@
+package com.proyecto.gateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Límites de peticiones en memoria por id de ruta.
+ * Solo las rutas declaradas en gateway.ratelimit.routes.* se limitan.
+ */
+@ConfigurationProperties(prefix = "gateway.ratelimit")
+public class RateLimitProperties {
+
+    private Map<String, RouteLimit> routes = new HashMap<>();
+
+    /** Cada cuánto se eliminan los buckets llenos (clientes inactivos) */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    /** Claves máximas por ruta; por encima, se expulsan las menos usadas */
+    private int maxKeys = 1_000_000;
+
+    /** Claves de API válidas; una cabecera con cualquier otro valor se limita por IP */
+    private Set<String> apiKeys = new HashSet<>();
+
+    public Map<String, RouteLimit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteLimit> routes) {
+        this.routes = routes;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public Set<String> getApiKeys() {
+        return apiKeys;
+    }
+
+    public void setApiKeys(Set<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    public enum KeySource {
+        /** Valor de la cabecera configurada si está en api-keys; si no, la dirección remota */
+        API_KEY,
+        /** Dirección IP del cliente */
+        REMOTE_ADDRESS
+    }
+
+    public static class RouteLimit {
+
+        /** Peticiones que un cliente puede hacer de golpe */
+        private int capacity = 100;
+
+        /** Peticiones por segundo que se reponen */
+        private double refillPerSecond = 50;
+
+        private KeySource keySource = KeySource.API_KEY;
+
+        private String header = "X-API-Key";
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public KeySource getKeySource() {
+            return keySource;
+        }
+
+        public void setKeySource(KeySource keySource) {
+            this.keySource = keySource;
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        public void setHeader(String header) {
+            this.header = header;
+        }
+    }
+}
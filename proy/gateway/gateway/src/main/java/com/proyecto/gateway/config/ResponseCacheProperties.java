@@ -0,0 +1,86 @@
+package com.proyecto.gateway.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuración de la caché de respuestas GET por id de ruta.
+ * Solo las rutas declaradas en gateway.cache.routes.* se cachean.
+ */
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    private Map<String, RouteCache> routes = new HashMap<>();
+
+    public Map<String, RouteCache> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RouteCache> routes) {
+        this.routes = routes;
+    }
+
+    public static class RouteCache {
+
+        /** Tiempo durante el cual una entrada se sirve sin consultar al backend */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /** Número máximo de entradas de la ruta */
+        private int maxEntries = 1000;
+
+        /** Bytes máximos retenidos por la ruta (cuerpos + cabeceras) */
+        private DataSize maxBytes = DataSize.ofMegabytes(16);
+
+        /** Respuestas más grandes que este tamaño no se cachean */
+        private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+
+        /** Otras rutas cuyas escrituras también invalidan esta caché */
+        private List<String> invalidatedBy = new ArrayList<>();
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public DataSize getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(DataSize maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public DataSize getMaxEntrySize() {
+            return maxEntrySize;
+        }
+
+        public void setMaxEntrySize(DataSize maxEntrySize) {
+            this.maxEntrySize = maxEntrySize;
+        }
+
+        public List<String> getInvalidatedBy() {
+            return invalidatedBy;
+        }
+
+        public void setInvalidatedBy(List<String> invalidatedBy) {
+            this.invalidatedBy = invalidatedBy;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.proyecto.gateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Pools de conexiones hacia los backends por id de ruta (ver PooledNettyRoutingFilter).
+ * Las rutas sin entrada en gateway.upstream.routes.* usan el pool global de
+ * spring.cloud.gateway.httpclient.pool.*.
+ */
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamPoolProperties {
+
+    private Map<String, RoutePool> routes = new HashMap<>();
+
+    public Map<String, RoutePool> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, RoutePool> routes) {
+        this.routes = routes;
+    }
+
+    public static class RoutePool {
+
+        /** Conexiones máximas por instancia de backend */
+        private int maxConnections = 100;
+
+        /**
+         * Peticiones que pueden esperar una conexión libre; 0 o negativo = 2 * maxConnections.
+         * Nunca se pasa -1 a reactor-netty, que lo interpreta como cola sin límite
+         */
+        private int pendingAcquireMaxCount = 0;
+
+        /** Tiempo máximo esperando una conexión libre */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /** Una conexión sin uso durante este tiempo se cierra */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /** Vida máxima de una conexión, para repartir carga tras altas de instancias */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /** Cada cuánto se revisan en segundo plano las conexiones inactivas o vencidas */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /** HTTP/2 sin TLS (h2c, por upgrade desde HTTP/1.1) hacia el backend */
+        private boolean h2c = false;
+
+        /** Streams concurrentes por conexión HTTP/2 */
+        private int maxStreams = 100;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        /** Tamaño efectivo de la cola de espera: el configurado, o 2 * maxConnections si no se indica */
+        public int pendingAcquireMaxCountEfectivo() {
+            return pendingAcquireMaxCount > 0 ? pendingAcquireMaxCount : 2 * maxConnections;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        public boolean isH2c() {
+            return h2c;
+        }
+
+        public void setH2c(boolean h2c) {
+            this.h2c = h2c;
+        }
+
+        public int getMaxStreams() {
+            return maxStreams;
+        }
+
+        public void setMaxStreams(int maxStreams) {
+            this.maxStreams = maxStreams;
+        }
+    }
+}
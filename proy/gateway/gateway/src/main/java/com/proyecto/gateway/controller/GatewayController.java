@@ -9,6 +9,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
+import com.proyecto.gateway.cache.ResponseCacheManager;
+import com.proyecto.gateway.loadbalancer.InstanceStatsRegistry;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,6 +22,12 @@ public class GatewayController {
     @Autowired
     private RouteLocator routeLocator;
 
+    @Autowired
+    private ResponseCacheManager responseCacheManager;
+
+    @Autowired
+    private InstanceStatsRegistry instanceStatsRegistry;
+
     @GetMapping("/routes")
     public ResponseEntity<Map<String, Object>> getRoutes() {
         Map<String, Object> response = new HashMap<>();
@@ -49,6 +58,36 @@ public class GatewayController {
         return ResponseEntity.ok(health);
     }
 
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        responseCacheManager.getCaches().forEach((routeId, cache) -> {
+            Map<String, Object> routeStats = new HashMap<>();
+            routeStats.put("entries", cache.size());
+            routeStats.put("bytes", cache.getBytes());
+            routeStats.put("hits", cache.getHits());
+            routeStats.put("misses", cache.getMisses());
+            routeStats.put("revalidations", cache.getRevalidations());
+            routeStats.put("invalidations", cache.getInvalidations());
+            routeStats.put("hitRatio", cache.getHitRatio());
+            stats.put(routeId, routeStats);
+        });
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/loadbalancer")
+    public ResponseEntity<Map<String, Object>> getLoadBalancerStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long now = System.nanoTime();
+        instanceStatsRegistry.getStats().forEach((instance, instanceStats) -> {
+            Map<String, Object> values = new HashMap<>();
+            values.put("outstanding", instanceStats.getOutstanding());
+            values.put("latencyMs", instanceStats.latency(now) / 1_000_000);
+            stats.put(instance, values);
+        });
+        return ResponseEntity.ok(stats);
+    }
+
     private Map<String, String> getAvailableEndpoints() {
         Map<String, String> endpoints = new HashMap<>();
         
@@ -76,6 +115,9 @@ public class GatewayController {
         endpoints.put("GET /api/v1/reportes/estado-cuenta/{numeroCuenta}", "Estado de cuenta");
         endpoints.put("GET /api/v1/reportes/movimientos", "Reporte de movimientos");
         
+        // Endpoints compuestos del gateway
+        endpoints.put("GET /api/v1/resumen/cliente/{identificacion}", "Cliente y sus cuentas en una sola petición");
+        
         return endpoints;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.proyecto.gateway.controller;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Resumen de un cliente en una sola petición: consulta microclientes y microcuentas
+ * en paralelo y combina las respuestas. Si uno de los dos falla o supera
+ * gateway.resumen.timeout se devuelve lo obtenido con "parcial": true.
+ */
+@RestController
+@RequestMapping("/api/v1/resumen")
+public class ResumenController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumenController.class);
+
+    private static final ParameterizedTypeReference<Map<String, Object>> OBJETO = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> LISTA = new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public ResumenController(WebClient loadBalancedWebClient,
+                             @Value("${gateway.resumen.timeout:2s}") Duration timeout) {
+        this.webClient = loadBalancedWebClient;
+        this.timeout = timeout;
+    }
+
+    @GetMapping("/cliente/{identificacion}")
+    public Mono<ResponseEntity<Map<String, Object>>> resumenCliente(@PathVariable String identificacion) {
+        Mono<Parte<Map<String, Object>>> cliente = webClient.get()
+                .uri("http://microclientes/clientes/identificacion/{identificacion}", identificacion)
+                .retrieve()
+                .bodyToMono(OBJETO)
+                .map(ResumenController::sinContrasena)
+                .timeout(timeout)
+                .map(Parte::ok)
+                .onErrorResume(e -> Mono.just(Parte.error("microclientes", e)));
+
+        Mono<Parte<List<Map<String, Object>>>> cuentas = webClient.get()
+                .uri("http://microcuentas/cuentas/cliente/{clienteId}", identificacion)
+                .retrieve()
+                .bodyToMono(LISTA)
+                .timeout(timeout)
+                .map(Parte::ok)
+                .onErrorResume(e -> Mono.just(Parte.error("microcuentas", e)));
+
+        return Mono.zip(cliente, cuentas).map(partes -> {
+            Parte<Map<String, Object>> parteCliente = partes.getT1();
+            Parte<List<Map<String, Object>>> parteCuentas = partes.getT2();
+
+            if (parteCliente.rechazada()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).<Map<String, Object>>build();
+            }
+
+            List<String> errores = new ArrayList<>();
+            if (parteCliente.error() != null) {
+                errores.add(parteCliente.error());
+            }
+            if (parteCuentas.error() != null) {
+                errores.add(parteCuentas.error());
+            }
+
+            Map<String, Object> resumen = new LinkedHashMap<>();
+            resumen.put("cliente", parteCliente.valor());
+            resumen.put("cuentas", parteCuentas.valor());
+            resumen.put("parcial", !errores.isEmpty());
+            resumen.put("errores", errores);
+
+            if (errores.size() == 2) {
+                logger.warn("Resumen de cliente {} sin datos: {}", identificacion, errores);
+                return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(resumen);
+            }
+            return ResponseEntity.ok(resumen);
+        });
+    }
+
+    private static Map<String, Object> sinContrasena(Map<String, Object> cliente) {
+        cliente.remove("contrasena");
+        return cliente;
+    }
+
+    /**
+     * Resultado de una de las llamadas: el valor o la descripción del error
+     */
+    private record Parte<T>(T valor, String error, boolean rechazada) {
+
+        static <T> Parte<T> ok(T valor) {
+            return new Parte<>(valor, null, false);
+        }
+
+        static <T> Parte<T> error(String servicio, Throwable e) {
+            if (e instanceof WebClientResponseException respuesta && respuesta.getStatusCode().is4xxClientError()) {
+                // microclientes responde 4xx cuando la identificación no existe
+                return new Parte<>(null, servicio + ": " + respuesta.getStatusCode().value(), true);
+            }
+            String motivo = e instanceof TimeoutException ? "timeout" : e.getClass().getSimpleName();
+            return new Parte<>(null, servicio + ": " + motivo, false);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.proyecto.gateway.filter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.proyecto.gateway.compression.GzipEncoder;
+import com.proyecto.gateway.config.CompressionProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.SynchronousSink;
+
+/**
+ * Comprime con gzip las respuestas cuando el cliente lo acepta (Accept-Encoding).
+ *
+ * Comprime trozo a trozo según llegan del backend, sin acumular el cuerpo. Al backend
+ * se le quita Accept-Encoding, de modo que siempre responde sin comprimir y la caché
+ * de ResponseCacheFilter (que va por dentro de este filtro) guarda cuerpos sin comprimir.
+ *
+ * Métricas por ruta: gateway.compression.ratio (bytes comprimidos / originales),
+ * gateway.compression.cpu (tiempo de CPU del Deflater por respuesta) y gateway.compression.bytes.
+ */
+@Component
+public class CompressionFilter implements GlobalFilter, Ordered {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final CompressionProperties properties;
+    private final List<MediaType> mimeTypes;
+    private final MeterRegistry meterRegistry;
+    private final boolean cpuTimeSupported;
+
+    private final ConcurrentHashMap<String, RouteMeters> meters = new ConcurrentHashMap<>();
+
+    public CompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mimeTypes = MediaType.parseMediaTypes(properties.getMimeTypes());
+        this.meterRegistry = meterRegistry;
+        this.cpuTimeSupported = THREADS.isCurrentThreadCpuTimeSupported();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null
+                || (!properties.getRoutes().isEmpty() && !properties.getRoutes().contains(route.getId()))) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        boolean gzip = request.getMethod() != HttpMethod.HEAD
+                && acceptsGzip(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+
+        ServerHttpRequest upstream = request.mutate()
+                .headers(headers -> headers.remove(HttpHeaders.ACCEPT_ENCODING))
+                .build();
+        ServerWebExchange.Builder mutated = exchange.mutate().request(upstream);
+        if (gzip) {
+            mutated.response(new CompressingResponse(exchange.getResponse(), route.getId()));
+        }
+        return chain.filter(mutated.build());
+    }
+
+    @Override
+    public int getOrder() {
+        // Por fuera de ResponseCacheFilter, para comprimir también las respuestas servidas desde caché
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    /**
+     * true si Accept-Encoding incluye gzip (o *) con q > 0
+     */
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String header : acceptEncoding) {
+            for (String part : header.split(",")) {
+                String[] tokens = part.trim().split(";");
+                String coding = tokens[0].trim();
+                if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                    continue;
+                }
+                double q = 1.0;
+                for (int i = 1; i < tokens.length; i++) {
+                    String param = tokens[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            q = Double.parseDouble(param.substring(2));
+                        } catch (NumberFormatException e) {
+                            q = 0;
+                        }
+                    }
+                }
+                if (q > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long cpuTime() {
+        return cpuTimeSupported ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    private RouteMeters meters(String routeId) {
+        return meters.computeIfAbsent(routeId, id -> new RouteMeters(id, meterRegistry));
+    }
+
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final String routeId;
+
+        CompressingResponse(ServerHttpResponse delegate, String routeId) {
+            super(delegate);
+            this.routeId = routeId;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!shouldCompress()) {
+                return super.writeWith(body);
+            }
+            Compression compression = start();
+            Flux<DataBuffer> compressed = Flux.from(body)
+                    .<DataBuffer>handle(compression::encode)
+                    .concatWith(Mono.fromSupplier(compression::finish))
+                    .doFinally(compression::close);
+            return super.writeWith(compressed);
+        }
+
+        /**
+         * Camino de NettyWriteResponseFilter para tipos en streaming (application/x-ndjson,
+         * text/event-stream): cada publicador interno se comprime y termina con un SYNC_FLUSH, para
+         * que el cliente reciba cada trozo al momento y no cuando el Deflater llene su búfer
+         */
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (!shouldCompress()) {
+                return super.writeAndFlushWith(body);
+            }
+            Compression compression = start();
+            Flux<Publisher<DataBuffer>> compressed = Flux.from(body)
+                    .<Publisher<DataBuffer>>map(inner -> Flux.from(inner)
+                            .<DataBuffer>handle(compression::encode)
+                            .concatWith(Mono.fromSupplier(compression::flush))
+                            .doFinally(compression::closeIfAborted))
+                    // El flujo externo puede completarse antes de que se escriba el último interno:
+                    // el encoder se cierra al terminar el trailer, o antes si se cancela o falla
+                    .concatWith(Mono.fromSupplier(() -> Mono.fromSupplier(compression::finish)
+                            .doFinally(compression::close)))
+                    .doFinally(compression::closeIfAborted);
+            return super.writeAndFlushWith(compressed);
+        }
+
+        private Compression start() {
+            HttpHeaders headers = getHeaders();
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String etag = headers.getETag();
+            if (etag != null && !etag.startsWith("W/")) {
+                // El cuerpo cambia de representación: el ETag fuerte deja de ser válido
+                headers.setETag("W/" + etag);
+            }
+            return new Compression(routeId, bufferFactory());
+        }
+
+        private boolean shouldCompress() {
+            HttpStatusCode status = getStatusCode();
+            if (status != null && (status.value() == 204 || status.value() == 206 || status.value() == 304)) {
+                return false;
+            }
+            HttpHeaders headers = getHeaders();
+            if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) || headers.containsKey(HttpHeaders.CONTENT_RANGE)) {
+                return false;
+            }
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl != null && cacheControl.contains("no-transform")) {
+                return false;
+            }
+            MediaType contentType = headers.getContentType();
+            if (contentType == null || mimeTypes.stream().noneMatch(type -> type.includes(contentType))) {
+                return false;
+            }
+            long length = headers.getContentLength();
+            return length < 0 || length >= properties.getMinSize().toBytes();
+        }
+    }
+
+    /**
+     * Estado de la compresión de una respuesta. Cada buffer de entrada produce como mucho un buffer
+     * de salida, aunque esté formado por varios ByteBuffer (p. ej. un CompositeByteBuf de Netty).
+     */
+    private final class Compression {
+
+        private final String routeId;
+        private final DataBufferFactory bufferFactory;
+        private final GzipEncoder encoder = new GzipEncoder(properties.getLevel());
+        private long cpuNanos;
+        private boolean closed;
+
+        Compression(String routeId, DataBufferFactory bufferFactory) {
+            this.routeId = routeId;
+            this.bufferFactory = bufferFactory;
+        }
+
+        void encode(DataBuffer buffer, SynchronousSink<DataBuffer> sink) {
+            long start = cpuTime();
+            byte[] out;
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    encoder.write(iterator.next());
+                }
+                out = encoder.take();
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            cpuNanos += cpuTime() - start;
+            if (out.length > 0) {
+                sink.next(bufferFactory.wrap(out));
+            }
+        }
+
+        DataBuffer flush() {
+            long start = cpuTime();
+            byte[] out = encoder.flush();
+            cpuNanos += cpuTime() - start;
+            return bufferFactory.wrap(out);
+        }
+
+        DataBuffer finish() {
+            long start = cpuTime();
+            byte[] out = encoder.finish();
+            cpuNanos += cpuTime() - start;
+            return bufferFactory.wrap(out);
+        }
+
+        void closeIfAborted(SignalType signal) {
+            if (signal != SignalType.ON_COMPLETE) {
+                close(signal);
+            }
+        }
+
+        synchronized void close(SignalType signal) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            encoder.close();
+            if (signal == SignalType.ON_COMPLETE) {
+                meters(routeId).record(encoder.getBytesIn(), encoder.getBytesOut(), cpuNanos);
+            }
+        }
+    }
+
+    private static final class RouteMeters {
+
+        private final DistributionSummary ratio;
+        private final Timer cpu;
+        private final Counter bytesIn;
+        private final Counter bytesOut;
+
+        RouteMeters(String routeId, MeterRegistry registry) {
+            this.ratio = DistributionSummary.builder("gateway.compression.ratio")
+                    .description("Bytes comprimidos sobre bytes originales por respuesta")
+                    .tag("route", routeId)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+            this.cpu = Timer.builder("gateway.compression.cpu")
+                    .description("Tiempo de CPU dedicado a comprimir cada respuesta")
+                    .tag("route", routeId)
+                    .register(registry);
+            this.bytesIn = Counter.builder("gateway.compression.bytes")
+                    .tag("route", routeId).tag("stage", "in")
+                    .baseUnit("bytes")
+                    .register(registry);
+            this.bytesOut = Counter.builder("gateway.compression.bytes")
+                    .tag("route", routeId).tag("stage", "out")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+
+        void record(long in, long out, long cpuNanos) {
+            if (in > 0) {
+                ratio.record((double) out / in);
+            }
+            cpu.record(cpuNanos, TimeUnit.NANOSECONDS);
+            bytesIn.increment(in);
+            bytesOut.increment(out);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.proyecto.gateway.filter;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.proyecto.gateway.loadbalancer.InstanceStats;
+import com.proyecto.gateway.loadbalancer.InstanceStatsRegistry;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Actualiza las estadísticas de la instancia elegida por el balanceador.
+ *
+ * Se ejecuta justo después de ReactiveLoadBalancerClientFilter, así que mide hasta que
+ * llegan las cabeceras de la respuesta del backend. Los errores y las respuestas 5xx
+ * cuentan como fallos; las cancelaciones solo liberan la petición en curso.
+ */
+@Component
+public class LoadBalancerStatsFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsRegistry statsRegistry;
+
+    public LoadBalancerStatsFilter(InstanceStatsRegistry statsRegistry) {
+        this.statsRegistry = statsRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> selected = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (selected == null || !selected.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        InstanceStats stats = statsRegistry.get(selected.getServer());
+        long start = System.nanoTime();
+        stats.start();
+
+        return chain.filter(exchange).doFinally(signal -> {
+            long now = System.nanoTime();
+            switch (signal) {
+                case ON_COMPLETE -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is5xxServerError()) {
+                        stats.fail(now - start, now);
+                    } else {
+                        stats.complete(now - start, now);
+                    }
+                }
+                case ON_ERROR -> stats.fail(now - start, now);
+                default -> stats.cancel();
+            }
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -2,51 +2,140 @@ package com.proyecto.gateway.filter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.handler.TracingObservationHandler;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Registro de acceso y latencia por ruta.
+ *
+ * Mide desde que el gateway recibe la petición hasta que la respuesta se confirma
+ * (beforeCommit), publica el resultado en el timer gateway.route.latency
+ * (route, status) y en la cabecera X-Response-Time, y escribe una única línea
+ * clave=valor en el logger ACCESS_LOG, que logback envía a un appender asíncrono.
+ * La línea incluye el traceId de la petición, el mismo que reciben los microservicios en traceparent.
+ * Las respuestas 5xx se registran siempre; el resto según gateway.access-log.sample-ratio.
+ */
 @Component
 public class LoggingFilter implements GlobalFilter, Ordered {
 
-    private static final Logger logger = LoggerFactory.getLogger(LoggingFilter.class);
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS_LOG");
+
+    public static final String RESPONSE_TIME_HEADER = "X-Response-Time";
+
+    private static final String[] STATUS_CLASSES = {"UNKNOWN", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRatio;
+
+    // routeId -> timers indexados por clase de estado, para no construir tags en cada petición
+    private final ConcurrentHashMap<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public LoggingFilter(MeterRegistry meterRegistry,
+                         @Value("${gateway.access-log.sample-ratio:1.0}") double sampleRatio) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRatio = sampleRatio;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
-        String path = request.getPath().value();
-        String method = request.getMethod().name();
-        String timestamp = LocalDateTime.now().format(formatter);
-        
-        logger.info("=== Gateway Request ===");
-        logger.info("Timestamp: {}", timestamp);
-        logger.info("Method: {}", method);
-        logger.info("Path: {}", path);
-        logger.info("Headers: {}", request.getHeaders());
-        logger.info("Remote Address: {}", request.getRemoteAddress());
-        
-        return chain.filter(exchange)
-                .then(Mono.fromRunnable(() -> {
-                    String responseStatus = exchange.getResponse().getStatusCode() != null ? 
-                            exchange.getResponse().getStatusCode().toString() : "UNKNOWN";
-                    logger.info("=== Gateway Response ===");
-                    logger.info("Timestamp: {}", LocalDateTime.now().format(formatter));
-                    logger.info("Status: {}", responseStatus);
-                    logger.info("Path: {}", path);
-                    logger.info("========================");
-                }));
+        long start = System.nanoTime();
+        ServerHttpResponse response = exchange.getResponse();
+
+        response.beforeCommit(() -> {
+            long elapsed = System.nanoTime() - start;
+            response.getHeaders().set(RESPONSE_TIME_HEADER, TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms");
+            record(exchange, response.getStatusCode(), elapsed);
+            return Mono.empty();
+        });
+
+        return chain.filter(exchange);
     }
 
     @Override
     public int getOrder() {
-        return Ordered.LOWEST_PRECEDENCE;
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(ServerWebExchange exchange, HttpStatusCode status, long elapsedNanos) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "none";
+        int statusClass = status != null ? status.value() / 100 : 0;
+        if (statusClass < 1 || statusClass > 5) {
+            statusClass = 0;
+        }
+
+        timer(routeId, statusClass).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (accessLog.isInfoEnabled() && (statusClass == 5 || sampled())) {
+            accessLog.info(accessLine(exchange.getRequest(), routeId, status, elapsedNanos, traceId(exchange)));
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRatio >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRatio;
+    }
+
+    private Timer timer(String routeId, int statusClass) {
+        Timer[] byStatus = timers.computeIfAbsent(routeId, id -> new Timer[STATUS_CLASSES.length]);
+        Timer timer = byStatus[statusClass];
+        if (timer == null) {
+            // El registro devuelve la misma instancia si otro hilo lo creó antes
+            timer = Timer.builder("gateway.route.latency")
+                    .description("Latencia desde la recepción de la petición hasta la confirmación de la respuesta")
+                    .tag("route", routeId)
+                    .tag("status", STATUS_CLASSES[statusClass])
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            byStatus[statusClass] = timer;
+        }
+        return timer;
+    }
+
+    private static String traceId(ServerWebExchange exchange) {
+        return ServerRequestObservationContext.findCurrent(exchange.getAttributes())
+                .map(context -> context.<TracingObservationHandler.TracingContext>get(TracingObservationHandler.TracingContext.class))
+                .map(TracingObservationHandler.TracingContext::getSpan)
+                .map(Span::context)
+                .map(context -> context.traceId())
+                .orElse("-");
+    }
+
+    private static String accessLine(ServerHttpRequest request, String routeId, HttpStatusCode status,
+                                     long elapsedNanos, String traceId) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        StringBuilder line = new StringBuilder(160)
+                .append("method=").append(request.getMethod().name())
+                .append(" path=").append(request.getPath().value())
+                .append(" route=").append(routeId)
+                .append(" status=").append(status != null ? status.value() : 0)
+                .append(" durationMs=").append(TimeUnit.NANOSECONDS.toMicros(elapsedNanos) / 1000.0)
+                .append(" remote=");
+        if (remote != null && remote.getAddress() != null) {
+            line.append(remote.getAddress().getHostAddress());
+        } else {
+            line.append('-');
+        }
+        return line.append(" traceId=").append(traceId).toString();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.proyecto.gateway.filter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.proyecto.gateway.config.UpstreamPoolProperties;
+import com.proyecto.gateway.config.UpstreamPoolProperties.RoutePool;
+
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * NettyRoutingFilter con un pool de conexiones propio para cada ruta declarada en
+ * gateway.upstream.routes.* y, opcionalmente, h2c hacia el backend.
+ *
+ * Sustituye al filtro por defecto (spring.cloud.gateway.global-filter.netty-routing.enabled=false).
+ * Cada pool se llama gateway-{routeId} y publica las métricas reactor.netty.connection.provider.*
+ * (conexiones activas, inactivas, pendientes y tiempo de espera) con esa etiqueta name.
+ */
+@Component
+public class PooledNettyRoutingFilter extends NettyRoutingFilter implements DisposableBean {
+
+    private final Map<String, HttpClient> routeClients = new HashMap<>();
+    private final List<ConnectionProvider> providers = new ArrayList<>();
+
+    public PooledNettyRoutingFilter(HttpClient httpClient,
+            ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+            HttpClientProperties properties,
+            ServerProperties serverProperties,
+            HttpClientSslConfigurer sslConfigurer,
+            ObjectProvider<HttpClientCustomizer> customizers,
+            UpstreamPoolProperties poolProperties) {
+        super(httpClient, headersFiltersProvider, properties);
+        // HttpClientFactory ordena la lista en sitio
+        List<HttpClientCustomizer> customizerList = new ArrayList<>(customizers.orderedStream().toList());
+        poolProperties.getRoutes().forEach((routeId, pool) -> {
+            ConnectionProvider provider = connectionProvider(routeId, pool);
+            providers.add(provider);
+            HttpClient client = new RouteHttpClientFactory(properties, serverProperties, sslConfigurer,
+                    customizerList, provider).build();
+            routeClients.put(routeId, routeClient(client, pool));
+        });
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient client = routeClients.get(route.getId());
+        return client != null ? client : super.getHttpClient(route, exchange);
+    }
+
+    @Override
+    public void destroy() {
+        providers.forEach(ConnectionProvider::dispose);
+    }
+
+    private static ConnectionProvider connectionProvider(String routeId, RoutePool pool) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("gateway-" + routeId)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCountEfectivo())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true);
+        if (pool.isH2c()) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.getMaxConnections())
+                    .maxConcurrentStreams(pool.getMaxStreams())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private static HttpClient routeClient(HttpClient client, RoutePool pool) {
+        if (pool.isH2c()) {
+            // Upgrade desde HTTP/1.1: los backends que no hablan h2c siguen respondiendo en HTTP/1.1
+            client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+
+    /**
+     * HttpClientFactory del gateway con el pool de la ruta: aplica igual que al cliente global
+     * timeouts, SSL, proxy, tamaños de cabecera, wiretap, compresión y los HttpClientCustomizer
+     */
+    private static final class RouteHttpClientFactory extends HttpClientFactory {
+
+        private final ConnectionProvider provider;
+
+        RouteHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+                ConnectionProvider provider) {
+            super(properties, serverProperties, sslConfigurer, customizers);
+            this.provider = provider;
+        }
+
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return provider;
+        }
+
+        HttpClient build() {
+            return createInstance();
+        }
+    }
+}
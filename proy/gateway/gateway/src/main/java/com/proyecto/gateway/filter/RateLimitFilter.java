@@ -0,0 +1,83 @@
+package com.proyecto.gateway.filter;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.proyecto.gateway.config.RateLimitProperties.KeySource;
+import com.proyecto.gateway.config.RateLimitProperties.RouteLimit;
+import com.proyecto.gateway.ratelimit.RateLimiterRegistry;
+import com.proyecto.gateway.ratelimit.RouteRateLimiter;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Limita las peticiones por cliente y ruta con buckets en memoria (sin Redis).
+ * Cuando se agota el bucket responde 429 con Retry-After en segundos;
+ * las peticiones admitidas llevan X-RateLimit-Remaining.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimiterRegistry registry;
+
+    public RateLimitFilter(RateLimiterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RouteRateLimiter limiter = route != null ? registry.getLimiter(route.getId()) : null;
+        if (limiter == null) {
+            return chain.filter(exchange);
+        }
+
+        long result = limiter.tryAcquire(resolveKey(exchange.getRequest(), limiter.getLimit()), System.nanoTime());
+        ServerHttpResponse response = exchange.getResponse();
+
+        if (result >= 0) {
+            response.getHeaders().set(REMAINING_HEADER, Long.toString(result));
+            return chain.filter(exchange);
+        }
+
+        long waitNanos = -(result + 1);
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().set(REMAINING_HEADER, "0");
+        return response.setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        // Después de LoggingFilter, para que los 429 también queden registrados
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private String resolveKey(ServerHttpRequest request, RouteLimit limit) {
+        if (limit.getKeySource() == KeySource.API_KEY) {
+            String apiKey = request.getHeaders().getFirst(limit.getHeader());
+            if (apiKey != null && registry.isKnownApiKey(apiKey)) {
+                return "key:" + apiKey;
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null
+                ? "ip:" + remote.getAddress().getHostAddress()
+                : "ip:unknown";
+    }
+}
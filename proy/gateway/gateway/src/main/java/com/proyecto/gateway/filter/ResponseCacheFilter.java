@@ -0,0 +1,312 @@
+package com.proyecto.gateway.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.proyecto.gateway.cache.CachedResponse;
+import com.proyecto.gateway.cache.ResponseCache;
+import com.proyecto.gateway.cache.ResponseCacheManager;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caché en memoria de respuestas GET para las rutas configuradas en gateway.cache.routes.
+ *
+ * - Entrada vigente (dentro del TTL): se responde desde el gateway sin llamar al backend.
+ * - Entrada vencida con ETag: se revalida con If-None-Match; un 304 del backend renueva la entrada.
+ * - PUT, PATCH, DELETE o POST sobre la ruta (o sobre una ruta declarada en invalidated-by)
+ *   vacían la caché antes y después de llegar al backend. Una respuesta pedida antes de una
+ *   invalidación no se guarda (generación de ResponseCache).
+ * - Las peticiones con Authorization o Cookie no se sirven ni se guardan: la respuesta puede
+ *   depender de la identidad. Las cabeceras del Vary de la respuesta se guardan con la entrada.
+ * - El cuerpo se reenvía al cliente según llega; se copia para la caché solo hasta
+ *   max-entry-size, y si Content-Length ya lo supera no se copia.
+ *
+ * Se ejecuta antes de NettyWriteResponseFilter para poder capturar el cuerpo que éste escribe.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    // Cabeceras que no se guardan: hop-by-hop, longitud (se recalcula) y CORS (dependen del Origin)
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(),
+            "keep-alive",
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            CACHE_HEADER.toLowerCase());
+
+    private final ResponseCacheManager cacheManager;
+
+    public ResponseCacheFilter(ResponseCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+
+        if (isWrite(method)) {
+            if (!cacheManager.invalidates(routeId)) {
+                return chain.filter(exchange);
+            }
+            cacheManager.invalidate(routeId);
+            return chain.filter(exchange)
+                    .doFinally(signal -> cacheManager.invalidate(routeId));
+        }
+
+        ResponseCache cache = cacheManager.getCache(routeId);
+        if (cache == null || method != HttpMethod.GET || isNoStore(request.getHeaders())
+                || isAuthenticated(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+
+        String key = request.getURI().getRawPath() + (request.getURI().getRawQuery() != null
+                ? "?" + request.getURI().getRawQuery() : "");
+        String clientEtags = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        long generation = cache.generation();
+        CachedResponse found = cache.get(key);
+        // Otra variante (Vary) de la misma URL: se trata como fallo y la nueva respuesta la reemplaza
+        CachedResponse cached = found != null && found.matches(request.getHeaders()) ? found : null;
+
+        if (cached != null && cache.isFresh(cached, System.nanoTime())) {
+            cache.recordHit();
+            return writeCached(exchange.getResponse(), cached, clientEtags, "HIT");
+        }
+
+        if (cached != null && cached.getEtag() != null) {
+            ServerHttpRequest revalidation = request.mutate()
+                    .headers(headers -> headers.set(HttpHeaders.IF_NONE_MATCH, cached.getEtag()))
+                    .build();
+            CachingResponse response = new CachingResponse(exchange.getResponse(), cache, key, generation,
+                    request.getHeaders(), cached, clientEtags);
+            return chain.filter(exchange.mutate().request(revalidation).response(response).build());
+        }
+
+        cache.recordMiss();
+        CachingResponse response = new CachingResponse(exchange.getResponse(), cache, key, generation,
+                request.getHeaders(), null, clientEtags);
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return method == HttpMethod.PUT || method == HttpMethod.PATCH
+                || method == HttpMethod.DELETE || method == HttpMethod.POST;
+    }
+
+    private static boolean isNoStore(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl != null
+                && (cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static boolean isAuthenticated(HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.AUTHORIZATION) || headers.containsKey(HttpHeaders.COOKIE);
+    }
+
+    private static Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached,
+            String clientEtags, String result) {
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.getHeaders());
+        headers.set(CACHE_HEADER, result);
+
+        if (etagMatches(clientEtags, cached.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.getStatus()));
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    /**
+     * Compara un If-None-Match (posiblemente con varias etiquetas o "*") con el ETag guardado,
+     * usando comparación débil como indica RFC 9110 para If-None-Match
+     */
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String target = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static boolean isCacheable(HttpHeaders headers) {
+        return !isNoStore(headers) && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && !"*".equals(headers.getFirst(HttpHeaders.VARY));
+    }
+
+    /**
+     * Valores de la petición para cada cabecera del Vary de la respuesta. Accept-Encoding no se
+     * incluye: el backend no la recibe y la compresión se aplica después, en CompressionFilter.
+     */
+    private static Map<String, List<String>> varyValues(HttpHeaders response, HttpHeaders request) {
+        Map<String, List<String>> values = new HashMap<>();
+        for (String name : response.getVary()) {
+            if (!HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(name)) {
+                values.put(name.toLowerCase(), List.copyOf(request.getOrEmpty(name)));
+            }
+        }
+        return values;
+    }
+
+    private static HttpHeaders storableHeaders(HttpHeaders source) {
+        HttpHeaders copy = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : source.entrySet()) {
+            String name = header.getKey().toLowerCase();
+            if (!EXCLUDED_HEADERS.contains(name) && !name.startsWith("access-control-")) {
+                copy.put(header.getKey(), List.copyOf(header.getValue()));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Decorador que guarda las respuestas 200 del backend y resuelve las revalidaciones 304
+     */
+    private static final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ResponseCache cache;
+        private final String key;
+        private final long generation;
+        private final HttpHeaders requestHeaders;
+        private final CachedResponse stale;
+        private final String clientEtags;
+
+        CachingResponse(ServerHttpResponse delegate, ResponseCache cache, String key, long generation,
+                HttpHeaders requestHeaders, CachedResponse stale, String clientEtags) {
+            super(delegate);
+            this.cache = cache;
+            this.key = key;
+            this.generation = generation;
+            this.requestHeaders = requestHeaders;
+            this.stale = stale;
+            this.clientEtags = clientEtags;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+
+            if (stale != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                CachedResponse refreshed = stale.refreshed(System.nanoTime());
+                cache.put(key, refreshed, generation);
+                cache.recordRevalidation();
+                return Flux.from(body)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> writeCached(getDelegate(), refreshed, clientEtags, "REVALIDATED")));
+            }
+
+            if (stale != null) {
+                cache.recordMiss();
+            }
+
+            if (status == null || status.value() != HttpStatus.OK.value() || !isCacheable(getHeaders())
+                    || getHeaders().getContentLength() > cache.getMaxEntrySize()) {
+                return super.writeWith(body);
+            }
+
+            getHeaders().set(CACHE_HEADER, "MISS");
+            HttpHeaders stored = storableHeaders(getHeaders());
+            Map<String, List<String>> vary = varyValues(getHeaders(), requestHeaders);
+            BodyCapture capture = new BodyCapture(cache.getMaxEntrySize());
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(capture::append)
+                    .doOnComplete(() -> {
+                        byte[] bytes = capture.toByteArray();
+                        if (bytes != null) {
+                            cache.put(key, new CachedResponse(status.value(), stored, bytes, System.nanoTime(), vary),
+                                    generation);
+                        }
+                    }));
+        }
+    }
+
+    /**
+     * Copia de los buffers que pasan hacia el cliente, sin mover su posición de lectura.
+     * Al superar el límite deja de copiar y descarta lo copiado.
+     */
+    private static final class BodyCapture {
+
+        private final long limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        BodyCapture(long limit) {
+            this.limit = limit;
+        }
+
+        void append(DataBuffer buffer) {
+            if (bytes == null) {
+                return;
+            }
+            if (bytes.size() + (long) buffer.readableByteCount() > limit) {
+                bytes = null;
+                return;
+            }
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+                    byte[] copy = new byte[chunk.remaining()];
+                    chunk.get(copy);
+                    bytes.write(copy, 0, copy.length);
+                }
+            }
+        }
+
+        /**
+         * @return el cuerpo completo o null si superó el límite
+         */
+        byte[] toByteArray() {
+            return bytes != null ? bytes.toByteArray() : null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.proyecto.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Peticiones en curso y latencia (peak EWMA) de una instancia.
+ *
+ * Una latencia mayor que la media se adopta de inmediato; las menores se promedian
+ * con un peso que depende del tiempo transcurrido. Al leerla, la media decae hacia cero
+ * para que una instancia que dejó de recibir tráfico vuelva a probarse.
+ */
+public class InstanceStats {
+
+    private final long decayNanos;
+    private final long penaltyNanos;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    // Protegidos por this
+    private double ewmaNanos;
+    private long lastUpdateNanos;
+
+    public InstanceStats(long decayNanos, long penaltyNanos) {
+        this.decayNanos = decayNanos;
+        this.penaltyNanos = penaltyNanos;
+    }
+
+    public void start() {
+        outstanding.incrementAndGet();
+    }
+
+    public void complete(long latencyNanos, long nowNanos) {
+        outstanding.decrementAndGet();
+        observe(latencyNanos, nowNanos);
+    }
+
+    public void fail(long latencyNanos, long nowNanos) {
+        outstanding.decrementAndGet();
+        observe(Math.max(latencyNanos, penaltyNanos), nowNanos);
+    }
+
+    /**
+     * Petición cancelada por el cliente: no aporta información de latencia
+     */
+    public void cancel() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Coste esperado de enviar una petición más: latencia * (peticiones en curso + 1).
+     * Sin latencia conocida pero con peticiones en curso se usa la penalización.
+     */
+    public double cost(long nowNanos) {
+        int inFlight = outstanding.get();
+        double latency = latency(nowNanos);
+        if (latency == 0 && inFlight > 0) {
+            latency = penaltyNanos;
+        }
+        return latency * (inFlight + 1);
+    }
+
+    public synchronized double latency(long nowNanos) {
+        if (ewmaNanos == 0) {
+            return 0;
+        }
+        long elapsed = Math.max(nowNanos - lastUpdateNanos, 0);
+        return ewmaNanos * Math.exp(-(double) elapsed / decayNanos);
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    private synchronized void observe(long latencyNanos, long nowNanos) {
+        double current = latency(nowNanos);
+        if (latencyNanos > current) {
+            ewmaNanos = latencyNanos;
+        } else {
+            long elapsed = Math.max(nowNanos - lastUpdateNanos, 0);
+            double weight = Math.exp(-(double) elapsed / decayNanos);
+            ewmaNanos = current * weight + latencyNanos * (1 - weight);
+        }
+        lastUpdateNanos = nowNanos;
+    }
+}
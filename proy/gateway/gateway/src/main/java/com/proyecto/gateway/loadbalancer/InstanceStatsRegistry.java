@@ -0,0 +1,59 @@
+package com.proyecto.gateway.loadbalancer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import com.proyecto.gateway.config.LoadBalancingProperties;
+
+/**
+ * Estadísticas por instancia compartidas entre el balanceador (que las lee) y
+ * LoadBalancerStatsFilter (que las actualiza). Vive en el contexto principal, así que
+ * todos los contextos hijos de spring-cloud-loadbalancer ven el mismo registro.
+ */
+@Component
+public class InstanceStatsRegistry {
+
+    private final long decayNanos;
+    private final long penaltyNanos;
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public InstanceStatsRegistry(LoadBalancingProperties properties) {
+        this.decayNanos = properties.getDecayTime().toNanos();
+        this.penaltyNanos = properties.getErrorPenalty().toNanos();
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), k -> new InstanceStats(decayNanos, penaltyNanos));
+    }
+
+    /**
+     * Elimina las estadísticas de las instancias de serviceId que el discovery client ya no publica
+     */
+    public void retain(String serviceId, Collection<ServiceInstance> instances) {
+        String prefix = serviceId + "/";
+        Set<String> current = new HashSet<>();
+        instances.forEach(instance -> current.add(key(instance)));
+        // Eureka publica el serviceId en mayúsculas
+        stats.keySet().removeIf(key -> key.regionMatches(true, 0, prefix, 0, prefix.length())
+                && !current.contains(key));
+    }
+
+    public Map<String, InstanceStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    static String key(ServiceInstance instance) {
+        String id = instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+        return instance.getServiceId() + "/" + id;
+    }
+}
@@ -0,0 +1,54 @@
+package com.proyecto.gateway.logging;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica, por cada CountingAsyncAppender configurado en logback (perfil prod):
+ * - logging.events.dropped: eventos perdidos con la cola llena
+ * - logging.queue.events: eventos pendientes de escribir
+ */
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return;
+        }
+        Map<CountingAsyncAppender, Boolean> appenders = new IdentityHashMap<>();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders();
+            while (it.hasNext()) {
+                if (it.next() instanceof CountingAsyncAppender appender) {
+                    appenders.put(appender, Boolean.TRUE);
+                }
+            }
+        }
+        for (CountingAsyncAppender appender : appenders.keySet()) {
+            FunctionCounter.builder("logging.events.dropped", appender, CountingAsyncAppender::getDropped)
+                    .description("Eventos de log TRACE/DEBUG/INFO descartados por cola llena")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+            Gauge.builder("logging.queue.events", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                    .description("Eventos de log en cola pendientes de escribir")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+        }
+    }
+}
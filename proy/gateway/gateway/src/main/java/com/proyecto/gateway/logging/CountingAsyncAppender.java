@@ -0,0 +1,31 @@
+package com.proyecto.gateway.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * AsyncAppender que cuenta los eventos descartados.
+ *
+ * Con la cola por encima de su umbral (discardingThreshold), AsyncAppender descarta los eventos
+ * TRACE, DEBUG e INFO y conserva WARN y ERROR; aquí solo se cuenta cuántos se perdieron para
+ * publicarlo como métrica (logging.events.dropped).
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            dropped.increment();
+        }
+        return discardable;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
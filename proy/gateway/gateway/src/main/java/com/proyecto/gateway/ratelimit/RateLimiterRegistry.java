@@ -0,0 +1,92 @@
+package com.proyecto.gateway.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.proyecto.gateway.config.RateLimitProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Crea un limitador por ruta configurada, publica sus métricas
+ * (gateway.ratelimit.*, etiquetadas por route) y elimina periódicamente los buckets inactivos.
+ */
+@Component
+public class RateLimiterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiterRegistry.class);
+
+    private final Map<String, RouteRateLimiter> limiters = new HashMap<>();
+
+    private final Set<String> apiKeys;
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gateway-ratelimit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RateLimiterRegistry(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        properties.getRoutes().forEach((routeId, limit) -> {
+            RouteRateLimiter limiter = new RouteRateLimiter(routeId, limit, properties.getMaxKeys());
+            limiter.bindCounters(
+                    Counter.builder("gateway.ratelimit.requests").tag("route", routeId).tag("result", "allowed")
+                            .register(meterRegistry),
+                    Counter.builder("gateway.ratelimit.requests").tag("route", routeId).tag("result", "denied")
+                            .register(meterRegistry));
+            Gauge.builder("gateway.ratelimit.keys", limiter, RouteRateLimiter::size)
+                    .tag("route", routeId)
+                    .description("Buckets activos de la ruta")
+                    .register(meterRegistry);
+            limiters.put(routeId, limiter);
+        });
+
+        long interval = properties.getSweepInterval().toMillis();
+        if (!limiters.isEmpty()) {
+            sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return el limitador de la ruta o null si la ruta no está limitada
+     */
+    public RouteRateLimiter getLimiter(String routeId) {
+        return limiters.get(routeId);
+    }
+
+    /**
+     * Solo las claves configuradas en gateway.ratelimit.api-keys tienen bucket propio: con una
+     * clave inventada por petición, un cliente tendría siempre un bucket nuevo
+     */
+    public boolean isKnownApiKey(String apiKey) {
+        return apiKeys.contains(apiKey);
+    }
+
+    void sweep() {
+        long now = System.nanoTime();
+        limiters.values().forEach(limiter -> {
+            int evicted = limiter.evictIdle(now);
+            if (evicted > 0) {
+                logger.debug("Ruta {}: {} buckets inactivos eliminados, {} activos",
+                        limiter.getRouteId(), evicted, limiter.size());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,124 @@
+package com.proyecto.gateway.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.proyecto.gateway.config.RateLimitProperties.RouteLimit;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Buckets de una ruta indexados por la clave del cliente.
+ *
+ * Las claves se reparten en segmentos LRU (LinkedHashMap en orden de acceso) con un lock cada
+ * uno: al llegar a maxKeys se expulsa la clave menos usada del segmento. Bajo el lock solo se
+ * busca o crea el bucket; el consumo del token es el CAS de TokenBucket, fuera del lock.
+ * evictIdle retira cada bucket lleno antes de quitarlo del mapa, así que una petición que ya lo
+ * tenía ve RETIRED y vuelve a buscar su bucket en vez de consumir de uno eliminado.
+ */
+public class RouteRateLimiter {
+
+    private static final int SEGMENTS = 64;
+    private static final int MIN_KEYS_PER_SEGMENT = 1024;
+
+    private final String routeId;
+    private final RouteLimit limit;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+
+    private final Segment[] segments;
+
+    private Counter allowed;
+    private Counter denied;
+
+    public RouteRateLimiter(String routeId, RouteLimit limit, int maxKeys) {
+        this.routeId = routeId;
+        this.limit = limit;
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / limit.getRefillPerSecond()));
+        this.toleranceNanos = emissionIntervalNanos * limit.getCapacity();
+        // Con pocas claves, un único segmento para que el LRU sea exacto
+        int count = maxKeys >= SEGMENTS * MIN_KEYS_PER_SEGMENT ? SEGMENTS : 1;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(Math.max(1, maxKeys / count));
+        }
+    }
+
+    /**
+     * @return tokens restantes (>= 0) o -(nanos de espera) - 1 si se rechaza; ver TokenBucket
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        Segment segment = segmentFor(key);
+        long result;
+        do {
+            TokenBucket bucket;
+            synchronized (segment) {
+                bucket = segment.computeIfAbsent(key, k -> new TokenBucket(nowNanos));
+            }
+            result = bucket.tryAcquire(nowNanos, emissionIntervalNanos, toleranceNanos);
+        } while (result == TokenBucket.RETIRED);
+        if (allowed != null) {
+            (result >= 0 ? allowed : denied).increment();
+        }
+        return result;
+    }
+
+    /**
+     * Elimina los buckets llenos; el siguiente acceso de esa clave crea uno nuevo equivalente
+     * @return número de buckets eliminados
+     */
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                int before = segment.size();
+                segment.values().removeIf(bucket -> bucket.retireIfFull(nowNanos));
+                evicted += before - segment.size();
+            }
+        }
+        return evicted;
+    }
+
+    void bindCounters(Counter allowed, Counter denied) {
+        this.allowed = allowed;
+        this.denied = denied;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public RouteLimit getLimit() {
+        return limit;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & 0x7fffffff) % segments.length];
+    }
+
+    private static final class Segment extends LinkedHashMap<String, TokenBucket> {
+
+        private final int maxKeys;
+
+        Segment(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > maxKeys;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.proyecto.gateway.ratelimit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Token bucket implementado como GCRA (generic cell rate algorithm): todo el estado es
+ * el instante teórico de llegada (TAT) en un único long que se actualiza con CAS,
+ * así que no hay locks ni hilo de recarga.
+ *
+ * Con intervalo de emisión T = 1s / refill y tolerancia capacity * T, una petición se
+ * admite si max(TAT, ahora) + T no supera ahora + capacity * T.
+ *
+ * Un bucket lleno puede retirarse (también con CAS) para eliminarlo del mapa: a partir de
+ * ahí tryAcquire devuelve RETIRED y quien llama debe buscar de nuevo el bucket de la clave.
+ */
+public final class TokenBucket {
+
+    /** Resultado de tryAcquire sobre un bucket retirado */
+    public static final long RETIRED = Long.MIN_VALUE;
+
+    private static final long RETIRED_TAT = Long.MAX_VALUE;
+
+    private static final VarHandle TAT;
+
+    static {
+        try {
+            TAT = MethodHandles.lookup().findVarHandle(TokenBucket.class, "tat", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long tat;
+
+    public TokenBucket(long nowNanos) {
+        this.tat = nowNanos;
+    }
+
+    /**
+     * Intenta consumir un token.
+     * @return los tokens que quedan (>= 0) si se admite, -(nanos de espera) - 1 si se rechaza,
+     *         o RETIRED si el bucket se retiró
+     */
+    public long tryAcquire(long nowNanos, long emissionIntervalNanos, long toleranceNanos) {
+        while (true) {
+            long current = (long) TAT.getVolatile(this);
+            if (current == RETIRED_TAT) {
+                return RETIRED;
+            }
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > toleranceNanos) {
+                return -(ahead - toleranceNanos) - 1;
+            }
+            if (TAT.compareAndSet(this, current, next)) {
+                return (toleranceNanos - ahead) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    /**
+     * Un bucket lleno equivale a uno nuevo, así que puede eliminarse sin cambiar el resultado
+     */
+    public boolean isFull(long nowNanos) {
+        return (long) TAT.getVolatile(this) <= nowNanos;
+    }
+
+    /**
+     * Retira el bucket si está lleno; un consumo concurrente gana la carrera o ve RETIRED
+     * @return true si se ha retirado
+     */
+    public boolean retireIfFull(long nowNanos) {
+        while (true) {
+            long current = (long) TAT.getVolatile(this);
+            if (current > nowNanos) {
+                return false;
+            }
+            if (TAT.compareAndSet(this, current, RETIRED_TAT)) {
+                return true;
+            }
+        }
+    }
+}
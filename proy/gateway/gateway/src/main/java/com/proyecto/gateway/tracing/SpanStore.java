@@ -0,0 +1,133 @@
+package com.proyecto.gateway.tracing;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+
+/**
+ * Exportador local de spans: guarda los últimos spans terminados en memoria, sin colector externo.
+ *
+ * Es un búfer circular de tamaño fijo (gateway.tracing.capacity); al llenarse se descarta el span
+ * más antiguo. Se consulta en /actuator/traces y /actuator/traces/{traceId}. El gateway registra el
+ * span SERVER de la petición y el span CLIENT de la llamada al microservicio; con el mismo traceId,
+ * /actuator/trazas/{traceId} de cada microservicio devuelve el resto del recorrido.
+ */
+@Component
+public class SpanStore extends SpanHandler {
+
+    /**
+     * @param start instante de inicio del span
+     * @param durationMicros duración en microsegundos
+     * @param kind SERVER, CLIENT o null para spans locales
+     */
+    public record StoredSpan(String traceId, String spanId, String parentId, String service, String name,
+                             String kind, Instant start, long durationMicros, Map<String, String> tags,
+                             String error) {
+    }
+
+    /**
+     * Resumen de una traza: su span raíz en el gateway y el número de spans guardados
+     */
+    public record TraceSummary(String traceId, String name, Instant start, long durationMicros, int spans) {
+    }
+
+    private final int capacity;
+    private final ArrayDeque<StoredSpan> spans;
+
+    public SpanStore(@Value("${gateway.tracing.capacity:10000}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("gateway.tracing.capacity debe ser mayor que 0");
+        }
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.forEachTag(Map::put, tags);
+        Throwable error = span.error();
+        StoredSpan stored = new StoredSpan(
+                context.traceIdString(),
+                context.spanIdString(),
+                context.parentIdString(),
+                span.localServiceName(),
+                span.name(),
+                span.kind() != null ? span.kind().name() : null,
+                Instant.ofEpochSecond(0, span.startTimestamp() * 1000),
+                span.finishTimestamp() - span.startTimestamp(),
+                tags,
+                error != null ? error.toString() : span.tag("error"));
+        synchronized (spans) {
+            if (spans.size() == capacity) {
+                spans.pollFirst();
+            }
+            spans.addLast(stored);
+        }
+        return true;
+    }
+
+    /**
+     * Spans de una traza en el gateway, en orden de inicio
+     */
+    public List<StoredSpan> trace(String traceId) {
+        List<StoredSpan> result = new ArrayList<>();
+        synchronized (spans) {
+            for (StoredSpan span : spans) {
+                if (span.traceId().equals(traceId)) {
+                    result.add(span);
+                }
+            }
+        }
+        result.sort(Comparator.comparing(StoredSpan::start));
+        return result;
+    }
+
+    /**
+     * Últimas trazas, de la más reciente a la más antigua
+     * @param limit número máximo de trazas
+     */
+    public List<TraceSummary> recent(int limit) {
+        Map<String, List<StoredSpan>> byTrace = new LinkedHashMap<>();
+        synchronized (spans) {
+            Iterator<StoredSpan> it = spans.descendingIterator();
+            while (it.hasNext()) {
+                StoredSpan span = it.next();
+                List<StoredSpan> list = byTrace.get(span.traceId());
+                if (list == null) {
+                    if (byTrace.size() == limit) {
+                        continue;
+                    }
+                    list = new ArrayList<>();
+                    byTrace.put(span.traceId(), list);
+                }
+                list.add(span);
+            }
+        }
+        List<TraceSummary> summary = new ArrayList<>(byTrace.size());
+        byTrace.forEach((traceId, list) -> {
+            // Raíz en el gateway: el span cuyo padre no está entre los guardados (o el más largo)
+            StoredSpan root = list.stream()
+                    .filter(span -> list.stream().noneMatch(other -> other.spanId().equals(span.parentId())))
+                    .max(Comparator.comparingLong(StoredSpan::durationMicros))
+                    .orElse(list.get(0));
+            summary.add(new TraceSummary(traceId, root.name(), root.start(), root.durationMicros(), list.size()));
+        });
+        return summary;
+    }
+}
@@ -0,0 +1,36 @@
+package com.proyecto.gateway.tracing;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/traces?limit=n: últimas trazas con su duración en el gateway.
+ * GET /actuator/traces/{traceId}: spans de la traza en el gateway.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SpanStore spanStore;
+
+    public TracesEndpoint(SpanStore spanStore) {
+        this.spanStore = spanStore;
+    }
+
+    @ReadOperation
+    public List<SpanStore.TraceSummary> recent(@Nullable Integer limit) {
+        return spanStore.recent(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+
+    @ReadOperation
+    public List<SpanStore.StoredSpan> trace(@Selector String traceId) {
+        return spanStore.trace(traceId);
+    }
+}
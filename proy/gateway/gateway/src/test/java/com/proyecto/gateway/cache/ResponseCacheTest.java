@@ -0,0 +1,108 @@
+package com.proyecto.gateway.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+@DisplayName("Pruebas Unitarias - ResponseCache")
+class ResponseCacheTest {
+
+    private static CachedResponse respuesta(int bytes, String etag, long storedAt) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        return new CachedResponse(200, headers, new byte[bytes], storedAt);
+    }
+
+    @Test
+    @DisplayName("Debería expulsar la entrada menos usada al superar el número máximo")
+    void testExpulsionPorEntradas() {
+        // Given
+        ResponseCache cache = new ResponseCache("clientes-service", Duration.ofMinutes(1), 2, 1_000_000, 10_000);
+        cache.put("/a", respuesta(10, null, 0));
+        cache.put("/b", respuesta(10, null, 0));
+        cache.get("/a");
+
+        // When
+        cache.put("/c", respuesta(10, null, 0));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("/a"));
+        assertNull(cache.get("/b"));
+        assertNotNull(cache.get("/c"));
+    }
+
+    @Test
+    @DisplayName("Debería respetar el límite de bytes y rechazar entradas demasiado grandes")
+    void testLimiteDeBytes() {
+        // Given
+        CachedResponse entrada = respuesta(1000, null, 0);
+        ResponseCache cache = new ResponseCache("cuentas-service", Duration.ofMinutes(1), 100,
+                entrada.getSize() * 2, entrada.getSize());
+
+        // When
+        cache.put("/1", entrada);
+        cache.put("/2", respuesta(1000, null, 0));
+        cache.put("/3", respuesta(1000, null, 0));
+        boolean guardada = cache.put("/grande", respuesta(5000, null, 0));
+
+        // Then
+        assertFalse(guardada);
+        assertEquals(2, cache.size());
+        assertTrue(cache.getBytes() <= entrada.getSize() * 2);
+        assertNull(cache.get("/1"));
+    }
+
+    @Test
+    @DisplayName("Debería considerar vencida una entrada fuera del TTL y renovarla tras revalidar")
+    void testFrescuraYRevalidacion() {
+        // Given
+        ResponseCache cache = new ResponseCache("clientes-service", Duration.ofSeconds(1), 10, 1_000_000, 10_000);
+        long ttl = Duration.ofSeconds(1).toNanos();
+        CachedResponse entrada = respuesta(10, "\"v1\"", 0);
+
+        // Then
+        assertTrue(cache.isFresh(entrada, ttl - 1));
+        assertFalse(cache.isFresh(entrada, ttl));
+        assertTrue(cache.isFresh(entrada.refreshed(ttl), ttl + 1));
+        assertEquals("\"v1\"", entrada.getEtag());
+    }
+
+    @Test
+    @DisplayName("Debería calcular la tasa de aciertos incluyendo revalidaciones")
+    void testTasaDeAciertos() {
+        // Given
+        ResponseCache cache = new ResponseCache("clientes-service", Duration.ofSeconds(1), 10, 1_000_000, 10_000);
+
+        // When
+        cache.recordHit();
+        cache.recordHit();
+        cache.recordRevalidation();
+        cache.recordMiss();
+
+        // Then
+        assertEquals(0.75, cache.getHitRatio(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Debería vaciar la caché al invalidar")
+    void testInvalidacion() {
+        // Given
+        ResponseCache cache = new ResponseCache("clientes-service", Duration.ofSeconds(1), 10, 1_000_000, 10_000);
+        cache.put("/a", respuesta(10, null, 0));
+
+        // When
+        cache.invalidateAll();
+
+        // Then
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+        assertEquals(1, cache.getInvalidations());
+    }
+}
@@ -0,0 +1,62 @@
+package com.proyecto.gateway.compression;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Pruebas Unitarias - GzipEncoder")
+class GzipEncoderTest {
+
+    @Test
+    @DisplayName("Debería producir un gzip válido al comprimir el cuerpo por trozos")
+    void testCompresionPorTrozos() throws Exception {
+        // Given
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            json.append("{\"numeroCuenta\":\"478758").append(i % 10).append("\",\"valor\":").append(i).append("},");
+        }
+        json.append("{}]");
+        byte[] original = json.toString().getBytes(StandardCharsets.UTF_8);
+
+        // When
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GzipEncoder encoder = new GzipEncoder(6)) {
+            for (int offset = 0; offset < original.length; offset += 4096) {
+                int length = Math.min(4096, original.length - offset);
+                salida.write(encoder.encode(ByteBuffer.wrap(original, offset, length)));
+            }
+            salida.write(encoder.finish());
+
+            // Then
+            assertEquals(original.length, encoder.getBytesIn());
+            assertEquals(salida.size(), encoder.getBytesOut());
+        }
+        byte[] comprimido = salida.toByteArray();
+        assertTrue(comprimido.length < original.length / 4);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            assertArrayEquals(original, gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería producir un gzip válido para un cuerpo vacío")
+    void testCuerpoVacio() throws Exception {
+        // When
+        byte[] comprimido;
+        try (GzipEncoder encoder = new GzipEncoder(6)) {
+            comprimido = encoder.finish();
+        }
+
+        // Then
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            assertEquals(0, gzip.readAllBytes().length);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.proyecto.gateway.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+@DisplayName("Pruebas Unitarias - ResumenController")
+class ResumenControllerTest {
+
+    private static final String CLIENTE = "{\"clienteid\":\"CLI001\",\"nombre\":\"Juan Pérez\",\"contrasena\":\"secreta\"}";
+    private static final String CUENTAS = "[{\"numeroCuenta\":\"478758\",\"saldoInicial\":2000}]";
+
+    @Test
+    @DisplayName("Debería combinar cliente y cuentas sin la contraseña")
+    void testResumenCompleto() {
+        // Given
+        ResumenController controller = controller(json(CLIENTE), json(CUENTAS));
+
+        // When
+        ResponseEntity<Map<String, Object>> respuesta = controller.resumenCliente("1234567890").block();
+
+        // Then
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        Map<String, Object> resumen = respuesta.getBody();
+        assertEquals(false, resumen.get("parcial"));
+        assertFalse(((Map<?, ?>) resumen.get("cliente")).containsKey("contrasena"));
+        assertEquals(1, ((List<?>) resumen.get("cuentas")).size());
+    }
+
+    @Test
+    @DisplayName("Debería devolver un resultado parcial si microcuentas responde 5xx")
+    void testResultadoParcial() {
+        // Given
+        ResumenController controller = controller(json(CLIENTE), estado(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        // When
+        ResponseEntity<Map<String, Object>> respuesta = controller.resumenCliente("1234567890").block();
+
+        // Then
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        Map<String, Object> resumen = respuesta.getBody();
+        assertEquals(true, resumen.get("parcial"));
+        assertNotNull(resumen.get("cliente"));
+        assertNull(resumen.get("cuentas"));
+        assertEquals(1, ((List<?>) resumen.get("errores")).size());
+    }
+
+    @Test
+    @DisplayName("Debería marcar como timeout el servicio que no responde a tiempo")
+    void testTimeout() {
+        // Given: microcuentas no responde nunca
+        ResumenController controller = controller(json(CLIENTE), Mono.never());
+
+        // When
+        ResponseEntity<Map<String, Object>> respuesta = controller.resumenCliente("1234567890").block();
+
+        // Then
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(true, respuesta.getBody().get("parcial"));
+        assertEquals(List.of("microcuentas: timeout"), respuesta.getBody().get("errores"));
+    }
+
+    @Test
+    @DisplayName("Debería devolver 404 si microclientes no encuentra la identificación")
+    void testClienteNoEncontrado() {
+        // Given
+        ResumenController controller = controller(estado(HttpStatus.NOT_FOUND), json(CUENTAS));
+
+        // When
+        ResponseEntity<Map<String, Object>> respuesta = controller.resumenCliente("0000000000").block();
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, respuesta.getStatusCode());
+        assertNull(respuesta.getBody());
+    }
+
+    @Test
+    @DisplayName("Debería devolver 502 si fallan los dos servicios")
+    void testAmbosFallan() {
+        // Given
+        ResumenController controller = controller(estado(HttpStatus.SERVICE_UNAVAILABLE), estado(HttpStatus.BAD_GATEWAY));
+
+        // When
+        ResponseEntity<Map<String, Object>> respuesta = controller.resumenCliente("1234567890").block();
+
+        // Then
+        assertEquals(HttpStatus.BAD_GATEWAY, respuesta.getStatusCode());
+        assertEquals(true, respuesta.getBody().get("parcial"));
+        assertEquals(2, ((List<?>) respuesta.getBody().get("errores")).size());
+    }
+
+    /**
+     * Controlador con un WebClient que responde según el host de la URL, sin red ni Eureka
+     */
+    private static ResumenController controller(Mono<ClientResponse> microclientes, Mono<ClientResponse> microcuentas) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> "microclientes".equals(request.url().getHost()) ? microclientes : microcuentas)
+                .build();
+        return new ResumenController(webClient, Duration.ofMillis(200));
+    }
+
+    private static Mono<ClientResponse> json(String cuerpo) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(cuerpo)
+                .build());
+    }
+
+    private static Mono<ClientResponse> estado(HttpStatus status) {
+        return Mono.just(ClientResponse.create(status).build());
+    }
+}
@@ -0,0 +1,190 @@
+package com.proyecto.gateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.proyecto.gateway.config.CompressionProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import reactor.core.publisher.Flux;
+
+@DisplayName("Pruebas Unitarias - CompressionFilter")
+class CompressionFilterTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompressionFilter filter = new CompressionFilter(new CompressionProperties(), meterRegistry);
+
+    @Test
+    @DisplayName("Debería comprimir un buffer compuesto de varios ByteBuffer como un único trozo")
+    void testBufferCompuesto() throws Exception {
+        // Given: un CompositeByteBuf de Netty con dos componentes
+        byte[] parte1 = json(0, 300);
+        byte[] parte2 = json(300, 600);
+        NettyDataBufferFactory netty = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+        DataBuffer compuesto = netty.join(List.of(netty.wrap(parte1), netty.wrap(parte2)));
+        assertEquals(2, contarByteBuffers(compuesto));
+        MockServerWebExchange exchange = exchange();
+
+        // When
+        filter.filter(exchange, responder(MediaType.APPLICATION_JSON, HttpStatus.OK, compuesto)).block();
+
+        // Then
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        List<byte[]> cuerpo = cuerpo(exchange);
+        assertEquals(2, cuerpo.size(), "Un trozo por buffer de entrada y el trailer");
+        assertArrayEquals(concatenar(parte1, parte2), gunzip(concatenar(cuerpo)));
+        assertEquals(1, meterRegistry.get("gateway.compression.ratio").summary().count());
+    }
+
+    @Test
+    @DisplayName("Debería comprimir las respuestas en streaming y vaciar el Deflater en cada trozo")
+    void testStreaming() throws Exception {
+        // Given
+        byte[] linea1 = "{\"numeroCuenta\":\"4787586\",\"valor\":100}\n".getBytes(StandardCharsets.UTF_8);
+        byte[] linea2 = "{\"numeroCuenta\":\"4787587\",\"valor\":200}\n".getBytes(StandardCharsets.UTF_8);
+        MockServerWebExchange exchange = exchange();
+        DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+        GatewayFilterChain chain = ex -> {
+            ex.getResponse().getHeaders().setContentType(NDJSON);
+            return ex.getResponse().writeAndFlushWith(Flux.just(
+                    Flux.just(factory.wrap(linea1)), Flux.just(factory.wrap(linea2))));
+        };
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then: sin el trailer, lo recibido ya se descomprime entero (SYNC_FLUSH tras cada trozo)
+        assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        List<byte[]> cuerpo = cuerpo(exchange);
+        byte[] sinTrailer = concatenar(cuerpo.subList(0, cuerpo.size() - 1));
+        assertArrayEquals(concatenar(linea1, linea2), inflarSinCabecera(sinTrailer));
+        assertArrayEquals(concatenar(linea1, linea2), gunzip(concatenar(cuerpo)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {204, 206, 304})
+    @DisplayName("No debería comprimir respuestas 204, 206 ni 304")
+    void testEstadosSinCompresion(int estado) {
+        // Given
+        byte[] original = json(0, 300);
+        MockServerWebExchange exchange = exchange();
+
+        // When
+        filter.filter(exchange, responder(MediaType.APPLICATION_JSON, HttpStatus.valueOf(estado),
+                DefaultDataBufferFactory.sharedInstance.wrap(original))).block();
+
+        // Then
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(original, concatenar(cuerpo(exchange)));
+    }
+
+    private static MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/cuentas")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        Route route = Route.async()
+                .id("cuentas-service")
+                .uri(URI.create("http://localhost:8081"))
+                .predicate(ex -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static GatewayFilterChain responder(MediaType tipo, HttpStatus estado, DataBuffer cuerpo) {
+        return ex -> {
+            ex.getResponse().setStatusCode(estado);
+            ex.getResponse().getHeaders().setContentType(tipo);
+            return ex.getResponse().writeWith(Flux.just(cuerpo));
+        };
+    }
+
+    private static List<byte[]> cuerpo(MockServerWebExchange exchange) {
+        return exchange.getResponse().getBody()
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .collectList()
+                .block();
+    }
+
+    private static int contarByteBuffers(DataBuffer buffer) {
+        int n = 0;
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                iterator.next();
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static byte[] json(int desde, int hasta) {
+        StringBuilder json = new StringBuilder();
+        for (int i = desde; i < hasta; i++) {
+            json.append("{\"numeroCuenta\":\"478758").append(i % 10).append("\",\"valor\":").append(i).append("},");
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] concatenar(byte[]... partes) {
+        return concatenar(List.of(partes));
+    }
+
+    private static byte[] concatenar(List<byte[]> partes) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        partes.forEach(salida::writeBytes);
+        return salida.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] comprimido) throws Exception {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    /**
+     * Descomprime el deflate que sigue a la cabecera gzip de 10 bytes, sin esperar el trailer
+     */
+    private static byte[] inflarSinCabecera(byte[] comprimido) throws Exception {
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(comprimido, 10, comprimido.length - 10);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = inflater.inflate(buffer)) > 0) {
+            salida.write(buffer, 0, n);
+        }
+        inflater.end();
+        return salida.toByteArray();
+    }
+}
@@ -0,0 +1,120 @@
+package com.proyecto.gateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.ResolvableType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.proyecto.gateway.config.UpstreamPoolProperties;
+import com.proyecto.gateway.config.UpstreamPoolProperties.RoutePool;
+
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@DisplayName("Pruebas Unitarias - PooledNettyRoutingFilter")
+class PooledNettyRoutingFilterTest {
+
+    private final HttpClient clienteGlobal = HttpClient.create();
+    private final AtomicInteger personalizaciones = new AtomicInteger();
+    private PooledNettyRoutingFilter filter;
+
+    @AfterEach
+    void tearDown() {
+        if (filter != null) {
+            filter.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería usar el pool propio de la ruta con la configuración del cliente global")
+    void testPoolPropioDeLaRuta() {
+        // Given
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxHeaderSize(DataSize.ofKilobytes(32));
+        filter = filtro(properties, "cuentas-service", 7);
+
+        // When
+        HttpClient client = filter.getHttpClient(route("cuentas-service"), exchange());
+
+        // Then
+        ConnectionProvider provider = client.configuration().connectionProvider();
+        assertEquals("gateway-cuentas-service", provider.name());
+        assertEquals(7, provider.maxConnections());
+        assertEquals(32 * 1024, client.configuration().decoder().maxHeaderSize());
+        assertEquals(1, personalizaciones.get());
+    }
+
+    @Test
+    @DisplayName("Debería usar el cliente global en las rutas sin pool propio")
+    void testRutaSinPool() {
+        // Given
+        filter = filtro(new HttpClientProperties(), "cuentas-service", 7);
+
+        // When
+        HttpClient client = filter.getHttpClient(route("clientes-service"), exchange());
+
+        // Then
+        assertSame(clienteGlobal, client);
+    }
+
+    @Test
+    @DisplayName("Debería limitar la cola de espera a 2 * maxConnections si no se configura")
+    void testColaDeEsperaPorDefecto() {
+        // Given
+        RoutePool pool = new RoutePool();
+        pool.setMaxConnections(7);
+
+        // When / Then: sin valor, acotada; con valor, el configurado
+        assertEquals(14, pool.pendingAcquireMaxCountEfectivo());
+        pool.setPendingAcquireMaxCount(-1);
+        assertEquals(14, pool.pendingAcquireMaxCountEfectivo());
+        pool.setPendingAcquireMaxCount(50);
+        assertEquals(50, pool.pendingAcquireMaxCountEfectivo());
+    }
+
+    private PooledNettyRoutingFilter filtro(HttpClientProperties properties, String routeId, int maxConnections) {
+        RoutePool pool = new RoutePool();
+        pool.setMaxConnections(maxConnections);
+        UpstreamPoolProperties poolProperties = new UpstreamPoolProperties();
+        poolProperties.getRoutes().put(routeId, pool);
+
+        ServerProperties serverProperties = new ServerProperties();
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("customizer", (HttpClientCustomizer) client -> {
+            personalizaciones.incrementAndGet();
+            return client;
+        });
+        return new PooledNettyRoutingFilter(clienteGlobal,
+                beans.getBeanProvider(ResolvableType.forClassWithGenerics(List.class, HttpHeadersFilter.class)),
+                properties, serverProperties, new HttpClientSslConfigurer(properties.getSsl(), serverProperties),
+                beans.getBeanProvider(HttpClientCustomizer.class), poolProperties);
+    }
+
+    private static Route route(String routeId) {
+        return Route.async()
+                .id(routeId)
+                .uri(URI.create("http://localhost:8081"))
+                .predicate(ex -> true)
+                .build();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/cuentas"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.proyecto.gateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.proyecto.gateway.config.RateLimitProperties;
+import com.proyecto.gateway.config.RateLimitProperties.RouteLimit;
+import com.proyecto.gateway.ratelimit.RateLimiterRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+@DisplayName("Pruebas Unitarias - RateLimitFilter")
+class RateLimitFilterTest {
+
+    private final RateLimiterRegistry registry = new RateLimiterRegistry(properties(), new SimpleMeterRegistry());
+    private final RateLimitFilter filter = new RateLimitFilter(registry);
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería limitar por IP las peticiones con una clave de API desconocida")
+    void testClaveDesconocida() {
+        // Given: la ráfaga es de 1 petición
+        MockServerWebExchange primera = exchange("10.0.0.1", "inventada-1");
+        MockServerWebExchange segunda = exchange("10.0.0.1", "inventada-2");
+
+        // When
+        filtrar(primera);
+        filtrar(segunda);
+
+        // Then: cambiar de clave no da un bucket nuevo
+        assertNull(primera.getResponse().getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, segunda.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Debería dar bucket propio a una clave de API configurada")
+    void testClaveValida() {
+        // Given
+        MockServerWebExchange porIp = exchange("10.0.0.2", null);
+        MockServerWebExchange conClave = exchange("10.0.0.2", "clave-valida");
+
+        // When
+        filtrar(porIp);
+        filtrar(conClave);
+
+        // Then
+        assertNull(porIp.getResponse().getStatusCode());
+        assertNull(conClave.getResponse().getStatusCode());
+        assertEquals("0", conClave.getResponse().getHeaders().getFirst(RateLimitFilter.REMAINING_HEADER));
+    }
+
+    private void filtrar(MockServerWebExchange exchange) {
+        filter.filter(exchange, ex -> Mono.empty()).block();
+    }
+
+    private static RateLimitProperties properties() {
+        RouteLimit limit = new RouteLimit();
+        limit.setCapacity(1);
+        limit.setRefillPerSecond(0.01);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("cuentas-service", limit);
+        properties.setApiKeys(Set.of("clave-valida"));
+        return properties;
+    }
+
+    private static MockServerWebExchange exchange(String ip, String apiKey) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/cuentas")
+                .remoteAddress(new InetSocketAddress(ip, 40000));
+        if (apiKey != null) {
+            request.header("X-API-Key", apiKey);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async()
+                .id("cuentas-service")
+                .uri(URI.create("http://localhost:8081"))
+                .predicate(ex -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
@@ -0,0 +1,199 @@
+package com.proyecto.gateway.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.proyecto.gateway.cache.ResponseCache;
+import com.proyecto.gateway.cache.ResponseCacheManager;
+import com.proyecto.gateway.config.ResponseCacheProperties;
+import com.proyecto.gateway.config.ResponseCacheProperties.RouteCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@DisplayName("Pruebas Unitarias - ResponseCacheFilter")
+class ResponseCacheFilterTest {
+
+    private static final String CUERPO = "{\"clienteid\":\"CLI001\",\"nombre\":\"Juan Pérez\"}";
+
+    private final AtomicInteger llamadasBackend = new AtomicInteger();
+    private ResponseCacheManager manager;
+
+    @Test
+    @DisplayName("Debería responder 304 desde caché si el If-None-Match coincide con el ETag guardado")
+    void testEtagCoincide() {
+        // Given
+        ResponseCacheFilter filter = filtro(Duration.ofMinutes(1), DataSize.ofKilobytes(64));
+        filtrar(filter, get(null), backend(HttpStatus.OK, "\"v1\""));
+
+        // When
+        MockServerWebExchange condicional = get("W/\"v1\"");
+        filtrar(filter, condicional, backend(HttpStatus.OK, "\"v1\""));
+
+        // Then
+        assertEquals(1, llamadasBackend.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, condicional.getResponse().getStatusCode());
+        assertEquals("HIT", condicional.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Debería revalidar una entrada vencida y servir el cuerpo guardado con el 304 del backend")
+    void testRevalidacion() {
+        // Given: TTL cero, la entrada está vencida desde que se guarda
+        ResponseCacheFilter filter = filtro(Duration.ZERO, DataSize.ofKilobytes(64));
+        filtrar(filter, get(null), backend(HttpStatus.OK, "\"v1\""));
+        AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+
+        // When
+        MockServerWebExchange exchange = get(null);
+        filtrar(filter, exchange, ex -> {
+            ifNoneMatch.set(ex.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+            return backend(HttpStatus.NOT_MODIFIED, "\"v1\"").filter(ex);
+        });
+
+        // Then
+        assertEquals("\"v1\"", ifNoneMatch.get());
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("REVALIDATED", exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(CUERPO, exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Debería invalidar con una escritura y no guardar un GET que estaba en curso")
+    void testInvalidacionPorEscritura() {
+        // Given
+        ResponseCacheFilter filter = filtro(Duration.ofMinutes(1), DataSize.ofKilobytes(64));
+        filtrar(filter, get(null), backend(HttpStatus.OK, "\"v1\""));
+        ResponseCache cache = manager.getCache("clientes-service");
+        assertEquals(1, cache.size());
+
+        // When: un PATCH vacía la caché y otro llega mientras el backend responde a un GET
+        filtrar(filter, exchange(MockServerHttpRequest.patch("/clientes/CLI001")), ex -> Mono.empty());
+        int tamanoTrasEscritura = cache.size();
+        filtrar(filter, get(null), ex -> {
+            filtrar(filter, exchange(MockServerHttpRequest.patch("/clientes/CLI001")), e -> Mono.empty());
+            return backend(HttpStatus.OK, "\"v1\"").filter(ex);
+        });
+
+        // Then: la respuesta anterior al segundo PATCH no se guardó
+        assertEquals(0, tamanoTrasEscritura);
+        assertEquals(0, cache.size());
+        MockServerWebExchange siguiente = get(null);
+        filtrar(filter, siguiente, backend(HttpStatus.OK, "\"v2\""));
+        assertEquals("MISS", siguiente.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(3, llamadasBackend.get());
+    }
+
+    @Test
+    @DisplayName("No debería usar la caché en peticiones autenticadas ni con otra variante del Vary")
+    void testAutorizacionYVary() {
+        // Given
+        ResponseCacheFilter filter = filtro(Duration.ofMinutes(1), DataSize.ofKilobytes(64));
+        GatewayFilterChain conVary = ex -> {
+            ex.getResponse().getHeaders().setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+            return backend(HttpStatus.OK, "\"v1\"").filter(ex);
+        };
+
+        // When
+        filtrar(filter, exchange(MockServerHttpRequest.get("/clientes/CLI001")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer a")), backend(HttpStatus.OK, "\"v1\""));
+        filtrar(filter, exchange(MockServerHttpRequest.get("/clientes/CLI001")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "es")), conVary);
+        MockServerWebExchange otraVariante = exchange(MockServerHttpRequest.get("/clientes/CLI001")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "en"));
+        filtrar(filter, otraVariante, conVary);
+        MockServerWebExchange mismaVariante = exchange(MockServerHttpRequest.get("/clientes/CLI001")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "en"));
+        filtrar(filter, mismaVariante, conVary);
+
+        // Then
+        assertEquals(3, llamadasBackend.get());
+        assertEquals("MISS", otraVariante.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", mismaVariante.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Debería reenviar sin guardar las respuestas que superan el tamaño máximo por entrada")
+    void testTamanoMaximo() {
+        // Given
+        ResponseCacheFilter filter = filtro(Duration.ofMinutes(1), DataSize.ofBytes(CUERPO.length()));
+        MockServerWebExchange exchange = get(null);
+
+        // When: el cuerpo llega en dos trozos y el segundo supera el límite
+        filtrar(filter, exchange, ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            ex.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+            return ex.getResponse().writeWith(Flux.just(
+                    factory.wrap(CUERPO.getBytes(StandardCharsets.UTF_8)), factory.wrap(new byte[] {' '})));
+        });
+
+        // Then
+        assertEquals(CUERPO + " ", exchange.getResponse().getBodyAsString().block());
+        assertEquals(0, manager.getCache("clientes-service").size());
+    }
+
+    private ResponseCacheFilter filtro(Duration ttl, DataSize maxEntrySize) {
+        RouteCache route = new RouteCache();
+        route.setTtl(ttl);
+        route.setMaxEntrySize(maxEntrySize);
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.getRoutes().put("clientes-service", route);
+        manager = new ResponseCacheManager(properties, new SimpleMeterRegistry());
+        return new ResponseCacheFilter(manager);
+    }
+
+    private static void filtrar(ResponseCacheFilter filter, MockServerWebExchange exchange, GatewayFilterChain chain) {
+        filter.filter(exchange, chain).block();
+    }
+
+    private static MockServerWebExchange get(String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/clientes/CLI001");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return exchange(request);
+    }
+
+    private GatewayFilterChain backend(HttpStatus status, String etag) {
+        return ex -> {
+            llamadasBackend.incrementAndGet();
+            ex.getResponse().setStatusCode(status);
+            ex.getResponse().getHeaders().setETag(etag);
+            ex.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            byte[] cuerpo = status == HttpStatus.OK ? CUERPO.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            return ex.getResponse().writeWith(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(cuerpo)));
+        };
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async()
+                .id("clientes-service")
+                .uri(URI.create("http://localhost:8082"))
+                .predicate(ex -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
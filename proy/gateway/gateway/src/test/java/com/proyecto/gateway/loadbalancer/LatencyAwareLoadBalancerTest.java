@@ -0,0 +1,65 @@
+package com.proyecto.gateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import com.proyecto.gateway.config.LoadBalancingProperties;
+
+@DisplayName("Pruebas Unitarias - LatencyAwareLoadBalancer")
+class LatencyAwareLoadBalancerTest {
+
+    private static final String SERVICE_ID = "microcuentas";
+
+    private final InstanceStatsRegistry registry = new InstanceStatsRegistry(new LoadBalancingProperties());
+
+    @Test
+    @DisplayName("Debería elegir la instancia rápida frente a la lenta")
+    void testEligeInstanciaRapida() {
+        // Given
+        ServiceInstance rapida = instancia("rapida");
+        ServiceInstance lenta = instancia("lenta");
+        long now = System.nanoTime();
+        registrar(rapida, 2_000_000L, now);
+        registrar(lenta, 200_000_000L, now);
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, rapida, lenta), SERVICE_ID, registry);
+
+        // When / Then: con dos instancias se comparan siempre las dos
+        for (int i = 0; i < 20; i++) {
+            assertEquals("rapida", balancer.choose().block().getServer().getInstanceId());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería eliminar las estadísticas de instancias que ya no publica el discovery client")
+    void testPodaInstanciasRetiradas() {
+        // Given
+        ServiceInstance activa = instancia("activa");
+        ServiceInstance retirada = instancia("retirada");
+        registry.get(retirada);
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, activa), SERVICE_ID, registry);
+
+        // When
+        balancer.choose().block();
+
+        // Then
+        assertFalse(registry.getStats().containsKey(InstanceStatsRegistry.key(retirada)));
+        assertEquals(0, registry.getStats().size());
+    }
+
+    private void registrar(ServiceInstance instance, long latencyNanos, long now) {
+        InstanceStats stats = registry.get(instance);
+        stats.start();
+        stats.complete(latencyNanos, now);
+    }
+
+    private static ServiceInstance instancia(String id) {
+        return new DefaultServiceInstance(id, SERVICE_ID, id + ".local", 8081, false);
+    }
+}
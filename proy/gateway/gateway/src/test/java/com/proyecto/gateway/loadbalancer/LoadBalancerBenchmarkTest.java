@@ -0,0 +1,140 @@
+package com.proyecto.gateway.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import com.proyecto.gateway.config.LoadBalancingProperties;
+
+/**
+ * Tres instancias simuladas en proceso (cada una con 4 hilos de servicio), una de
+ * ellas diez veces más lenta, atendiendo a clientes concurrentes en bucle cerrado.
+ * Se ejecuta solo con -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Balanceo por latencia frente a round robin")
+class LoadBalancerBenchmarkTest {
+
+    private static final String SERVICE_ID = "microcuentas";
+    private static final int CLIENTS = 24;
+    private static final int REQUESTS_PER_CLIENT = 300;
+
+    private final Map<String, FakeInstance> instances = new HashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        instances.values().forEach(instance -> instance.workers.shutdownNow());
+    }
+
+    @Test
+    @DisplayName("Debería reducir el p99 cuando una instancia está ralentizada")
+    void testP99ConInstanciaLenta() throws Exception {
+        // Given
+        ServiceInstance[] servicios = {
+                instancia("rapida-1", 2), instancia("rapida-2", 2), instancia("lenta", 20)
+        };
+        LoadBalancingProperties properties = new LoadBalancingProperties();
+        properties.setDecayTime(Duration.ofSeconds(2));
+
+        InstanceStatsRegistry roundRobinStats = new InstanceStatsRegistry(properties);
+        ReactorServiceInstanceLoadBalancer roundRobin = new RoundRobinLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, servicios), SERVICE_ID);
+
+        InstanceStatsRegistry latencyStats = new InstanceStatsRegistry(properties);
+        ReactorServiceInstanceLoadBalancer latencyAware = new LatencyAwareLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, servicios), SERVICE_ID, latencyStats);
+
+        // When
+        long[] roundRobinLatencies = run(roundRobin, roundRobinStats);
+        long[] latencyAwareLatencies = run(latencyAware, latencyStats);
+
+        // Then
+        report("round-robin", roundRobinLatencies);
+        report("latency-aware", latencyAwareLatencies);
+        assertTrue(percentile(latencyAwareLatencies, 0.99) < percentile(roundRobinLatencies, 0.99));
+    }
+
+    private ServiceInstance instancia(String id, long serviceMillis) {
+        ServiceInstance instance = new DefaultServiceInstance(id, SERVICE_ID, "localhost", 9000 + instances.size(), false);
+        instances.put(id, new FakeInstance(serviceMillis));
+        return instance;
+    }
+
+    private long[] run(ReactorServiceInstanceLoadBalancer balancer, InstanceStatsRegistry registry) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            results.add(clients.submit(() -> {
+                long[] latencies = new long[REQUESTS_PER_CLIENT];
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    long start = System.nanoTime();
+                    ServiceInstance chosen = balancer.choose().block().getServer();
+                    InstanceStats stats = registry.get(chosen);
+                    stats.start();
+                    long upstreamStart = System.nanoTime();
+                    instances.get(chosen.getInstanceId()).call();
+                    long end = System.nanoTime();
+                    stats.complete(end - upstreamStart, end);
+                    latencies[i] = end - start;
+                }
+                return latencies;
+            }));
+        }
+
+        long[] all = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        int offset = 0;
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        clients.shutdown();
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.ceil(p * sorted.length) - 1];
+    }
+
+    private static void report(String name, long[] sorted) {
+        System.out.printf("%-14s p50=%6.1fms p99=%6.1fms max=%6.1fms%n", name,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static final class FakeInstance {
+
+        private final ExecutorService workers = Executors.newFixedThreadPool(4);
+        private final long serviceMillis;
+
+        FakeInstance(long serviceMillis) {
+            this.serviceMillis = serviceMillis;
+        }
+
+        void call() throws Exception {
+            workers.submit(() -> {
+                TimeUnit.MILLISECONDS.sleep(serviceMillis);
+                return null;
+            }).get();
+        }
+    }
+}
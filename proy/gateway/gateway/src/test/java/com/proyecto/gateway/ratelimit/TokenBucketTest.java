@@ -0,0 +1,157 @@
+package com.proyecto.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.proyecto.gateway.config.RateLimitProperties.RouteLimit;
+
+@DisplayName("Pruebas Unitarias - TokenBucket")
+class TokenBucketTest {
+
+    // 10 tokens por segundo, ráfaga de 5
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long TOLERANCE = INTERVAL * 5;
+
+    @Test
+    @DisplayName("Debería admitir la ráfaga completa y rechazar la siguiente petición")
+    void testRafaga() {
+        // Given
+        TokenBucket bucket = new TokenBucket(0);
+
+        // When / Then
+        for (int i = 4; i >= 0; i--) {
+            assertEquals(i, bucket.tryAcquire(0, INTERVAL, TOLERANCE));
+        }
+        long rechazo = bucket.tryAcquire(0, INTERVAL, TOLERANCE);
+        assertTrue(rechazo < 0);
+        assertEquals(INTERVAL, -(rechazo + 1));
+    }
+
+    @Test
+    @DisplayName("Debería reponer tokens con el paso del tiempo")
+    void testRecarga() {
+        // Given
+        TokenBucket bucket = new TokenBucket(0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0, INTERVAL, TOLERANCE);
+        }
+
+        // When
+        long tras100ms = bucket.tryAcquire(INTERVAL, INTERVAL, TOLERANCE);
+
+        // Then
+        assertEquals(0, tras100ms);
+        assertFalse(bucket.isFull(INTERVAL));
+        assertTrue(bucket.isFull(INTERVAL * 6));
+    }
+
+    @Test
+    @DisplayName("Debería retirar solo un bucket lleno y no admitir consumos tras retirarlo")
+    void testRetirada() {
+        // Given
+        TokenBucket bucket = new TokenBucket(0);
+        bucket.tryAcquire(0, INTERVAL, TOLERANCE);
+
+        // When / Then
+        assertFalse(bucket.retireIfFull(0));
+        assertTrue(bucket.retireIfFull(INTERVAL));
+        assertEquals(TokenBucket.RETIRED, bucket.tryAcquire(INTERVAL, INTERVAL, TOLERANCE));
+        assertFalse(bucket.isFull(INTERVAL * 100));
+    }
+
+    @Test
+    @DisplayName("Debería eliminar solo los buckets llenos y no superar el máximo de claves")
+    void testEvictionYMaximoDeClaves() {
+        // Given
+        RouteLimit limit = new RouteLimit();
+        limit.setCapacity(2);
+        limit.setRefillPerSecond(1);
+        RouteRateLimiter limiter = new RouteRateLimiter("cuentas-service", limit, 1);
+
+        // When
+        limiter.tryAcquire("canal-a", 0);
+        limiter.tryAcquire("canal-b", 0);
+        limiter.tryAcquire("canal-c", 0);
+
+        // Then
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.evictIdle(0));
+        assertEquals(1, limiter.evictIdle(TimeUnit.SECONDS.toNanos(2)));
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    @DisplayName("Debería expulsar la clave menos usada al superar el máximo de claves")
+    void testExpulsionLru() {
+        // Given
+        RouteLimit limit = new RouteLimit();
+        limit.setCapacity(2);
+        limit.setRefillPerSecond(1);
+        RouteRateLimiter limiter = new RouteRateLimiter("cuentas-service", limit, 2);
+        limiter.tryAcquire("canal-a", 0);
+        limiter.tryAcquire("canal-b", 0);
+
+        // When: canal-a se vuelve a usar y entra canal-c
+        assertEquals(0, limiter.tryAcquire("canal-a", 0));
+        limiter.tryAcquire("canal-c", 0);
+
+        // Then: canal-a conserva su estado (agotado) y canal-b se expulsó, así que vuelve lleno
+        assertEquals(2, limiter.size());
+        assertTrue(limiter.tryAcquire("canal-a", 0) < 0);
+        assertEquals(1, limiter.tryAcquire("canal-b", 0));
+    }
+
+    @Test
+    @DisplayName("No debería admitir más de la ráfaga aunque se eliminen buckets en paralelo")
+    void testEvictionConcurrente() throws Exception {
+        // Given
+        RouteLimit limit = new RouteLimit();
+        limit.setCapacity(100);
+        limit.setRefillPerSecond(1);
+        RouteRateLimiter limiter = new RouteRateLimiter("cuentas-service", limit, 1);
+        AtomicLong admitidas = new AtomicLong();
+        AtomicBoolean fin = new AtomicBoolean();
+        Thread sweeper = new Thread(() -> {
+            while (!fin.get()) {
+                limiter.evictIdle(0);
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        sweeper.start();
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                tareas.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (limiter.tryAcquire("canal-a", 0) >= 0) {
+                            admitidas.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            fin.set(true);
+            sweeper.join();
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(100, admitidas.get());
+    }
+}
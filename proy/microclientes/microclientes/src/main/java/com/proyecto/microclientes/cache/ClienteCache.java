@@ -0,0 +1,194 @@
+package com.proyecto.microclientes.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.entity.ClienteLectura;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché en memoria de las consultas de cliente por identificacion y por clienteid.
+ *
+ * - filas: identificacion -> copia de la fila; clienteid -> identificacion en un índice aparte.
+ *   Una consulta por clienteid comprueba que la fila sigue teniendo ese clienteid, así que
+ *   basta con invalidar por identificacion aunque el clienteid haya cambiado.
+ * - Se devuelven copias (Cliente no gestionado) para que nadie modifique lo guardado.
+ * - Cada invalidación incrementa una generación: una carga que empezó antes de la invalidación
+ *   retira lo que guardó, para no dejar en caché una lectura anterior al cambio.
+ * - No se guarda lo leído dentro de una transacción de escritura: podría no confirmarse.
+ * - Mientras no hay escucha de invalidaciones de otras instancias (desconectada), la caché
+ *   no se usa.
+ */
+@Component
+public class ClienteCache {
+
+    private final Cache<String, ClienteLectura> filas;
+    private final Cache<String, String> identificacionPorClienteid;
+    private final AtomicLong generacion = new AtomicLong();
+    private final double muestreoVerificacion;
+    private volatile boolean activa = true;
+
+    private final Counter verificaciones;
+    private final Counter lecturasObsoletas;
+    private final Timer retrasoLocal;
+    private final Timer retrasoRemoto;
+
+    public ClienteCache(MeterRegistry meterRegistry,
+                        @Value("${clientes.cache.max-entradas:100000}") long maxEntradas,
+                        @Value("${clientes.cache.ttl:10m}") Duration ttl,
+                        @Value("${clientes.cache.verificacion-muestreo:0.001}") double muestreoVerificacion) {
+        this.filas = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.identificacionPorClienteid = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(ttl)
+                .build();
+        this.muestreoVerificacion = muestreoVerificacion;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, filas, "clientes");
+        Gauge.builder("clientes.cache.activa", this, c -> c.activa ? 1 : 0)
+                .description("1 si la caché está en uso (escucha de invalidaciones conectada)")
+                .register(meterRegistry);
+        this.verificaciones = Counter.builder("clientes.cache.verificaciones")
+                .description("Aciertos de caché comprobados contra la base de datos")
+                .register(meterRegistry);
+        this.lecturasObsoletas = Counter.builder("clientes.cache.lecturas.obsoletas")
+                .description("Aciertos comprobados cuyo contenido ya no coincidía con la base de datos")
+                .register(meterRegistry);
+        this.retrasoLocal = retraso(meterRegistry, "local");
+        this.retrasoRemoto = retraso(meterRegistry, "remota");
+    }
+
+    private static Timer retraso(MeterRegistry registry, String origen) {
+        return Timer.builder("clientes.cache.invalidacion.retraso")
+                .description("Tiempo desde la escritura hasta invalidar la caché: ventana máxima de lectura obsoleta")
+                .tag("origen", origen)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    public Optional<Cliente> porIdentificacion(String identificacion, Supplier<Optional<Cliente>> carga) {
+        if (activa) {
+            ClienteLectura fila = filas.getIfPresent(identificacion);
+            if (fila != null) {
+                return Optional.of(verificar(fila, carga));
+            }
+        }
+        return cargar(carga);
+    }
+
+    public Optional<Cliente> porClienteid(String clienteid, Supplier<Optional<Cliente>> carga) {
+        if (activa) {
+            String identificacion = identificacionPorClienteid.getIfPresent(clienteid);
+            ClienteLectura fila = identificacion != null ? filas.getIfPresent(identificacion) : null;
+            if (fila != null && clienteid.equals(fila.getClienteid())) {
+                return Optional.of(verificar(fila, carga));
+            }
+        }
+        return cargar(carga);
+    }
+
+    /**
+     * Invalida un cliente
+     * @param escritoEnMillis instante de la escritura que provoca la invalidación
+     * @param remota true si la escritura se hizo en otra instancia
+     */
+    public void invalidar(String identificacion, long escritoEnMillis, boolean remota) {
+        generacion.incrementAndGet();
+        filas.invalidate(identificacion);
+        long retraso = Math.max(0, System.currentTimeMillis() - escritoEnMillis);
+        (remota ? retrasoRemoto : retrasoLocal).record(retraso, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Quita un cliente sin registrar retraso; se usa en cuanto se escribe, antes del commit
+     */
+    public void descartar(String identificacion) {
+        generacion.incrementAndGet();
+        filas.invalidate(identificacion);
+    }
+
+    public void invalidarTodo() {
+        generacion.incrementAndGet();
+        filas.invalidateAll();
+        identificacionPorClienteid.invalidateAll();
+    }
+
+    /**
+     * Activa o desactiva la caché; al desactivarla se vacía
+     */
+    public void setActiva(boolean activa) {
+        if (!activa) {
+            this.activa = false;
+            invalidarTodo();
+        } else {
+            invalidarTodo();
+            this.activa = true;
+        }
+    }
+
+    public boolean isActiva() {
+        return activa;
+    }
+
+    public long size() {
+        return filas.estimatedSize();
+    }
+
+    private Optional<Cliente> cargar(Supplier<Optional<Cliente>> carga) {
+        long inicio = generacion.get();
+        Optional<Cliente> cliente = carga.get();
+        if (activa && cliente.isPresent() && cliente.get().getIdentificacion() != null && !enTransaccionDeEscritura()) {
+            ClienteLectura fila = ClienteLectura.desde(cliente.get());
+            filas.put(fila.getIdentificacion(), fila);
+            if (fila.getClienteid() != null) {
+                identificacionPorClienteid.put(fila.getClienteid(), fila.getIdentificacion());
+            }
+            // Si hubo una invalidación durante la carga, lo leído puede ser anterior a ella
+            if (generacion.get() != inicio) {
+                filas.invalidate(fila.getIdentificacion());
+            }
+            return Optional.of(fila.aCliente());
+        }
+        return cliente;
+    }
+
+    private static boolean enTransaccionDeEscritura() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Con la probabilidad configurada, compara el acierto con la base de datos y cuenta las diferencias
+     */
+    private Cliente verificar(ClienteLectura fila, Supplier<Optional<Cliente>> carga) {
+        if (muestreoVerificacion > 0 && ThreadLocalRandom.current().nextDouble() < muestreoVerificacion) {
+            verificaciones.increment();
+            ClienteLectura actual = carga.get().map(ClienteLectura::desde).orElse(null);
+            if (!Objects.equals(fila, actual)) {
+                lecturasObsoletas.increment();
+            }
+        }
+        return fila.aCliente();
+    }
+}
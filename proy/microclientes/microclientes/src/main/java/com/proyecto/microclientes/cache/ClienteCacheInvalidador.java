@@ -0,0 +1,171 @@
+package com.proyecto.microclientes.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.proyecto.microclientes.event.ClienteModificadoEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalida ClienteCache en esta instancia y en las demás a través de PostgreSQL LISTEN/NOTIFY.
+ *
+ * - Cada escritura envía pg_notify dentro de su transacción: PostgreSQL solo entrega el aviso
+ *   si la transacción confirma. La caché local se invalida al escribir y otra vez al terminar la
+ *   transacción (commit o rollback), por si alguien cargó el valor anterior entre medias.
+ * - Un hilo mantiene una conexión propia (fuera del pool) con LISTEN sobre el canal y aplica los
+ *   avisos de otras instancias. Si la conexión se pierde, la caché se desactiva y se vacía hasta
+ *   volver a escuchar, porque los avisos enviados mientras tanto no se recuperan.
+ * - Con una base de datos que no es PostgreSQL (pruebas con H2) solo se invalida localmente.
+ *
+ * Formato del aviso: instancia|milisegundos de la escritura|identificacion
+ */
+@Component
+@Slf4j
+public class ClienteCacheInvalidador {
+
+    private static final long ESPERA_AVISOS_MS = 10_000;
+    private static final long ESPERA_RECONEXION_MS = 2_000;
+
+    private final ClienteCache cache;
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String usuario;
+    private final String contrasena;
+    private final String canal;
+    private final boolean postgres;
+    private final String instancia = UUID.randomUUID().toString();
+
+    private volatile boolean activo = true;
+    private volatile Thread escucha;
+
+    public ClienteCacheInvalidador(ClienteCache cache, DataSource dataSource,
+                                   @Value("${spring.datasource.url}") String url,
+                                   @Value("${spring.datasource.username:}") String usuario,
+                                   @Value("${spring.datasource.password:}") String contrasena,
+                                   @Value("${clientes.cache.canal:clientes_cache}") String canal) {
+        this.cache = cache;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.url = url;
+        this.usuario = usuario;
+        this.contrasena = contrasena;
+        this.canal = canal;
+        this.postgres = url.startsWith("jdbc:postgresql:");
+        if (postgres) {
+            // Sin escucha no se sabría de los cambios hechos en otras instancias
+            cache.setActiva(false);
+        }
+    }
+
+    /**
+     * Se ejecuta dentro de la transacción de la escritura (ClienteService publica el evento antes del commit)
+     */
+    @EventListener
+    public void onClienteModificado(ClienteModificadoEvent event) {
+        String identificacion = event.identificacion();
+        long escritoEn = System.currentTimeMillis();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidar(identificacion, escritoEn, false);
+            return;
+        }
+        cache.descartar(identificacion);
+        if (postgres) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { },
+                    canal, instancia + "|" + escritoEn + "|" + identificacion);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidar(identificacion, escritoEn, false);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarEscucha() {
+        if (!postgres) {
+            log.info("Base de datos no PostgreSQL: la caché de clientes solo se invalida localmente");
+            return;
+        }
+        Thread hilo = new Thread(this::escuchar, "clientes-cache-listen");
+        hilo.setDaemon(true);
+        escucha = hilo;
+        hilo.start();
+    }
+
+    @PreDestroy
+    public void detener() {
+        activo = false;
+        Thread hilo = escucha;
+        if (hilo != null) {
+            hilo.interrupt();
+        }
+    }
+
+    private void escuchar() {
+        while (activo) {
+            try (Connection con = DriverManager.getConnection(url, usuario, contrasena);
+                 Statement st = con.createStatement()) {
+                st.execute("LISTEN " + canal);
+                PGConnection pg = con.unwrap(PGConnection.class);
+                cache.setActiva(true);
+                log.info("Escuchando invalidaciones de la caché de clientes en el canal {}", canal);
+
+                while (activo) {
+                    PGNotification[] avisos = pg.getNotifications((int) ESPERA_AVISOS_MS);
+                    if (avisos == null || avisos.length == 0) {
+                        // Sin avisos: comprueba que la conexión sigue viva
+                        st.execute("SELECT 1");
+                        continue;
+                    }
+                    for (PGNotification aviso : avisos) {
+                        aplicar(aviso.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                cache.setActiva(false);
+                if (activo) {
+                    log.warn("Escucha de invalidaciones perdida, caché de clientes desactivada: {}", e.getMessage());
+                    esperar();
+                }
+            }
+        }
+    }
+
+    private void aplicar(String aviso) {
+        String[] partes = aviso.split("\\|", 3);
+        if (partes.length != 3) {
+            log.warn("Aviso de invalidación con formato inesperado: {}", aviso);
+            return;
+        }
+        if (instancia.equals(partes[0])) {
+            return;
+        }
+        cache.invalidar(partes[2], Long.parseLong(partes[1]), true);
+    }
+
+    private void esperar() {
+        try {
+            Thread.sleep(ESPERA_RECONEXION_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            activo = false;
+        }
+    }
+}
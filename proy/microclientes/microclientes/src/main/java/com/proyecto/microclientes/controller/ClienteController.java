@@ -1,11 +1,15 @@
 package com.proyecto.microclientes.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,11 +18,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.proyecto.microclientes.dto.ClienteBusquedaDTO;
 import com.proyecto.microclientes.dto.ClienteDTO;
+import com.proyecto.microclientes.dto.ImportacionResultadoDTO;
+import com.proyecto.microclientes.dto.PaginaCursorDTO;
+import com.proyecto.microclientes.dto.PaginaDTO;
 import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.importer.ClienteImportService;
+import com.proyecto.microclientes.search.ClienteBusquedaService;
 import com.proyecto.microclientes.service.ClienteService;
 
 import jakarta.validation.Valid;
@@ -30,25 +44,57 @@ import lombok.RequiredArgsConstructor;
 public class ClienteController {
     private final ClienteService service;
     private final ModelMapper mapper;
+    private final ClienteBusquedaService busquedaService;
+    private final ClienteImportService importService;
 
+    private static final String TEXT_CSV = "text/csv";
+
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    /**
+     * Listado paginado por clave. El cuerpo sigue siendo un array; si hay más clientes, el
+     * enlace a la página siguiente va en las cabeceras Link (rel="next") y X-Next-Cursor
+     */
     @GetMapping
-    public ResponseEntity<List<ClienteDTO>> listar() {
-        List<ClienteDTO> clientes = service.listar().stream()
-            .map(this::toDTO)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(clientes);
+    public ResponseEntity<List<Map<String, Object>>> listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String fields) {
+        PaginaCursorDTO<Map<String, Object>> pagina = service.listar(cursor, size, fields);
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.getSiguiente() != null) {
+            // Se construye con los parámetros ya resueltos, no con el query string original
+            String siguiente = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .queryParam("size", size)
+                .queryParamIfPresent("fields", Optional.ofNullable(fields))
+                .queryParam("cursor", pagina.getSiguiente())
+                .toUriString();
+            respuesta.header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"")
+                .header(NEXT_CURSOR, pagina.getSiguiente());
+        }
+        return respuesta.body(pagina.getContenido());
     }
 
+    @GetMapping("/buscar")
+    public ResponseEntity<PaginaDTO<ClienteBusquedaDTO>> buscarPorNombre(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(busquedaService.buscar(q, page, size));
+    }
+
+    /**
+     * Consulta por clienteid con ETag fuerte a partir de la versión del cliente. Si coincide con
+     * If-None-Match se responde 304 sin construir ni serializar el ClienteDTO
+     */
     @GetMapping("/{clienteid}")
-    public ResponseEntity<ClienteDTO> buscar(@PathVariable String clienteid) {
-        ClienteDTO cliente = toDTO(service.buscarPorId(clienteid));
-        return ResponseEntity.ok(cliente);
+    public ResponseEntity<ClienteDTO> buscar(@PathVariable String clienteid, WebRequest request) {
+        return condicional(service.buscarPorId(clienteid), request);
     }
 
     @GetMapping("/identificacion/{identificacion}")
-    public ResponseEntity<ClienteDTO> buscarPorIdentificacion(@PathVariable String identificacion) {
-        ClienteDTO cliente = toDTO(service.buscarPorIdentificacion(identificacion));
-        return ResponseEntity.ok(cliente);
+    public ResponseEntity<ClienteDTO> buscarPorIdentificacion(@PathVariable String identificacion, WebRequest request) {
+        return condicional(service.buscarPorIdentificacion(identificacion), request);
     }
 
     @PostMapping
@@ -58,6 +104,18 @@ public class ClienteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(clienteGuardado);
     }
 
+    /**
+     * Importación masiva en streaming: text/csv con cabecera o application/x-ndjson (un cliente por línea)
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportacionResultadoDTO> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) String tipo,
+                                                            InputStream cuerpo) throws IOException {
+        ImportacionResultadoDTO resultado = MediaType.parseMediaType(tipo).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+            ? importService.importarNdjson(cuerpo)
+            : importService.importarCsv(cuerpo);
+        return ResponseEntity.ok(resultado);
+    }
+
     @PutMapping("/{clienteid}")
     public ResponseEntity<ClienteDTO> actualizar(@PathVariable String clienteid, @Valid @RequestBody ClienteDTO dto) {
         Cliente cliente = toEntity(dto);
@@ -78,6 +136,19 @@ public class ClienteController {
         return ResponseEntity.noContent().build();
     }
 
+    private ResponseEntity<ClienteDTO> condicional(Cliente cliente, WebRequest request) {
+        String etag = etag(cliente);
+        if (request.checkNotModified(etag)) {
+            // checkNotModified ya ha fijado el 304 y la cabecera ETag
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(toDTO(cliente));
+    }
+
+    static String etag(Cliente cliente) {
+        return "\"" + (cliente.getVersion() != null ? cliente.getVersion() : 0) + "\"";
+    }
+
     private ClienteDTO toDTO(Cliente cliente) {
         return mapper.map(cliente, ClienteDTO.class);
     }
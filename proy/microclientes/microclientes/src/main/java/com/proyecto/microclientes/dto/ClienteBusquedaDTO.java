@@ -0,0 +1,19 @@
+package com.proyecto.microclientes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteBusquedaDTO {
+    
+    private String identificacion;
+    
+    private String clienteid;
+    
+    private String nombre;
+    
+    private String estado;
+}
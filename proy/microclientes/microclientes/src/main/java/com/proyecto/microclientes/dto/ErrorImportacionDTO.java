@@ -0,0 +1,18 @@
+package com.proyecto.microclientes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila rechazada en una importación: número de fila de datos (desde 1) y motivo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorImportacionDTO {
+    
+    private long fila;
+    
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.proyecto.microclientes.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de POST /clientes/import. errores se limita a las primeras filas rechazadas;
+ * erroresOmitidos indica cuántas más no se incluyeron
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacionResultadoDTO {
+    
+    private long procesadas;
+    
+    private long importadas;
+    
+    private long rechazadas;
+    
+    private long duracionMs;
+    
+    private List<ErrorImportacionDTO> errores;
+    
+    private long erroresOmitidos;
+}
@@ -0,0 +1,21 @@
+package com.proyecto.microclientes.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página de un listado por clave: siguiente es el cursor opaco para pedir la página
+ * siguiente, o null si es la última
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+
+    private List<T> contenido;
+
+    private String siguiente;
+}
@@ -0,0 +1,25 @@
+package com.proyecto.microclientes.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página de resultados sin total: hayMas indica si existe una página siguiente,
+ * evitando contar todas las coincidencias en cada búsqueda
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    
+    private List<T> contenido;
+    
+    private int pagina;
+    
+    private int tamano;
+    
+    private boolean hayMas;
+}
@@ -0,0 +1,78 @@
+package com.proyecto.microclientes.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Modelo de lectura: persona + cliente en una sola fila (tabla cliente_lectura).
+ * Lo mantiene ClienteService en la misma transacción que cada escritura y sirve
+ * las consultas por clienteid e identificacion sin el JOIN de la herencia.
+ */
+@Entity
+@Table(name = "cliente_lectura")
+@DynamicUpdate
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClienteLectura {
+
+    @Id
+    @Column(name = "identificacion")
+    private String identificacion;
+
+    @Column(name = "clienteid", unique = true)
+    private String clienteid;
+
+    @Column(name = "nombre")
+    private String nombre;
+
+    @Column(name = "genero")
+    private String genero;
+
+    @Column(name = "edad")
+    private Integer edad;
+
+    @Column(name = "direccion")
+    private String direccion;
+
+    @Column(name = "telefono")
+    private String telefono;
+
+    @Column(name = "contrasena")
+    private String contrasena;
+
+    @Column(name = "estado")
+    private String estado;
+
+    // Copia de persona.version, para responder a las peticiones condicionales sin leer persona
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    public static ClienteLectura desde(Cliente c) {
+        return new ClienteLectura(c.getIdentificacion(), c.getClienteid(), c.getNombre(), c.getGenero(),
+                c.getEdad(), c.getDireccion(), c.getTelefono(), c.getContrasena(), c.getEstado(), c.getVersion());
+    }
+
+    /**
+     * @return un Cliente no gestionado con los datos de la fila, para devolverlo en las consultas
+     */
+    public Cliente aCliente() {
+        Cliente c = new Cliente(clienteid, contrasena, estado);
+        c.setIdentificacion(identificacion);
+        c.setNombre(nombre);
+        c.setGenero(genero);
+        c.setEdad(edad);
+        c.setDireccion(direccion);
+        c.setTelefono(telefono);
+        c.setVersion(version);
+        return c;
+    }
+}
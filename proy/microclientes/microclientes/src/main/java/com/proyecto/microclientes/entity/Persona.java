@@ -6,12 +6,17 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.DynamicUpdate;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "persona")
+@DynamicUpdate
 @Inheritance(strategy = InheritanceType.JOINED)
 @Data
 @NoArgsConstructor
@@ -36,4 +41,9 @@ public class Persona {
     
     @Column(name = "telefono")
     private String telefono;
+    
+    // Control de concurrencia optimista y ETag de las consultas; con herencia JOINED va en la entidad raíz
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
\ No newline at end of file
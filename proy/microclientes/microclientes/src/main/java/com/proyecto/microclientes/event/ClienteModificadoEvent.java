@@ -0,0 +1,15 @@
+package com.proyecto.microclientes.event;
+
+import com.proyecto.microclientes.entity.Cliente;
+
+/**
+ * Se publica al crear, actualizar o eliminar un cliente.
+ * @param identificacion clave del cliente afectado
+ * @param cliente estado tras el cambio, o null si se eliminó
+ */
+public record ClienteModificadoEvent(String identificacion, Cliente cliente) {
+
+    public boolean eliminado() {
+        return cliente == null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.proyecto.microclientes.event;
+
+import java.util.List;
+
+import com.proyecto.microclientes.dto.ClienteBusquedaDTO;
+
+/**
+ * Se publica por cada lote de clientes nuevos cargado con POST /clientes/import.
+ * Al ser altas no invalidan cachés; sirve para los índices que deben incluirlos.
+ * @param clientes clientes insertados en el lote
+ */
+public record ClientesImportadosEvent(List<ClienteBusquedaDTO> clientes) {
+}
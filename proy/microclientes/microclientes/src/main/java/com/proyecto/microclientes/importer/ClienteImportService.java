@@ -0,0 +1,371 @@
+package com.proyecto.microclientes.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.proyecto.microclientes.dto.ClienteBusquedaDTO;
+import com.proyecto.microclientes.dto.ClienteDTO;
+import com.proyecto.microclientes.dto.ErrorImportacionDTO;
+import com.proyecto.microclientes.dto.ImportacionResultadoDTO;
+import com.proyecto.microclientes.event.ClientesImportadosEvent;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importación masiva de clientes (POST /clientes/import) desde CSV o NDJSON en streaming.
+ *
+ * - Cada fila se valida con las restricciones de ClienteDTO; las inválidas o repetidas dentro
+ *   del fichero se rechazan sin detener la importación. Las repeticiones se detectan en memoria
+ *   solo dentro del lote; una clave de un lote anterior ya está en la base de datos y la fila se
+ *   rechaza allí, así que la memoria no crece con el tamaño del fichero.
+ * - Las válidas se agrupan en lotes de TAMANO_LOTE; cada lote es una transacción que carga una
+ *   tabla temporal (COPY en PostgreSQL, batch JDBC en otras bases de datos), descarta las filas
+ *   cuya identificacion o clienteid ya existe e inserta el resto en persona, cliente y
+ *   cliente_lectura con INSERT ... SELECT.
+ * - Si un lote falla (por ejemplo, una alta concurrente con la misma clave), se rechazan sus
+ *   filas y se continúa con el siguiente.
+ */
+@Service
+@Slf4j
+public class ClienteImportService {
+
+    static final int TAMANO_LOTE = 5_000;
+
+    // Se informa del motivo de las primeras filas rechazadas; del resto solo se cuentan
+    static final int MAX_ERRORES = 1_000;
+
+    static final List<String> COLUMNAS = List.of(
+            "identificacion", "nombre", "genero", "edad", "direccion", "telefono", "clienteid", "contrasena", "estado");
+
+    private static final String COLUMNAS_TEMPORAL = "fila, identificacion, clienteid, nombre, genero, edad, "
+            + "direccion, telefono, contrasena, estado";
+
+    private static final String DEFINICION_TEMPORAL = "importacion_cliente (fila BIGINT, identificacion VARCHAR(20), "
+            + "clienteid VARCHAR(20), nombre VARCHAR(100), genero VARCHAR(1), edad INTEGER, direccion VARCHAR(100), "
+            + "telefono VARCHAR(20), contrasena VARCHAR(100), estado VARCHAR(20))";
+
+    private static final String CONDICION_EXISTENTE = "EXISTS (SELECT 1 FROM persona p WHERE p.identificacion = s.identificacion) "
+            + "OR EXISTS (SELECT 1 FROM cliente c WHERE c.clienteid = s.clienteid)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader lectorJson;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean postgres;
+
+    public ClienteImportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                Validator validator, ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${spring.datasource.url}") String url) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.lectorJson = objectMapper.readerFor(ClienteDTO.class);
+        this.eventPublisher = eventPublisher;
+        this.postgres = url.startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * CSV con cabecera; las columnas se localizan por nombre y pueden venir en cualquier orden.
+     * La fila 1 es la primera después de la cabecera.
+     */
+    public ImportacionResultadoDTO importarCsv(InputStream entrada) throws IOException {
+        LectorCsv csv = new LectorCsv(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        List<String> cabecera = csv.siguiente();
+        if (cabecera == null) {
+            throw new IllegalArgumentException("El CSV está vacío");
+        }
+        Map<String, Integer> posiciones = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            posiciones.put(cabecera.get(i).trim().toLowerCase(), i);
+        }
+        List<String> faltantes = COLUMNAS.stream().filter(c -> !posiciones.containsKey(c)).toList();
+        if (!faltantes.isEmpty()) {
+            throw new IllegalArgumentException("Faltan columnas en la cabecera del CSV: " + String.join(", ", faltantes));
+        }
+        int[] indices = COLUMNAS.stream().mapToInt(posiciones::get).toArray();
+
+        Importacion importacion = new Importacion();
+        long fila = 0;
+        List<String> campos;
+        while ((campos = csv.siguiente()) != null) {
+            fila++;
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            if (campos.size() != cabecera.size()) {
+                importacion.rechazar(fila, "Se esperaban " + cabecera.size() + " columnas y hay " + campos.size());
+                continue;
+            }
+            ClienteDTO dto = new ClienteDTO();
+            dto.setIdentificacion(campos.get(indices[0]));
+            dto.setNombre(campos.get(indices[1]));
+            dto.setGenero(campos.get(indices[2]));
+            dto.setDireccion(campos.get(indices[4]));
+            dto.setTelefono(campos.get(indices[5]));
+            dto.setClienteid(campos.get(indices[6]));
+            dto.setContrasena(campos.get(indices[7]));
+            dto.setEstado(campos.get(indices[8]));
+            String edad = campos.get(indices[3]).trim();
+            if (!edad.isEmpty()) {
+                try {
+                    dto.setEdad(Integer.valueOf(edad));
+                } catch (NumberFormatException e) {
+                    importacion.rechazar(fila, "edad: debe ser un número entero");
+                    continue;
+                }
+            }
+            importacion.agregar(fila, dto);
+        }
+        return importacion.terminar();
+    }
+
+    /**
+     * Un objeto JSON por línea; la fila es el número de línea y las líneas vacías se ignoran
+     */
+    public ImportacionResultadoDTO importarNdjson(InputStream entrada) throws IOException {
+        BufferedReader lineas = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+        Importacion importacion = new Importacion();
+        long fila = 0;
+        String linea;
+        while ((linea = lineas.readLine()) != null) {
+            fila++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            try {
+                importacion.agregar(fila, lectorJson.readValue(linea));
+            } catch (JsonProcessingException e) {
+                importacion.rechazar(fila, "JSON no válido: " + e.getOriginalMessage());
+            }
+        }
+        return importacion.terminar();
+    }
+
+    private record Fila(long numero, ClienteDTO cliente) {
+    }
+
+    /**
+     * Estado de una importación en curso: lote pendiente, claves vistas en el lote y errores
+     */
+    private final class Importacion {
+
+        private final long inicio = System.nanoTime();
+        private final List<Fila> lote = new ArrayList<>(TAMANO_LOTE);
+        private final Set<String> identificaciones = new HashSet<>(TAMANO_LOTE * 2);
+        private final Set<String> clienteids = new HashSet<>(TAMANO_LOTE * 2);
+        private final List<ErrorImportacionDTO> errores = new ArrayList<>();
+        private long procesadas;
+        private long importadas;
+        private long rechazadas;
+
+        void agregar(long numero, ClienteDTO dto) {
+            Set<ConstraintViolation<ClienteDTO>> violaciones = validator.validate(dto);
+            if (!violaciones.isEmpty()) {
+                rechazar(numero, violaciones.stream()
+                        .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            if (!identificaciones.add(dto.getIdentificacion())) {
+                rechazar(numero, "identificacion repetida en el fichero");
+                return;
+            }
+            if (!clienteids.add(dto.getClienteid())) {
+                identificaciones.remove(dto.getIdentificacion());
+                rechazar(numero, "clienteid repetido en el fichero");
+                return;
+            }
+            procesadas++;
+            lote.add(new Fila(numero, dto));
+            if (lote.size() == TAMANO_LOTE) {
+                cargarLote();
+            }
+        }
+
+        void rechazar(long numero, String motivo) {
+            procesadas++;
+            rechazadas++;
+            if (errores.size() < MAX_ERRORES) {
+                errores.add(new ErrorImportacionDTO(numero, motivo));
+            }
+        }
+
+        ImportacionResultadoDTO terminar() {
+            if (!lote.isEmpty()) {
+                cargarLote();
+            }
+            errores.sort(Comparator.comparingLong(ErrorImportacionDTO::getFila));
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            log.info("Importación de clientes: {} filas, {} importadas, {} rechazadas en {} ms",
+                    procesadas, importadas, rechazadas, duracionMs);
+            return new ImportacionResultadoDTO(procesadas, importadas, rechazadas, duracionMs,
+                    errores, rechazadas - errores.size());
+        }
+
+        private void cargarLote() {
+            try {
+                Map<Long, String> existentes = transactionTemplate.execute(status ->
+                        jdbcTemplate.execute((ConnectionCallback<Map<Long, String>>) con -> insertar(con, lote)));
+                for (Fila f : lote) {
+                    String motivo = existentes.get(f.numero());
+                    if (motivo != null) {
+                        procesadas--;
+                        rechazar(f.numero(), motivo);
+                    } else {
+                        importadas++;
+                    }
+                }
+            } catch (DataAccessException e) {
+                log.warn("Lote de importación rechazado ({} filas): {}", lote.size(), e.getMostSpecificCause().getMessage());
+                for (Fila f : lote) {
+                    procesadas--;
+                    rechazar(f.numero(), "Lote rechazado por la base de datos: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+            lote.clear();
+            identificaciones.clear();
+            clienteids.clear();
+        }
+
+        /**
+         * Carga el lote en la tabla temporal e inserta las filas nuevas
+         * @return filas descartadas porque la identificacion o el clienteid ya existían, con el motivo
+         */
+        private Map<Long, String> insertar(Connection con, List<Fila> filas) throws SQLException {
+            try (Statement st = con.createStatement()) {
+                if (postgres) {
+                    st.execute("CREATE TEMP TABLE " + DEFINICION_TEMPORAL + " ON COMMIT DROP");
+                    copiar(con, filas);
+                } else {
+                    st.execute("CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS " + DEFINICION_TEMPORAL);
+                    st.execute("DELETE FROM importacion_cliente");
+                    insertarPorLotes(con, filas);
+                }
+
+                Map<Long, String> existentes = new HashMap<>();
+                try (ResultSet rs = st.executeQuery("SELECT s.fila, CASE WHEN EXISTS (SELECT 1 FROM persona p "
+                        + "WHERE p.identificacion = s.identificacion) THEN 'identificacion' ELSE 'clienteid' END "
+                        + "FROM importacion_cliente s WHERE " + CONDICION_EXISTENTE)) {
+                    while (rs.next()) {
+                        existentes.put(rs.getLong(1), "Ya existe un cliente con ese " + rs.getString(2));
+                    }
+                }
+                if (!existentes.isEmpty()) {
+                    st.execute("DELETE FROM importacion_cliente s WHERE " + CONDICION_EXISTENTE);
+                }
+
+                st.execute("INSERT INTO persona (identificacion, nombre, genero, edad, direccion, telefono, version) "
+                        + "SELECT identificacion, nombre, genero, edad, direccion, telefono, 0 FROM importacion_cliente");
+                st.execute("INSERT INTO cliente (identificacion, clienteid, contrasena, estado) "
+                        + "SELECT identificacion, clienteid, contrasena, estado FROM importacion_cliente");
+                st.execute("INSERT INTO cliente_lectura (identificacion, clienteid, nombre, genero, edad, direccion, "
+                        + "telefono, contrasena, estado, version) SELECT identificacion, clienteid, nombre, genero, edad, "
+                        + "direccion, telefono, contrasena, estado, 0 FROM importacion_cliente");
+
+                eventPublisher.publishEvent(new ClientesImportadosEvent(filas.stream()
+                        .filter(f -> !existentes.containsKey(f.numero()))
+                        .map(f -> new ClienteBusquedaDTO(f.cliente().getIdentificacion(), f.cliente().getClienteid(),
+                                f.cliente().getNombre(), f.cliente().getEstado()))
+                        .toList()));
+                return existentes;
+            }
+        }
+
+        private void copiar(Connection con, List<Fila> filas) throws SQLException {
+            StringBuilder csv = new StringBuilder(filas.size() * 128);
+            for (Fila f : filas) {
+                ClienteDTO c = f.cliente();
+                csv.append(f.numero()).append(',');
+                campoCsv(csv, c.getIdentificacion()).append(',');
+                campoCsv(csv, c.getClienteid()).append(',');
+                campoCsv(csv, c.getNombre()).append(',');
+                campoCsv(csv, c.getGenero()).append(',');
+                csv.append(c.getEdad()).append(',');
+                campoCsv(csv, c.getDireccion()).append(',');
+                campoCsv(csv, c.getTelefono()).append(',');
+                campoCsv(csv, c.getContrasena()).append(',');
+                campoCsv(csv, c.getEstado()).append('\n');
+            }
+            try {
+                con.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                        "COPY importacion_cliente (" + COLUMNAS_TEMPORAL + ") FROM STDIN WITH (FORMAT csv)",
+                        new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("Error en COPY de importación", e);
+            }
+        }
+
+        private void insertarPorLotes(Connection con, List<Fila> filas) throws SQLException {
+            try (PreparedStatement ps = con.prepareStatement("INSERT INTO importacion_cliente (" + COLUMNAS_TEMPORAL
+                    + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (Fila f : filas) {
+                    ClienteDTO c = f.cliente();
+                    ps.setLong(1, f.numero());
+                    ps.setString(2, c.getIdentificacion());
+                    ps.setString(3, c.getClienteid());
+                    ps.setString(4, c.getNombre());
+                    ps.setString(5, c.getGenero());
+                    ps.setInt(6, c.getEdad());
+                    ps.setString(7, c.getDireccion());
+                    ps.setString(8, c.getTelefono());
+                    ps.setString(9, c.getContrasena());
+                    ps.setString(10, c.getEstado());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Campo entre comillas para COPY en formato csv (las comillas internas se duplican)
+     */
+    private static StringBuilder campoCsv(StringBuilder csv, String valor) {
+        csv.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
@@ -0,0 +1,87 @@
+package com.proyecto.microclientes.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV (RFC 4180) en streaming: separador coma, campos entre comillas dobles con ""
+ * como escape y saltos de línea permitidos dentro de las comillas. Acepta finales \n y \r\n.
+ */
+public class LectorCsv {
+
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+    private int posicion;
+    private int limite;
+    private final StringBuilder campo = new StringBuilder(64);
+
+    public LectorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return los campos del siguiente registro, o null al final de la entrada
+     * @throws IllegalArgumentException si un campo entre comillas no se cierra
+     */
+    public List<String> siguiente() throws IOException {
+        int c = leer();
+        if (c == -1) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>(12);
+        campo.setLength(0);
+        boolean entreComillas = false;
+        while (true) {
+            if (entreComillas) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Comillas sin cerrar al final del CSV");
+                }
+                if (c == '"') {
+                    int siguiente = leer();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        c = siguiente;
+                        continue;
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                quitarRetornoFinal();
+                campos.add(campo.toString());
+                return campos;
+            } else if (c == '"' && campo.length() == 0) {
+                entreComillas = true;
+            } else {
+                campo.append((char) c);
+            }
+            c = leer();
+        }
+    }
+
+    private void quitarRetornoFinal() {
+        int ultimo = campo.length() - 1;
+        if (ultimo >= 0 && campo.charAt(ultimo) == '\r') {
+            campo.setLength(ultimo);
+        }
+    }
+
+    private int leer() throws IOException {
+        if (posicion == limite) {
+            limite = reader.read(buffer, 0, buffer.length);
+            posicion = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return -1;
+            }
+        }
+        return buffer[posicion++];
+    }
+}
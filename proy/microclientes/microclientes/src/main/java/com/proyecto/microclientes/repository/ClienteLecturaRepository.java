@@ -0,0 +1,18 @@
+package com.proyecto.microclientes.repository;
+
+import com.proyecto.microclientes.entity.ClienteLectura;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ClienteLecturaRepository extends JpaRepository<ClienteLectura, String> {
+    
+    /**
+     * Busca en el modelo de lectura por clienteid (index-only scan sobre uk_cliente_lectura_clienteid)
+     * @param clienteid ID único del cliente
+     * @return Optional con la fila encontrada
+     */
+    Optional<ClienteLectura> findByClienteid(String clienteid);
+}
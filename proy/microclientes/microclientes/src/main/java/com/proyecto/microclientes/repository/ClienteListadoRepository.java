@@ -0,0 +1,93 @@
+package com.proyecto.microclientes.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Listado paginado por clave (keyset) con proyección de columnas.
+ *
+ * La consulta se construye solo con las columnas pedidas, recorre cliente por su clave
+ * primaria (identificacion > cursor ORDER BY identificacion LIMIT n) y solo hace JOIN con
+ * persona si se pide alguna columna de persona. El coste de cada página no depende de
+ * cuántos clientes haya ni de cuántas páginas se hayan recorrido antes.
+ */
+@Repository
+public class ClienteListadoRepository {
+
+    /**
+     * Campos que se pueden pedir en el listado y su columna. contrasena no se expone.
+     */
+    public static final Map<String, String> CAMPOS;
+
+    static {
+        Map<String, String> campos = new LinkedHashMap<>();
+        campos.put("identificacion", "c.identificacion");
+        campos.put("nombre", "p.nombre");
+        campos.put("genero", "p.genero");
+        campos.put("edad", "p.edad");
+        campos.put("direccion", "p.direccion");
+        campos.put("telefono", "p.telefono");
+        campos.put("clienteid", "c.clienteid");
+        campos.put("estado", "c.estado");
+        CAMPOS = Collections.unmodifiableMap(campos);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClienteListadoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Devuelve hasta limite filas con identificacion mayor que despuesDe, en orden de identificacion.
+     * Cada fila es un mapa campo -> valor con los campos pedidos, en el orden de CAMPOS;
+     * identificacion se incluye siempre porque es la clave del cursor.
+     * @param campos campos a leer (claves de CAMPOS)
+     * @param despuesDe última identificacion de la página anterior, o null para la primera
+     * @param limite número máximo de filas
+     * @return filas de la página
+     */
+    public List<Map<String, Object>> listar(Set<String> campos, String despuesDe, int limite) {
+        List<String> seleccion = CAMPOS.keySet().stream()
+                .filter(campo -> campo.equals("identificacion") || campos.contains(campo))
+                .toList();
+        String sql = sql(seleccion, despuesDe != null);
+        Object[] parametros = despuesDe != null ? new Object[] {despuesDe, limite} : new Object[] {limite};
+        return jdbcTemplate.query(sql, (rs, fila) -> fila(rs, seleccion), parametros);
+    }
+
+    static String sql(List<String> seleccion, boolean conCursor) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        boolean conPersona = false;
+        for (int i = 0; i < seleccion.size(); i++) {
+            String columna = CAMPOS.get(seleccion.get(i));
+            conPersona |= columna.startsWith("p.");
+            sql.append(i > 0 ? ", " : "").append(columna);
+        }
+        sql.append(" FROM cliente c");
+        if (conPersona) {
+            sql.append(" JOIN persona p ON p.identificacion = c.identificacion");
+        }
+        if (conCursor) {
+            sql.append(" WHERE c.identificacion > ?");
+        }
+        return sql.append(" ORDER BY c.identificacion LIMIT ?").toString();
+    }
+
+    private static Map<String, Object> fila(ResultSet rs, List<String> seleccion) throws SQLException {
+        Map<String, Object> fila = new LinkedHashMap<>(seleccion.size() * 2);
+        for (int i = 0; i < seleccion.size(); i++) {
+            String campo = seleccion.get(i);
+            fila.put(campo, campo.equals("edad") ? rs.getObject(i + 1, Integer.class) : rs.getString(i + 1));
+        }
+        return fila;
+    }
+}
@@ -19,6 +19,14 @@ public interface ClienteRepository extends JpaRepository<Cliente, String> {
      */
     Optional<Cliente> findByClienteid(String clienteid);
     
+    /**
+     * Versión actual de un cliente, sin cargar la entidad
+     * @param identificacion identificación del cliente
+     * @return Optional con la versión, vacío si el cliente no existe
+     */
+    @Query("SELECT c.version FROM Cliente c WHERE c.identificacion = :identificacion")
+    Optional<Long> findVersionByIdentificacion(@Param("identificacion") String identificacion);
+    
     /**
      * Busca clientes por estado
      * @param estado estado del cliente ('ACTIVO', 'INACTIVO', 'SUSPENDIDO')
@@ -34,6 +42,44 @@ public interface ClienteRepository extends JpaRepository<Cliente, String> {
     @Query("SELECT c FROM Cliente c WHERE c.nombre LIKE %:nombre%")
     List<Cliente> findByNombreContaining(@Param("nombre") String nombre);
     
+    /**
+     * Busca clientes cuyo nombre normalizado (sin tildes, en minúsculas) contiene el texto.
+     * Usa el índice GIN de trigramas idx_persona_nombre_trgm; las coincidencias al inicio del nombre van primero.
+     * @param q texto normalizado y escapado para LIKE
+     * @param limite número máximo de filas
+     * @param desplazamiento filas a saltar
+     * @return Lista de clientes que coinciden
+     */
+    @Query(value = "SELECT p.identificacion AS identificacion, c.clienteid AS clienteid, "
+            + "p.nombre AS nombre, c.estado AS estado "
+            + "FROM persona p JOIN cliente c ON c.identificacion = p.identificacion "
+            + "WHERE lower(f_unaccent(p.nombre)) LIKE '%' || :q || '%' "
+            + "ORDER BY (lower(f_unaccent(p.nombre)) LIKE :q || '%') DESC, p.nombre, p.identificacion "
+            + "LIMIT :limite OFFSET :desplazamiento", nativeQuery = true)
+    List<ClienteResumen> buscarPorNombre(@Param("q") String q, @Param("limite") int limite,
+                                         @Param("desplazamiento") long desplazamiento);
+    
+    /**
+     * Busca clientes cuyo nombre normalizado empieza por el texto (consultas de menos de 3 caracteres).
+     * El prefijo se expresa como rango [desde, hasta) con los operadores de text_pattern_ops y se
+     * ordena por la misma expresión, así que idx_persona_nombre_norm resuelve el filtro y el orden
+     * aunque la sentencia preparada use un plan genérico, y la lectura se detiene en el LIMIT.
+     * @param desde texto normalizado, sin escapar
+     * @param hasta menor texto mayor que todos los que empiezan por desde (NombreNormalizer.siguientePrefijo)
+     * @param limite número máximo de filas
+     * @param desplazamiento filas a saltar
+     * @return Lista de clientes que coinciden
+     */
+    @Query(value = "SELECT p.identificacion AS identificacion, c.clienteid AS clienteid, "
+            + "p.nombre AS nombre, c.estado AS estado "
+            + "FROM persona p JOIN cliente c ON c.identificacion = p.identificacion "
+            + "WHERE lower(f_unaccent(p.nombre)) ~>=~ :desde AND lower(f_unaccent(p.nombre)) ~<~ :hasta "
+            + "ORDER BY lower(f_unaccent(p.nombre)) USING ~<~, p.identificacion "
+            + "LIMIT :limite OFFSET :desplazamiento", nativeQuery = true)
+    List<ClienteResumen> buscarPorPrefijoNombre(@Param("desde") String desde, @Param("hasta") String hasta,
+                                                @Param("limite") int limite,
+                                                @Param("desplazamiento") long desplazamiento);
+    
     /**
      * Cuenta clientes activos
      * @return número de clientes activos
@@ -0,0 +1,15 @@
+package com.proyecto.microclientes.repository;
+
+/**
+ * Proyección de las columnas de cliente y persona usadas en listados y búsquedas
+ */
+public interface ClienteResumen {
+    
+    String getIdentificacion();
+    
+    String getClienteid();
+    
+    String getNombre();
+    
+    String getEstado();
+}
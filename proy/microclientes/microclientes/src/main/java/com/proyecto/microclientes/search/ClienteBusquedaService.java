@@ -0,0 +1,157 @@
+package com.proyecto.microclientes.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.proyecto.microclientes.dto.ClienteBusquedaDTO;
+import com.proyecto.microclientes.dto.PaginaDTO;
+import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.event.ClienteModificadoEvent;
+import com.proyecto.microclientes.event.ClientesImportadosEvent;
+import com.proyecto.microclientes.repository.ClienteRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Búsqueda de clientes por nombre, sin distinguir tildes ni mayúsculas.
+ *
+ * - modo sql (por defecto): consulta con LIKE sobre lower(f_unaccent(nombre)), resuelta
+ *   con el índice GIN de trigramas de PostgreSQL.
+ * - modo memoria: índice de trigramas en el propio servicio (NombreNgramIndex), cargado
+ *   al arrancar y mantenido con los eventos de escritura tras cada commit. Mientras se
+ *   carga, las búsquedas van a SQL.
+ */
+@Service
+@Slf4j
+public class ClienteBusquedaService {
+
+    public static final int TAMANO_MAXIMO = 100;
+
+    // Evita que una página muy lejana obligue a ordenar gran parte del resultado
+    public static final int DESPLAZAMIENTO_MAXIMO = 10_000;
+
+    private static final String CARGA_SQL = "SELECT p.identificacion, c.clienteid, p.nombre, c.estado "
+            + "FROM persona p JOIN cliente c ON c.identificacion = p.identificacion";
+
+    private final ClienteRepository repo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean modoMemoria;
+
+    // Las reconstrucciones del índice se hacen en un hilo propio para no frenar las escrituras
+    private final NombreNgramIndex indice = new NombreNgramIndex(tarea -> {
+        Thread hilo = new Thread(tarea, "clientes-busqueda-reconstruccion");
+        hilo.setDaemon(true);
+        hilo.start();
+    });
+    private volatile boolean indiceListo;
+
+    public ClienteBusquedaService(ClienteRepository repo, DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${clientes.busqueda.modo:sql}") String modo) {
+        this.repo = repo;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.modoMemoria = "memoria".equalsIgnoreCase(modo);
+    }
+
+    public PaginaDTO<ClienteBusquedaDTO> buscar(String q, int pagina, int tamano) {
+        String normalizado = NombreNormalizer.normalizar(q);
+        if (normalizado.isEmpty()) {
+            throw new IllegalArgumentException("El texto de búsqueda es obligatorio");
+        }
+        if (pagina < 0 || tamano < 1 || tamano > TAMANO_MAXIMO) {
+            throw new IllegalArgumentException("Página o tamaño fuera de rango (tamaño máximo " + TAMANO_MAXIMO + ")");
+        }
+        long desplazamiento = (long) pagina * tamano;
+        if (desplazamiento > DESPLAZAMIENTO_MAXIMO) {
+            throw new IllegalArgumentException("No se pueden pedir más de " + DESPLAZAMIENTO_MAXIMO + " resultados; refine la búsqueda");
+        }
+
+        // Se pide una fila de más para saber si hay página siguiente
+        List<ClienteBusquedaDTO> filas = modoMemoria && indiceListo
+                ? indice.buscar(normalizado, desplazamiento, tamano + 1)
+                : buscarEnBaseDeDatos(normalizado, desplazamiento, tamano + 1);
+
+        boolean hayMas = filas.size() > tamano;
+        return new PaginaDTO<>(hayMas ? filas.subList(0, tamano) : filas, pagina, tamano, hayMas);
+    }
+
+    private List<ClienteBusquedaDTO> buscarEnBaseDeDatos(String normalizado, long desplazamiento, int limite) {
+        var filas = normalizado.length() < NombreNgramIndex.LONGITUD_MINIMA_SUBCADENA
+                ? repo.buscarPorPrefijoNombre(normalizado, NombreNormalizer.siguientePrefijo(normalizado),
+                        limite, desplazamiento)
+                : repo.buscarPorNombre(NombreNormalizer.escaparLike(normalizado), limite, desplazamiento);
+        return filas.stream()
+                .map(f -> new ClienteBusquedaDTO(f.getIdentificacion(), f.getClienteid(), f.getNombre(), f.getEstado()))
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarIndice() {
+        if (!modoMemoria) {
+            return;
+        }
+        Thread carga = new Thread(() -> {
+            long inicio = System.nanoTime();
+            try {
+                // Las escrituras que lleguen durante la lectura se reaplican al terminar
+                indice.iniciarCarga();
+                List<ClienteBusquedaDTO> filas = new ArrayList<>();
+                // Dentro de una transacción para que el driver use cursor y respete el fetch size
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.query(CARGA_SQL, rs -> {
+                        filas.add(new ClienteBusquedaDTO(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+                    });
+                });
+                indice.finalizarCarga(filas);
+                indiceListo = true;
+                log.info("Índice de búsqueda cargado: {} clientes en {} ms",
+                        indice.size(), (System.nanoTime() - inicio) / 1_000_000);
+            } catch (RuntimeException e) {
+                indice.cancelarCarga();
+                log.error("No se pudo cargar el índice de búsqueda; se usará SQL: {}", e.getMessage());
+            }
+        }, "clientes-busqueda-carga");
+        carga.setDaemon(true);
+        carga.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClienteModificado(ClienteModificadoEvent event) {
+        if (!modoMemoria) {
+            return;
+        }
+        if (event.eliminado()) {
+            indice.eliminar(event.identificacion());
+        } else {
+            Cliente c = event.cliente();
+            indice.upsert(c.getIdentificacion(), c.getClienteid(), c.getNombre(), c.getEstado());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientesImportados(ClientesImportadosEvent event) {
+        if (!modoMemoria) {
+            return;
+        }
+        event.clientes().forEach(c -> indice.upsert(c.getIdentificacion(), c.getClienteid(), c.getNombre(), c.getEstado()));
+    }
+
+    NombreNgramIndex getIndice() {
+        return indice;
+    }
+}
@@ -0,0 +1,457 @@
+package com.proyecto.microclientes.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.proyecto.microclientes.dto.ClienteBusquedaDTO;
+
+/**
+ * Índice invertido de trigramas sobre el nombre normalizado de los clientes.
+ *
+ * - Segmento base inmutable con los documentos ordenados por nombre normalizado: las listas
+ *   de cada trigrama quedan en ese mismo orden, así que una búsqueda se detiene en cuanto
+ *   reúne los resultados de la página, y los prefijos se resuelven con búsqueda binaria.
+ * - Delta con las altas y modificaciones posteriores, que se recorre completo (es pequeño).
+ * - Las bajas y modificaciones marcan el documento anterior del segmento como borrado.
+ *
+ * Cuando el delta o los borrados crecen, el segmento se reconstruye en segundo plano;
+ * las escrituras que llegan mientras tanto se aplican también al segmento nuevo.
+ * Las lecturas comparten un read lock; las escrituras son exclusivas y muy cortas.
+ */
+public class NombreNgramIndex {
+
+    // Consultas más cortas que esto buscan por prefijo del nombre completo
+    static final int LONGITUD_MINIMA_SUBCADENA = 3;
+
+    private static final int DELTA_MINIMO_RECONSTRUCCION = 1024;
+
+    private static final Comparator<Documento> ORDEN = Comparator
+            .comparing(Documento::normalizado)
+            .thenComparing(Documento::identificacion);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Executor reconstructor;
+
+    // Protegidos por lock
+    private Segmento base = Segmento.construir(new ArrayList<>());
+    private BitSet borradosBase = new BitSet();
+    private int totalBorradosBase;
+    private final Map<String, Integer> enBase = new HashMap<>();
+    private final Map<String, Documento> delta = new HashMap<>();
+    private List<Operacion> pendientes;
+
+    public NombreNgramIndex(Executor reconstructor) {
+        this.reconstructor = reconstructor;
+    }
+
+    /**
+     * Añade o reemplaza un cliente
+     */
+    public void upsert(String identificacion, String clienteid, String nombre, String estado) {
+        Documento doc = new Documento(identificacion, clienteid, nombre, NombreNormalizer.normalizar(nombre), estado);
+        boolean reconstruir;
+        lock.writeLock().lock();
+        try {
+            aplicar(doc.identificacion(), doc);
+            reconstruir = registrarOHaceFaltaReconstruir(new Operacion(doc.identificacion(), doc));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (reconstruir) {
+            reconstruirEnSegundoPlano();
+        }
+    }
+
+    public void eliminar(String identificacion) {
+        boolean reconstruir;
+        lock.writeLock().lock();
+        try {
+            aplicar(identificacion, null);
+            reconstruir = registrarOHaceFaltaReconstruir(new Operacion(identificacion, null));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (reconstruir) {
+            reconstruirEnSegundoPlano();
+        }
+    }
+
+    /**
+     * Marca el inicio de una carga completa: desde aquí, las escrituras se guardan para
+     * aplicarlas sobre el segmento que se entregue en {@link #finalizarCarga(List)}
+     */
+    public void iniciarCarga() {
+        lock.writeLock().lock();
+        try {
+            pendientes = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sustituye el contenido por las filas leídas de la base de datos y reaplica las
+     * escrituras recibidas desde {@link #iniciarCarga()}
+     */
+    public void finalizarCarga(List<ClienteBusquedaDTO> filas) {
+        List<Documento> documentos = new ArrayList<>(filas.size());
+        for (ClienteBusquedaDTO f : filas) {
+            documentos.add(new Documento(f.getIdentificacion(), f.getClienteid(), f.getNombre(),
+                    NombreNormalizer.normalizar(f.getNombre()), f.getEstado()));
+        }
+        instalar(Segmento.construir(documentos));
+    }
+
+    /**
+     * Descarta una carga fallida; el contenido actual se mantiene
+     */
+    public void cancelarCarga() {
+        lock.writeLock().lock();
+        try {
+            pendientes = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return enBase.size() + delta.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca por subcadena (o por prefijo si la consulta tiene menos de 3 caracteres).
+     * Primero las coincidencias al inicio del nombre; dentro de cada grupo, por nombre
+     * normalizado e identificación.
+     */
+    public List<ClienteBusquedaDTO> buscar(String consulta, long desplazamiento, int limite) {
+        String q = NombreNormalizer.normalizar(consulta);
+        if (q.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        int necesarios = (int) Math.min(Integer.MAX_VALUE, desplazamiento + limite);
+        boolean soloPrefijo = q.length() < LONGITUD_MINIMA_SUBCADENA;
+
+        lock.readLock().lock();
+        try {
+            List<Documento> prefijos = new ArrayList<>();
+            List<Documento> resto = new ArrayList<>();
+            base.prefijos(q, borradosBase, necesarios, prefijos);
+            if (!soloPrefijo && prefijos.size() < necesarios) {
+                base.subcadenas(q, borradosBase, necesarios - prefijos.size(), resto);
+            }
+            for (Documento doc : delta.values()) {
+                if (doc.normalizado().startsWith(q)) {
+                    prefijos.add(doc);
+                } else if (!soloPrefijo && doc.normalizado().contains(q)) {
+                    resto.add(doc);
+                }
+            }
+            if (!delta.isEmpty()) {
+                prefijos.sort(ORDEN);
+                resto.sort(ORDEN);
+            }
+
+            List<ClienteBusquedaDTO> pagina = new ArrayList<>(limite);
+            long posicion = 0;
+            for (List<Documento> grupo : List.of(prefijos, resto)) {
+                for (Documento doc : grupo) {
+                    if (posicion++ >= desplazamiento) {
+                        pagina.add(doc.toDTO());
+                        if (pagina.size() == limite) {
+                            return pagina;
+                        }
+                    }
+                }
+            }
+            return pagina;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void aplicar(String identificacion, Documento doc) {
+        Integer enSegmento = enBase.remove(identificacion);
+        if (enSegmento != null) {
+            borradosBase.set(enSegmento);
+            totalBorradosBase++;
+        }
+        if (doc == null) {
+            delta.remove(identificacion);
+        } else {
+            delta.put(identificacion, doc);
+        }
+    }
+
+    private boolean registrarOHaceFaltaReconstruir(Operacion operacion) {
+        if (pendientes != null) {
+            pendientes.add(operacion);
+            return false;
+        }
+        int umbral = Math.max(DELTA_MINIMO_RECONSTRUCCION, base.size() / 20);
+        return delta.size() > umbral || totalBorradosBase > Math.max(DELTA_MINIMO_RECONSTRUCCION, base.size() / 5);
+    }
+
+    private void reconstruirEnSegundoPlano() {
+        List<Documento> vivos;
+        lock.writeLock().lock();
+        try {
+            if (pendientes != null) {
+                return;
+            }
+            pendientes = new ArrayList<>();
+            vivos = new ArrayList<>(enBase.size() + delta.size());
+            for (int doc : enBase.values()) {
+                vivos.add(base.documento(doc));
+            }
+            vivos.addAll(delta.values());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reconstructor.execute(() -> instalar(Segmento.construir(vivos)));
+    }
+
+    private void instalar(Segmento nuevo) {
+        lock.writeLock().lock();
+        try {
+            base = nuevo;
+            borradosBase = new BitSet();
+            totalBorradosBase = 0;
+            enBase.clear();
+            for (int i = 0; i < nuevo.size(); i++) {
+                enBase.put(nuevo.documento(i).identificacion(), i);
+            }
+            delta.clear();
+            List<Operacion> operaciones = pendientes != null ? pendientes : List.of();
+            pendientes = null;
+            for (Operacion operacion : operaciones) {
+                aplicar(operacion.identificacion(), operacion.documento());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Trigramas distintos del texto; con relleno se antepone "  " para indexar el inicio del nombre
+     */
+    static long[] trigramas(String texto, boolean conRelleno) {
+        String t = conRelleno ? "  " + texto : texto;
+        if (t.length() < 3) {
+            return new long[0];
+        }
+        long[] gramas = new long[t.length() - 2];
+        for (int i = 0; i < gramas.length; i++) {
+            gramas[i] = ((long) t.charAt(i) << 32) | ((long) t.charAt(i + 1) << 16) | t.charAt(i + 2);
+        }
+        Arrays.sort(gramas);
+        int distintos = 0;
+        for (int i = 0; i < gramas.length; i++) {
+            if (i == 0 || gramas[i] != gramas[i - 1]) {
+                gramas[distintos++] = gramas[i];
+            }
+        }
+        return Arrays.copyOf(gramas, distintos);
+    }
+
+    private record Documento(String identificacion, String clienteid, String nombre, String normalizado, String estado) {
+
+        ClienteBusquedaDTO toDTO() {
+            return new ClienteBusquedaDTO(identificacion, clienteid, nombre, estado);
+        }
+    }
+
+    private record Operacion(String identificacion, Documento documento) {
+    }
+
+    /**
+     * Tabla hash de direccionamiento abierto con claves long, para no crear un Long por cada
+     * trigrama al construir el segmento (decenas de millones con millones de clientes)
+     */
+    private static final class TablaGramas<V> {
+
+        private long[] claves = new long[1024];
+        private Object[] valores = new Object[1024];
+        private int tamano;
+
+        @SuppressWarnings("unchecked")
+        V get(long clave) {
+            int mascara = claves.length - 1;
+            for (int i = posicion(clave, mascara); valores[i] != null; i = (i + 1) & mascara) {
+                if (claves[i] == clave) {
+                    return (V) valores[i];
+                }
+            }
+            return null;
+        }
+
+        void put(long clave, V valor) {
+            if ((tamano + 1) * 2 > claves.length) {
+                redimensionar();
+            }
+            int mascara = claves.length - 1;
+            int i = posicion(clave, mascara);
+            while (valores[i] != null && claves[i] != clave) {
+                i = (i + 1) & mascara;
+            }
+            if (valores[i] == null) {
+                tamano++;
+            }
+            claves[i] = clave;
+            valores[i] = valor;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(AccionGrama<V> accion) {
+            for (int i = 0; i < claves.length; i++) {
+                if (valores[i] != null) {
+                    accion.aceptar(claves[i], (V) valores[i]);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void redimensionar() {
+            long[] clavesAnteriores = claves;
+            Object[] valoresAnteriores = valores;
+            claves = new long[clavesAnteriores.length * 2];
+            valores = new Object[clavesAnteriores.length * 2];
+            tamano = 0;
+            for (int i = 0; i < clavesAnteriores.length; i++) {
+                if (valoresAnteriores[i] != null) {
+                    put(clavesAnteriores[i], (V) valoresAnteriores[i]);
+                }
+            }
+        }
+
+        private static int posicion(long clave, int mascara) {
+            long h = clave * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mascara;
+        }
+    }
+
+    @FunctionalInterface
+    private interface AccionGrama<V> {
+        void aceptar(long grama, V valor);
+    }
+
+    private static final class ListaEnConstruccion {
+
+        private int[] docs = new int[4];
+        private int tamano;
+
+        void agregar(int doc) {
+            if (tamano == docs.length) {
+                docs = Arrays.copyOf(docs, tamano + (tamano >> 1) + 1);
+            }
+            docs[tamano++] = doc;
+        }
+
+        int[] compactar() {
+            return tamano == docs.length ? docs : Arrays.copyOf(docs, tamano);
+        }
+    }
+
+    /**
+     * Documentos ordenados por nombre normalizado y listas de trigramas en ese orden; no se modifica
+     */
+    private static final class Segmento {
+
+        private final Documento[] documentos;
+        private final String[] normalizados;
+        private final TablaGramas<int[]> postings;
+
+        private Segmento(Documento[] documentos, TablaGramas<int[]> postings) {
+            this.documentos = documentos;
+            this.normalizados = new String[documentos.length];
+            for (int i = 0; i < documentos.length; i++) {
+                normalizados[i] = documentos[i].normalizado();
+            }
+            this.postings = postings;
+        }
+
+        static Segmento construir(List<Documento> documentos) {
+            Documento[] ordenados = documentos.toArray(new Documento[0]);
+            Arrays.sort(ordenados, ORDEN);
+
+            TablaGramas<ListaEnConstruccion> enConstruccion = new TablaGramas<>();
+            for (int doc = 0; doc < ordenados.length; doc++) {
+                for (long grama : trigramas(ordenados[doc].normalizado(), true)) {
+                    ListaEnConstruccion lista = enConstruccion.get(grama);
+                    if (lista == null) {
+                        lista = new ListaEnConstruccion();
+                        enConstruccion.put(grama, lista);
+                    }
+                    lista.agregar(doc);
+                }
+            }
+            TablaGramas<int[]> listas = new TablaGramas<>();
+            enConstruccion.forEach((grama, lista) -> listas.put(grama, lista.compactar()));
+            return new Segmento(ordenados, listas);
+        }
+
+        int size() {
+            return documentos.length;
+        }
+
+        Documento documento(int doc) {
+            return documentos[doc];
+        }
+
+        /**
+         * Documentos cuyo nombre empieza por q, en orden, hasta reunir maximo
+         */
+        void prefijos(String q, BitSet borrados, int maximo, List<Documento> salida) {
+            int desde = Arrays.binarySearch(normalizados, q);
+            if (desde < 0) {
+                desde = -desde - 1;
+            }
+            for (int doc = desde; doc < normalizados.length && salida.size() < maximo
+                    && normalizados[doc].startsWith(q); doc++) {
+                if (!borrados.get(doc)) {
+                    salida.add(documentos[doc]);
+                }
+            }
+        }
+
+        /**
+         * Documentos que contienen q sin empezar por q, en orden, hasta reunir maximo.
+         * Recorre la lista más corta de los trigramas de q.
+         */
+        void subcadenas(String q, BitSet borrados, int maximo, List<Documento> salida) {
+            int[] candidatos = null;
+            for (long grama : trigramas(q, false)) {
+                int[] lista = postings.get(grama);
+                if (lista == null) {
+                    return;
+                }
+                if (candidatos == null || lista.length < candidatos.length) {
+                    candidatos = lista;
+                }
+            }
+            if (candidatos == null) {
+                return;
+            }
+            int encontrados = 0;
+            for (int i = 0; i < candidatos.length && encontrados < maximo; i++) {
+                int doc = candidatos[i];
+                String normalizado = normalizados[doc];
+                if (!borrados.get(doc) && !normalizado.startsWith(q) && normalizado.contains(q)) {
+                    salida.add(documentos[doc]);
+                    encontrados++;
+                }
+            }
+        }
+    }
+}
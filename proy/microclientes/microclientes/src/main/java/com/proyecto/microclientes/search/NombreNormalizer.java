@@ -0,0 +1,78 @@
+package com.proyecto.microclientes.search;
+
+import java.text.Normalizer;
+
+/**
+ * Normalización de nombres para búsqueda: sin tildes ni diéresis (á→a, ü→u, ñ→n),
+ * en minúsculas y con los espacios colapsados. Equivale a lower(f_unaccent(nombre))
+ * en PostgreSQL para los caracteres del español.
+ */
+public final class NombreNormalizer {
+
+    private NombreNormalizer() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        // Se recorre una sola vez: se usa al cargar millones de nombres en el índice en memoria
+        String descompuesto = esAscii(texto) ? texto : Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(descompuesto.length());
+        boolean espacioPendiente = false;
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.isWhitespace(c)) {
+                espacioPendiente = normalizado.length() > 0;
+            } else if (!esMarca(c)) {
+                if (espacioPendiente) {
+                    normalizado.append(' ');
+                    espacioPendiente = false;
+                }
+                normalizado.append(Character.toLowerCase(c));
+            }
+        }
+        return normalizado.toString();
+    }
+
+    private static boolean esAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean esMarca(char c) {
+        int tipo = Character.getType(c);
+        return tipo == Character.NON_SPACING_MARK || tipo == Character.ENCLOSING_MARK
+                || tipo == Character.COMBINING_SPACING_MARK;
+    }
+
+    /**
+     * Escapa los comodines de LIKE (\, % y _) con la barra invertida, el escape por defecto de PostgreSQL
+     */
+    public static String escaparLike(String texto) {
+        StringBuilder escapado = new StringBuilder(texto.length() + 4);
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escapado.append('\\');
+            }
+            escapado.append(c);
+        }
+        return escapado.toString();
+    }
+
+    /**
+     * Menor texto mayor que todos los que empiezan por el prefijo, en orden de code points (el
+     * de los bytes UTF-8, que es el que usa text_pattern_ops): el prefijo con su último carácter
+     * incrementado
+     */
+    public static String siguientePrefijo(String prefijo) {
+        int ultimo = prefijo.codePointBefore(prefijo.length());
+        return prefijo.substring(0, prefijo.length() - Character.charCount(ultimo))
+                + new String(Character.toChars(ultimo + 1));
+    }
+}
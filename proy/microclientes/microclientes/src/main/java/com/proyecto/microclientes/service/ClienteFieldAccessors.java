@@ -0,0 +1,89 @@
+package com.proyecto.microclientes.service;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.proyecto.microclientes.entity.Cliente;
+
+/**
+ * Tabla de setters de Cliente (incluidos los heredados de Persona) construida una sola vez.
+ * Cada entrada tiene el MethodHandle del setter, adaptado a (Cliente, Object)void, y la
+ * conversión al tipo del campo ya resuelta, así que aplicar un PATCH no usa reflexión.
+ */
+@Component
+public class ClienteFieldAccessors {
+
+    // La identificación es la clave primaria y la versión la gestiona JPA (@Version): no se modifican por PATCH
+    private static final Set<String> NO_ACTUALIZABLES = Set.of("identificacion", "version");
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Cliente.class, Object.class);
+
+    private final Map<String, Accessor> accessors;
+
+    public ClienteFieldAccessors() {
+        Map<String, Accessor> tabla = new HashMap<>();
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            BeanInfo info = Introspector.getBeanInfo(Cliente.class, Object.class);
+            for (PropertyDescriptor property : info.getPropertyDescriptors()) {
+                if (property.getWriteMethod() == null || NO_ACTUALIZABLES.contains(property.getName())) {
+                    continue;
+                }
+                MethodHandle setter = lookup.unreflect(property.getWriteMethod()).asType(SETTER_TYPE);
+                tabla.put(property.getName(), new Accessor(setter, converter(property.getPropertyType())));
+            }
+        } catch (IntrospectionException | IllegalAccessException e) {
+            throw new IllegalStateException("No se pudo construir la tabla de campos de Cliente", e);
+        }
+        this.accessors = Collections.unmodifiableMap(tabla);
+    }
+
+    /**
+     * Asigna el valor convertido al campo; los campos desconocidos se ignoran
+     * @return true si el campo existe y se actualizó
+     */
+    public boolean aplicar(Cliente cliente, String campo, Object valor) {
+        Accessor accessor = accessors.get(campo);
+        if (accessor == null) {
+            return false;
+        }
+        Object convertido = valor == null ? null : accessor.converter().apply(valor);
+        try {
+            accessor.setter().invokeExact(cliente, convertido);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Error al actualizar el campo: " + campo, e);
+        }
+        return true;
+    }
+
+    public Set<String> campos() {
+        return accessors.keySet();
+    }
+
+    private static Function<Object, Object> converter(Class<?> targetType) {
+        if (targetType.equals(Integer.class) || targetType.equals(int.class)) {
+            return value -> value instanceof Number number ? number.intValue() : Integer.valueOf(value.toString());
+        }
+        if (targetType.equals(String.class)) {
+            return Object::toString;
+        }
+        return Function.identity();
+    }
+
+    private record Accessor(MethodHandle setter, Function<Object, Object> converter) {
+    }
+}
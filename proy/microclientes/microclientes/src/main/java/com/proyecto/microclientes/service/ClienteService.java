@@ -1,13 +1,24 @@
 package com.proyecto.microclientes.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.lang.reflect.Field;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.proyecto.microclientes.cache.ClienteCache;
 import com.proyecto.microclientes.dto.ClienteDTO;
+import com.proyecto.microclientes.dto.PaginaCursorDTO;
 import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.entity.ClienteLectura;
+import com.proyecto.microclientes.event.ClienteModificadoEvent;
+import com.proyecto.microclientes.repository.ClienteLecturaRepository;
+import com.proyecto.microclientes.repository.ClienteListadoRepository;
 import com.proyecto.microclientes.repository.ClienteRepository;
 
 import org.modelmapper.ModelMapper;
@@ -17,33 +28,122 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class ClienteService {
+    public static final int LIMITE_MAXIMO = 500;
+
     private final ClienteRepository repo;
 
+    // Listado paginado por clave con proyección de columnas (SQL construido por campos)
+    private final ClienteListadoRepository listadoRepo;
+
+    // Modelo de lectura aplanado (cliente_lectura), actualizado en cada escritura
+    private final ClienteLecturaRepository lecturaRepo;
+
+    // Caché de las consultas por clienteid e identificacion, invalidada en cada escritura
+    private final ClienteCache cache;
+
     private final ModelMapper modelMapper;
 
+    private final ClienteFieldAccessors fieldAccessors;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     public List<Cliente> listar() { 
         return repo.findAll(); 
     }
+
+    /**
+     * Página del listado de clientes ordenado por identificacion
+     * @param cursor valor de siguiente de la página anterior, o null para la primera
+     * @param limite número de clientes por página (1 a LIMITE_MAXIMO)
+     * @param campos campos separados por coma, o null para todos los de ClienteListadoRepository.CAMPOS
+     * @return filas con los campos pedidos (más identificacion) y el cursor de la página siguiente
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<Map<String, Object>> listar(String cursor, int limite, String campos) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        // Se pide una fila de más para saber si hay página siguiente sin contar
+        List<Map<String, Object>> filas = listadoRepo.listar(campos(campos), decodificarCursor(cursor), limite + 1);
+        if (filas.size() <= limite) {
+            return new PaginaCursorDTO<>(filas, null);
+        }
+        filas = filas.subList(0, limite);
+        String ultima = (String) filas.get(limite - 1).get("identificacion");
+        return new PaginaCursorDTO<>(filas, codificarCursor(ultima));
+    }
+
+    private static Set<String> campos(String campos) {
+        if (campos == null || campos.isBlank()) {
+            return ClienteListadoRepository.CAMPOS.keySet();
+        }
+        Set<String> seleccion = new LinkedHashSet<>();
+        for (String campo : campos.split(",")) {
+            String nombre = campo.trim();
+            if (!ClienteListadoRepository.CAMPOS.containsKey(nombre)) {
+                throw new IllegalArgumentException("Campo no permitido en el listado: " + nombre);
+            }
+            seleccion.add(nombre);
+        }
+        return seleccion;
+    }
+
+    private static String codificarCursor(String identificacion) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(identificacion.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor no válido: " + cursor);
+        }
+    }
     
+    /**
+     * Consulta por clienteid: caché y, si no está, modelo de lectura (una fila, sin JOIN). Si la
+     * fila aún no existe (carga inicial de cliente_lectura en curso) se consulta persona + cliente.
+     * @return un Cliente no gestionado; para modificarlo hay que pasar por guardar
+     */
     public Cliente buscarPorId(String clienteid) { 
-        return repo.findByClienteid(clienteid)
+        return cache.porClienteid(clienteid, () -> lecturaRepo.findByClienteid(clienteid)
+                .map(ClienteLectura::aCliente)
+                .or(() -> repo.findByClienteid(clienteid)))
             .orElseThrow(() -> new RuntimeException("Cliente no encontrado con ID: " + clienteid)); 
     }
     
     public Cliente buscarPorIdentificacion(String identificacion) {
-        return repo.findById(identificacion)
+        return cache.porIdentificacion(identificacion, () -> lecturaRepo.findById(identificacion)
+                .map(ClienteLectura::aCliente)
+                .or(() -> repo.findById(identificacion)))
             .orElseThrow(() -> new RuntimeException("Cliente no encontrado con identificación: " + identificacion));
     }
     
+    @Transactional
     public Cliente guardar(Cliente c) { 
-        return repo.save(c); 
+        if (c.getVersion() == null) {
+            // Viene de un DTO sin versión: con la actual, save actualiza el cliente existente en lugar de insertarlo
+            repo.findVersionByIdentificacion(c.getIdentificacion()).ifPresent(c::setVersion);
+        }
+        Cliente guardado = repo.save(c);
+        // La versión se incrementa al hacer flush; el modelo de lectura debe copiar la definitiva
+        repo.flush();
+        lecturaRepo.save(ClienteLectura.desde(guardado));
+        eventPublisher.publishEvent(new ClienteModificadoEvent(guardado.getIdentificacion(), guardado));
+        return guardado;
     }
     
+    @Transactional
     public void eliminar(String clienteid) {
         // Buscar cliente por clienteid para obtener la identificación
         Cliente cliente = repo.findByClienteid(clienteid)
             .orElseThrow(() -> new RuntimeException("Cliente no encontrado con ID: " + clienteid));
         repo.deleteById(cliente.getIdentificacion()); 
+        lecturaRepo.deleteById(cliente.getIdentificacion());
+        eventPublisher.publishEvent(new ClienteModificadoEvent(cliente.getIdentificacion(), null));
     }
 
     /**
@@ -52,64 +152,20 @@ public class ClienteService {
      * @param updates Mapa con los campos a actualizar
      * @return ClienteDTO actualizado
      */
+    @Transactional
     public ClienteDTO actualizarParcial(String clienteid, Map<String, Object> updates) {
-        Cliente clienteExistente = buscarPorId(clienteid);
-        
-        // Aplicar actualizaciones parciales usando reflexión
-        updates.forEach((key, value) -> {
-            try {
-                Field field = getFieldFromClassHierarchy(Cliente.class, key);
-                if (field != null) {
-                    field.setAccessible(true);
-                    
-                    // Convertir el valor al tipo correcto del campo
-                    Object convertedValue = convertValue(value, field.getType());
-                    field.set(clienteExistente, convertedValue);
-                }
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException("Error al actualizar el campo: " + key, e);
-            }
-        });
-        
-        Cliente clienteActualizado = repo.save(clienteExistente);
-        
-        return modelMapper.map(clienteActualizado, ClienteDTO.class);
-    }
-    
-    /**
-     * Busca un campo en la jerarquía de clases (Cliente -> Persona)
-     */
-    private Field getFieldFromClassHierarchy(Class<?> clazz, String fieldName) {
-        while (clazz != null) {
-            try {
-                return clazz.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                clazz = clazz.getSuperclass();
-            }
-        }
-        return null;
-    }
-    
-    /**
-     * Convierte el valor al tipo correcto del campo
-     */
-    private Object convertValue(Object value, Class<?> targetType) {
-        if (value == null) return null;
-        
-        if (targetType.equals(Integer.class) || targetType.equals(int.class)) {
-            if (value instanceof Number number) {
-                return number.intValue();
-            }
-            return Integer.valueOf(value.toString());
-        }
+        // Se lee la entidad gestionada (no el modelo de lectura) para que Hibernate detecte los cambios
+        Cliente clienteExistente = repo.findByClienteid(clienteid)
+            .orElseThrow(() -> new RuntimeException("Cliente no encontrado con ID: " + clienteid));
         
-        if (targetType.equals(String.class)) {
-            return value.toString();
-        }
+        // Aplicar actualizaciones parciales con la tabla de setters precalculada
+        updates.forEach((key, value) -> fieldAccessors.aplicar(clienteExistente, key, value));
+        repo.flush();
+        lecturaRepo.save(ClienteLectura.desde(clienteExistente));
+        eventPublisher.publishEvent(new ClienteModificadoEvent(clienteExistente.getIdentificacion(), clienteExistente));
         
-        // Para otros tipos, retornar el valor tal como está
-        return value;
+        // La entidad está gestionada: en el flush Hibernate actualiza solo las columnas
+        // modificadas (@DynamicUpdate) de persona y/o cliente, más la versión, sin volver a leerla
+        return modelMapper.map(clienteExistente, ClienteDTO.class);
     }
-
-
-} 
\ No newline at end of file
+}
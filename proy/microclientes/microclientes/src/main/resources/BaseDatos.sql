@@ -4,6 +4,7 @@
 -- ==========================================
 -- ELIMINAR TABLAS EXISTENTES (si existen)
 -- ==========================================
+DROP TABLE IF EXISTS cliente_lectura CASCADE;
 DROP TABLE IF EXISTS cliente CASCADE;
 DROP TABLE IF EXISTS persona CASCADE;
 DROP TABLE IF EXISTS persona_cliente CASCADE;
@@ -18,6 +19,7 @@ CREATE TABLE persona (
     edad INTEGER NOT NULL,
     direccion VARCHAR(100) NOT NULL,
     telefono VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     
     -- Constraints
     CONSTRAINT pk_persona PRIMARY KEY (identificacion),
@@ -47,6 +49,33 @@ CREATE TABLE cliente (
     CONSTRAINT chk_cliente_contrasena CHECK (LENGTH(contrasena) >= 6 AND LENGTH(contrasena) <= 100)
 );
 
+-- ==========================================
+-- CREAR TABLA CLIENTE_LECTURA (Modelo de lectura)
+-- ==========================================
+-- Copia aplanada de persona + cliente que mantiene ClienteService en cada escritura.
+-- Las consultas por identificacion y por clienteid se resuelven con un index-only scan:
+-- los dos índices incluyen el resto de columnas (INCLUDE) y no hace falta leer la tabla.
+CREATE TABLE cliente_lectura (
+    identificacion VARCHAR(20) NOT NULL,
+    clienteid VARCHAR(20) NOT NULL,
+    nombre VARCHAR(100) NOT NULL,
+    genero VARCHAR(1) NOT NULL,
+    edad INTEGER NOT NULL,
+    direccion VARCHAR(100) NOT NULL,
+    telefono VARCHAR(20) NOT NULL,
+    contrasena VARCHAR(100) NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+
+    -- Constraints
+    CONSTRAINT pk_cliente_lectura PRIMARY KEY (identificacion)
+        INCLUDE (clienteid, nombre, genero, edad, direccion, telefono, contrasena, estado, version),
+    CONSTRAINT uk_cliente_lectura_clienteid UNIQUE (clienteid)
+        INCLUDE (identificacion, nombre, genero, edad, direccion, telefono, contrasena, estado, version)
+)
+-- El index-only scan necesita el mapa de visibilidad al día: vacuum más frecuente que el de por defecto
+WITH (autovacuum_vacuum_scale_factor = 0.01, autovacuum_vacuum_insert_scale_factor = 0.01);
+
 -- ==========================================
 -- CREAR ÍNDICES PARA OPTIMIZACIÓN
 -- ==========================================
@@ -57,6 +86,22 @@ CREATE INDEX idx_persona_edad ON persona(edad);
 CREATE INDEX idx_cliente_estado ON cliente(estado);
 CREATE INDEX idx_cliente_identificacion ON cliente(identificacion);
 
+-- ==========================================
+-- BÚSQUEDA POR NOMBRE (GET /clientes/buscar)
+-- ==========================================
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() es STABLE y no puede usarse en un índice; este envoltorio fija el diccionario y es IMMUTABLE
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT AS
+$func$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $func$;
+
+-- Subcadena (LIKE '%texto%') sin tildes ni mayúsculas
+CREATE INDEX IF NOT EXISTS idx_persona_nombre_trgm ON persona USING gin (lower(f_unaccent(nombre)) gin_trgm_ops);
+-- Prefijo (LIKE 'texto%') para consultas de menos de 3 caracteres
+CREATE INDEX IF NOT EXISTS idx_persona_nombre_norm ON persona (lower(f_unaccent(nombre)) text_pattern_ops);
+
 -- ==========================================
 -- DATOS DE EJEMPLO
 -- ==========================================
@@ -70,4 +115,9 @@ INSERT INTO persona (identificacion, nombre, genero, edad, direccion, telefono)
 INSERT INTO cliente (identificacion, clienteid, contrasena, estado) VALUES
 ('12345678', 'CLI001', 'password123', 'ACTIVO'),
 ('87654321', 'CLI002', 'password456', 'ACTIVO'),
-('11223344', 'CLI003', 'password789', 'INACTIVO');
\ No newline at end of file
+('11223344', 'CLI003', 'password789', 'INACTIVO');
+
+-- Poblar el modelo de lectura
+INSERT INTO cliente_lectura (identificacion, clienteid, nombre, genero, edad, direccion, telefono, contrasena, estado)
+SELECT p.identificacion, c.clienteid, p.nombre, p.genero, p.edad, p.direccion, p.telefono, c.contrasena, c.estado
+FROM persona p JOIN cliente c ON c.identificacion = p.identificacion;
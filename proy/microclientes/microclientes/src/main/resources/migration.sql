@@ -59,6 +59,76 @@ CREATE INDEX IF NOT EXISTS idx_cliente_identificacion ON cliente(identificacion)
 CREATE INDEX IF NOT EXISTS idx_persona_nombre ON persona(nombre);
 CREATE INDEX IF NOT EXISTS idx_cliente_estado ON cliente(estado);
 
+-- ==========================================
+-- BÚSQUEDA POR NOMBRE (GET /clientes/buscar)
+-- ==========================================
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() es STABLE y no puede usarse en un índice; este envoltorio fija el diccionario y es IMMUTABLE
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT AS
+$func$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $func$;
+
+-- Subcadena (LIKE '%texto%') sin tildes ni mayúsculas
+CREATE INDEX IF NOT EXISTS idx_persona_nombre_trgm ON persona USING gin (lower(f_unaccent(nombre)) gin_trgm_ops);
+-- Prefijo (rango ~>=~ / ~<~ y ORDER BY ... USING ~<~) para consultas de menos de 3 caracteres
+CREATE INDEX IF NOT EXISTS idx_persona_nombre_norm ON persona (lower(f_unaccent(nombre)) text_pattern_ops);
+
+-- ==========================================
+-- VERSIÓN DEL CLIENTE (bloqueo optimista y ETag de GET /clientes/{clienteid})
+-- ==========================================
+ALTER TABLE persona ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- ==========================================
+-- MODELO DE LECTURA (GET /clientes/{clienteid} y /clientes/identificacion/{identificacion})
+-- ==========================================
+-- Copia aplanada de persona + cliente; los índices incluyen todas las columnas para
+-- resolver las consultas por identificacion o clienteid con un index-only scan
+CREATE TABLE IF NOT EXISTS cliente_lectura (
+    identificacion VARCHAR(20) NOT NULL,
+    clienteid VARCHAR(20) NOT NULL,
+    nombre VARCHAR(100) NOT NULL,
+    genero VARCHAR(1) NOT NULL,
+    edad INTEGER NOT NULL,
+    direccion VARCHAR(100) NOT NULL,
+    telefono VARCHAR(20) NOT NULL,
+    contrasena VARCHAR(100) NOT NULL,
+    estado VARCHAR(20) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_cliente_lectura PRIMARY KEY (identificacion)
+        INCLUDE (clienteid, nombre, genero, edad, direccion, telefono, contrasena, estado, version),
+    CONSTRAINT uk_cliente_lectura_clienteid UNIQUE (clienteid)
+        INCLUDE (identificacion, nombre, genero, edad, direccion, telefono, contrasena, estado, version)
+)
+WITH (autovacuum_vacuum_scale_factor = 0.01, autovacuum_vacuum_insert_scale_factor = 0.01);
+
+-- Bases en las que cliente_lectura ya existía sin versión: se añade la columna y se rehacen los
+-- índices con ella incluida para que las consultas sigan siendo index-only
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = 'cliente_lectura' AND column_name = 'version') THEN
+        ALTER TABLE cliente_lectura ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+        ALTER TABLE cliente_lectura
+            DROP CONSTRAINT pk_cliente_lectura,
+            DROP CONSTRAINT uk_cliente_lectura_clienteid,
+            ADD CONSTRAINT pk_cliente_lectura PRIMARY KEY (identificacion)
+                INCLUDE (clienteid, nombre, genero, edad, direccion, telefono, contrasena, estado, version),
+            ADD CONSTRAINT uk_cliente_lectura_clienteid UNIQUE (clienteid)
+                INCLUDE (identificacion, nombre, genero, edad, direccion, telefono, contrasena, estado, version);
+    END IF;
+END $$;
+
+-- Carga inicial; mientras no termine, el servicio consulta persona + cliente cuando falta la fila
+INSERT INTO cliente_lectura (identificacion, clienteid, nombre, genero, edad, direccion, telefono, contrasena, estado, version)
+SELECT p.identificacion, c.clienteid, p.nombre, p.genero, p.edad, p.direccion, p.telefono, c.contrasena, c.estado, p.version
+FROM persona p JOIN cliente c ON c.identificacion = p.identificacion
+ON CONFLICT (identificacion) DO NOTHING;
+
+-- Deja el mapa de visibilidad al día para que las lecturas sean index-only desde el principio
+VACUUM ANALYZE cliente_lectura;
+
 -- Comentarios sobre la migración
 -- 1. La tabla persona_cliente original se mantiene hasta verificar que todo funciona correctamente
 -- 2. Se usa ON CONFLICT DO NOTHING para evitar errores en caso de re-ejecutar el script
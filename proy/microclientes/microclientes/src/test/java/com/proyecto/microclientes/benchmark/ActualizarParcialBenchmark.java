@@ -0,0 +1,124 @@
+package com.proyecto.microclientes.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.service.ClienteFieldAccessors;
+
+/**
+ * Aplicación de un PATCH de 1 y de 5 campos sobre un Cliente: reflexión por petición
+ * (getDeclaredField + setAccessible, como lo hacía ClienteService) frente a la tabla
+ * precalculada de ClienteFieldAccessors.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.proyecto.microclientes.benchmark.ActualizarParcialBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ActualizarParcialBenchmark {
+
+    private static final Map<String, Object> UN_CAMPO = Map.of("telefono", "555-7777");
+
+    private static final Map<String, Object> CINCO_CAMPOS = Map.of(
+            "nombre", "Juan Carlos Pérez",
+            "edad", 32,
+            "direccion", "Nueva Dirección 123",
+            "telefono", "555-7777",
+            "estado", "INACTIVO");
+
+    private ClienteFieldAccessors accessors;
+    private Cliente cliente;
+
+    @Setup
+    public void setUp() {
+        accessors = new ClienteFieldAccessors();
+        cliente = new Cliente();
+        cliente.setIdentificacion("12345678");
+        cliente.setClienteid("CLI001");
+        cliente.setNombre("Juan Pérez");
+        cliente.setEdad(30);
+        cliente.setEstado("ACTIVO");
+    }
+
+    @Benchmark
+    public Cliente reflexionUnCampo() {
+        aplicarConReflexion(cliente, UN_CAMPO);
+        return cliente;
+    }
+
+    @Benchmark
+    public Cliente reflexionCincoCampos() {
+        aplicarConReflexion(cliente, CINCO_CAMPOS);
+        return cliente;
+    }
+
+    @Benchmark
+    public Cliente accessorsUnCampo() {
+        UN_CAMPO.forEach((campo, valor) -> accessors.aplicar(cliente, campo, valor));
+        return cliente;
+    }
+
+    @Benchmark
+    public Cliente accessorsCincoCampos() {
+        CINCO_CAMPOS.forEach((campo, valor) -> accessors.aplicar(cliente, campo, valor));
+        return cliente;
+    }
+
+    /**
+     * Implementación anterior de ClienteService.actualizarParcial, como referencia
+     */
+    private static void aplicarConReflexion(Cliente cliente, Map<String, Object> updates) {
+        updates.forEach((key, value) -> {
+            try {
+                Field field = null;
+                Class<?> clazz = Cliente.class;
+                while (clazz != null && field == null) {
+                    try {
+                        field = clazz.getDeclaredField(key);
+                    } catch (NoSuchFieldException e) {
+                        clazz = clazz.getSuperclass();
+                    }
+                }
+                if (field != null) {
+                    field.setAccessible(true);
+                    Object convertido = value;
+                    if (field.getType().equals(Integer.class) && value != null) {
+                        convertido = value instanceof Number number ? number.intValue() : Integer.valueOf(value.toString());
+                    } else if (field.getType().equals(String.class) && value != null) {
+                        convertido = value.toString();
+                    }
+                    field.set(cliente, convertido);
+                }
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Error al actualizar el campo: " + key, e);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ActualizarParcialBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
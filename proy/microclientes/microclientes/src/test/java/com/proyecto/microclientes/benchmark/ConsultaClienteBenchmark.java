@@ -0,0 +1,201 @@
+package com.proyecto.microclientes.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Consulta de un cliente por clienteid y por identificacion: JOIN persona + cliente (lo que
+ * genera Hibernate con la herencia JOINED) frente al modelo de lectura cliente_lectura
+ * (index-only scan sobre los índices con INCLUDE).
+ *
+ * Necesita un PostgreSQL de pruebas: crea y puebla el esquema "bench" la primera vez
+ * (10M de filas por defecto, varios minutos) y lo reutiliza en las siguientes ejecuciones.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.proyecto.microclientes.benchmark.ConsultaClienteBenchmark
+ *     -Dbench.url=jdbc:postgresql://localhost:5432/microclientes_bench -Dbench.filas=10000000
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConsultaClienteBenchmark {
+
+    private static final String URL = System.getProperty("bench.url", "jdbc:postgresql://localhost:5432/microclientes_bench");
+    private static final String USUARIO = System.getProperty("bench.usuario", "postgres");
+    private static final String CONTRASENA = System.getProperty("bench.contrasena", "123");
+    private static final int FILAS = Integer.getInteger("bench.filas", 10_000_000);
+
+    private static final String COLUMNAS_JOIN = "p.identificacion, c.clienteid, p.nombre, p.genero, p.edad, "
+            + "p.direccion, p.telefono, c.contrasena, c.estado ";
+    private static final String COLUMNAS_LECTURA = "identificacion, clienteid, nombre, genero, edad, "
+            + "direccion, telefono, contrasena, estado ";
+
+    /**
+     * Crea y puebla las tablas una vez por ejecución si no tienen el número de filas pedido
+     */
+    @State(Scope.Benchmark)
+    public static class Datos {
+
+        @Setup(Level.Trial)
+        public void poblar() throws SQLException {
+            try (Connection con = DriverManager.getConnection(URL, USUARIO, CONTRASENA);
+                 Statement st = con.createStatement()) {
+                st.execute("CREATE SCHEMA IF NOT EXISTS bench");
+                if (filasExistentes(st) != FILAS) {
+                    crearTablas(st);
+                }
+                try (ResultSet rs = st.executeQuery("EXPLAIN SELECT " + COLUMNAS_LECTURA
+                        + "FROM bench.cliente_lectura WHERE clienteid = 'C42'")) {
+                    while (rs.next()) {
+                        System.out.println("  " + rs.getString(1));
+                    }
+                }
+            }
+        }
+
+        private static long filasExistentes(Statement st) throws SQLException {
+            try (ResultSet rs = st.executeQuery("SELECT to_regclass('bench.cliente_lectura') IS NOT NULL")) {
+                rs.next();
+                if (!rs.getBoolean(1)) {
+                    return -1;
+                }
+            }
+            try (ResultSet rs = st.executeQuery("SELECT count(*) FROM bench.cliente_lectura")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        private static void crearTablas(Statement st) throws SQLException {
+            System.out.println("Poblando bench con " + FILAS + " clientes...");
+            st.execute("DROP TABLE IF EXISTS bench.cliente_lectura, bench.cliente, bench.persona");
+            st.execute("CREATE TABLE bench.persona (identificacion VARCHAR(20) PRIMARY KEY, nombre VARCHAR(100) NOT NULL, "
+                    + "genero VARCHAR(1) NOT NULL, edad INTEGER NOT NULL, direccion VARCHAR(100) NOT NULL, "
+                    + "telefono VARCHAR(20) NOT NULL)");
+            st.execute("CREATE TABLE bench.cliente (identificacion VARCHAR(20) PRIMARY KEY "
+                    + "REFERENCES bench.persona(identificacion) ON DELETE CASCADE, clienteid VARCHAR(20) NOT NULL UNIQUE, "
+                    + "contrasena VARCHAR(100) NOT NULL, estado VARCHAR(20) NOT NULL)");
+            st.execute("CREATE TABLE bench.cliente_lectura (identificacion VARCHAR(20) NOT NULL, "
+                    + "clienteid VARCHAR(20) NOT NULL, nombre VARCHAR(100) NOT NULL, genero VARCHAR(1) NOT NULL, "
+                    + "edad INTEGER NOT NULL, direccion VARCHAR(100) NOT NULL, telefono VARCHAR(20) NOT NULL, "
+                    + "contrasena VARCHAR(100) NOT NULL, estado VARCHAR(20) NOT NULL, "
+                    + "PRIMARY KEY (identificacion) INCLUDE (clienteid, nombre, genero, edad, direccion, telefono, contrasena, estado), "
+                    + "UNIQUE (clienteid) INCLUDE (identificacion, nombre, genero, edad, direccion, telefono, contrasena, estado))");
+            st.execute("INSERT INTO bench.persona SELECT lpad(i::text, 10, '0'), 'Cliente ' || i, "
+                    + "CASE WHEN i % 2 = 0 THEN 'M' ELSE 'F' END, 18 + i % 70, 'Calle ' || i, '555-' || i "
+                    + "FROM generate_series(1, " + FILAS + ") i");
+            st.execute("INSERT INTO bench.cliente SELECT lpad(i::text, 10, '0'), 'C' || i, 'password' || i, "
+                    + "CASE WHEN i % 10 = 0 THEN 'INACTIVO' ELSE 'ACTIVO' END FROM generate_series(1, " + FILAS + ") i");
+            st.execute("INSERT INTO bench.cliente_lectura SELECT " + COLUMNAS_JOIN
+                    + "FROM bench.persona p JOIN bench.cliente c ON c.identificacion = p.identificacion");
+            // Mapa de visibilidad al día para que las lecturas sean index-only
+            st.execute("VACUUM ANALYZE bench.persona");
+            st.execute("VACUUM ANALYZE bench.cliente");
+            st.execute("VACUUM ANALYZE bench.cliente_lectura");
+        }
+    }
+
+    /**
+     * Conexión y sentencias preparadas por hilo
+     */
+    @State(Scope.Thread)
+    public static class Conexion {
+
+        Connection con;
+        PreparedStatement joinPorClienteid;
+        PreparedStatement lecturaPorClienteid;
+        PreparedStatement joinPorIdentificacion;
+        PreparedStatement lecturaPorIdentificacion;
+
+        @Setup(Level.Trial)
+        public void abrir(Datos datos) throws SQLException {
+            con = DriverManager.getConnection(URL, USUARIO, CONTRASENA);
+            con.setReadOnly(true);
+            joinPorClienteid = con.prepareStatement("SELECT " + COLUMNAS_JOIN
+                    + "FROM bench.cliente c JOIN bench.persona p ON p.identificacion = c.identificacion WHERE c.clienteid = ?");
+            lecturaPorClienteid = con.prepareStatement("SELECT " + COLUMNAS_LECTURA
+                    + "FROM bench.cliente_lectura WHERE clienteid = ?");
+            joinPorIdentificacion = con.prepareStatement("SELECT " + COLUMNAS_JOIN
+                    + "FROM bench.cliente c JOIN bench.persona p ON p.identificacion = c.identificacion WHERE c.identificacion = ?");
+            lecturaPorIdentificacion = con.prepareStatement("SELECT " + COLUMNAS_LECTURA
+                    + "FROM bench.cliente_lectura WHERE identificacion = ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void cerrar() throws SQLException {
+            con.close();
+        }
+    }
+
+    @Benchmark
+    public String joinPorClienteid(Conexion c) throws SQLException {
+        return consultar(c.joinPorClienteid, "C" + idAleatorio());
+    }
+
+    @Benchmark
+    public String lecturaPorClienteid(Conexion c) throws SQLException {
+        return consultar(c.lecturaPorClienteid, "C" + idAleatorio());
+    }
+
+    @Benchmark
+    public String joinPorIdentificacion(Conexion c) throws SQLException {
+        return consultar(c.joinPorIdentificacion, identificacionAleatoria());
+    }
+
+    @Benchmark
+    public String lecturaPorIdentificacion(Conexion c) throws SQLException {
+        return consultar(c.lecturaPorIdentificacion, identificacionAleatoria());
+    }
+
+    private static int idAleatorio() {
+        return ThreadLocalRandom.current().nextInt(FILAS) + 1;
+    }
+
+    private static String identificacionAleatoria() {
+        return String.format("%010d", idAleatorio());
+    }
+
+    private static String consultar(PreparedStatement ps, String clave) throws SQLException {
+        ps.setString(1, clave);
+        try (ResultSet rs = ps.executeQuery()) {
+            if (!rs.next()) {
+                throw new IllegalStateException("No existe el cliente " + clave);
+            }
+            return rs.getString(3);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // El fork de JMH no hereda las propiedades del sistema: se le pasan las de conexión
+        new Runner(new OptionsBuilder()
+                .include(ConsultaClienteBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-Dbench.url=" + URL, "-Dbench.usuario=" + USUARIO,
+                        "-Dbench.contrasena=" + CONTRASENA, "-Dbench.filas=" + FILAS)
+                .build()).run();
+    }
+}
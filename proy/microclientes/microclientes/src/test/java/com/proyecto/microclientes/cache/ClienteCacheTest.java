@@ -0,0 +1,130 @@
+package com.proyecto.microclientes.cache;
+
+import com.proyecto.microclientes.entity.Cliente;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias - ClienteCache")
+class ClienteCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private ClienteCache cache;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new ClienteCache(registry, 100, Duration.ofMinutes(1), 0.0);
+        cargas = new AtomicInteger();
+    }
+
+    private static Cliente cliente(String identificacion, String clienteid, String estado) {
+        Cliente c = new Cliente(clienteid, "password123", estado);
+        c.setIdentificacion(identificacion);
+        c.setNombre("Juan Pérez");
+        return c;
+    }
+
+    private Supplier<Optional<Cliente>> carga(Cliente c) {
+        return () -> {
+            cargas.incrementAndGet();
+            return Optional.ofNullable(c);
+        };
+    }
+
+    @Test
+    @DisplayName("Debería servir desde caché por clienteid y por identificación y devolver copias")
+    void testAciertos() {
+        // Given
+        Cliente original = cliente("12345678", "CLI001", "ACTIVO");
+
+        // When
+        Cliente primero = cache.porClienteid("CLI001", carga(original)).orElseThrow();
+        primero.setEstado("MODIFICADO");
+        Cliente segundo = cache.porClienteid("CLI001", carga(original)).orElseThrow();
+        Cliente porIdentificacion = cache.porIdentificacion("12345678", carga(original)).orElseThrow();
+
+        // Then
+        assertEquals(1, cargas.get());
+        assertEquals("ACTIVO", segundo.getEstado());
+        assertEquals("CLI001", porIdentificacion.getClienteid());
+    }
+
+    @Test
+    @DisplayName("Debería volver a la base de datos tras invalidar, aunque cambie el clienteid")
+    void testInvalidacionConCambioDeClienteid() {
+        // Given
+        cache.porClienteid("CLI001", carga(cliente("12345678", "CLI001", "ACTIVO")));
+
+        // When: el cliente pasa a CLI009 en otra instancia
+        cache.invalidar("12345678", System.currentTimeMillis(), true);
+        cache.porIdentificacion("12345678", carga(cliente("12345678", "CLI009", "ACTIVO")));
+        Optional<Cliente> anterior = cache.porClienteid("CLI001", carga(null));
+
+        // Then
+        assertTrue(anterior.isEmpty());
+        assertEquals(3, cargas.get());
+        assertEquals(1, registry.get("clientes.cache.invalidacion.retraso").tag("origen", "remota").timer().count());
+    }
+
+    @Test
+    @DisplayName("No debería guardar lo leído si hubo una invalidación durante la carga")
+    void testInvalidacionDuranteLaCarga() {
+        // Given
+        Cliente anterior = cliente("12345678", "CLI001", "ACTIVO");
+        Supplier<Optional<Cliente>> cargaLenta = () -> {
+            cargas.incrementAndGet();
+            cache.invalidar("12345678", System.currentTimeMillis(), false);
+            return Optional.of(anterior);
+        };
+
+        // When
+        cache.porClienteid("CLI001", cargaLenta);
+        cache.porClienteid("CLI001", carga(cliente("12345678", "CLI001", "INACTIVO")));
+
+        // Then
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("No debería usar la caché mientras está desactivada")
+    void testCacheDesactivada() {
+        // Given
+        Cliente c = cliente("12345678", "CLI001", "ACTIVO");
+        cache.porClienteid("CLI001", carga(c));
+
+        // When
+        cache.setActiva(false);
+        cache.porClienteid("CLI001", carga(c));
+        cache.porClienteid("CLI001", carga(c));
+
+        // Then
+        assertEquals(3, cargas.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Debería contar las lecturas obsoletas detectadas al verificar aciertos")
+    void testVerificacionDeLecturasObsoletas() {
+        // Given
+        ClienteCache verificada = new ClienteCache(registry, 100, Duration.ofMinutes(1), 1.0);
+        verificada.porClienteid("CLI001", carga(cliente("12345678", "CLI001", "ACTIVO")));
+
+        // When: la base de datos cambió y la invalidación aún no ha llegado
+        Cliente leido = verificada.porClienteid("CLI001", carga(cliente("12345678", "CLI001", "INACTIVO"))).orElseThrow();
+
+        // Then
+        assertEquals("ACTIVO", leido.getEstado());
+        assertEquals(1.0, registry.get("clientes.cache.verificaciones").counter().count());
+        assertEquals(1.0, registry.get("clientes.cache.lecturas.obsoletas").counter().count());
+    }
+}
@@ -2,17 +2,21 @@ package com.proyecto.microclientes.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,12 +26,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.proyecto.microclientes.dto.ClienteDTO;
+import com.proyecto.microclientes.dto.PaginaCursorDTO;
 import com.proyecto.microclientes.entity.Cliente;
 import com.proyecto.microclientes.exception.GlobalExceptionHandler;
 import com.proyecto.microclientes.service.ClienteService;
@@ -86,9 +92,12 @@ class ClienteControllerTest {
     @DisplayName("GET /clientes - Debería listar todos los clientes correctamente")
     void testListarClientes() throws Exception {
         // Given
-        List<Cliente> clientes = Arrays.asList(cliente);
-        when(clienteService.listar()).thenReturn(clientes);
-        when(modelMapper.map(cliente, ClienteDTO.class)).thenReturn(clienteDTO);
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("identificacion", "12345678");
+        fila.put("nombre", "Juan Pérez");
+        fila.put("clienteid", "CLI001");
+        fila.put("estado", "ACTIVO");
+        when(clienteService.listar(null, 50, null)).thenReturn(new PaginaCursorDTO<>(List.of(fila), null));
 
         // When & Then
         mockMvc.perform(get("/clientes"))
@@ -96,7 +105,26 @@ class ClienteControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$[0].clienteid").value("CLI001"))
                 .andExpect(jsonPath("$[0].nombre").value("Juan Pérez"))
-                .andExpect(jsonPath("$[0].estado").value("ACTIVO"));
+                .andExpect(jsonPath("$[0].estado").value("ACTIVO"))
+                .andExpect(jsonPath("$[0].contrasena").doesNotExist())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @DisplayName("GET /clientes - Debería enlazar la página siguiente con el cursor")
+    void testListarClientesPaginaSiguiente() throws Exception {
+        // Given
+        Map<String, Object> fila = Map.of("identificacion", "12345678", "clienteid", "CLI001");
+        when(clienteService.listar("MTIzNDU2Nzc", 1, "clienteid"))
+                .thenReturn(new PaginaCursorDTO<>(List.of(fila), "MTIzNDU2Nzg"));
+
+        // When & Then
+        mockMvc.perform(get("/clientes").param("cursor", "MTIzNDU2Nzc").param("size", "1").param("fields", "clienteid"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].clienteid").value("CLI001"))
+                .andExpect(header().string(ClienteController.NEXT_CURSOR, "MTIzNDU2Nzg"))
+                .andExpect(header().string(HttpHeaders.LINK,
+                        "<http://localhost/clientes?size=1&fields=clienteid&cursor=MTIzNDU2Nzg>; rel=\"next\""));
     }
 
     @Test
@@ -115,6 +143,25 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.identificacion").value("12345678"));
     }
 
+    @Test
+    @DisplayName("GET /clientes/{clienteid} - Debería responder 304 si la versión no ha cambiado")
+    void testBuscarClientePorIdNoModificado() throws Exception {
+        // Given
+        cliente.setVersion(3L);
+        when(clienteService.buscarPorId("CLI001")).thenReturn(cliente);
+        when(modelMapper.map(cliente, ClienteDTO.class)).thenReturn(clienteDTO);
+
+        // When & Then
+        mockMvc.perform(get("/clientes/CLI001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        mockMvc.perform(get("/clientes/CLI001").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(modelMapper, times(1)).map(cliente, ClienteDTO.class);
+    }
+
     @Test
     @DisplayName("POST /clientes - Debería crear cliente correctamente")
     void testCrearCliente() throws Exception {
@@ -0,0 +1,53 @@
+package com.proyecto.microclientes.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias - LectorCsv")
+class LectorCsvTest {
+
+    @Test
+    @DisplayName("Debería leer campos entre comillas con comas, comillas escapadas y saltos de línea")
+    void testCamposEntreComillas() throws IOException {
+        // Given
+        LectorCsv csv = new LectorCsv(new StringReader(
+                "a,\"b, c\",\"dijo \"\"hola\"\"\"\r\n\"línea\nnueva\",,x\n"));
+
+        // When
+        List<String> primero = csv.siguiente();
+        List<String> segundo = csv.siguiente();
+
+        // Then
+        assertEquals(List.of("a", "b, c", "dijo \"hola\""), primero);
+        assertEquals(List.of("línea\nnueva", "", "x"), segundo);
+        assertNull(csv.siguiente());
+    }
+
+    @Test
+    @DisplayName("Debería leer el último registro sin salto de línea final")
+    void testUltimoRegistroSinSaltoDeLinea() throws IOException {
+        // Given
+        LectorCsv csv = new LectorCsv(new StringReader("uno,dos\ntres,cuatro"));
+
+        // When & Then
+        assertEquals(List.of("uno", "dos"), csv.siguiente());
+        assertEquals(List.of("tres", "cuatro"), csv.siguiente());
+        assertNull(csv.siguiente());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar comillas sin cerrar")
+    void testComillasSinCerrar() throws IOException {
+        // Given
+        LectorCsv csv = new LectorCsv(new StringReader("a,\"sin cierre\n"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, csv::siguiente);
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.proyecto.microclientes.dto.ClienteDTO;
 import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.repository.ClienteLecturaRepository;
 import com.proyecto.microclientes.repository.ClienteRepository;
 import com.proyecto.microclientes.service.ClienteService;
 
@@ -43,6 +44,9 @@ class ClienteEndToEndTest {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private ClienteLecturaRepository clienteLecturaRepository;
+
     private String baseUrl;
     private HttpHeaders headers;
 
@@ -54,6 +58,7 @@ class ClienteEndToEndTest {
         
         // Limpiar la base de datos antes de cada prueba
         clienteRepository.deleteAll();
+        clienteLecturaRepository.deleteAll();
     }
 
     @Test
@@ -0,0 +1,142 @@
+package com.proyecto.microclientes.integration;
+
+import com.proyecto.microclientes.dto.ImportacionResultadoDTO;
+import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.importer.ClienteImportService;
+import com.proyecto.microclientes.repository.ClienteLecturaRepository;
+import com.proyecto.microclientes.repository.ClienteRepository;
+import com.proyecto.microclientes.service.ClienteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Pruebas de Integración - Importación de clientes")
+class ClienteImportIntegrationTest {
+
+    @Autowired
+    private ClienteImportService importService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ClienteLecturaRepository clienteLecturaRepository;
+
+    @BeforeEach
+    void setUp() {
+        clienteRepository.deleteAll();
+        clienteLecturaRepository.deleteAll();
+
+        Cliente existente = new Cliente("CLI001", "Password1!", "ACTIVO");
+        existente.setIdentificacion("12345678");
+        existente.setNombre("Juan Pérez");
+        existente.setGenero("M");
+        existente.setEdad(30);
+        existente.setDireccion("Calle Principal 123");
+        existente.setTelefono("555-1234");
+        clienteService.guardar(existente);
+        // La importación usa JDBC directamente: tiene que ver lo pendiente en la sesión JPA
+        clienteRepository.flush();
+    }
+
+    private static final String COLUMNAS_CSV =
+            "clienteid,identificacion,nombre,genero,edad,direccion,telefono,contrasena,estado\n";
+
+    private static InputStream cuerpo(String texto) {
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debería importar las filas válidas de un CSV e informar de las rechazadas")
+    void testImportarCsv() throws IOException {
+        // Given: columnas en otro orden, una fila válida, una inválida, una repetida y una existente
+        String csv = "clienteid,identificacion,nombre,genero,edad,direccion,telefono,contrasena,estado\n"
+                + "CLI100,11111111,María López,F,25,\"Carrera 89, Piso 2\",555-5678,Password1!,ACTIVO\n"
+                + "cli101,22222222,Pedro,X,25,Calle 1 #2,555-5678,Password1!,ACTIVO\n"
+                + "CLI102,11111111,Ana Gómez,F,40,Avenida 10,555-0000,Password1!,ACTIVO\n"
+                + "CLI103,12345678,Otro Nombre,M,50,Avenida 20,555-1111,Password1!,ACTIVO\n";
+
+        // When
+        ImportacionResultadoDTO resultado = importService.importarCsv(cuerpo(csv));
+
+        // Then
+        assertEquals(4, resultado.getProcesadas());
+        assertEquals(1, resultado.getImportadas());
+        assertEquals(3, resultado.getRechazadas());
+        assertEquals(2, resultado.getErrores().get(0).getFila());
+        assertTrue(resultado.getErrores().get(0).getError().contains("clienteid"));
+        assertTrue(resultado.getErrores().get(0).getError().contains("genero"));
+        assertEquals("identificacion repetida en el fichero", resultado.getErrores().get(1).getError());
+        assertEquals("Ya existe un cliente con ese identificacion", resultado.getErrores().get(2).getError());
+        assertEquals("Carrera 89, Piso 2", clienteService.buscarPorId("CLI100").getDireccion());
+        assertTrue(clienteLecturaRepository.findByClienteid("CLI100").isPresent());
+        assertEquals(2, clienteRepository.count());
+    }
+
+    @Test
+    @DisplayName("Debería importar NDJSON y rechazar las líneas con JSON no válido")
+    void testImportarNdjson() throws IOException {
+        // Given
+        String ndjson = "{\"identificacion\":\"33333333\",\"nombre\":\"Lucía Díaz\",\"genero\":\"F\",\"edad\":31,"
+                + "\"direccion\":\"Calle 45 Sur\",\"telefono\":\"555-3333\",\"clienteid\":\"CLI200\","
+                + "\"contrasena\":\"Password1!\",\"estado\":\"ACTIVO\"}\n"
+                + "\n"
+                + "{\"identificacion\": \n";
+
+        // When
+        ImportacionResultadoDTO resultado = importService.importarNdjson(cuerpo(ndjson));
+
+        // Then
+        assertEquals(2, resultado.getProcesadas());
+        assertEquals(1, resultado.getImportadas());
+        assertEquals(3, resultado.getErrores().get(0).getFila());
+        assertTrue(resultado.getErrores().get(0).getError().startsWith("JSON no válido"));
+        assertEquals("Lucía Díaz", clienteService.buscarPorIdentificacion("33333333").getNombre());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar por la base de datos una clave repetida en un lote posterior")
+    void testRepetidaEnOtroLote() throws IOException {
+        // Given: la primera fila y la última quedan en lotes distintos
+        StringBuilder csv = new StringBuilder(COLUMNAS_CSV);
+        for (int i = 0; i < 5_000; i++) {
+            csv.append(String.format("C%07d,9%07d,Cliente Importado,F,30,Calle %d,555-0000,Password1!,ACTIVO\n", i, i, i));
+        }
+        csv.append("CLI999,90000000,Repetido,M,30,Calle 1,555-0000,Password1!,ACTIVO\n");
+
+        // When
+        ImportacionResultadoDTO resultado = importService.importarCsv(cuerpo(csv.toString()));
+
+        // Then
+        assertEquals(5_001, resultado.getProcesadas());
+        assertEquals(5_000, resultado.getImportadas());
+        assertEquals(5_001, resultado.getErrores().get(0).getFila());
+        assertEquals("Ya existe un cliente con ese identificacion", resultado.getErrores().get(0).getError());
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un CSV sin las columnas obligatorias")
+    void testCabeceraIncompleta() {
+        // When & Then
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> importService.importarCsv(cuerpo("identificacion,nombre\n12345678,Juan\n")));
+        assertTrue(error.getMessage().contains("clienteid"));
+    }
+}
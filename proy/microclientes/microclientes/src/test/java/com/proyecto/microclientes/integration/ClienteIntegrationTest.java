@@ -1,6 +1,7 @@
 package com.proyecto.microclientes.integration;
 
 import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.repository.ClienteLecturaRepository;
 import com.proyecto.microclientes.repository.ClienteRepository;
 import com.proyecto.microclientes.service.ClienteService;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,12 +28,16 @@ class ClienteIntegrationTest {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private ClienteLecturaRepository clienteLecturaRepository;
+
     private Cliente cliente;
 
     @BeforeEach
     void setUp() {
         // Limpiar la base de datos
         clienteRepository.deleteAll();
+        clienteLecturaRepository.deleteAll();
 
         // Configurar cliente de prueba
         cliente = new Cliente();
@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.proyecto.microclientes.dto.ClienteDTO;
 import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.repository.ClienteLecturaRepository;
 import com.proyecto.microclientes.repository.ClienteRepository;
 import com.proyecto.microclientes.service.ClienteService;
 
@@ -37,6 +38,9 @@ class ComunicacionMicroserviciosTest {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private ClienteLecturaRepository clienteLecturaRepository;
+
     private String baseUrl;
 
     @BeforeEach
@@ -45,6 +49,7 @@ class ComunicacionMicroserviciosTest {
         
         // Limpiar la base de datos antes de cada prueba
         clienteRepository.deleteAll();
+        clienteLecturaRepository.deleteAll();
     }
 
     @Test
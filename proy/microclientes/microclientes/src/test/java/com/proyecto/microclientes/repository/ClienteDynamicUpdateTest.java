@@ -0,0 +1,113 @@
+package com.proyecto.microclientes.repository;
+
+import com.proyecto.microclientes.entity.Cliente;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.proyecto.microclientes.repository.ClienteDynamicUpdateTest$SentenciasCapturadas")
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Integración - Actualización de columnas modificadas")
+class ClienteDynamicUpdateTest {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = new Cliente();
+        cliente.setClienteid("CLI001");
+        cliente.setIdentificacion("12345678");
+        cliente.setNombre("Juan Pérez");
+        cliente.setGenero("M");
+        cliente.setEdad(30);
+        cliente.setDireccion("Calle Principal 123");
+        cliente.setTelefono("555-1234");
+        cliente.setContrasena("password123");
+        cliente.setEstado("ACTIVO");
+        entityManager.persistAndFlush(cliente);
+        entityManager.clear();
+        SentenciasCapturadas.SQL.clear();
+    }
+
+    @Test
+    @DisplayName("Debería actualizar solo la columna modificada de persona")
+    void testActualizaSoloPersona() {
+        // Given
+        Cliente cliente = clienteRepository.findByClienteid("CLI001").orElseThrow();
+
+        // When
+        cliente.setTelefono("555-7777");
+        entityManager.flush();
+
+        // Then
+        List<String> updates = updates();
+        assertEquals(1, updates.size());
+        assertTrue(updates.get(0).startsWith("update persona set telefono=?"));
+    }
+
+    @Test
+    @DisplayName("Debería actualizar solo la columna modificada de cliente")
+    void testActualizaSoloCliente() {
+        // Given
+        Cliente cliente = clienteRepository.findByClienteid("CLI001").orElseThrow();
+
+        // When
+        cliente.setEstado("INACTIVO");
+        entityManager.flush();
+
+        // Then: la versión está en persona (entidad raíz), que solo actualiza esa columna
+        List<String> updates = updates();
+        assertEquals(2, updates.size());
+        assertTrue(updates.stream().anyMatch(sql -> sql.startsWith("update cliente set estado=? where")));
+        assertTrue(updates.stream().anyMatch(sql -> sql.startsWith("update persona set version=? where")));
+    }
+
+    @Test
+    @DisplayName("Debería incrementar la versión en cada actualización")
+    void testIncrementaVersion() {
+        // Given
+        Cliente cliente = clienteRepository.findByClienteid("CLI001").orElseThrow();
+        long versionInicial = cliente.getVersion();
+
+        // When
+        cliente.setTelefono("555-7777");
+        entityManager.flush();
+
+        // Then
+        assertEquals(versionInicial + 1, cliente.getVersion());
+    }
+
+    private static List<String> updates() {
+        return SentenciasCapturadas.SQL.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update"))
+                .toList();
+    }
+
+    public static class SentenciasCapturadas implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.proyecto.microclientes.repository;
+
+import com.proyecto.microclientes.entity.Cliente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ClienteListadoRepository.class)
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Integración - ClienteListadoRepository")
+class ClienteListadoRepositoryTest {
+
+    @Autowired
+    private ClienteListadoRepository listadoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setClienteid("CLI00" + i);
+            cliente.setIdentificacion("1000000" + i);
+            cliente.setNombre("Cliente " + i);
+            cliente.setGenero("F");
+            cliente.setEdad(20 + i);
+            cliente.setContrasena("password" + i);
+            cliente.setEstado("ACTIVO");
+            entityManager.persist(cliente);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Debería recorrer todos los clientes por páginas sin repetir ni saltar ninguno")
+    void testRecorrerPaginas() {
+        // Given
+        Set<String> campos = ClienteListadoRepository.CAMPOS.keySet();
+
+        // When
+        List<Map<String, Object>> primera = listadoRepository.listar(campos, null, 2);
+        List<Map<String, Object>> segunda = listadoRepository.listar(campos, "10000002", 2);
+        List<Map<String, Object>> ultima = listadoRepository.listar(campos, "10000004", 2);
+
+        // Then
+        assertEquals(List.of("10000001", "10000002"), identificaciones(primera));
+        assertEquals(List.of("10000003", "10000004"), identificaciones(segunda));
+        assertEquals(List.of("10000005"), identificaciones(ultima));
+        assertEquals(25, ultima.get(0).get("edad"));
+        assertFalse(ultima.get(0).containsKey("contrasena"));
+    }
+
+    @Test
+    @DisplayName("Debería leer solo los campos pedidos más la identificación")
+    void testProyeccion() {
+        // When
+        List<Map<String, Object>> filas = listadoRepository.listar(Set.of("clienteid", "estado"), null, 1);
+
+        // Then
+        assertEquals(Map.of("identificacion", "10000001", "clienteid", "CLI001", "estado", "ACTIVO"), filas.get(0));
+    }
+
+    @Test
+    @DisplayName("Debería consultar persona solo si se pide alguna de sus columnas")
+    void testJoinSoloConCamposDePersona() {
+        // When
+        String soloCliente = ClienteListadoRepository.sql(List.of("identificacion", "clienteid"), true);
+        String conPersona = ClienteListadoRepository.sql(List.of("identificacion", "nombre"), false);
+
+        // Then
+        assertEquals("SELECT c.identificacion, c.clienteid FROM cliente c "
+                + "WHERE c.identificacion > ? ORDER BY c.identificacion LIMIT ?", soloCliente);
+        assertTrue(conPersona.contains("JOIN persona p"));
+    }
+
+    private static List<Object> identificaciones(List<Map<String, Object>> filas) {
+        return filas.stream().map(fila -> fila.get("identificacion")).toList();
+    }
+}
@@ -0,0 +1,138 @@
+package com.proyecto.microclientes.search;
+
+import com.proyecto.microclientes.dto.ClienteBusquedaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas Unitarias - NombreNgramIndex")
+class NombreNgramIndexTest {
+
+    private NombreNgramIndex indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new NombreNgramIndex(Runnable::run);
+        indice.upsert("12345678", "CLI001", "Juan Pérez García", "ACTIVO");
+        indice.upsert("87654321", "CLI002", "María López Rodríguez", "ACTIVO");
+        indice.upsert("11223344", "CLI003", "Carlos Mendoza Silva", "INACTIVO");
+        indice.upsert("55667788", "CLI004", "José Núñez", "ACTIVO");
+    }
+
+    @Test
+    @DisplayName("Debería normalizar tildes, eñes y mayúsculas")
+    void testNormalizacion() {
+        assertEquals("jose nunez", NombreNormalizer.normalizar("  JOSÉ   Núñez "));
+        assertEquals("maria", NombreNormalizer.normalizar("María"));
+        assertEquals("50\\%\\_a\\\\", NombreNormalizer.escaparLike("50%_a\\"));
+        assertEquals("jp", NombreNormalizer.siguientePrefijo("jo"));
+        assertEquals("a%", NombreNormalizer.siguientePrefijo("a$"));
+    }
+
+    @Test
+    @DisplayName("Debería encontrar subcadenas sin distinguir tildes ni mayúsculas")
+    void testBuscarSubcadena() {
+        // When
+        List<ClienteBusquedaDTO> resultado = indice.buscar("PEREZ", 0, 10);
+        List<ClienteBusquedaDTO> conEnie = indice.buscar("nuñ", 0, 10);
+
+        // Then
+        assertEquals(1, resultado.size());
+        assertEquals("CLI001", resultado.get(0).getClienteid());
+        assertEquals(1, conEnie.size());
+        assertEquals("José Núñez", conEnie.get(0).getNombre());
+    }
+
+    @Test
+    @DisplayName("Debería ordenar primero las coincidencias al inicio del nombre")
+    void testOrdenPrefijoPrimero() {
+        // Given
+        indice.upsert("99887766", "CLI005", "Ramírez Mar", "ACTIVO");
+
+        // When
+        List<ClienteBusquedaDTO> resultado = indice.buscar("mar", 0, 10);
+
+        // Then
+        assertEquals(2, resultado.size());
+        assertEquals("María López Rodríguez", resultado.get(0).getNombre());
+        assertEquals("Ramírez Mar", resultado.get(1).getNombre());
+    }
+
+    @Test
+    @DisplayName("Debería buscar por prefijo con consultas cortas y paginar")
+    void testPrefijoYPaginacion() {
+        // Given
+        indice.upsert("22334455", "CLI006", "Ana Pereira", "ACTIVO");
+        indice.upsert("66778899", "CLI007", "Pedro Perales", "ACTIVO");
+
+        // When
+        List<ClienteBusquedaDTO> prefijo = indice.buscar("Jo", 0, 10);
+        List<ClienteBusquedaDTO> sinPrefijo = indice.buscar("ez", 0, 10);
+        List<ClienteBusquedaDTO> segundaPagina = indice.buscar("per", 1, 1);
+
+        // Then
+        assertEquals(1, prefijo.size());
+        assertEquals("CLI004", prefijo.get(0).getClienteid());
+        assertTrue(sinPrefijo.isEmpty());
+        assertEquals(1, segundaPagina.size());
+        assertEquals("Juan Pérez García", segundaPagina.get(0).getNombre());
+        assertEquals(3, indice.buscar("per", 0, 10).size());
+    }
+
+    @Test
+    @DisplayName("Debería reflejar actualizaciones y eliminaciones")
+    void testActualizarYEliminar() {
+        // When
+        indice.upsert("12345678", "CLI001", "Juan Pablo Gómez", "ACTIVO");
+        indice.eliminar("87654321");
+
+        // Then
+        assertTrue(indice.buscar("perez", 0, 10).isEmpty());
+        assertEquals(1, indice.buscar("gomez", 0, 10).size());
+        assertTrue(indice.buscar("maria", 0, 10).isEmpty());
+        assertEquals(3, indice.size());
+    }
+
+    @Test
+    @DisplayName("Debería conservar las escrituras recibidas durante una carga completa")
+    void testEscriturasDuranteLaCarga() {
+        // Given
+        indice.iniciarCarga();
+        indice.upsert("12345678", "CLI001", "Juan Pablo Gómez", "ACTIVO");
+        indice.eliminar("55667788");
+
+        // When
+        indice.finalizarCarga(List.of(
+                new ClienteBusquedaDTO("12345678", "CLI001", "Juan Pérez García", "ACTIVO"),
+                new ClienteBusquedaDTO("55667788", "CLI004", "José Núñez", "ACTIVO"),
+                new ClienteBusquedaDTO("44556677", "CLI008", "Lucía Gómez", "ACTIVO")));
+
+        // Then
+        assertEquals(2, indice.size());
+        assertTrue(indice.buscar("perez", 0, 10).isEmpty());
+        assertTrue(indice.buscar("nunez", 0, 10).isEmpty());
+        assertEquals(2, indice.buscar("gomez", 0, 10).size());
+    }
+
+    @Test
+    @DisplayName("Debería devolver los mismos resultados tras reconstruir el segmento")
+    void testReconstruccion() {
+        // Given: suficientes altas para superar el umbral del delta
+        for (int i = 0; i < 1500; i++) {
+            indice.upsert(String.format("9%09d", i), "CLX" + i, "Cliente Prueba " + i, "ACTIVO");
+        }
+
+        // When
+        List<ClienteBusquedaDTO> resultado = indice.buscar("prueba 149", 0, 20);
+
+        // Then
+        assertEquals(1504, indice.size());
+        assertEquals(11, resultado.size());
+        assertEquals("Cliente Prueba 149", resultado.get(0).getNombre());
+        assertEquals(1, indice.buscar("perez", 0, 10).size());
+    }
+}
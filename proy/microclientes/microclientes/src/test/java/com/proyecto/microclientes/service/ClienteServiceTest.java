@@ -1,6 +1,12 @@
 package com.proyecto.microclientes.service;
 
+import com.proyecto.microclientes.cache.ClienteCache;
+import com.proyecto.microclientes.dto.ClienteDTO;
 import com.proyecto.microclientes.entity.Cliente;
+import com.proyecto.microclientes.entity.ClienteLectura;
+import com.proyecto.microclientes.dto.PaginaCursorDTO;
+import com.proyecto.microclientes.repository.ClienteLecturaRepository;
+import com.proyecto.microclientes.repository.ClienteListadoRepository;
 import com.proyecto.microclientes.repository.ClienteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,11 +14,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +40,24 @@ class ClienteServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private ClienteLecturaRepository clienteLecturaRepository;
+
+    @Mock
+    private ClienteListadoRepository clienteListadoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ModelMapper modelMapper = new ModelMapper();
+
+    @Spy
+    private ClienteFieldAccessors fieldAccessors = new ClienteFieldAccessors();
+
+    @Spy
+    private ClienteCache cache = new ClienteCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), 0.0);
+
     @InjectMocks
     private ClienteService clienteService;
 
@@ -73,6 +106,26 @@ class ClienteServiceTest {
         verify(clienteRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Debería paginar el listado por clave y devolver el cursor de la página siguiente")
+    void testListarPaginado() {
+        // Given
+        List<Map<String, Object>> filas = List.of(
+                Map.of("identificacion", "10000001"),
+                Map.of("identificacion", "10000002"),
+                Map.of("identificacion", "10000003"));
+        when(clienteListadoRepository.listar(Set.of("clienteid"), "10000000", 3)).thenReturn(filas);
+
+        // When
+        PaginaCursorDTO<Map<String, Object>> pagina = clienteService.listar("MTAwMDAwMDA", 2, "clienteid");
+
+        // Then
+        assertEquals(filas.subList(0, 2), pagina.getContenido());
+        assertEquals("MTAwMDAwMDI", pagina.getSiguiente());
+        assertThrows(IllegalArgumentException.class, () -> clienteService.listar(null, 2, "contrasena"));
+        assertThrows(IllegalArgumentException.class, () -> clienteService.listar(null, 0, null));
+    }
+
     @Test
     @DisplayName("Debería buscar cliente por ID correctamente")
     void testBuscarPorId() {
@@ -196,4 +249,78 @@ class ClienteServiceTest {
         assertNull(resultado.getIdentificacion());
         verify(clienteRepository, times(1)).save(clienteConNulos);
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debería actualizar parcialmente solo los campos enviados sin volver a guardar")
+    void testActualizarParcial() {
+        // Given
+        when(clienteRepository.findByClienteid("CLI001")).thenReturn(Optional.of(cliente));
+        Map<String, Object> updates = new LinkedHashMap<>();
+        updates.put("telefono", "555-7777");
+        updates.put("edad", "32");
+        updates.put("estado", "INACTIVO");
+        updates.put("campoInexistente", "x");
+        updates.put("identificacion", "99999999");
+
+        // When
+        ClienteDTO resultado = clienteService.actualizarParcial("CLI001", updates);
+
+        // Then
+        assertEquals("555-7777", resultado.getTelefono());
+        assertEquals(32, resultado.getEdad());
+        assertEquals("INACTIVO", resultado.getEstado());
+        assertEquals("12345678", resultado.getIdentificacion());
+        assertEquals("Juan Pérez", resultado.getNombre());
+        verify(clienteRepository, never()).save(any(Cliente.class));
+    }
+
+    @Test
+    @DisplayName("Debería ignorar la versión enviada en un PATCH")
+    void testActualizarParcialIgnoraVersion() {
+        // Given
+        cliente.setVersion(3L);
+        when(clienteRepository.findByClienteid("CLI001")).thenReturn(Optional.of(cliente));
+        Map<String, Object> updates = new LinkedHashMap<>();
+        updates.put("version", 0);
+        updates.put("telefono", "555-7777");
+
+        // When
+        clienteService.actualizarParcial("CLI001", updates);
+
+        // Then
+        assertEquals(3L, cliente.getVersion());
+        assertEquals("555-7777", cliente.getTelefono());
+        assertFalse(fieldAccessors.campos().contains("version"));
+    }
+
+    @Test
+    @DisplayName("Debería consultar el modelo de lectura sin acceder a persona y cliente")
+    void testBuscarPorIdDesdeModeloDeLectura() {
+        // Given
+        when(clienteLecturaRepository.findByClienteid("CLI001")).thenReturn(Optional.of(ClienteLectura.desde(cliente)));
+
+        // When
+        Cliente resultado = clienteService.buscarPorId("CLI001");
+
+        // Then
+        assertEquals(cliente, resultado);
+        verify(clienteRepository, never()).findByClienteid(any());
+    }
+
+    @Test
+    @DisplayName("Debería mantener el modelo de lectura al guardar y al actualizar parcialmente")
+    void testMantenerModeloDeLectura() {
+        // Given
+        when(clienteRepository.save(cliente)).thenReturn(cliente);
+        when(clienteRepository.findByClienteid("CLI001")).thenReturn(Optional.of(cliente));
+        ClienteLectura filaInicial = ClienteLectura.desde(cliente);
+
+        // When
+        clienteService.guardar(cliente);
+        clienteService.actualizarParcial("CLI001", Map.of("estado", "INACTIVO"));
+
+        // Then
+        verify(clienteLecturaRepository, times(1)).save(filaInicial);
+        verify(clienteLecturaRepository, times(1)).save(argThat(fila -> "INACTIVO".equals(fila.getEstado())));
+    }
+}
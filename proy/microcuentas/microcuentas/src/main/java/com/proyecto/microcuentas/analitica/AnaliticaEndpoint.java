@@ -0,0 +1,48 @@
+package com.proyecto.microcuentas.analitica;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * GET /actuator/analitica: estado del índice de movimientos.
+ * GET /actuator/analitica?desde=..&hasta=..&top=n: totales, totales por día y los n mayores débitos
+ * del rango (fechas ISO, por ejemplo 2024-01-01T00:00:00), calculados sobre el índice en memoria.
+ * Con cuentas.analitica.habilitado=false solo devuelve el estado DESHABILITADO.
+ */
+@Component
+@Endpoint(id = "analitica")
+@RequiredArgsConstructor
+public class AnaliticaEndpoint {
+
+    private static final int TOP_POR_DEFECTO = 10;
+
+    private final IndiceMovimientos indice;
+
+    public record Resumen(IndiceMovimientos.Estado estado, int movimientos, int cuentas,
+                          IndiceMovimientos.Totales totales,
+                          SortedMap<LocalDate, IndiceMovimientos.Totales> porDia,
+                          List<IndiceMovimientos.MovimientoIndexado> mayoresDebitos) {
+    }
+
+    @ReadOperation
+    public Resumen resumen(@Nullable String desde, @Nullable String hasta, @Nullable Integer top) {
+        if (desde == null || hasta == null || indice.getEstado() != IndiceMovimientos.Estado.LISTO) {
+            return new Resumen(indice.getEstado(), indice.getTamano(), indice.getCuentas(), null, null, null);
+        }
+        LocalDateTime inicio = LocalDateTime.parse(desde);
+        LocalDateTime fin = LocalDateTime.parse(hasta);
+        return new Resumen(indice.getEstado(), indice.getTamano(), indice.getCuentas(),
+                indice.totales(inicio, fin),
+                indice.totalesPorDia(inicio, fin),
+                indice.mayoresDebitos(inicio, fin, top != null && top > 0 ? top : TOP_POR_DEFECTO));
+    }
+}
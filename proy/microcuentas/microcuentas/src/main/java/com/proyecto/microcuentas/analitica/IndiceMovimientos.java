@@ -0,0 +1,687 @@
+package com.proyecto.microcuentas.analitica;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.proyecto.microcuentas.entity.Movimiento;
+import com.proyecto.microcuentas.entity.TipoMovimiento;
+import com.proyecto.microcuentas.service.Centavos;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice columnar en memoria de todos los movimientos, para analítica sin pasar por JPA ni BigDecimal.
+ *
+ * Cada columna es un array primitivo: id (long[]), fecha en segundos epoch UTC (long[]), valor en
+ * centavos (long[]), cuenta codificada con diccionario (int[]) y tipo como bitset (bit a 1 = débito).
+ * Las filas se guardan en segmentos de tamaño fijo; cada segmento lleva la fecha mínima y máxima de
+ * sus filas para saltarlo entero si no cae en el rango. Las consultas recorren los segmentos en
+ * paralelo en un ForkJoinPool propio (cuentas.analitica.paralelismo).
+ *
+ * Se carga al arrancar en segundo plano desde la tabla movimiento y después recibe cada movimiento
+ * confirmado (MovimientoService, tras el commit). Un solo escritor a la vez (synchronized) y lectores
+ * sin bloqueo: las filas se publican al incrementar el tamaño (volatile).
+ *
+ * Al eliminar una cuenta (CuentaService, tras el commit) sus filas no se borran: se anota para el
+ * código de la cuenta el mayor id de movimiento eliminado y las consultas saltan las filas con id
+ * menor o igual. Una cuenta creada después con el mismo número conserva sus movimientos nuevos.
+ *
+ * Opcional (cuentas.analitica.habilitado): ocupa unos 28 bytes por movimiento. El bean existe siempre
+ * y la propiedad se comprueba al arrancar; con @ConditionalOnProperty la imagen AOT del perfil
+ * arranque-rapido fijaría el valor al compilar.
+ */
+@Component
+@Slf4j
+public class IndiceMovimientos {
+
+    private static final int SEGMENTO_POR_DEFECTO = 1 << 16;
+    private static final int TAMANO_LOTE = 1000;
+    private static final long SEGUNDOS_DIA = 86_400;
+    private static final int MAX_DIAS = 100_000;
+
+    public enum Estado { CARGANDO, LISTO, FALLIDO, DESHABILITADO }
+
+    /**
+     * Número de movimientos y suma en centavos por tipo. Los débitos suman en negativo.
+     */
+    public record Totales(long creditos, long centavosCreditos, long debitos, long centavosDebitos) {
+
+        public static final Totales VACIO = new Totales(0, 0, 0, 0);
+
+        public Totales sumar(Totales otro) {
+            return new Totales(creditos + otro.creditos, Math.addExact(centavosCreditos, otro.centavosCreditos),
+                    debitos + otro.debitos, Math.addExact(centavosDebitos, otro.centavosDebitos));
+        }
+
+        public long movimientos() {
+            return creditos + debitos;
+        }
+
+        public BigDecimal totalCreditos() {
+            return BigDecimal.valueOf(centavosCreditos, 2);
+        }
+
+        public BigDecimal totalDebitos() {
+            return BigDecimal.valueOf(centavosDebitos, 2);
+        }
+    }
+
+    /**
+     * Movimiento reconstruido desde las columnas (resultado del top-k)
+     */
+    public record MovimientoIndexado(long id, String numeroCuenta, LocalDateTime fecha, long centavos) {
+
+        public BigDecimal valor() {
+            return BigDecimal.valueOf(centavos, 2);
+        }
+    }
+
+    private static final class Segmento {
+        private final long[] ids;
+        private final long[] fechas;
+        private final long[] centavos;
+        private final int[] cuentas;
+        private final long[] debitos;
+        private volatile long fechaMinima = Long.MAX_VALUE;
+        private volatile long fechaMaxima = Long.MIN_VALUE;
+
+        private Segmento(int capacidad) {
+            ids = new long[capacidad];
+            fechas = new long[capacidad];
+            centavos = new long[capacidad];
+            cuentas = new int[capacidad];
+            debitos = new long[(capacidad + 63) >>> 6];
+        }
+
+        private boolean debito(int fila) {
+            return (debitos[fila >>> 6] & (1L << fila)) != 0;
+        }
+    }
+
+    private record Pendiente(long id, String numeroCuenta, long fecha, long centavos, boolean debito) {
+    }
+
+    private final int bitsSegmento;
+    private final int mascaraSegmento;
+    private final ForkJoinPool pool;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate lectura;
+
+    private final Map<String, Integer> codigosCuenta = new ConcurrentHashMap<>();
+    private volatile String[] cuentas = new String[16];
+    // Mayor id eliminado por número de cuenta y, por código, el límite que aplican las consultas
+    private final Map<String, Long> eliminadas = new HashMap<>();
+    private volatile long[] limitesEliminacion;
+    private volatile Segmento[] segmentos = new Segmento[0];
+    private volatile int tamano;
+    private volatile Estado estado = Estado.CARGANDO;
+    private int filasCargadas;
+    private List<Pendiente> pendientes = new ArrayList<>();
+
+    @Autowired
+    public IndiceMovimientos(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${cuentas.analitica.habilitado:false}") boolean habilitado,
+                             @Value("${cuentas.analitica.paralelismo:0}") int paralelismo) {
+        this(jdbcTemplate, transactionManager, habilitado, paralelismo, SEGMENTO_POR_DEFECTO);
+    }
+
+    /**
+     * @param habilitado si es false no se carga ni se registra nada (estado DESHABILITADO)
+     * @param paralelismo hilos del ForkJoinPool; 0 = número de procesadores
+     * @param filasPorSegmento potencia de 2
+     */
+    IndiceMovimientos(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                      boolean habilitado, int paralelismo, int filasPorSegmento) {
+        if (Integer.bitCount(filasPorSegmento) != 1 || filasPorSegmento < 64) {
+            throw new IllegalArgumentException("Las filas por segmento deben ser una potencia de 2 mayor o igual a 64");
+        }
+        this.bitsSegmento = Integer.numberOfTrailingZeros(filasPorSegmento);
+        this.mascaraSegmento = filasPorSegmento - 1;
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+        this.jdbcTemplate = jdbcTemplate;
+        this.lectura = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        if (lectura != null) {
+            lectura.setReadOnly(true);
+        }
+        if (!habilitado) {
+            estado = Estado.DESHABILITADO;
+            pendientes = null;
+        }
+    }
+
+    /**
+     * Carga inicial en un hilo aparte, para no retrasar el arranque: hasta que termina las consultas
+     * fallan y los movimientos nuevos se guardan como pendientes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarEnSegundoPlano() {
+        if (estado == Estado.DESHABILITADO) {
+            return;
+        }
+        Thread hilo = new Thread(this::cargar, "indice-movimientos-carga");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Carga síncrona desde la tabla movimiento, ordenada por id. Solo una vez
+     */
+    public void cargar() {
+        if (estado == Estado.DESHABILITADO) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            lectura.executeWithoutResult(status -> jdbcTemplate.query(conexion -> {
+                PreparedStatement sentencia = conexion.prepareStatement(
+                        "SELECT id, fecha, valor, tipo_movimiento, numero_cuenta FROM movimiento ORDER BY id");
+                sentencia.setFetchSize(TAMANO_LOTE);
+                return sentencia;
+            }, (RowCallbackHandler) fila -> {
+                synchronized (this) {
+                    agregar(fila.getLong(1),
+                            fila.getString(5),
+                            segundos(fila.getTimestamp(2).toLocalDateTime()),
+                            Centavos.de(fila.getBigDecimal(3)),
+                            esDebito(fila.getString(4)));
+                    filasCargadas++;
+                }
+            }));
+            synchronized (this) {
+                // Confirmados durante la carga: la consulta pudo verlos o no; se buscan por id entre las filas cargadas
+                for (Pendiente pendiente : pendientes) {
+                    if (!cargado(pendiente.id())) {
+                        agregar(pendiente.id(), pendiente.numeroCuenta(), pendiente.fecha(), pendiente.centavos(),
+                                pendiente.debito());
+                    }
+                }
+                pendientes = null;
+                estado = Estado.LISTO;
+            }
+            log.info("Índice de movimientos cargado: {} movimientos, {} cuentas en {} ms", tamano,
+                    codigosCuenta.size(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendientes = null;
+                estado = Estado.FALLIDO;
+            }
+            log.error("No se pudo cargar el índice de movimientos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Añade un movimiento ya confirmado
+     */
+    public void registrar(Movimiento movimiento) {
+        registrar(movimiento.getId(), movimiento.getCuenta().getNumeroCuenta(), movimiento.getFecha(),
+                Centavos.de(movimiento.getValor()), esDebito(movimiento.getTipoMovimiento()));
+    }
+
+    public synchronized void registrar(long id, String numeroCuenta, LocalDateTime fecha, long centavos, boolean debito) {
+        switch (estado) {
+            case CARGANDO -> pendientes.add(new Pendiente(id, numeroCuenta, segundos(fecha), centavos, debito));
+            case LISTO -> agregar(id, numeroCuenta, segundos(fecha), centavos, debito);
+            case FALLIDO, DESHABILITADO -> { }
+        }
+    }
+
+    /**
+     * Oculta los movimientos de una cuenta eliminada con id hasta ultimoId (el mayor de los eliminados).
+     * Se puede llamar durante la carga: se aplica también a las filas que se carguen después
+     */
+    public synchronized void eliminarCuenta(String numeroCuenta, long ultimoId) {
+        if (estado == Estado.DESHABILITADO) {
+            return;
+        }
+        long limite = eliminadas.merge(numeroCuenta, ultimoId, Math::max);
+        Integer codigo = codigosCuenta.get(numeroCuenta);
+        if (codigo != null) {
+            limitar(codigo, limite);
+        }
+    }
+
+    public boolean isHabilitado() {
+        return estado != Estado.DESHABILITADO;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public int getCuentas() {
+        return codigosCuenta.size();
+    }
+
+    /**
+     * Totales por tipo de los movimientos con fecha en [desde, hasta]
+     */
+    public Totales totales(LocalDateTime desde, LocalDateTime hasta) {
+        return totales(desde, hasta, null);
+    }
+
+    /**
+     * Totales por tipo de una cuenta (o de todas si numeroCuenta es null) con fecha en [desde, hasta]
+     */
+    public Totales totales(LocalDateTime desde, LocalDateTime hasta, String numeroCuenta) {
+        int cuenta = codigoCuenta(numeroCuenta);
+        if (cuenta == -2) {
+            return Totales.VACIO;
+        }
+        long[] limites = limitesEliminacion;
+        return escanear(desde, hasta, () -> Totales.VACIO, (segmento, numero, filas, inicio, fin) -> {
+            long creditos = 0;
+            long centavosCreditos = 0;
+            long debitos = 0;
+            long centavosDebitos = 0;
+            for (int i = 0; i < filas; i++) {
+                long fecha = segmento.fechas[i];
+                if (fecha < inicio || fecha > fin || (cuenta >= 0 && segmento.cuentas[i] != cuenta)
+                        || eliminada(limites, segmento, i)) {
+                    continue;
+                }
+                if (segmento.debito(i)) {
+                    debitos++;
+                    centavosDebitos = Math.addExact(centavosDebitos, segmento.centavos[i]);
+                } else {
+                    creditos++;
+                    centavosCreditos = Math.addExact(centavosCreditos, segmento.centavos[i]);
+                }
+            }
+            return new Totales(creditos, centavosCreditos, debitos, centavosDebitos);
+        }, Totales::sumar);
+    }
+
+    /**
+     * Totales por tipo y día (UTC, igual que la fecha guardada) de los movimientos en [desde, hasta];
+     * solo incluye los días con movimientos
+     */
+    public SortedMap<LocalDate, Totales> totalesPorDia(LocalDateTime desde, LocalDateTime hasta) {
+        long primerDia = Math.floorDiv(segundos(desde), SEGUNDOS_DIA);
+        long dias = Math.floorDiv(segundos(hasta), SEGUNDOS_DIA) - primerDia + 1;
+        if (dias > MAX_DIAS) {
+            throw new IllegalArgumentException("Rango demasiado grande para agrupar por día: " + dias + " días");
+        }
+        int columnas = (int) Math.max(dias, 0);
+        long[] limites = limitesEliminacion;
+        // Por día: créditos, centavos de créditos, débitos, centavos de débitos
+        long[] acumulado = escanear(desde, hasta, () -> new long[columnas * 4], (segmento, numero, filas, inicio, fin) -> {
+            long[] parcial = new long[columnas * 4];
+            for (int i = 0; i < filas; i++) {
+                long fecha = segmento.fechas[i];
+                if (fecha < inicio || fecha > fin || eliminada(limites, segmento, i)) {
+                    continue;
+                }
+                int base = (int) (Math.floorDiv(fecha, SEGUNDOS_DIA) - primerDia) * 4 + (segmento.debito(i) ? 2 : 0);
+                parcial[base]++;
+                parcial[base + 1] = Math.addExact(parcial[base + 1], segmento.centavos[i]);
+            }
+            return parcial;
+        }, (a, b) -> {
+            for (int i = 0; i < a.length; i++) {
+                a[i] = Math.addExact(a[i], b[i]);
+            }
+            return a;
+        });
+        SortedMap<LocalDate, Totales> resultado = new TreeMap<>();
+        for (int dia = 0; dia < columnas; dia++) {
+            int base = dia * 4;
+            if (acumulado[base] + acumulado[base + 2] > 0) {
+                resultado.put(LocalDate.ofEpochDay(primerDia + dia),
+                        new Totales(acumulado[base], acumulado[base + 1], acumulado[base + 2], acumulado[base + 3]));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Los k débitos de mayor importe con fecha en [desde, hasta], de mayor a menor
+     */
+    public List<MovimientoIndexado> mayoresDebitos(LocalDateTime desde, LocalDateTime hasta, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k debe ser mayor que 0");
+        }
+        long[] limites = limitesEliminacion;
+        TopK top = escanear(desde, hasta, () -> new TopK(k), (segmento, numero, filas, inicio, fin) -> {
+            TopK parcial = new TopK(k);
+            long base = (long) numero << bitsSegmento;
+            for (int i = 0; i < filas; i++) {
+                long fecha = segmento.fechas[i];
+                if (fecha < inicio || fecha > fin || !segmento.debito(i) || eliminada(limites, segmento, i)) {
+                    continue;
+                }
+                // Débitos en negativo: el mayor importe es el valor más bajo
+                parcial.ofrecer(segmento.centavos[i], base + i);
+            }
+            return parcial;
+        }, TopK::combinar);
+
+        Segmento[] actuales = segmentos;
+        String[] diccionario = cuentas;
+        long[] posiciones = top.ordenadas();
+        List<MovimientoIndexado> resultado = new ArrayList<>(posiciones.length);
+        for (long posicion : posiciones) {
+            Segmento segmento = actuales[(int) (posicion >>> bitsSegmento)];
+            int fila = (int) (posicion & mascaraSegmento);
+            resultado.add(new MovimientoIndexado(segmento.ids[fila], diccionario[segmento.cuentas[fila]],
+                    LocalDateTime.ofEpochSecond(segmento.fechas[fila], 0, ZoneOffset.UTC), segmento.centavos[fila]));
+        }
+        return resultado;
+    }
+
+    @PreDestroy
+    public void detener() {
+        pool.shutdownNow();
+    }
+
+    // ---------------------------------------------------------------- escritura (con el monitor tomado)
+
+    private void agregar(long id, String numeroCuenta, long fecha, long centavos, boolean debito) {
+        int fila = tamano;
+        int indiceSegmento = fila >>> bitsSegmento;
+        Segmento[] actuales = segmentos;
+        if (indiceSegmento == actuales.length) {
+            actuales = Arrays.copyOf(actuales, actuales.length + 1);
+            actuales[indiceSegmento] = new Segmento(mascaraSegmento + 1);
+            segmentos = actuales;
+        }
+        Segmento segmento = actuales[indiceSegmento];
+        int posicion = fila & mascaraSegmento;
+        segmento.ids[posicion] = id;
+        segmento.fechas[posicion] = fecha;
+        segmento.centavos[posicion] = centavos;
+        segmento.cuentas[posicion] = codificar(numeroCuenta);
+        if (debito) {
+            segmento.debitos[posicion >>> 6] |= 1L << posicion;
+        }
+        if (fecha < segmento.fechaMinima) {
+            segmento.fechaMinima = fecha;
+        }
+        if (fecha > segmento.fechaMaxima) {
+            segmento.fechaMaxima = fecha;
+        }
+        // Publica la fila a los lectores
+        tamano = fila + 1;
+    }
+
+    private int codificar(String numeroCuenta) {
+        Integer codigo = codigosCuenta.get(numeroCuenta);
+        if (codigo != null) {
+            return codigo;
+        }
+        int nuevo = codigosCuenta.size();
+        String[] diccionario = cuentas;
+        if (nuevo == diccionario.length) {
+            diccionario = Arrays.copyOf(diccionario, diccionario.length * 2);
+        }
+        diccionario[nuevo] = numeroCuenta;
+        cuentas = diccionario;
+        codigosCuenta.put(numeroCuenta, nuevo);
+        Long limite = eliminadas.get(numeroCuenta);
+        if (limite != null) {
+            limitar(nuevo, limite);
+        }
+        return nuevo;
+    }
+
+    /**
+     * Copia los límites con el del código indicado y la publica a los lectores
+     */
+    private void limitar(int codigo, long limite) {
+        long[] actuales = limitesEliminacion;
+        int longitud = Math.max(codigo + 1, actuales != null ? actuales.length : 0);
+        long[] nuevos = new long[longitud];
+        Arrays.fill(nuevos, Long.MIN_VALUE);
+        if (actuales != null) {
+            System.arraycopy(actuales, 0, nuevos, 0, actuales.length);
+        }
+        nuevos[codigo] = limite;
+        limitesEliminacion = nuevos;
+    }
+
+    /**
+     * Búsqueda binaria del id entre las filas de la carga inicial, que están ordenadas por id
+     */
+    private boolean cargado(long id) {
+        int bajo = 0;
+        int alto = filasCargadas - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            long valor = segmentos[medio >>> bitsSegmento].ids[medio & mascaraSegmento];
+            if (valor < id) {
+                bajo = medio + 1;
+            } else if (valor > id) {
+                alto = medio - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---------------------------------------------------------------- lectura
+
+    /**
+     * true si la fila es de una cuenta eliminada; sin eliminaciones (limites null) no lee nada más
+     */
+    private static boolean eliminada(long[] limites, Segmento segmento, int fila) {
+        if (limites == null) {
+            return false;
+        }
+        int cuenta = segmento.cuentas[fila];
+        return cuenta < limites.length && segmento.ids[fila] <= limites[cuenta];
+    }
+
+    /**
+     * Recorrido de las filas del segmento número "numero" con fecha en [inicio, fin] (segundos epoch)
+     */
+    @FunctionalInterface
+    private interface Recorrido<R> {
+        R recorrer(Segmento segmento, int numero, int filas, long inicio, long fin);
+    }
+
+    private <R> R escanear(LocalDateTime desde, LocalDateTime hasta, Supplier<R> vacio, Recorrido<R> recorrido,
+                           BinaryOperator<R> combinar) {
+        if (estado != Estado.LISTO) {
+            throw new IllegalStateException("El índice de movimientos no está disponible (" + estado + ")");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha fin");
+        }
+        // Primero el tamaño (volatile): todas las filas anteriores y sus segmentos son visibles
+        int filas = tamano;
+        Segmento[] actuales = segmentos;
+        int numeroSegmentos = (filas + mascaraSegmento) >>> bitsSegmento;
+        if (numeroSegmentos == 0) {
+            return vacio.get();
+        }
+        return pool.invoke(new Escaneo<>(actuales, filas, 0, numeroSegmentos, segundos(desde), segundos(hasta),
+                vacio, recorrido, combinar));
+    }
+
+    /**
+     * Divide los segmentos en dos mitades hasta quedarse con uno; los segmentos fuera del rango de
+     * fechas no se recorren
+     */
+    private final class Escaneo<R> extends RecursiveTask<R> {
+
+        private final Segmento[] segmentos;
+        private final int filas;
+        private final int desde;
+        private final int hasta;
+        private final long inicio;
+        private final long fin;
+        private final Supplier<R> vacio;
+        private final Recorrido<R> recorrido;
+        private final BinaryOperator<R> combinar;
+
+        private Escaneo(Segmento[] segmentos, int filas, int desde, int hasta, long inicio, long fin,
+                        Supplier<R> vacio, Recorrido<R> recorrido, BinaryOperator<R> combinar) {
+            this.segmentos = segmentos;
+            this.filas = filas;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.vacio = vacio;
+            this.recorrido = recorrido;
+            this.combinar = combinar;
+        }
+
+        @Override
+        protected R compute() {
+            if (hasta - desde == 1) {
+                Segmento segmento = segmentos[desde];
+                if (segmento.fechaMaxima < inicio || segmento.fechaMinima > fin) {
+                    return vacio.get();
+                }
+                int filasSegmento = Math.min(mascaraSegmento + 1, filas - (desde << bitsSegmento));
+                return recorrido.recorrer(segmento, desde, filasSegmento, inicio, fin);
+            }
+            int medio = (desde + hasta) >>> 1;
+            Escaneo<R> izquierda = new Escaneo<>(segmentos, filas, desde, medio, inicio, fin, vacio, recorrido, combinar);
+            izquierda.fork();
+            R derecha = new Escaneo<>(segmentos, filas, medio, hasta, inicio, fin, vacio, recorrido, combinar).compute();
+            return combinar.apply(izquierda.join(), derecha);
+        }
+    }
+
+    /**
+     * Los k menores valores con su posición: montículo de máximos sobre arrays primitivos
+     */
+    private static final class TopK {
+
+        private final long[] valores;
+        private final long[] posiciones;
+        private int tamano;
+
+        private TopK(int k) {
+            valores = new long[k];
+            posiciones = new long[k];
+        }
+
+        private void ofrecer(long valor, long posicion) {
+            if (tamano < valores.length) {
+                int i = tamano++;
+                valores[i] = valor;
+                posiciones[i] = posicion;
+                subir(i);
+            } else if (valor < valores[0]) {
+                valores[0] = valor;
+                posiciones[0] = posicion;
+                bajar(0);
+            }
+        }
+
+        private TopK combinar(TopK otro) {
+            for (int i = 0; i < otro.tamano; i++) {
+                ofrecer(otro.valores[i], otro.posiciones[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Posiciones ordenadas de menor a mayor valor
+         */
+        private long[] ordenadas() {
+            long[] resultado = new long[tamano];
+            while (tamano > 0) {
+                resultado[tamano - 1] = posiciones[0];
+                tamano--;
+                valores[0] = valores[tamano];
+                posiciones[0] = posiciones[tamano];
+                bajar(0);
+            }
+            return resultado;
+        }
+
+        private void subir(int i) {
+            while (i > 0) {
+                int padre = (i - 1) >>> 1;
+                if (valores[padre] >= valores[i]) {
+                    return;
+                }
+                intercambiar(i, padre);
+                i = padre;
+            }
+        }
+
+        private void bajar(int i) {
+            while (true) {
+                int mayor = i;
+                int izquierda = 2 * i + 1;
+                int derecha = izquierda + 1;
+                if (izquierda < tamano && valores[izquierda] > valores[mayor]) {
+                    mayor = izquierda;
+                }
+                if (derecha < tamano && valores[derecha] > valores[mayor]) {
+                    mayor = derecha;
+                }
+                if (mayor == i) {
+                    return;
+                }
+                intercambiar(i, mayor);
+                i = mayor;
+            }
+        }
+
+        private void intercambiar(int a, int b) {
+            long valor = valores[a];
+            valores[a] = valores[b];
+            valores[b] = valor;
+            long posicion = posiciones[a];
+            posiciones[a] = posiciones[b];
+            posiciones[b] = posicion;
+        }
+    }
+
+    // ---------------------------------------------------------------- conversiones
+
+    /**
+     * -1 = todas las cuentas, -2 = cuenta sin movimientos en el índice
+     */
+    private int codigoCuenta(String numeroCuenta) {
+        if (numeroCuenta == null) {
+            return -1;
+        }
+        Integer codigo = codigosCuenta.get(numeroCuenta);
+        return codigo != null ? codigo : -2;
+    }
+
+    private static long segundos(LocalDateTime fecha) {
+        return fecha.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static boolean esDebito(String tipoMovimiento) {
+        return TipoMovimiento.DEBITO.name().equalsIgnoreCase(tipoMovimiento);
+    }
+}
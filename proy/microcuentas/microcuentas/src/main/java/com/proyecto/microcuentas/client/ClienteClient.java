@@ -1,80 +1,135 @@
 package com.proyecto.microcuentas.client;
 
+import com.proyecto.microcuentas.descubrimiento.BalanceadorMicroclientes;
+import com.proyecto.microcuentas.descubrimiento.BalanceadorMicroclientes.Instancia;
 import com.proyecto.microcuentas.dto.ClienteDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
 @Slf4j
 public class ClienteClient {
-    
-    private final WebClient webClient;
-    
-    public ClienteClient(WebClient webClient) {
-        this.webClient = webClient;
+
+    /** Intentos por llamada: si una instancia falla se prueba una vez en otra distinta */
+    private static final int INTENTOS = 2;
+
+    /** Respuestas guardadas para revalidar con If-None-Match */
+    private static final int MAX_CONOCIDOS = 1000;
+
+    private final RestClient restClient;
+    private final BalanceadorMicroclientes balanceador;
+
+    // Última respuesta por ruta y ETag: microclientes responde 304 sin cuerpo si no ha cambiado
+    private final Map<String, Conocido> conocidos = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Conocido> eldest) {
+                return size() > MAX_CONOCIDOS;
+            }
+        });
+
+    public ClienteClient(RestClient restClient, BalanceadorMicroclientes balanceador) {
+        this.restClient = restClient;
+        this.balanceador = balanceador;
     }
-    
+
     /**
-     * Obtiene un cliente por clienteid usando WebFlux (asíncrono)
-     * Se bloquea para mantener API síncrona hacia arriba
+     * Obtiene un cliente por clienteid
      */
     public ClienteDTO obtenerCliente(String clienteid) {
         log.info("Obteniendo cliente con ID: {}", clienteid);
         try {
-            return webClient
-                .get()
-                .uri("/clientes/{clienteid}", clienteid)
-                .retrieve()
-                .bodyToMono(ClienteDTO.class)
-                .block(); // Convierte a síncrono
+            return obtener("/clientes/{clienteid}", clienteid);
         } catch (Exception e) {
             log.error("Error al obtener cliente con ID: {}", clienteid, e);
             throw new RuntimeException("Cliente no encontrado: " + clienteid);
         }
     }
-    
+
     /**
-     * Obtiene un cliente por identificación usando WebFlux (asíncrono)
-     * Se bloquea para mantener API síncrona hacia arriba
+     * Obtiene un cliente por identificación
      */
     public ClienteDTO obtenerClientePorIdentificacion(String identificacion) {
         log.info("Obteniendo cliente con identificación: {}", identificacion);
         try {
-            return webClient
-                .get()
-                .uri("/clientes/identificacion/{identificacion}", identificacion)
-                .retrieve()
-                .bodyToMono(ClienteDTO.class)
-                .block(); // Convierte a síncrono
+            return obtener("/clientes/identificacion/{identificacion}", identificacion);
         } catch (Exception e) {
             log.error("Error al obtener cliente con identificación: {}", identificacion, e);
             throw new RuntimeException("Cliente no encontrado: " + identificacion);
         }
     }
-    
+
     /**
-     * Método asíncrono puro para uso interno (WebFlux)
+     * GET a la instancia de microclientes que elige el balanceador. Los errores de conexión y las
+     * respuestas 5xx cuentan como fallo de la instancia y se reintentan en otra; un 4xx es una
+     * respuesta válida de una instancia sana. Si ya se conoce el cliente la petición es condicional,
+     * y la versión del cliente se toma del ETag (persona.version).
      */
-    public Mono<ClienteDTO> obtenerClienteAsync(String clienteid) {
-        log.info("Obteniendo cliente async con ID: {}", clienteid);
-        return webClient
-            .get()
-            .uri("/clientes/{clienteid}", clienteid)
-            .retrieve()
-            .bodyToMono(ClienteDTO.class);
+    private ClienteDTO obtener(String ruta, String variable) {
+        String clave = ruta + "|" + variable;
+        Conocido conocido = conocidos.get(clave);
+        RuntimeException ultimoError = null;
+        Instancia fallida = null;
+        for (int intento = 1; intento <= INTENTOS; intento++) {
+            Instancia instancia = balanceador.elegir(fallida);
+            boolean exito = false;
+            try {
+                ResponseEntity<ClienteDTO> respuesta = restClient
+                    .get()
+                    .uri(instancia.getUri() + ruta, variable)
+                    .headers(cabeceras -> {
+                        if (conocido != null) {
+                            cabeceras.setIfNoneMatch(conocido.etag());
+                        }
+                    })
+                    .retrieve()
+                    .toEntity(ClienteDTO.class);
+                exito = true;
+                if (conocido != null && respuesta.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                    return conocido.cliente();
+                }
+                ClienteDTO cliente = respuesta.getBody();
+                String etag = respuesta.getHeaders().getETag();
+                if (cliente != null && etag != null) {
+                    cliente.setVersion(version(etag));
+                    conocidos.put(clave, new Conocido(etag, cliente));
+                }
+                return cliente;
+            } catch (ResourceAccessException | HttpServerErrorException e) {
+                log.warn("Fallo en la instancia {} de microclientes (intento {}): {}",
+                    instancia.getUri(), intento, e.getMessage());
+                ultimoError = e;
+                fallida = instancia;
+            } catch (RuntimeException e) {
+                exito = true;
+                throw e;
+            } finally {
+                balanceador.liberar(instancia, exito);
+            }
+        }
+        throw ultimoError;
     }
-    
-    /**
-     * Método asíncrono puro para uso interno (WebFlux)
-     */
-    public Mono<ClienteDTO> obtenerClientePorIdentificacionAsync(String identificacion) {
-        log.info("Obteniendo cliente async con identificación: {}", identificacion);
-        return webClient
-            .get()
-            .uri("/clientes/identificacion/{identificacion}", identificacion)
-            .retrieve()
-            .bodyToMono(ClienteDTO.class);
+
+    /** Versión de un ETag de microclientes ("3" o W/"3"); null si no es numérico */
+    static Long version(String etag) {
+        String valor = etag.startsWith("W/") ? etag.substring(2) : etag;
+        valor = valor.replace("\"", "");
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Conocido(String etag, ClienteDTO cliente) {
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.proyecto.microcuentas.config;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.proyecto.microcuentas.metricas.ConsultasLentas;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Envuelve el DataSource (Hikari) para medir cada sentencia SQL: las lentas pasan a ConsultasLentas
+ * y, dentro de una petición trazada, cada sentencia es un span hijo (jdbc.query).
+ * Las métricas del pool siguen funcionando: el proxy delega unwrap() en Hikari.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    /**
+     * static y con ObjectProvider: un BeanPostProcessor se crea antes que el resto de beans y no
+     * debe forzar la creación temprana de ConsultasLentas, del MeterRegistry ni del Tracer
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<ConsultasLentas> consultasLentas,
+                                                                 ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new ConsultaLentaListener(consultasLentas))
+                            .listener(new TrazaJdbcListener(tracer))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static class ConsultaLentaListener implements QueryExecutionListener {
+
+        private final ObjectProvider<ConsultasLentas> proveedor;
+        private volatile ConsultasLentas consultasLentas;
+
+        ConsultaLentaListener(ObjectProvider<ConsultasLentas> proveedor) {
+            this.proveedor = proveedor;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            ConsultasLentas registro = consultasLentas;
+            if (registro == null) {
+                // Sentencias ejecutadas durante el arranque, antes de existir el registro
+                registro = proveedor.getIfAvailable();
+                if (registro == null) {
+                    return;
+                }
+                consultasLentas = registro;
+            }
+            if (execInfo.getElapsedTime() >= registro.getUmbralMs()) {
+                String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+                registro.registrar(sql, execInfo.getElapsedTime(), execInfo.isSuccess());
+            }
+        }
+    }
+
+    private static class TrazaJdbcListener implements QueryExecutionListener {
+
+        private static final String SPAN = "span";
+
+        private final ObjectProvider<Tracer> proveedor;
+        private volatile Tracer tracer;
+
+        TrazaJdbcListener(ObjectProvider<Tracer> proveedor) {
+            this.proveedor = proveedor;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Tracer actual = tracer;
+            if (actual == null) {
+                actual = proveedor.getIfAvailable();
+                if (actual == null) {
+                    return;
+                }
+                tracer = actual;
+            }
+            // Solo sentencias de una petición trazada: sin span actual no se abre una traza nueva
+            if (actual.currentSpan() == null) {
+                return;
+            }
+            Span span = actual.nextSpan()
+                    .name("jdbc.query")
+                    .tag("db.statement", queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")))
+                    .start();
+            execInfo.addCustomValue(SPAN, span);
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Span span = execInfo.getCustomValue(SPAN, Span.class);
+            if (span == null) {
+                return;
+            }
+            if (!execInfo.isSuccess() && execInfo.getThrowable() != null) {
+                span.error(execInfo.getThrowable());
+            }
+            span.end();
+        }
+    }
+}
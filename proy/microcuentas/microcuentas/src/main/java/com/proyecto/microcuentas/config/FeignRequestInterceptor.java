@@ -1,15 +0,0 @@
-package com.proyecto.microcuentas.config;
-
-import feign.RequestInterceptor;
-import feign.RequestTemplate;
-import org.springframework.stereotype.Component;
-
-@Component
-public class FeignRequestInterceptor implements RequestInterceptor {
-
-    @Override
-    public void apply(RequestTemplate template) {
-        template.header("Content-Type", "application/json");
-        template.header("Accept", "application/json");
-    }
-} 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.proyecto.microcuentas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.proyecto.comun.logging.AppenderMetricas;
+import com.proyecto.comun.logging.NivelPorPeticionFilter;
+
+/**
+ * Beans de las clases de logging comunes (módulo servicios-comun). Los appenders y el turbo filter
+ * se declaran en logback-spring.xml.
+ */
+@Configuration
+public class LoggingConfig {
+
+    /**
+     * Nivel de log por petición (X-Log-Level), solo con el secreto compartido
+     */
+    @Bean
+    public NivelPorPeticionFilter nivelPorPeticionFilter(
+            @Value("${logging.por-peticion.habilitado:false}") boolean habilitado,
+            @Value("${logging.por-peticion.secreto:}") String secreto) {
+        return new NivelPorPeticionFilter(habilitado, secreto);
+    }
+
+    /**
+     * Eventos descartados y cola de los appenders asíncronos del perfil prod
+     */
+    @Bean
+    public AppenderMetricas appenderMetricas() {
+        return new AppenderMetricas();
+    }
+}
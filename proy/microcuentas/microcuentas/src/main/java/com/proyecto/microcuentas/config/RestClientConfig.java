@@ -0,0 +1,49 @@
+package com.proyecto.microcuentas.config;
+
+import java.time.Duration;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import com.proyecto.comun.logging.NivelPorPeticionFilter;
+import com.proyecto.comun.logging.NivelPorPeticionTurboFilter;
+
+@Configuration
+public class RestClientConfig {
+
+    /**
+     * Cliente HTTP síncrono para microclientes, sobre el mismo stack servlet que el resto del servicio.
+     * El RestClient.Builder de Spring Boot ya trae el ObservationRegistry: cada llamada es un span
+     * CLIENT y envía traceparent. Timeouts cortos para no retener hilos de Tomcat.
+     * Sin URL base: ClienteClient antepone la instancia que elige BalanceadorMicroclientes.
+     */
+    @Bean
+    public RestClient clienteRestClient(RestClient.Builder builder,
+                                        @Value("${logging.por-peticion.secreto:}") String secretoNivelLog) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+            .withConnectTimeout(Duration.ofSeconds(5))
+            .withReadTimeout(Duration.ofSeconds(5));
+
+        return builder
+            .requestFactory(ClientHttpRequestFactories.get(settings))
+            .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+            // Propaga a microclientes el nivel de log pedido para esta petición (X-Log-Level), con el
+            // secreto compartido: solo hay nivel en el MDC si la petición entrante ya lo traía válido
+            .requestInterceptor((request, body, execution) -> {
+                String nivel = MDC.get(NivelPorPeticionTurboFilter.MDC_NIVEL);
+                if (nivel != null) {
+                    request.getHeaders().set(NivelPorPeticionFilter.HEADER, nivel);
+                    request.getHeaders().set(NivelPorPeticionFilter.HEADER_TOKEN, secretoNivelLog);
+                }
+                return execution.execute(request, body);
+            })
+            .build();
+    }
+}
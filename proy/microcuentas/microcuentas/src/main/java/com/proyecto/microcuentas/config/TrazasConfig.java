@@ -0,0 +1,28 @@
+package com.proyecto.microcuentas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.proyecto.comun.trazas.AlmacenSpans;
+import com.proyecto.comun.trazas.TrazasEndpoint;
+
+/**
+ * Almacén local de spans y endpoint /actuator/trazas (módulo servicios-comun)
+ */
+@Configuration
+public class TrazasConfig {
+
+    /**
+     * Últimos spans terminados en este servicio; Brave lo registra como SpanHandler
+     */
+    @Bean
+    public AlmacenSpans almacenSpans(@Value("${cuentas.trazas.capacidad:10000}") int capacidad) {
+        return new AlmacenSpans(capacidad);
+    }
+
+    @Bean
+    public TrazasEndpoint trazasEndpoint(AlmacenSpans almacenSpans) {
+        return new TrazasEndpoint(almacenSpans);
+    }
+}
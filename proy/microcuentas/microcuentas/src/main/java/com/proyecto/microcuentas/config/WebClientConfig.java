@@ -1,34 +0,0 @@
-package com.proyecto.microcuentas.config;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
-import io.netty.channel.ChannelOption;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import reactor.netty.http.client.HttpClient;
-import java.time.Duration;
-
-@Configuration
-public class WebClientConfig {
-
-    @Value("${microclientes.url:http://localhost:8080}")
-    private String microclientesUrl;
-
-    /**
-     * Configuración de WebClient para comunicación asíncrona con microclientes
-     * Mantiene timeout corto para convertir a síncrono sin bloqueos largos
-     */
-    @Bean
-    public WebClient webClient() {
-        HttpClient httpClient = HttpClient.create()
-            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-            .responseTimeout(Duration.ofSeconds(5));
-
-        return WebClient.builder()
-            .baseUrl(microclientesUrl)
-            .clientConnector(new ReactorClientHttpConnector(httpClient))
-            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
-            .build();
-    }
-}
\ No newline at end of file
@@ -12,7 +12,7 @@ import java.util.List;
 
 /**
  * Controlador para operaciones CRUD de clientes
- * Actúa como proxy hacia el microservicio microclientes usando WebFlux
+ * Actúa como proxy hacia el microservicio microclientes con ClienteClient
  */
 @RestController
 @RequestMapping("/clientes")
@@ -1,8 +1,10 @@
  package com.proyecto.microcuentas.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.context.request.WebRequest;
 
 import com.proyecto.microcuentas.dto.CuentaDTO;
 import com.proyecto.microcuentas.entity.Cuenta;
@@ -14,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -51,14 +54,35 @@ public class CuentaController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Consulta con ETag fuerte a partir de la versión de la cuenta. Con If-None-Match solo se
+     * lee la versión: si coincide se responde 304 sin cargar la cuenta ni serializarla
+     */
     @GetMapping("/{numeroCuenta}")
-    public ResponseEntity<CuentaDTO> obtener(@PathVariable String numeroCuenta) {
+    public ResponseEntity<CuentaDTO> obtener(@PathVariable String numeroCuenta, WebRequest request) {
         log.info("Obteniendo cuenta: {}", numeroCuenta);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = cuentaService.obtenerVersion(numeroCuenta);
+            if (version.isPresent() && request.checkNotModified(etag(version.get()))) {
+                return null;
+            }
+        }
         return cuentaService.obtenerCuentaPorId(numeroCuenta)
-            .map(cuenta -> ResponseEntity.ok(modelMapper.map(cuenta, CuentaDTO.class)))
+            .map(cuenta -> ResponseEntity.ok()
+                .eTag(etag(cuenta.getVersion()))
+                .body(modelMapper.map(cuenta, CuentaDTO.class)))
             .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/cliente/{clienteId}")
+    public ResponseEntity<List<CuentaDTO>> listarPorCliente(@PathVariable String clienteId) {
+        log.info("Listando cuentas del cliente: {}", clienteId);
+        List<CuentaDTO> cuentasDTO = cuentaService.obtenerCuentasPorCliente(clienteId).stream()
+            .map(cuenta -> modelMapper.map(cuenta, CuentaDTO.class))
+            .collect(Collectors.toList());
+        return ResponseEntity.ok(cuentasDTO);
+    }
+
     @GetMapping
     public ResponseEntity<List<CuentaDTO>> listar() {
         log.info("Listando todas las cuentas");
@@ -68,4 +92,8 @@ public class CuentaController {
             .collect(Collectors.toList());
         return ResponseEntity.ok(cuentasDTO);
     }
-} 
\ No newline at end of file
+
+    static String etag(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+}
@@ -1,5 +1,6 @@
 package com.proyecto.microcuentas.controller;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
@@ -10,7 +11,6 @@ import com.proyecto.microcuentas.dto.CrearMovimientoDTO;
 import com.proyecto.microcuentas.entity.Movimiento;
 import com.proyecto.microcuentas.entity.Cuenta;
 import com.proyecto.microcuentas.service.MovimientoService;
-import com.proyecto.microcuentas.service.CuentaService;
 import org.modelmapper.ModelMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -29,22 +29,17 @@ import java.util.stream.Collectors;
 public class MovimientoController {
     
     private final MovimientoService movimientoService;
-    private final CuentaService cuentaService;
     private final ModelMapper modelMapper;
 
     @PostMapping
     public ResponseEntity<MovimientoDTO> crear(@Valid @RequestBody CrearMovimientoDTO crearMovimientoDTO) {
         log.info("Creando nuevo movimiento para cuenta: {}", crearMovimientoDTO.getNumeroCuenta());
         
-        // Obtener la cuenta
-        Cuenta cuenta = cuentaService.obtenerCuentaPorId(crearMovimientoDTO.getNumeroCuenta())
-            .orElseThrow(() -> new IllegalArgumentException("Cuenta no encontrada: " + crearMovimientoDTO.getNumeroCuenta()));
-        
-        // Crear el movimiento
+        // Solo la referencia a la cuenta: MovimientoService la carga (una vez) para validar y actualizar el saldo
         Movimiento movimiento = Movimiento.builder()
             .tipoMovimiento(crearMovimientoDTO.getTipoMovimiento())
             .valor(crearMovimientoDTO.getValor())
-            .cuenta(cuenta)
+            .cuenta(Cuenta.builder().numeroCuenta(crearMovimientoDTO.getNumeroCuenta()).build())
             .build();
         
         Movimiento movimientoCreado = movimientoService.crearMovimiento(movimiento);
@@ -80,8 +75,8 @@ public class MovimientoController {
 
     @GetMapping("/reporte")
     public ResponseEntity<List<MovimientoDTO>> reportePorFecha(
-            @RequestParam LocalDateTime fechaInicio,
-            @RequestParam LocalDateTime fechaFin) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fechaFin) {
         log.info("Generando reporte de movimientos entre {} y {}", fechaInicio, fechaFin);
         List<Movimiento> movimientos = movimientoService.reportePorFecha(fechaInicio, fechaFin);
         List<MovimientoDTO> movimientosDTO = movimientos.stream()
@@ -3,21 +3,36 @@ package com.proyecto.microcuentas.controller;
 import com.proyecto.microcuentas.dto.MovimientoDTO;
 import com.proyecto.microcuentas.dto.CuentaDTO;
 import com.proyecto.microcuentas.dto.ClienteDTO;
+import com.proyecto.microcuentas.dto.EstadoCuentaReporte;
+import com.proyecto.microcuentas.dto.ResumenCuentaDTO;
 import com.proyecto.microcuentas.entity.Movimiento;
 import com.proyecto.microcuentas.entity.Cuenta;
 import com.proyecto.microcuentas.service.MovimientoService;
 import com.proyecto.microcuentas.service.CuentaService;
+import com.proyecto.microcuentas.service.ResumenMovimientosService;
+import com.proyecto.microcuentas.service.ResumenMovimientosService.Agrupacion;
 import com.proyecto.microcuentas.client.ClienteClient;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import lombok.Data;
 
 import org.modelmapper.ModelMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,21 +41,32 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ReporteController {
     
+    // Columnas de cada fila de /reportes/resumen
+    private static final List<String> COLUMNAS_RESUMEN = List.of("numeroCuenta", "periodo", "creditos",
+        "totalCreditos", "debitos", "totalDebitos", "minimo", "maximo", "saldoFinal");
+
     private final MovimientoService movimientoService;
     private final CuentaService cuentaService;
     private final ClienteClient clienteClient;
     private final ModelMapper modelMapper;
+    private final ResumenMovimientosService resumenMovimientosService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Estado de cuenta con ETag fuerte. Los movimientos solo se crean a través de la cuenta, que
+     * incrementa su versión con cada uno, así que la versión de la cuenta más la del cliente en
+     * microclientes identifican el contenido: si coinciden con If-None-Match se responde 304 sin leer
+     * los movimientos. El cliente se revalida con If-None-Match (ver ClienteClient), así que en un
+     * 304 microclientes tampoco devuelve el cuerpo. Sin cliente o sin su versión no hay ETag.
+     */
     @GetMapping("/estado-cuenta/{numeroCuenta}")
-    public ResponseEntity<EstadoCuentaReporte> estadoCuenta(@PathVariable String numeroCuenta) {
+    public ResponseEntity<EstadoCuentaReporte> estadoCuenta(@PathVariable String numeroCuenta, WebRequest request) {
         log.info("Generando estado de cuenta para: {}", numeroCuenta);
         
         var cuenta = cuentaService.obtenerCuentaPorId(numeroCuenta)
             .orElseThrow(() -> new IllegalArgumentException("Cuenta no encontrada"));
         
-        var movimientos = movimientoService.reportePorCliente(numeroCuenta);
-        
-        // Obtener información completa del cliente usando WebFlux
+        // Obtener información completa del cliente con ClienteClient
         ClienteDTO cliente = null;
         try {
             cliente = clienteClient.obtenerClientePorIdentificacion(cuenta.getClienteId());
@@ -51,6 +77,13 @@ public class ReporteController {
                       cuenta.getClienteId(), e.getMessage());
         }
         
+        String etag = etagEstadoCuenta(cuenta, cliente);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        
+        var movimientos = movimientoService.reportePorCliente(numeroCuenta);
+        
         var reporte = new EstadoCuentaReporte();
         reporte.setCuenta(modelMapper.map(cuenta, CuentaDTO.class));
         reporte.setCliente(cliente);
@@ -60,7 +93,18 @@ public class ReporteController {
             .collect(Collectors.toList());
         reporte.setMovimientos(movimientosDTO);
         
-        return ResponseEntity.ok(reporte);
+        if (etag == null) {
+            return ResponseEntity.ok(reporte);
+        }
+        return ResponseEntity.ok().eTag(etag).body(reporte);
+    }
+
+    static String etagEstadoCuenta(Cuenta cuenta, ClienteDTO cliente) {
+        if (cliente == null || cliente.getVersion() == null) {
+            return null;
+        }
+        long version = cuenta.getVersion() != null ? cuenta.getVersion() : 0;
+        return "\"" + version + "-" + cliente.getVersion() + "\"";
     }
 
     /**
@@ -71,22 +115,16 @@ public class ReporteController {
     public ResponseEntity<List<EstadoCuentaReporte>> reportes(@RequestParam String fecha) {
         log.info("Generando reporte con rango de fechas: {}", fecha);
         
-        // Parsear el rango de fechas
-        String[] fechas = fecha.split(",");
-        if (fechas.length != 2) {
-            throw new IllegalArgumentException("Formato de fecha inválido. Use: fechaInicio,fechaFin");
-        }
-        
-        LocalDateTime fechaInicio = LocalDateTime.parse(fechas[0]);
-        LocalDateTime fechaFin = LocalDateTime.parse(fechas[1]);
-        
-        if (fechaInicio.isAfter(fechaFin)) {
-            throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha fin");
-        }
+        LocalDateTime[] rango = rangoFechas(fecha);
+        LocalDateTime fechaInicio = rango[0];
+        LocalDateTime fechaFin = rango[1];
 
         // Obtener movimientos en el rango de fechas
         var movimientos = movimientoService.reportePorFecha(fechaInicio, fechaFin);
         
+        // Cada cliente se consulta una sola vez aunque tenga varias cuentas en el reporte
+        Map<String, ClienteDTO> clientes = new HashMap<>();
+        
         // Agrupar por cuenta y generar reportes de estado de cuenta
         var reportesPorCuenta = movimientos.stream()
             .collect(Collectors.groupingBy(mov -> mov.getCuenta().getNumeroCuenta()))
@@ -95,20 +133,24 @@ public class ReporteController {
                 String numeroCuenta = entry.getKey();
                 List<Movimiento> movimientosCuenta = entry.getValue();
                 
-                // Obtener información de la cuenta
-                var cuenta = cuentaService.obtenerCuentaPorId(numeroCuenta)
-                    .orElseThrow(() -> new IllegalArgumentException("Cuenta no encontrada"));
+                // La cuenta viene cargada con los movimientos (@EntityGraph)
+                var cuenta = movimientosCuenta.get(0).getCuenta();
                 
-                // Obtener información completa del cliente usando WebFlux
+                // Obtener información completa del cliente con ClienteClient
                 ClienteDTO cliente = null;
-                try {
-                    cliente = clienteClient.obtenerClientePorIdentificacion(cuenta.getClienteId());
-                    log.info("Cliente {} obtenido para reporte de cuenta {}", 
-                             cliente != null ? cliente.getNombre() : "null", numeroCuenta);
-                } catch (Exception e) {
-                    log.error("Error al obtener información del cliente {} para cuenta {}: {}", 
-                              cuenta.getClienteId(), numeroCuenta, e.getMessage());
-                    // Continúa sin cliente para no fallar el reporte completo
+                if (clientes.containsKey(cuenta.getClienteId())) {
+                    cliente = clientes.get(cuenta.getClienteId());
+                } else {
+                    try {
+                        cliente = clienteClient.obtenerClientePorIdentificacion(cuenta.getClienteId());
+                        log.info("Cliente {} obtenido para reporte de cuenta {}", 
+                                 cliente != null ? cliente.getNombre() : "null", numeroCuenta);
+                    } catch (Exception e) {
+                        log.error("Error al obtener información del cliente {} para cuenta {}: {}", 
+                                  cuenta.getClienteId(), numeroCuenta, e.getMessage());
+                        // Continúa sin cliente para no fallar el reporte completo
+                    }
+                    clientes.put(cuenta.getClienteId(), cliente);
                 }
                 
                 // Crear reporte de estado de cuenta
@@ -128,6 +170,85 @@ public class ReporteController {
         return ResponseEntity.ok(reportesPorCuenta);
     }
     
+    /**
+     * Resumen por cuenta y periodo (agrupar=dia|mes): número y total de créditos y débitos, valor
+     * mínimo y máximo, y saldo final, calculados con GROUP BY en la base de datos. El tamaño de la
+     * respuesta depende de cuentas y periodos, no de movimientos. Se escribe fila a fila según llega
+     * de la base de datos, en JSON compacto:
+     * {"desde":..., "hasta":..., "agrupar":"mes", "columnas":[...], "filas":[["0000000001","2024-06",...], ...]}
+     */
+    @GetMapping("/resumen")
+    public ResponseEntity<StreamingResponseBody> resumen(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "mes") String agrupar) {
+        log.info("Generando resumen de movimientos entre {} y {} por {}", desde, hasta, agrupar);
+        
+        // Validaciones antes de empezar a escribir: después ya no se puede responder con un error
+        if (desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha fin");
+        }
+        Agrupacion agrupacion = Agrupacion.de(agrupar);
+        
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(salida)) {
+                json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                json.writeStartObject();
+                json.writeStringField("desde", desde.toString());
+                json.writeStringField("hasta", hasta.toString());
+                json.writeStringField("agrupar", agrupacion.name().toLowerCase());
+                json.writeArrayFieldStart("columnas");
+                for (String columna : COLUMNAS_RESUMEN) {
+                    json.writeString(columna);
+                }
+                json.writeEndArray();
+                json.writeArrayFieldStart("filas");
+                resumenMovimientosService.resumir(desde, hasta, agrupacion, fila -> escribirFila(json, fila, agrupacion));
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+
+    private static void escribirFila(JsonGenerator json, ResumenCuentaDTO fila, Agrupacion agrupacion) {
+        try {
+            json.writeStartArray();
+            json.writeString(fila.getNumeroCuenta());
+            json.writeString(agrupacion == Agrupacion.MES
+                ? YearMonth.from(fila.getPeriodo()).toString()
+                : fila.getPeriodo().toString());
+            json.writeNumber(fila.getCreditos());
+            json.writeNumber(fila.getTotalCreditos());
+            json.writeNumber(fila.getDebitos());
+            json.writeNumber(fila.getTotalDebitos());
+            json.writeNumber(fila.getMinimo());
+            json.writeNumber(fila.getMaximo());
+            json.writeNumber(fila.getSaldoFinal());
+            json.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parsea el rango "fechaInicio,fechaFin" de /reportes y /reportes/jobs
+     */
+    static LocalDateTime[] rangoFechas(String fecha) {
+        String[] fechas = fecha.split(",");
+        if (fechas.length != 2) {
+            throw new IllegalArgumentException("Formato de fecha inválido. Use: fechaInicio,fechaFin");
+        }
+        
+        LocalDateTime fechaInicio = LocalDateTime.parse(fechas[0]);
+        LocalDateTime fechaFin = LocalDateTime.parse(fechas[1]);
+        
+        if (fechaInicio.isAfter(fechaFin)) {
+            throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha fin");
+        }
+        return new LocalDateTime[] {fechaInicio, fechaFin};
+    }
+    
     @GetMapping("/movimientos")
     public ResponseEntity<List<MovimientoDTO>> obtenerTodosLosMovimientos() {
         log.info("Obteniendo todos los movimientos");
@@ -190,10 +311,15 @@ public class ReporteController {
                 return ResponseEntity.ok(List.of());
             }
             
-            // 3. Generar reporte para cada cuenta
+            // 3. Movimientos de todas sus cuentas en una sola consulta, agrupados por cuenta
+            Map<String, List<Movimiento>> movimientosPorCuenta = movimientoService.movimientosPorCliente(identificacion)
+                .stream()
+                .collect(Collectors.groupingBy(mov -> mov.getCuenta().getNumeroCuenta()));
+            
+            // 4. Generar reporte para cada cuenta
             List<EstadoCuentaReporte> reportes = cuentasCliente.stream()
                 .map(cuenta -> {
-                    var movimientos = movimientoService.reportePorCliente(cuenta.getNumeroCuenta());
+                    var movimientos = movimientosPorCuenta.getOrDefault(cuenta.getNumeroCuenta(), List.of());
                     
                     var reporte = new EstadoCuentaReporte();
                     reporte.setCuenta(modelMapper.map(cuenta, CuentaDTO.class));
@@ -219,10 +345,3 @@ public class ReporteController {
         }
     }
 }
-
-@Data
-class EstadoCuentaReporte {
-    private CuentaDTO cuenta;
-    private ClienteDTO cliente;
-    private List<MovimientoDTO> movimientos;
-}
\ No newline at end of file
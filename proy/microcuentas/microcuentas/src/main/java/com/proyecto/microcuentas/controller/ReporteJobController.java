@@ -0,0 +1,82 @@
+package com.proyecto.microcuentas.controller;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.proyecto.microcuentas.dto.ReporteJobDTO;
+import com.proyecto.microcuentas.service.ReporteJobService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reportes por rango de fechas en segundo plano, para rangos que no caben en el timeout del gateway:
+ * POST crea el job (202), GET /{id} devuelve su progreso y GET /{id}/resultado descarga el NDJSON
+ * comprimido, con soporte de Range para reanudar descargas.
+ */
+@RestController
+@RequestMapping("/reportes/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class ReporteJobController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ReporteJobService reporteJobService;
+
+    /**
+     * Mismo formato de rango que /reportes: fecha=2024-01-01T00:00:00,2024-12-31T23:59:59
+     */
+    @PostMapping
+    public ResponseEntity<ReporteJobDTO> crear(@RequestParam String fecha) {
+        log.info("Solicitando job de reporte con rango de fechas: {}", fecha);
+        LocalDateTime[] rango = ReporteController.rangoFechas(fecha);
+        ReporteJobDTO job = reporteJobService.solicitar(rango[0], rango[1]);
+        return ResponseEntity.accepted()
+            .location(URI.create("/reportes/jobs/" + job.getId()))
+            .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReporteJobDTO> obtener(@PathVariable String id) {
+        return ResponseEntity.of(reporteJobService.obtener(id));
+    }
+
+    /**
+     * 404 si el job no existe (o ya caducó), 409 con su estado si aún no ha terminado o falló
+     */
+    @GetMapping("/{id}/resultado")
+    public ResponseEntity<?> resultado(@PathVariable String id) {
+        Optional<ReporteJobDTO> job = reporteJobService.obtener(id);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> archivo = reporteJobService.resultado(id);
+        if (archivo.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job.get());
+        }
+        // Un Resource como cuerpo: Spring atiende Range/If-Range y responde 206 con la parte pedida
+        Resource resultado = new FileSystemResource(archivo.get());
+        return ResponseEntity.ok()
+            .contentType(GZIP)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("reporte-" + id + ".ndjson.gz").build().toString())
+            .body(resultado);
+    }
+}
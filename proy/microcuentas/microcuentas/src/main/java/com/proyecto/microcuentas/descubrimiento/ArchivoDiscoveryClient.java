@@ -0,0 +1,112 @@
+package com.proyecto.microcuentas.descubrimiento;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Descubrimiento de instancias desde un archivo local, para trabajar sin Eureka (pruebas, benchmarks).
+ *
+ * Formato properties, una línea por servicio con sus URL separadas por comas:
+ * <pre>
+ * microclientes=http://localhost:8080,http://localhost:8082
+ * </pre>
+ * El archivo se vuelve a leer cuando cambia su fecha de modificación, así que se pueden añadir o
+ * quitar instancias sin reiniciar. Con Eureka activo, Spring Cloud combina ambas fuentes.
+ * Sin microclientes.descubrimiento.archivo no devuelve instancias; la propiedad se lee al arrancar y
+ * no con @ConditionalOnProperty, que en la imagen AOT del perfil arranque-rapido se fija al compilar.
+ */
+@Component
+@Slf4j
+public class ArchivoDiscoveryClient implements DiscoveryClient {
+
+    private final Path archivo;
+    private volatile long modificado = -1;
+    private volatile Map<String, List<ServiceInstance>> instancias = Collections.emptyMap();
+
+    public ArchivoDiscoveryClient(@Value("${microclientes.descubrimiento.archivo:}") String archivo) {
+        this.archivo = archivo.isBlank() ? null : Path.of(archivo);
+    }
+
+    @Override
+    public String description() {
+        return "Descubrimiento desde archivo local " + archivo;
+    }
+
+    @Override
+    public List<ServiceInstance> getInstances(String serviceId) {
+        return leer().getOrDefault(serviceId.toLowerCase(), Collections.emptyList());
+    }
+
+    @Override
+    public List<String> getServices() {
+        return new ArrayList<>(leer().keySet());
+    }
+
+    private Map<String, List<ServiceInstance>> leer() {
+        if (archivo == null) {
+            return instancias;
+        }
+        long actual;
+        try {
+            actual = Files.getLastModifiedTime(archivo).toMillis();
+        } catch (IOException e) {
+            log.warn("No se puede leer el archivo de instancias {}: {}", archivo, e.getMessage());
+            return instancias;
+        }
+        if (actual == modificado) {
+            return instancias;
+        }
+        synchronized (this) {
+            if (actual != modificado) {
+                try (Reader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+                    Properties properties = new Properties();
+                    properties.load(reader);
+                    instancias = convertir(properties);
+                    modificado = actual;
+                    log.info("Instancias cargadas desde {}: {}", archivo, instancias.keySet());
+                } catch (IOException | IllegalArgumentException e) {
+                    // Se conservan las instancias anteriores hasta que el archivo sea válido
+                    log.warn("Archivo de instancias {} inválido: {}", archivo, e.getMessage());
+                }
+            }
+            return instancias;
+        }
+    }
+
+    private static Map<String, List<ServiceInstance>> convertir(Properties properties) {
+        Map<String, List<ServiceInstance>> resultado = new TreeMap<>();
+        for (String servicio : properties.stringPropertyNames()) {
+            List<ServiceInstance> lista = new ArrayList<>();
+            for (String url : properties.getProperty(servicio).split(",")) {
+                if (url.isBlank()) {
+                    continue;
+                }
+                URI uri = URI.create(url.trim());
+                boolean seguro = "https".equalsIgnoreCase(uri.getScheme());
+                int puerto = uri.getPort() != -1 ? uri.getPort() : (seguro ? 443 : 80);
+                lista.add(new DefaultServiceInstance(servicio + ":" + uri.getHost() + ":" + puerto,
+                        servicio, uri.getHost(), puerto, seguro));
+            }
+            resultado.put(servicio.toLowerCase(), List.copyOf(lista));
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,239 @@
+package com.proyecto.microcuentas.descubrimiento;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Selección de instancias de microclientes para ClienteClient.
+ *
+ * - Registro en caché: la lista de instancias se pide al DiscoveryClient (Eureka y/o archivo local)
+ *   como mucho una vez por intervalo de refresco, no en cada llamada. Si el registro deja de
+ *   devolver instancias se conserva la última lista conocida; si nunca hubo ninguna se usa
+ *   microclientes.url.
+ * - Menos peticiones en vuelo: se elige la instancia con menos llamadas en curso; los empates se
+ *   reparten por turnos.
+ * - Expulsión: tras N fallos seguidos (error de conexión o 5xx) la instancia deja de recibir tráfico
+ *   durante un tiempo que crece con cada expulsión. Al volver, un solo fallo la expulsa de nuevo;
+ *   un éxito la rehabilita del todo. Si todas están expulsadas se reparte entre todas, para no
+ *   cortar el servicio por completo.
+ */
+@Component
+@Slf4j
+public class BalanceadorMicroclientes {
+
+    /** Tope del multiplicador de la duración de expulsión */
+    private static final int MAX_MULTIPLICADOR_EXPULSION = 10;
+
+    /**
+     * Estado de una instancia. Se conserva entre refrescos mientras la instancia siga registrada.
+     */
+    public static final class Instancia {
+
+        private final URI uri;
+        private final AtomicInteger enVuelo = new AtomicInteger();
+        private final AtomicInteger fallosConsecutivos = new AtomicInteger();
+        private final AtomicInteger expulsiones = new AtomicInteger();
+        private volatile long expulsadaHasta;
+        private volatile boolean expulsada;
+
+        Instancia(URI uri) {
+            this.uri = uri;
+        }
+
+        public URI getUri() {
+            return uri;
+        }
+
+        public int getEnVuelo() {
+            return enVuelo.get();
+        }
+
+        boolean expulsada(long ahora) {
+            return expulsada && ahora - expulsadaHasta < 0;
+        }
+    }
+
+    private final String servicio;
+    private final Supplier<List<ServiceInstance>> fuente;
+    private final URI urlRespaldo;
+    private final long refrescoNanos;
+    private final int fallosParaExpulsar;
+    private final long expulsionNanos;
+    private final LongSupplier reloj;
+    private final Counter totalExpulsiones;
+
+    private final Map<URI, Instancia> estado = new ConcurrentHashMap<>();
+    private final AtomicInteger turno = new AtomicInteger();
+    private volatile List<Instancia> instancias = List.of();
+    private volatile long proximoRefresco;
+
+    @Autowired
+    public BalanceadorMicroclientes(ObjectProvider<DiscoveryClient> discoveryClient,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${microclientes.servicio:microclientes}") String servicio,
+                                    @Value("${microclientes.url:http://localhost:8080}") String urlRespaldo,
+                                    @Value("${microclientes.descubrimiento.refresco:5s}") Duration refresco,
+                                    @Value("${microclientes.expulsion.fallos:3}") int fallosParaExpulsar,
+                                    @Value("${microclientes.expulsion.duracion:10s}") Duration expulsion) {
+        this(servicio, () -> {
+            DiscoveryClient cliente = discoveryClient.getIfAvailable();
+            return cliente != null ? cliente.getInstances(servicio) : List.of();
+        }, urlRespaldo.isBlank() ? null : URI.create(urlRespaldo), refresco, fallosParaExpulsar, expulsion,
+                meterRegistry, System::nanoTime);
+    }
+
+    BalanceadorMicroclientes(String servicio, Supplier<List<ServiceInstance>> fuente, URI urlRespaldo,
+                             Duration refresco, int fallosParaExpulsar, Duration expulsion,
+                             MeterRegistry meterRegistry, LongSupplier reloj) {
+        if (fallosParaExpulsar <= 0) {
+            throw new IllegalArgumentException("El número de fallos para expulsar una instancia debe ser mayor que 0");
+        }
+        this.servicio = servicio;
+        this.fuente = fuente;
+        this.urlRespaldo = urlRespaldo;
+        this.refrescoNanos = refresco.toNanos();
+        this.fallosParaExpulsar = fallosParaExpulsar;
+        this.expulsionNanos = expulsion.toNanos();
+        this.reloj = reloj;
+        this.proximoRefresco = reloj.getAsLong();
+        this.totalExpulsiones = Counter.builder("cuentas.microclientes.expulsiones")
+                .description("Instancias de microclientes expulsadas por fallos consecutivos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Elige la instancia con menos peticiones en vuelo y la marca como ocupada.
+     * Cada llamada a elegir() debe terminar con una llamada a liberar().
+     */
+    public Instancia elegir() {
+        return elegir(null);
+    }
+
+    /**
+     * Como elegir(), evitando la instancia excluida (la que acaba de fallar en un reintento);
+     * solo se vuelve a ella si es la única registrada
+     */
+    public Instancia elegir(Instancia excluida) {
+        refrescarSiCaduco();
+        List<Instancia> lista = instancias;
+        if (lista.isEmpty()) {
+            throw new IllegalStateException("No hay instancias de " + servicio + " registradas");
+        }
+        long ahora = reloj.getAsLong();
+        int inicio = Math.floorMod(turno.getAndIncrement(), lista.size());
+        Instancia elegida = menosOcupada(lista, inicio, ahora, true, excluida);
+        if (elegida == null) {
+            elegida = menosOcupada(lista, inicio, ahora, false, excluida);
+            if (elegida != null) {
+                log.warn("Todas las instancias de {} están expulsadas, se reparte entre todas", servicio);
+            } else {
+                elegida = menosOcupada(lista, inicio, ahora, false, null);
+            }
+        }
+        elegida.enVuelo.incrementAndGet();
+        return elegida;
+    }
+
+    /**
+     * Libera la instancia elegida y registra el resultado de la llamada
+     * @param exito false si hubo error de conexión o respuesta 5xx
+     */
+    public void liberar(Instancia instancia, boolean exito) {
+        instancia.enVuelo.decrementAndGet();
+        if (exito) {
+            instancia.fallosConsecutivos.set(0);
+            if (instancia.expulsiones.get() > 0) {
+                instancia.expulsiones.set(0);
+                instancia.expulsada = false;
+            }
+            return;
+        }
+        long ahora = reloj.getAsLong();
+        if (instancia.fallosConsecutivos.incrementAndGet() >= fallosParaExpulsar && !instancia.expulsada(ahora)) {
+            int veces = instancia.expulsiones.incrementAndGet();
+            long duracion = expulsionNanos * Math.min(veces, MAX_MULTIPLICADOR_EXPULSION);
+            instancia.expulsadaHasta = ahora + duracion;
+            instancia.expulsada = true;
+            totalExpulsiones.increment();
+            log.warn("Instancia {} de {} expulsada durante {} ms ({} fallos seguidos, expulsión nº {})",
+                    instancia.uri, servicio, Duration.ofNanos(duracion).toMillis(),
+                    instancia.fallosConsecutivos.get(), veces);
+        }
+    }
+
+    private static Instancia menosOcupada(List<Instancia> lista, int inicio, long ahora, boolean saltarExpulsadas,
+                                          Instancia excluida) {
+        Instancia elegida = null;
+        for (int i = 0; i < lista.size(); i++) {
+            Instancia candidata = lista.get((inicio + i) % lista.size());
+            if (candidata == excluida || saltarExpulsadas && candidata.expulsada(ahora)) {
+                continue;
+            }
+            if (elegida == null || candidata.enVuelo.get() < elegida.enVuelo.get()) {
+                elegida = candidata;
+            }
+        }
+        return elegida;
+    }
+
+    private void refrescarSiCaduco() {
+        if (reloj.getAsLong() - proximoRefresco < 0) {
+            return;
+        }
+        synchronized (this) {
+            if (reloj.getAsLong() - proximoRefresco < 0) {
+                return;
+            }
+            try {
+                refrescar();
+            } catch (RuntimeException e) {
+                log.warn("No se pudo refrescar el registro de {}: {}", servicio, e.getMessage());
+            } finally {
+                proximoRefresco = reloj.getAsLong() + refrescoNanos;
+            }
+        }
+    }
+
+    private void refrescar() {
+        Set<URI> uris = new LinkedHashSet<>();
+        for (ServiceInstance instancia : fuente.get()) {
+            uris.add(instancia.getUri());
+        }
+        if (uris.isEmpty()) {
+            if (!instancias.isEmpty() || urlRespaldo == null) {
+                // Registro vacío o caído: se sigue con la última lista conocida
+                return;
+            }
+            uris.add(urlRespaldo);
+        }
+        List<Instancia> nuevas = new ArrayList<>(uris.size());
+        for (URI uri : uris) {
+            nuevas.add(estado.computeIfAbsent(uri, Instancia::new));
+        }
+        estado.keySet().retainAll(uris);
+        if (!nuevas.equals(instancias)) {
+            log.info("Instancias de {}: {}", servicio, uris);
+        }
+        instancias = List.copyOf(nuevas);
+    }
+}
@@ -1,5 +1,7 @@
 package com.proyecto.microcuentas.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,4 +19,8 @@ public class ClienteDTO {
     private String telefono;
     private String contrasena;
     private String estado;
+
+    // persona.version en microclientes, leída del ETag de su respuesta (no viaja en el cuerpo)
+    @JsonIgnore
+    private Long version;
 } 
\ No newline at end of file
@@ -8,6 +8,7 @@ import lombok.Builder;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Pattern;
 
 import java.math.BigDecimal;
@@ -24,6 +25,7 @@ public class CrearMovimientoDTO {
     
     @NotNull(message = "El valor es obligatorio")
     @DecimalMin(value = "0.01", inclusive = true, message = "El valor debe ser mayor a 0")
+    @Digits(integer = 16, fraction = 2, message = "El valor admite como máximo 16 enteros y 2 decimales")
     private BigDecimal valor;
     
     @NotBlank(message = "El número de cuenta es obligatorio")
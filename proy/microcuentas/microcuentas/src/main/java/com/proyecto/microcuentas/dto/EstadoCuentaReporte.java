@@ -0,0 +1,16 @@
+package com.proyecto.microcuentas.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Estado de cuenta: la cuenta, su cliente y sus movimientos. Es la respuesta de /reportes y cada
+ * línea del resultado de un job de reporte (/reportes/jobs)
+ */
+@Data
+public class EstadoCuentaReporte {
+    private CuentaDTO cuenta;
+    private ClienteDTO cliente;
+    private List<MovimientoDTO> movimientos;
+}
@@ -0,0 +1,38 @@
+package com.proyecto.microcuentas.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de un job de reporte (/reportes/jobs/{id})
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReporteJobDTO {
+
+    private String id;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+
+    // PENDIENTE, EN_CURSO, COMPLETADO o FALLIDO
+    private String estado;
+
+    // Movimientos escritos sobre el total del rango
+    private long procesados;
+    private long total;
+    private int porcentaje;
+
+    private LocalDateTime creado;
+    private LocalDateTime iniciado;
+    private LocalDateTime terminado;
+
+    // Tamaño del resultado comprimido, solo cuando está COMPLETADO
+    private Long bytes;
+    private String error;
+}
@@ -0,0 +1,37 @@
+package com.proyecto.microcuentas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totales de una cuenta en un periodo (/reportes/resumen), calculados en la base de datos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumenCuentaDTO {
+
+    private String numeroCuenta;
+
+    // Primer día del periodo (día o mes)
+    private LocalDate periodo;
+
+    private long creditos;
+    private BigDecimal totalCreditos;
+    private long debitos;
+
+    // Los débitos se guardan con valor negativo: el total es negativo
+    private BigDecimal totalDebitos;
+
+    private BigDecimal minimo;
+    private BigDecimal maximo;
+
+    // Saldo tras el último movimiento del periodo
+    private BigDecimal saldoFinal;
+}
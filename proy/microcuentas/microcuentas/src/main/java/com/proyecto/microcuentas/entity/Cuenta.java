@@ -41,6 +41,11 @@ public class Cuenta {
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
 
+    // Bloqueo optimista y ETag: cada movimiento modifica el saldo y por tanto incrementa la versión
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @OneToMany(mappedBy = "cuenta", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @Builder.Default
     private List<Movimiento> movimientos = new ArrayList<>();
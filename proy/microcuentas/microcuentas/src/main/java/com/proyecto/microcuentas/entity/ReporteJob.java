@@ -0,0 +1,72 @@
+package com.proyecto.microcuentas.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado compartido de un job de reporte. Cualquier instancia del servicio puede consultarlo,
+ * así que las consultas de progreso no dependen de la instancia que recibió la solicitud.
+ */
+@Entity
+@Table(name = "reporte_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReporteJob {
+
+    public enum Estado { PENDIENTE, EN_CURSO, COMPLETADO, FALLIDO }
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "fecha_inicio", nullable = false)
+    private LocalDateTime fechaInicio;
+
+    @Column(name = "fecha_fin", nullable = false)
+    private LocalDateTime fechaFin;
+
+    // Rango del job mientras está PENDIENTE o EN_CURSO y null al terminar: la restricción única
+    // impide que dos instancias generen a la vez el mismo rango
+    @Column(name = "rango_activo", unique = true, length = 64)
+    private String rangoActivo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private Estado estado;
+
+    // Instancia que ejecuta el job
+    @Column(name = "instancia", nullable = false, length = 100)
+    private String instancia;
+
+    @Column(name = "procesados", nullable = false)
+    private long procesados;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    @Column(name = "creado", nullable = false)
+    private LocalDateTime creado;
+
+    @Column(name = "iniciado")
+    private LocalDateTime iniciado;
+
+    @Column(name = "terminado")
+    private LocalDateTime terminado;
+
+    // Latido de la instancia propietaria; un job activo sin latido reciente se da por abandonado
+    @Column(name = "actualizado", nullable = false)
+    private LocalDateTime actualizado;
+
+    @Column(name = "bytes")
+    private Long bytes;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+}
@@ -0,0 +1,30 @@
+package com.proyecto.microcuentas.entity;
+
+/**
+ * Tipo de un movimiento. En la tabla (y en los DTO) se guarda como texto: DEBITO o CREDITO.
+ */
+public enum TipoMovimiento {
+    DEBITO,
+    CREDITO;
+
+    /**
+     * Sin distinguir mayúsculas y sin crear cadenas intermedias
+     */
+    public static TipoMovimiento de(String valor) {
+        if (DEBITO.name().equalsIgnoreCase(valor)) {
+            return DEBITO;
+        }
+        if (CREDITO.name().equalsIgnoreCase(valor)) {
+            return CREDITO;
+        }
+        throw new IllegalArgumentException("Tipo de movimiento inválido: " + valor + ". Use: DEBITO o CREDITO");
+    }
+
+    /**
+     * Valor con el signo del tipo: negativo para débitos, positivo para créditos
+     */
+    public long conSigno(long centavos) {
+        long absoluto = Math.absExact(centavos);
+        return this == DEBITO ? -absoluto : absoluto;
+    }
+}
@@ -0,0 +1,100 @@
+package com.proyecto.microcuentas.metricas;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registro de consultas SQL lentas.
+ *
+ * Cada sentencia que tarda al menos el umbral se escribe en el log (WARN) y se guarda en un
+ * búfer circular de tamaño fijo: al llenarse se descarta la más antigua, así que la memoria
+ * no crece aunque la base de datos vaya lenta durante horas. El contenido se consulta en
+ * /actuator/consultaslentas.
+ */
+@Component
+@Slf4j
+public class ConsultasLentas {
+
+    /**
+     * @param fecha instante en que terminó la sentencia
+     * @param duracionMs tiempo de ejecución en milisegundos
+     * @param sql sentencia (o sentencias, si es un lote) sin parámetros
+     * @param exito false si la sentencia lanzó una excepción
+     */
+    public record ConsultaLenta(Instant fecha, long duracionMs, String sql, boolean exito) {
+    }
+
+    private final long umbralMs;
+    private final int capacidad;
+    private final ArrayDeque<ConsultaLenta> recientes;
+    private final Counter total;
+
+    public ConsultasLentas(MeterRegistry meterRegistry,
+                           @Value("${cuentas.consultas-lentas.umbral:200ms}") Duration umbral,
+                           @Value("${cuentas.consultas-lentas.capacidad:100}") int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad del registro de consultas lentas debe ser mayor que 0");
+        }
+        this.umbralMs = umbral.toMillis();
+        this.capacidad = capacidad;
+        this.recientes = new ArrayDeque<>(capacidad);
+        this.total = Counter.builder("cuentas.consultas.lentas")
+                .description("Sentencias SQL que superaron el umbral de consulta lenta")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra la sentencia si su duración alcanza el umbral
+     * @return true si se consideró lenta
+     */
+    public boolean registrar(String sql, long duracionMs, boolean exito) {
+        if (duracionMs < umbralMs) {
+            return false;
+        }
+        total.increment();
+        log.warn("Consulta lenta ({} ms{}): {}", duracionMs, exito ? "" : ", con error", sql);
+        ConsultaLenta consulta = new ConsultaLenta(Instant.now(), duracionMs, sql, exito);
+        synchronized (recientes) {
+            if (recientes.size() == capacidad) {
+                recientes.pollFirst();
+            }
+            recientes.addLast(consulta);
+        }
+        return true;
+    }
+
+    /**
+     * Consultas lentas guardadas, de la más reciente a la más antigua
+     */
+    public List<ConsultaLenta> recientes() {
+        synchronized (recientes) {
+            List<ConsultaLenta> copia = new ArrayList<>(recientes.size());
+            recientes.descendingIterator().forEachRemaining(copia::add);
+            return copia;
+        }
+    }
+
+    public void limpiar() {
+        synchronized (recientes) {
+            recientes.clear();
+        }
+    }
+
+    public long getUmbralMs() {
+        return umbralMs;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+}
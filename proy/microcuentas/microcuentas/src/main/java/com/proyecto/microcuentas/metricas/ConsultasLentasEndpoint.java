@@ -0,0 +1,37 @@
+package com.proyecto.microcuentas.metricas;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * GET /actuator/consultaslentas: umbral, capacidad y últimas consultas lentas.
+ * DELETE /actuator/consultaslentas: vacía el registro.
+ */
+@Component
+@Endpoint(id = "consultaslentas")
+@RequiredArgsConstructor
+public class ConsultasLentasEndpoint {
+
+    private final ConsultasLentas consultasLentas;
+
+    @ReadOperation
+    public Map<String, Object> consultas() {
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("umbralMs", consultasLentas.getUmbralMs());
+        respuesta.put("capacidad", consultasLentas.getCapacidad());
+        respuesta.put("consultas", consultasLentas.recientes());
+        return respuesta;
+    }
+
+    @DeleteOperation
+    public void limpiar() {
+        consultasLentas.limpiar();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CuentaRepository extends JpaRepository<Cuenta, String> {
@@ -21,6 +22,12 @@ public interface CuentaRepository extends JpaRepository<Cuenta, String> {
      */
     List<Cuenta> findByClienteIdAndEstado(String clienteId, String estado);
     
+    /**
+     * Versión actual de una cuenta, sin cargar la entidad
+     */
+    @Query("SELECT c.version FROM Cuenta c WHERE c.numeroCuenta = :numeroCuenta")
+    Optional<Long> findVersionByNumeroCuenta(@Param("numeroCuenta") String numeroCuenta);
+    
     /**
      * Contar cuentas por cliente
      */
@@ -1,14 +1,56 @@
 package com.proyecto.microcuentas.repository;
 
 import com.proyecto.microcuentas.entity.Movimiento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Todas las consultas traen la cuenta en el mismo SELECT (@EntityGraph): al mapear cada
+ * movimiento a MovimientoDTO se lee su cuenta, y con el proxy LAZY habría una consulta por cuenta
+ */
 @Repository
 public interface MovimientoRepository extends JpaRepository<Movimiento, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "cuenta")
+    List<Movimiento> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "cuenta")
+    Optional<Movimiento> findById(Long id);
+
+    @EntityGraph(attributePaths = "cuenta")
     List<Movimiento> findByFechaBetween(LocalDateTime fechaInicio, LocalDateTime fechaFin);
+
+    long countByFechaBetween(LocalDateTime fechaInicio, LocalDateTime fechaFin);
+
+    /**
+     * Movimientos del rango ordenados por cuenta y leídos por lotes, para los jobs de reporte: el
+     * Stream se recorre dentro de una transacción y se cierra al terminar
+     */
+    @Query("SELECT m FROM Movimiento m JOIN FETCH m.cuenta c WHERE m.fecha BETWEEN :fechaInicio AND :fechaFin "
+            + "ORDER BY c.numeroCuenta, m.fecha, m.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Movimiento> streamByFechaBetween(@Param("fechaInicio") LocalDateTime fechaInicio,
+                                            @Param("fechaFin") LocalDateTime fechaFin);
+
+    @EntityGraph(attributePaths = "cuenta")
     List<Movimiento> findByCuentaNumeroCuenta(String numeroCuenta);
-} 
\ No newline at end of file
+
+    /**
+     * Movimientos de todas las cuentas de un cliente en una sola consulta
+     */
+    @EntityGraph(attributePaths = "cuenta")
+    List<Movimiento> findByCuentaClienteId(String clienteId);
+}
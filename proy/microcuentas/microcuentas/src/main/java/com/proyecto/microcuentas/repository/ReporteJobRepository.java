@@ -0,0 +1,61 @@
+package com.proyecto.microcuentas.repository;
+
+import com.proyecto.microcuentas.entity.ReporteJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReporteJobRepository extends JpaRepository<ReporteJob, String> {
+
+    /**
+     * Job pendiente o en curso del rango, si lo hay
+     */
+    Optional<ReporteJob> findByRangoActivo(String rangoActivo);
+
+    /**
+     * Da por fallidos los jobs activos cuyo latido es anterior al límite: su instancia dejó de ejecutarlos.
+     * Libera el rango para que una nueva solicitud lo vuelva a generar.
+     */
+    @Modifying
+    @Query("UPDATE ReporteJob j SET j.estado = :estado, j.rangoActivo = NULL, j.terminado = :ahora, j.error = :error "
+            + "WHERE j.rangoActivo IS NOT NULL AND j.actualizado < :limite")
+    int marcarAbandonados(@Param("limite") LocalDateTime limite, @Param("estado") ReporteJob.Estado estado,
+                          @Param("ahora") LocalDateTime ahora, @Param("error") String error);
+
+    /**
+     * Da por fallidos los jobs activos de una instancia, al arrancar de nuevo
+     */
+    @Modifying
+    @Query("UPDATE ReporteJob j SET j.estado = :estado, j.rangoActivo = NULL, j.terminado = :ahora, j.error = :error "
+            + "WHERE j.rangoActivo IS NOT NULL AND j.instancia = :instancia")
+    int marcarInterrumpidos(@Param("instancia") String instancia, @Param("estado") ReporteJob.Estado estado,
+                            @Param("ahora") LocalDateTime ahora, @Param("error") String error);
+
+    /**
+     * Jobs terminados antes del límite
+     */
+    List<ReporteJob> findByTerminadoBefore(LocalDateTime limite);
+
+    /**
+     * Progreso de un job en curso, sin cargar la entidad
+     */
+    @Modifying
+    @Query("UPDATE ReporteJob j SET j.procesados = :procesados, j.actualizado = :ahora WHERE j.id = :id")
+    int actualizarProgreso(@Param("id") String id, @Param("procesados") long procesados,
+                           @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Latido de los jobs que ejecuta esta instancia
+     */
+    @Modifying
+    @Query("UPDATE ReporteJob j SET j.actualizado = :ahora WHERE j.id IN :ids")
+    int latido(@Param("ids") Collection<String> ids, @Param("ahora") LocalDateTime ahora);
+}
@@ -0,0 +1,39 @@
+package com.proyecto.microcuentas.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Importes en centavos (long) para los cálculos internos. Las entidades y los DTO siguen usando
+ * BigDecimal con 2 decimales: la conversión se hace solo al entrar y al salir.
+ */
+public final class Centavos {
+
+    private Centavos() {
+    }
+
+    /**
+     * Exacta: falla si el valor tiene más de 2 decimales o no cabe en un long
+     */
+    public static long de(BigDecimal valor) {
+        try {
+            return valor.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Importe no representable en centavos: " + valor);
+        }
+    }
+
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Suma con control de desbordamiento
+     */
+    public static long sumar(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El importe resultante excede el máximo permitido");
+        }
+    }
+}
@@ -5,10 +5,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.proyecto.microcuentas.analitica.IndiceMovimientos;
 import com.proyecto.microcuentas.entity.Cuenta;
+import com.proyecto.microcuentas.entity.Movimiento;
 import com.proyecto.microcuentas.repository.CuentaRepository;
 
 import com.proyecto.microcuentas.client.ClienteClient;
@@ -26,6 +31,8 @@ public class CuentaService {
 
     private final ClienteClient clienteClient;
 
+    private final ObjectProvider<IndiceMovimientos> indiceMovimientos;
+
     public List<Cuenta> obtenerTodasLasCuentas() {
         log.info("Obteniendo todas las cuentas");
         return cuentaRepository.findAll();
@@ -36,11 +43,18 @@ public class CuentaService {
         return cuentaRepository.findById(numeroCuenta);
     }
 
+    /**
+     * Versión de la cuenta para responder a peticiones condicionales sin leer la fila completa
+     */
+    public Optional<Long> obtenerVersion(String numeroCuenta) {
+        return cuentaRepository.findVersionByNumeroCuenta(numeroCuenta);
+    }
+
     @Transactional
     public Cuenta crearCuenta(Cuenta cuenta) {
         log.info("Creando nueva cuenta: {} para cliente: {}", cuenta.getNumeroCuenta(), cuenta.getClienteId());
         
-        // 1. Validar que el cliente existe y está activo usando WebFlux
+        // 1. Validar que el cliente existe y está activo con ClienteClient
         validarClienteExisteYActivo(cuenta.getClienteId());
         
         // 2. Configurar fechas
@@ -59,13 +73,13 @@ public class CuentaService {
     }
     
     /**
-     * Valida que el cliente existe y está en estado ACTIVO usando WebFlux
+     * Valida que el cliente existe y está en estado ACTIVO con ClienteClient
      */
     private void validarClienteExisteYActivo(String clienteId) {
         try {
             log.info("Validando cliente con ID: {}", clienteId);
             
-            // Comunicación con microclientes usando WebFlux
+            // Comunicación con microclientes
             ClienteDTO cliente = clienteClient.obtenerClientePorIdentificacion(clienteId);
             
             if (cliente == null) {
@@ -104,10 +118,38 @@ public class CuentaService {
     @Transactional
     public void eliminarCuenta(String numeroCuenta) {
         log.info("Eliminando cuenta: {}", numeroCuenta);
-        if (!cuentaRepository.existsById(numeroCuenta)) {
-            throw new IllegalArgumentException("Cuenta no encontrada: " + numeroCuenta);
+        Cuenta cuenta = cuentaRepository.findById(numeroCuenta)
+            .orElseThrow(() -> new IllegalArgumentException("Cuenta no encontrada: " + numeroCuenta));
+        // Los movimientos se eliminan en cascada, así que se cargan igualmente
+        long ultimoMovimiento = cuenta.getMovimientos().stream()
+            .mapToLong(Movimiento::getId)
+            .max()
+            .orElse(Long.MIN_VALUE);
+        cuentaRepository.delete(cuenta);
+        if (ultimoMovimiento != Long.MIN_VALUE) {
+            quitarDelIndiceAlConfirmar(numeroCuenta, ultimoMovimiento);
+        }
+    }
+
+    /**
+     * Oculta en el índice de analítica (si está habilitado) los movimientos de la cuenta eliminada
+     * solo cuando la transacción se confirma
+     */
+    private void quitarDelIndiceAlConfirmar(String numeroCuenta, long ultimoMovimiento) {
+        IndiceMovimientos indice = indiceMovimientos.getIfAvailable();
+        if (indice == null || !indice.isHabilitado()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indice.eliminarCuenta(numeroCuenta, ultimoMovimiento);
+            return;
         }
-        cuentaRepository.deleteById(numeroCuenta);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indice.eliminarCuenta(numeroCuenta, ultimoMovimiento);
+            }
+        });
     }
 
     @Transactional
@@ -1,19 +1,28 @@
 package com.proyecto.microcuentas.service;
 
+import com.proyecto.microcuentas.analitica.IndiceMovimientos;
 import com.proyecto.microcuentas.entity.Movimiento;
 import com.proyecto.microcuentas.entity.Cuenta;
+import com.proyecto.microcuentas.entity.TipoMovimiento;
 import com.proyecto.microcuentas.repository.MovimientoRepository;
 import com.proyecto.microcuentas.repository.CuentaRepository;
 import com.proyecto.microcuentas.exception.SaldoInsuficienteException;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.math.BigDecimal;
 
 @Service
@@ -23,54 +32,54 @@ public class MovimientoService {
     
     private final MovimientoRepository movRepo;
     private final CuentaRepository cuentaRepo;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<IndiceMovimientos> indiceMovimientos;
 
 
     @Transactional
     public Movimiento crearMovimiento(Movimiento mov) {
+        medirTransaccion("movimientos.crear.transaccion");
         log.info("Creando nuevo movimiento para cuenta: {}", mov.getCuenta().getNumeroCuenta());
         
         // Datos validados en DTO
         
         // Obtener la cuenta
         Cuenta cuenta = cuentaRepo.findById(mov.getCuenta().getNumeroCuenta())
-            .orElseThrow(() -> new IllegalArgumentException("Cuenta no encontrada"));
-        
-        // Normalizar valor según tipo de movimiento
-        BigDecimal valor = mov.getValor();
-        String tipoMovimiento = mov.getTipoMovimiento().toUpperCase();
-        
-        if ("DEBITO".equals(tipoMovimiento)) {
-            // Para DÉBITO, asegurar que el valor sea negativo
-            if (valor.compareTo(BigDecimal.ZERO) > 0) {
-                valor = valor.negate();
-            }
-        } else if ("CREDITO".equals(tipoMovimiento)) {
-            // Para CRÉDITO, asegurar que el valor sea positivo
-            if (valor.compareTo(BigDecimal.ZERO) < 0) {
-                valor = valor.abs();
-            }
-        }
+            .orElseThrow(() -> new IllegalArgumentException("Cuenta no encontrada: " + mov.getCuenta().getNumeroCuenta()));
+        mov.setCuenta(cuenta);
         
-        // Actualizar el valor normalizado
-        mov.setValor(valor);
+        // Cálculo en centavos: BigDecimal solo al leer de la cuenta/petición y al guardar
+        TipoMovimiento tipo = TipoMovimiento.de(mov.getTipoMovimiento());
+        long valor = tipo.conSigno(Centavos.de(mov.getValor()));
+        long nuevoSaldo = calcularSaldo(tipo, Centavos.de(cuenta.getSaldoInicial()), valor);
+        BigDecimal saldo = Centavos.aBigDecimal(nuevoSaldo);
         
-        // Calcular nuevo saldo
-        BigDecimal nuevoSaldo = cuenta.getSaldoInicial().add(valor);
-        
-        // Validar saldo suficiente para débitos
-        if ("DEBITO".equals(tipoMovimiento) && nuevoSaldo.compareTo(BigDecimal.ZERO) < 0) {
-            throw new SaldoInsuficienteException("Saldo no disponible");
-        }
+        mov.setTipoMovimiento(tipo.name());
+        mov.setValor(Centavos.aBigDecimal(valor));
         
         // Actualizar saldo de la cuenta
-        cuenta.setSaldoInicial(nuevoSaldo);
+        cuenta.setSaldoInicial(saldo);
         cuenta.setFechaActualizacion(LocalDateTime.now());
         cuentaRepo.save(cuenta);
         
         // Configurar el movimiento
-        mov.setSaldo(nuevoSaldo);
+        mov.setSaldo(saldo);
         mov.setFecha(LocalDateTime.now());
-        return movRepo.save(mov);
+        Movimiento guardado = movRepo.save(mov);
+        indexarAlConfirmar(guardado);
+        return guardado;
+    }
+
+    /**
+     * Saldo en centavos tras aplicar un valor que ya lleva el signo de su tipo. Un débito no puede
+     * dejar el saldo en negativo
+     */
+    public static long calcularSaldo(TipoMovimiento tipo, long saldo, long valor) {
+        long nuevoSaldo = Centavos.sumar(saldo, valor);
+        if (tipo == TipoMovimiento.DEBITO && nuevoSaldo < 0) {
+            throw new SaldoInsuficienteException("Saldo no disponible");
+        }
+        return nuevoSaldo;
     }
 
     public List<Movimiento> reportePorFecha(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
@@ -94,6 +103,14 @@ public class MovimientoService {
         return movRepo.findByCuentaNumeroCuenta(numeroCuenta);
     }
 
+    /**
+     * Movimientos de todas las cuentas de un cliente, con su cuenta, en una sola consulta
+     */
+    public List<Movimiento> movimientosPorCliente(String clienteId) {
+        log.info("Obteniendo movimientos de las cuentas del cliente: {}", clienteId);
+        return movRepo.findByCuentaClienteId(clienteId);
+    }
+
     public Movimiento obtenerPorId(Long id) {
         log.info("Obteniendo movimiento con ID: {}", id);
         return movRepo.findById(id)
@@ -104,4 +121,47 @@ public class MovimientoService {
         log.info("Obteniendo todos los movimientos");
         return movRepo.findAll();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Añade el movimiento al índice de analítica (si está habilitado) solo cuando la transacción
+     * se confirma, para que un rollback no deje filas en el índice
+     */
+    private void indexarAlConfirmar(Movimiento movimiento) {
+        IndiceMovimientos indice = indiceMovimientos.getIfAvailable();
+        if (indice == null || !indice.isHabilitado()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indice.registrar(movimiento);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indice.registrar(movimiento);
+            }
+        });
+    }
+
+    /**
+     * Registra la duración de la transacción en curso al terminar, incluido el commit (o rollback),
+     * como histograma con la etiqueta resultado=commit|rollback
+     */
+    private void medirTransaccion(String nombre) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Timer.builder(nombre)
+                    .description("Duración de la transacción")
+                    .tag("resultado", status == STATUS_COMMITTED ? "commit" : "rollback")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+}
\ No newline at end of file
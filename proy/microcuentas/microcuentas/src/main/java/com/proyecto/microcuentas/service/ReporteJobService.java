@@ -0,0 +1,431 @@
+package com.proyecto.microcuentas.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.microcuentas.client.ClienteClient;
+import com.proyecto.microcuentas.dto.ClienteDTO;
+import com.proyecto.microcuentas.dto.CuentaDTO;
+import com.proyecto.microcuentas.dto.EstadoCuentaReporte;
+import com.proyecto.microcuentas.dto.MovimientoDTO;
+import com.proyecto.microcuentas.dto.ReporteJobDTO;
+import com.proyecto.microcuentas.entity.Cuenta;
+import com.proyecto.microcuentas.entity.Movimiento;
+import com.proyecto.microcuentas.entity.ReporteJob;
+import com.proyecto.microcuentas.entity.ReporteJob.Estado;
+import com.proyecto.microcuentas.repository.MovimientoRepository;
+import com.proyecto.microcuentas.repository.ReporteJobRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reportes por rango de fechas en segundo plano.
+ *
+ * Cada job se ejecuta en un pool acotado (cuentas.reportes.hilos, con cola cuentas.reportes.cola):
+ * si está lleno la solicitud se rechaza en lugar de acumular trabajo. El resultado es un archivo
+ * NDJSON comprimido con gzip, una línea por estado de cuenta (mismo formato que /reportes), escrito
+ * según se leen los movimientos: la memoria no depende del tamaño del rango.
+ *
+ * El estado de los jobs está en la tabla reporte_job y los resultados en cuentas.reportes.directorio
+ * con el id del job como nombre, así que cualquier instancia responde al progreso y a la descarga
+ * aunque el job lo ejecute otra: el directorio debe ser un volumen compartido por todas. Dos
+ * solicitudes del mismo rango mientras la primera está pendiente o en curso comparten el job, también
+ * entre instancias, gracias a la restricción única de rango_activo.
+ *
+ * La instancia que ejecuta un job renueva su latido cada cuentas.reportes.purga; si pasa
+ * cuentas.reportes.abandono sin latido (la instancia cayó), cualquier otra lo da por fallido y libera
+ * el rango. Los jobs terminados y sus archivos se eliminan pasada la retención (cuentas.reportes.retencion).
+ */
+@Service
+@Slf4j
+public class ReporteJobService {
+
+    private static final String EXTENSION = ".ndjson.gz";
+    private static final int TAMANO_BUFER = 64 * 1024;
+    // Movimientos entre dos escrituras del progreso en la tabla
+    private static final int PROGRESO_CADA = 1000;
+    private static final int INTENTOS = 3;
+
+    private final MovimientoRepository movRepo;
+    private final ReporteJobRepository jobRepo;
+    private final ClienteClient clienteClient;
+    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate lectura;
+    // Transacción propia para el estado del job: el worker la usa dentro de la transacción de lectura
+    private final TransactionTemplate escritura;
+    private final Path directorio;
+    private final String instancia;
+    private final Duration retencion;
+    private final Duration abandono;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService purga = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "reporte-job-purga");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Jobs pendientes o en curso en esta instancia, para su latido
+    private final Set<String> locales = ConcurrentHashMap.newKeySet();
+
+    public ReporteJobService(MovimientoRepository movRepo,
+                             ReporteJobRepository jobRepo,
+                             ClienteClient clienteClient,
+                             ModelMapper modelMapper,
+                             ObjectMapper objectMapper,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${cuentas.reportes.directorio:${java.io.tmpdir}/microcuentas-reportes}") Path directorio,
+                             @Value("${cuentas.reportes.instancia:${HOSTNAME:local}-${server.port:8081}}") String instancia,
+                             @Value("${cuentas.reportes.retencion:1h}") Duration retencion,
+                             @Value("${cuentas.reportes.purga:1m}") Duration intervaloPurga,
+                             @Value("${cuentas.reportes.abandono:5m}") Duration abandono,
+                             @Value("${cuentas.reportes.hilos:2}") int hilos,
+                             @Value("${cuentas.reportes.cola:20}") int cola) throws IOException {
+        this.movRepo = movRepo;
+        this.jobRepo = jobRepo;
+        this.clienteClient = clienteClient;
+        this.modelMapper = modelMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.escritura = new TransactionTemplate(transactionManager);
+        this.escritura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.directorio = directorio;
+        this.instancia = instancia;
+        this.retencion = retencion;
+        this.abandono = abandono;
+
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "reporte-job-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Files.createDirectories(directorio);
+        long intervalo = intervaloPurga.toMillis();
+        purga.scheduleWithFixedDelay(this::purgar, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Los jobs que esta instancia tenía en curso antes de reiniciar ya no avanzan
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void liberarInterrumpidos() {
+        int interrumpidos = escritura.execute(status -> jobRepo.marcarInterrumpidos(instancia, Estado.FALLIDO,
+                LocalDateTime.now(), "La instancia " + instancia + " se reinició durante el job"));
+        if (interrumpidos > 0) {
+            log.warn("{} jobs de reporte de la instancia {} marcados como fallidos tras reiniciar", interrumpidos, instancia);
+        }
+    }
+
+    /**
+     * Encola un reporte del rango o devuelve el job pendiente o en curso del mismo rango,
+     * lo haya creado esta instancia u otra
+     * @throws RejectedExecutionException si el pool y su cola están llenos
+     */
+    public ReporteJobDTO solicitar(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+        String rango = fechaInicio + "," + fechaFin;
+        for (int intento = 0; intento < INTENTOS; intento++) {
+            Optional<ReporteJob> activo = jobRepo.findByRangoActivo(rango);
+            if (activo.isPresent()) {
+                return aDTO(activo.get());
+            }
+            LocalDateTime ahora = LocalDateTime.now();
+            ReporteJob nuevo = ReporteJob.builder()
+                    .id(UUID.randomUUID().toString())
+                    .fechaInicio(fechaInicio)
+                    .fechaFin(fechaFin)
+                    .rangoActivo(rango)
+                    .estado(Estado.PENDIENTE)
+                    .instancia(instancia)
+                    .creado(ahora)
+                    .actualizado(ahora)
+                    .build();
+            try {
+                guardar(nuevo);
+            } catch (DataIntegrityViolationException e) {
+                // Otra solicitud registró el rango entre la consulta y la inserción: se comparte su job
+                log.debug("Rango {} registrado en paralelo, se reintenta: {}", rango, e.getMessage());
+                continue;
+            }
+            // El DTO se construye antes de entregar la entidad al worker, que la modifica
+            ReporteJobDTO dto = aDTO(nuevo);
+            locales.add(nuevo.getId());
+            try {
+                executor.execute(() -> ejecutar(nuevo));
+            } catch (RejectedExecutionException e) {
+                locales.remove(nuevo.getId());
+                escritura.executeWithoutResult(status -> jobRepo.deleteById(nuevo.getId()));
+                throw e;
+            }
+            log.info("Job de reporte {} encolado para el rango {} en la instancia {}", nuevo.getId(), rango, instancia);
+            return dto;
+        }
+        throw new IllegalStateException("No se pudo registrar el job de reporte del rango " + rango);
+    }
+
+    public Optional<ReporteJobDTO> obtener(String id) {
+        return jobRepo.findById(id).map(this::aDTO);
+    }
+
+    /**
+     * Archivo del resultado, solo si el job terminó correctamente
+     */
+    public Optional<Path> resultado(String id) {
+        Optional<ReporteJob> job = jobRepo.findById(id);
+        if (job.isEmpty() || job.get().getEstado() != Estado.COMPLETADO) {
+            return Optional.empty();
+        }
+        Path archivo = archivo(id);
+        if (!Files.exists(archivo)) {
+            log.warn("El job de reporte {} terminó en la instancia {} pero su resultado no está en {}: "
+                    + "cuentas.reportes.directorio debe ser compartido por todas las instancias",
+                    id, job.get().getInstancia(), directorio);
+            return Optional.empty();
+        }
+        return Optional.of(archivo);
+    }
+
+    @PreDestroy
+    public void detener() {
+        purga.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void ejecutar(ReporteJob job) {
+        Path temporal = directorio.resolve(job.getId() + EXTENSION + ".tmp");
+        try {
+            job.setIniciado(LocalDateTime.now());
+            job.setEstado(Estado.EN_CURSO);
+            job.setTotal(movRepo.countByFechaBetween(job.getFechaInicio(), job.getFechaFin()));
+            guardar(job);
+            lectura.executeWithoutResult(status -> escribir(job, temporal));
+            Files.move(temporal, archivo(job.getId()), StandardCopyOption.ATOMIC_MOVE);
+            job.setBytes(Files.size(archivo(job.getId())));
+            job.setEstado(Estado.COMPLETADO);
+            terminar(job);
+            log.info("Job de reporte {} completado: {} movimientos, {} bytes", job.getId(), job.getProcesados(), job.getBytes());
+        } catch (Exception e) {
+            log.error("Error en el job de reporte {}: {}", job.getId(), e.getMessage(), e);
+            borrar(temporal);
+            job.setError(e.getMessage());
+            job.setEstado(Estado.FALLIDO);
+            try {
+                terminar(job);
+            } catch (Exception registro) {
+                log.error("No se pudo registrar el fallo del job de reporte {}: {}", job.getId(), registro.getMessage());
+            }
+        } finally {
+            locales.remove(job.getId());
+        }
+    }
+
+    private void terminar(ReporteJob job) {
+        job.setTerminado(LocalDateTime.now());
+        job.setRangoActivo(null);
+        guardar(job);
+    }
+
+    private void guardar(ReporteJob job) {
+        job.setActualizado(LocalDateTime.now());
+        escritura.executeWithoutResult(status -> jobRepo.saveAndFlush(job));
+    }
+
+    /**
+     * Recorre los movimientos ordenados por cuenta y escribe una línea por cuenta al cambiar de cuenta.
+     * Cada entidad se desvincula del contexto de persistencia en cuanto se mapea, para que no crezca
+     * con el rango.
+     */
+    private void escribir(ReporteJob job, Path destino) {
+        Map<String, ClienteDTO> clientes = new HashMap<>();
+        try (OutputStream salida = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(destino)), TAMANO_BUFER);
+             Stream<Movimiento> movimientos = movRepo.streamByFechaBetween(job.getFechaInicio(), job.getFechaFin())) {
+            Cuenta cuenta = null;
+            EstadoCuentaReporte reporte = null;
+            Iterator<Movimiento> iterador = movimientos.iterator();
+            while (iterador.hasNext()) {
+                Movimiento movimiento = iterador.next();
+                if (cuenta == null || !cuenta.getNumeroCuenta().equals(movimiento.getCuenta().getNumeroCuenta())) {
+                    if (reporte != null) {
+                        escribirLinea(salida, reporte);
+                        entityManager.detach(cuenta);
+                    }
+                    cuenta = movimiento.getCuenta();
+                    reporte = nuevoEstadoCuenta(cuenta, clientes);
+                }
+                reporte.getMovimientos().add(modelMapper.map(movimiento, MovimientoDTO.class));
+                entityManager.detach(movimiento);
+                job.setProcesados(job.getProcesados() + 1);
+                if (job.getProcesados() % PROGRESO_CADA == 0) {
+                    long procesados = job.getProcesados();
+                    escritura.executeWithoutResult(status ->
+                            jobRepo.actualizarProgreso(job.getId(), procesados, LocalDateTime.now()));
+                }
+            }
+            if (reporte != null) {
+                escribirLinea(salida, reporte);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private EstadoCuentaReporte nuevoEstadoCuenta(Cuenta cuenta, Map<String, ClienteDTO> clientes) {
+        // Cada cliente se consulta una sola vez por job, como en /reportes
+        ClienteDTO cliente = clientes.computeIfAbsent(cuenta.getClienteId(), clienteId -> {
+            try {
+                return clienteClient.obtenerClientePorIdentificacion(clienteId);
+            } catch (Exception e) {
+                log.error("Error al obtener información del cliente {} para cuenta {}: {}",
+                        clienteId, cuenta.getNumeroCuenta(), e.getMessage());
+                return null;
+            }
+        });
+        EstadoCuentaReporte reporte = new EstadoCuentaReporte();
+        reporte.setCuenta(modelMapper.map(cuenta, CuentaDTO.class));
+        reporte.setCliente(cliente);
+        reporte.setMovimientos(new ArrayList<>());
+        return reporte;
+    }
+
+    private void escribirLinea(OutputStream salida, EstadoCuentaReporte reporte) throws IOException {
+        salida.write(objectMapper.writeValueAsBytes(reporte));
+        salida.write('\n');
+    }
+
+    /**
+     * Latido de los jobs de esta instancia, jobs abandonados por otra y limpieza de los caducados.
+     * Cualquier instancia puede purgar: las operaciones sobre la tabla son idempotentes.
+     */
+    private void purgar() {
+        try {
+            LocalDateTime ahora = LocalDateTime.now();
+            if (!locales.isEmpty()) {
+                List<String> ids = List.copyOf(locales);
+                escritura.executeWithoutResult(status -> jobRepo.latido(ids, ahora));
+            }
+            int abandonados = escritura.execute(status -> jobRepo.marcarAbandonados(ahora.minus(abandono),
+                    Estado.FALLIDO, ahora, "La instancia que ejecutaba el job dejó de responder"));
+            if (abandonados > 0) {
+                log.warn("{} jobs de reporte abandonados marcados como fallidos", abandonados);
+            }
+            for (ReporteJob job : jobRepo.findByTerminadoBefore(ahora.minus(retencion))) {
+                borrar(archivo(job.getId()));
+                escritura.executeWithoutResult(status -> jobRepo.deleteById(job.getId()));
+            }
+            borrarHuerfanos(ahora.minus(retencion));
+        } catch (Exception e) {
+            log.warn("Error al purgar los jobs de reporte: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archivos sin job en la tabla (su borrado falló o la instancia cayó a mitad de escritura)
+     */
+    private void borrarHuerfanos(LocalDateTime limite) throws IOException {
+        FileTime antesDe = FileTime.from(limite.atZone(ZoneId.systemDefault()).toInstant());
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            archivos.filter(archivo -> archivo.getFileName().toString().contains(EXTENSION))
+                    .filter(archivo -> modificadoAntesDe(archivo, antesDe))
+                    .filter(archivo -> !jobRepo.existsById(idDe(archivo)))
+                    .forEach(this::borrar);
+        }
+    }
+
+    private static boolean modificadoAntesDe(Path archivo, FileTime limite) {
+        try {
+            return Files.getLastModifiedTime(archivo).compareTo(limite) < 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String idDe(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return nombre.substring(0, nombre.indexOf(EXTENSION));
+    }
+
+    private Path archivo(String id) {
+        return directorio.resolve(id + EXTENSION);
+    }
+
+    private void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    private ReporteJobDTO aDTO(ReporteJob job) {
+        long procesados = job.getProcesados();
+        long total = job.getTotal();
+        int porcentaje;
+        if (job.getEstado() == Estado.COMPLETADO) {
+            porcentaje = 100;
+        } else {
+            porcentaje = total > 0 ? (int) Math.min(99, procesados * 100 / total) : 0;
+        }
+        return ReporteJobDTO.builder()
+                .id(job.getId())
+                .fechaInicio(job.getFechaInicio())
+                .fechaFin(job.getFechaFin())
+                .estado(job.getEstado().name())
+                .procesados(procesados)
+                .total(total)
+                .porcentaje(porcentaje)
+                .creado(job.getCreado())
+                .iniciado(job.getIniciado())
+                .terminado(job.getTerminado())
+                .bytes(job.getBytes())
+                .error(job.getError())
+                .build();
+    }
+}
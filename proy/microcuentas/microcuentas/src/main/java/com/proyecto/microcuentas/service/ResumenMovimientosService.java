@@ -0,0 +1,112 @@
+package com.proyecto.microcuentas.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.proyecto.microcuentas.dto.ResumenCuentaDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resumen de movimientos por cuenta y periodo calculado con GROUP BY en la base de datos: a la
+ * aplicación solo llega una fila por cuenta y periodo, no los movimientos. El saldo final es el del
+ * último movimiento de cada grupo (ROW_NUMBER por fecha e id descendentes).
+ */
+@Service
+@Slf4j
+public class ResumenMovimientosService {
+
+    private static final int TAMANO_LOTE = 500;
+
+    public enum Agrupacion {
+        DIA("day"),
+        MES("month");
+
+        // Unidad de DATE_TRUNC; viene de la enumeración, nunca de la petición
+        private final String unidad;
+
+        Agrupacion(String unidad) {
+            this.unidad = unidad;
+        }
+
+        /**
+         * "dia" o "mes", sin distinguir mayúsculas
+         */
+        public static Agrupacion de(String valor) {
+            try {
+                return valueOf(valor.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Agrupación inválida: " + valor + ". Use: dia o mes");
+            }
+        }
+    }
+
+    private static final String CONSULTA = """
+            SELECT numero_cuenta, periodo,
+                   SUM(CASE WHEN tipo_movimiento = 'CREDITO' THEN 1 ELSE 0 END) AS creditos,
+                   COALESCE(SUM(CASE WHEN tipo_movimiento = 'CREDITO' THEN valor END), 0) AS total_creditos,
+                   SUM(CASE WHEN tipo_movimiento = 'DEBITO' THEN 1 ELSE 0 END) AS debitos,
+                   COALESCE(SUM(CASE WHEN tipo_movimiento = 'DEBITO' THEN valor END), 0) AS total_debitos,
+                   MIN(valor) AS minimo,
+                   MAX(valor) AS maximo,
+                   MAX(CASE WHEN orden = 1 THEN saldo END) AS saldo_final
+            FROM (
+                SELECT numero_cuenta, tipo_movimiento, valor, saldo,
+                       DATE_TRUNC('%1$s', fecha) AS periodo,
+                       ROW_NUMBER() OVER (PARTITION BY numero_cuenta, DATE_TRUNC('%1$s', fecha)
+                                          ORDER BY fecha DESC, id DESC) AS orden
+                FROM movimiento
+                WHERE fecha BETWEEN ? AND ?
+            ) m
+            GROUP BY numero_cuenta, periodo
+            ORDER BY numero_cuenta, periodo
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate lectura;
+
+    public ResumenMovimientosService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+    }
+
+    /**
+     * Entrega cada fila del resumen al consumidor según llega de la base de datos, ordenadas por
+     * cuenta y periodo. En una transacción de solo lectura para que PostgreSQL use un cursor y
+     * respete el tamaño de lote en lugar de cargar todo el resultado.
+     */
+    public void resumir(LocalDateTime desde, LocalDateTime hasta, Agrupacion agrupacion,
+                        Consumer<ResumenCuentaDTO> consumidor) {
+        log.info("Generando resumen de movimientos entre {} y {} por {}", desde, hasta, agrupacion);
+        String sql = CONSULTA.formatted(agrupacion.unidad);
+        lectura.executeWithoutResult(status -> jdbcTemplate.query(conexion -> {
+            PreparedStatement sentencia = conexion.prepareStatement(sql);
+            sentencia.setFetchSize(TAMANO_LOTE);
+            sentencia.setTimestamp(1, Timestamp.valueOf(desde));
+            sentencia.setTimestamp(2, Timestamp.valueOf(hasta));
+            return sentencia;
+        }, (RowCallbackHandler) fila -> {
+            consumidor.accept(ResumenCuentaDTO.builder()
+                .numeroCuenta(fila.getString("numero_cuenta"))
+                .periodo(fila.getTimestamp("periodo").toLocalDateTime().toLocalDate())
+                .creditos(fila.getLong("creditos"))
+                .totalCreditos(fila.getBigDecimal("total_creditos"))
+                .debitos(fila.getLong("debitos"))
+                .totalDebitos(fila.getBigDecimal("total_debitos"))
+                .minimo(fila.getBigDecimal("minimo"))
+                .maximo(fila.getBigDecimal("maximo"))
+                .saldoFinal(fila.getBigDecimal("saldo_final"))
+                .build());
+        }));
+    }
+}
@@ -5,9 +5,13 @@ CREATE TABLE IF NOT EXISTS cuenta (
     saldo_inicial DECIMAL(19,2) NOT NULL DEFAULT 0.00,
     estado VARCHAR(20) NOT NULL,
     fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
+-- Bases creadas antes de la versión (bloqueo optimista y ETag de cuentas y estados de cuenta)
+ALTER TABLE cuenta ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 -- Crear tabla de movimientos
 CREATE TABLE IF NOT EXISTS movimiento (
     id BIGSERIAL PRIMARY KEY,
@@ -19,9 +23,30 @@ CREATE TABLE IF NOT EXISTS movimiento (
     FOREIGN KEY (numero_cuenta) REFERENCES cuenta(numero_cuenta)
 );
 
+-- Jobs de reporte (/reportes/jobs), compartidos por todas las instancias
+CREATE TABLE IF NOT EXISTS reporte_job (
+    id VARCHAR(36) PRIMARY KEY,
+    fecha_inicio TIMESTAMP NOT NULL,
+    fecha_fin TIMESTAMP NOT NULL,
+    rango_activo VARCHAR(64) UNIQUE,
+    estado VARCHAR(20) NOT NULL,
+    instancia VARCHAR(100) NOT NULL,
+    procesados BIGINT NOT NULL DEFAULT 0,
+    total BIGINT NOT NULL DEFAULT 0,
+    creado TIMESTAMP NOT NULL,
+    iniciado TIMESTAMP,
+    terminado TIMESTAMP,
+    actualizado TIMESTAMP NOT NULL,
+    bytes BIGINT,
+    error VARCHAR(1000)
+);
+
 -- Crear índices para mejorar el rendimiento
 CREATE INDEX IF NOT EXISTS idx_movimiento_fecha ON movimiento(fecha);
 CREATE INDEX IF NOT EXISTS idx_movimiento_numero_cuenta ON movimiento(numero_cuenta);
+-- Índice cubriente para /reportes/resumen: el GROUP BY por rango de fechas se resuelve con un index-only scan
+CREATE INDEX IF NOT EXISTS idx_movimiento_fecha_resumen ON movimiento(fecha)
+    INCLUDE (numero_cuenta, id, tipo_movimiento, valor, saldo);
 
 -- Crear vista para reportes
 CREATE OR REPLACE VIEW vista_estado_cuenta AS
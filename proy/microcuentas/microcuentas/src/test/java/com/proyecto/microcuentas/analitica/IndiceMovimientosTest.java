@@ -0,0 +1,202 @@
+package com.proyecto.microcuentas.analitica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+@DisplayName("Pruebas Unitarias - IndiceMovimientos")
+class IndiceMovimientosTest {
+
+    // Segmentos de 64 filas para que 200 movimientos ocupen cuatro
+    private static final int FILAS_POR_SEGMENTO = 64;
+    private static final int MOVIMIENTOS = 200;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    private EmbeddedDatabase baseDatos;
+    private JdbcTemplate jdbcTemplate;
+    private IndiceMovimientos indice;
+
+    @BeforeEach
+    void setUp() {
+        baseDatos = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(baseDatos);
+        jdbcTemplate.execute("CREATE TABLE movimiento (id BIGINT PRIMARY KEY, fecha TIMESTAMP NOT NULL, "
+            + "tipo_movimiento VARCHAR(20) NOT NULL, valor DECIMAL(19,2) NOT NULL, numero_cuenta VARCHAR(20) NOT NULL)");
+
+        // Movimiento i: una hora después del anterior, cuenta i % 3, débito si i es par, valor i unidades
+        List<Object[]> filas = new ArrayList<>(MOVIMIENTOS);
+        for (int i = 1; i <= MOVIMIENTOS; i++) {
+            boolean debito = i % 2 == 0;
+            filas.add(new Object[] {i, Timestamp.valueOf(INICIO.plusHours(i)), debito ? "DEBITO" : "CREDITO",
+                new BigDecimal(debito ? -i : i), cuenta(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO movimiento (id, fecha, tipo_movimiento, valor, numero_cuenta) "
+            + "VALUES (?, ?, ?, ?, ?)", filas);
+
+        indice = new IndiceMovimientos(jdbcTemplate, new DataSourceTransactionManager(baseDatos), true, 2, FILAS_POR_SEGMENTO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indice.detener();
+        baseDatos.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debería sumar por tipo lo mismo que SQL, atravesando varios segmentos")
+    void testTotales() {
+        // Given
+        indice.cargar();
+        LocalDateTime desde = INICIO.plusHours(50);
+        LocalDateTime hasta = INICIO.plusHours(150);
+
+        // When
+        IndiceMovimientos.Totales totales = indice.totales(desde, hasta);
+        IndiceMovimientos.Totales cuenta = indice.totales(desde, hasta, cuenta(1));
+
+        // Then
+        assertEquals(IndiceMovimientos.Estado.LISTO, indice.getEstado());
+        assertEquals(MOVIMIENTOS, indice.getTamano());
+        assertEquals(3, indice.getCuentas());
+        assertEquals(sql("SELECT COUNT(*) FROM movimiento WHERE tipo_movimiento = 'CREDITO' AND fecha BETWEEN ? AND ?",
+            desde, hasta).longValue(), totales.creditos());
+        assertEquals(sql("SELECT SUM(valor) FROM movimiento WHERE tipo_movimiento = 'DEBITO' AND fecha BETWEEN ? AND ?",
+            desde, hasta), totales.totalDebitos());
+        assertEquals(sql("SELECT SUM(valor) FROM movimiento WHERE tipo_movimiento = 'CREDITO' AND fecha BETWEEN ? AND ?",
+            desde, hasta), totales.totalCreditos());
+        assertEquals(sql("SELECT COUNT(*) FROM movimiento WHERE numero_cuenta = '" + cuenta(1)
+            + "' AND fecha BETWEEN ? AND ?", desde, hasta).longValue(), cuenta.movimientos());
+        assertEquals(IndiceMovimientos.Totales.VACIO, indice.totales(desde, hasta, "9999999999"));
+    }
+
+    @Test
+    @DisplayName("Debería agrupar por día y devolver los mayores débitos de mayor a menor")
+    void testPorDiaYMayoresDebitos() {
+        // Given
+        indice.cargar();
+        LocalDateTime desde = INICIO;
+        LocalDateTime hasta = INICIO.plusDays(30);
+
+        // When
+        SortedMap<LocalDate, IndiceMovimientos.Totales> porDia = indice.totalesPorDia(desde, hasta);
+        List<IndiceMovimientos.MovimientoIndexado> mayores = indice.mayoresDebitos(desde, hasta, 3);
+
+        // Then: 200 horas a partir del 1 de junio son 9 días; el primero sin la medianoche (23 movimientos)
+        assertEquals(9, porDia.size());
+        assertEquals(LocalDate.of(2024, 6, 1), porDia.firstKey());
+        assertEquals(23, porDia.get(LocalDate.of(2024, 6, 1)).movimientos());
+        assertEquals(MOVIMIENTOS, porDia.values().stream().mapToLong(IndiceMovimientos.Totales::movimientos).sum());
+        assertEquals(List.of(200L, 198L, 196L), mayores.stream().map(IndiceMovimientos.MovimientoIndexado::id).toList());
+        assertEquals(new BigDecimal("-200.00"), mayores.get(0).valor());
+        assertEquals(cuenta(200), mayores.get(0).numeroCuenta());
+        assertEquals(INICIO.plusHours(200), mayores.get(0).fecha());
+    }
+
+    @Test
+    @DisplayName("Debería guardar los movimientos confirmados durante la carga sin duplicar los ya leídos")
+    void testRegistroDuranteCarga() {
+        // Given: 200 ya está en la tabla (la carga lo lee), 201 se confirma después de la consulta
+        indice.registrar(200, cuenta(200), INICIO.plusHours(200), -20_000, true);
+        indice.registrar(201, cuenta(201), INICIO.plusHours(201), 20_100, false);
+        assertThrows(IllegalStateException.class, () -> indice.totales(INICIO, INICIO.plusDays(30)));
+
+        // When
+        indice.cargar();
+        indice.registrar(202, cuenta(202), INICIO.plusHours(202), -20_200, true);
+
+        // Then
+        assertEquals(MOVIMIENTOS + 2, indice.getTamano());
+        IndiceMovimientos.Totales totales = indice.totales(INICIO, INICIO.plusDays(30));
+        assertEquals(101, totales.creditos());
+        assertEquals(101, totales.debitos());
+        assertEquals(202, indice.mayoresDebitos(INICIO, INICIO.plusDays(30), 1).get(0).id());
+    }
+
+    @Test
+    @DisplayName("No debería cargar ni registrar movimientos si está deshabilitado")
+    void testDeshabilitado() {
+        // Given
+        IndiceMovimientos deshabilitado = new IndiceMovimientos(jdbcTemplate,
+            new DataSourceTransactionManager(baseDatos), false, 2, FILAS_POR_SEGMENTO);
+
+        // When
+        deshabilitado.cargar();
+        deshabilitado.registrar(201, cuenta(201), INICIO.plusHours(201), 20_100, false);
+
+        // Then
+        assertEquals(IndiceMovimientos.Estado.DESHABILITADO, deshabilitado.getEstado());
+        assertEquals(0, deshabilitado.getTamano());
+        deshabilitado.detener();
+    }
+
+    @Test
+    @DisplayName("Debería dejar de contar los movimientos de una cuenta eliminada")
+    void testCuentaEliminada() {
+        // Given
+        indice.cargar();
+        LocalDateTime desde = INICIO;
+        LocalDateTime hasta = INICIO.plusDays(30);
+        IndiceMovimientos.Totales antes = indice.totales(desde, hasta);
+        IndiceMovimientos.Totales cuenta = indice.totales(desde, hasta, cuenta(2));
+
+        // When: la cuenta 2 tiene los movimientos 2, 5, ..., 200
+        indice.eliminarCuenta(cuenta(2), 200);
+
+        // Then
+        IndiceMovimientos.Totales despues = indice.totales(desde, hasta);
+        assertEquals(IndiceMovimientos.Totales.VACIO, indice.totales(desde, hasta, cuenta(2)));
+        assertEquals(antes.movimientos() - cuenta.movimientos(), despues.movimientos());
+        assertEquals(antes.totalDebitos().subtract(cuenta.totalDebitos()), despues.totalDebitos());
+        assertEquals(sql("SELECT COUNT(*) FROM movimiento WHERE numero_cuenta <> '" + cuenta(2)
+            + "' AND fecha BETWEEN ? AND ?", desde, hasta).longValue(), despues.movimientos());
+        assertEquals(MOVIMIENTOS - cuenta.movimientos(),
+            indice.totalesPorDia(desde, hasta).values().stream().mapToLong(IndiceMovimientos.Totales::movimientos).sum());
+        assertEquals(List.of(198L, 196L, 192L),
+            indice.mayoresDebitos(desde, hasta, 3).stream().map(IndiceMovimientos.MovimientoIndexado::id).toList());
+    }
+
+    @Test
+    @DisplayName("Debería conservar los movimientos nuevos de una cuenta creada de nuevo con el mismo número")
+    void testCuentaEliminadaDuranteLaCargaYCreadaDeNuevo() {
+        // Given: la eliminación llega antes de que la carga lea las filas de la cuenta
+        indice.eliminarCuenta(cuenta(2), 200);
+        indice.cargar();
+
+        // When
+        indice.registrar(201, cuenta(2), INICIO.plusHours(201), 20_100, false);
+
+        // Then
+        IndiceMovimientos.Totales totales = indice.totales(INICIO, INICIO.plusDays(30), cuenta(2));
+        assertEquals(1, totales.movimientos());
+        assertEquals(new BigDecimal("201.00"), totales.totalCreditos());
+    }
+
+    private BigDecimal sql(String consulta, LocalDateTime desde, LocalDateTime hasta) {
+        return jdbcTemplate.queryForObject(consulta, BigDecimal.class, Timestamp.valueOf(desde), Timestamp.valueOf(hasta))
+            .setScale(2);
+    }
+
+    private static String cuenta(int movimiento) {
+        return String.format("%010d", movimiento % 3);
+    }
+}
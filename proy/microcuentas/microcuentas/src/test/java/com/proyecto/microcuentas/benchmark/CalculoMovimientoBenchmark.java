@@ -0,0 +1,128 @@
+package com.proyecto.microcuentas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.proyecto.microcuentas.entity.TipoMovimiento;
+import com.proyecto.microcuentas.exception.SaldoInsuficienteException;
+import com.proyecto.microcuentas.service.Centavos;
+import com.proyecto.microcuentas.service.MovimientoService;
+
+/**
+ * Cálculo de un movimiento en MovimientoService.crearMovimiento (signo según el tipo, nuevo saldo y
+ * validación de saldo para débitos), sin base de datos:
+ * - bigDecimal: el cálculo anterior, con toUpperCase del tipo y BigDecimal en cada paso;
+ * - centavos: el actual, con la conversión desde y hacia BigDecimal de la entidad;
+ * - centavosSinConversion: solo la parte en long, sin asignaciones.
+ *
+ * Con el perfilador de GC: gc.alloc.rate.norm da los bytes asignados por operación.
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.proyecto.microcuentas.benchmark.CalculoMovimientoBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CalculoMovimientoBenchmark {
+
+    private static final int MOVIMIENTOS = 1024;
+
+    /**
+     * Movimientos de prueba como llegan de la petición: la mitad débitos, con importes de 0.01 a 500.00
+     */
+    @State(Scope.Thread)
+    public static class Datos {
+
+        String[] tipos = new String[MOVIMIENTOS];
+        BigDecimal[] valores = new BigDecimal[MOVIMIENTOS];
+        long[] valoresCentavos = new long[MOVIMIENTOS];
+        BigDecimal saldo;
+        long saldoCentavos;
+        int siguiente;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            for (int i = 0; i < MOVIMIENTOS; i++) {
+                tipos[i] = i % 2 == 0 ? "DEBITO" : "CREDITO";
+                valores[i] = BigDecimal.valueOf((i * 7919L) % 50_000 + 1, 2);
+                valoresCentavos[i] = Centavos.de(valores[i]);
+            }
+            saldo = new BigDecimal("1000000.00");
+            saldoCentavos = Centavos.de(saldo);
+        }
+
+        int siguiente() {
+            int i = siguiente;
+            siguiente = (i + 1) & (MOVIMIENTOS - 1);
+            return i;
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Datos datos, Blackhole bh) {
+        int i = datos.siguiente();
+        BigDecimal valor = datos.valores[i];
+        String tipoMovimiento = datos.tipos[i].toUpperCase();
+        if ("DEBITO".equals(tipoMovimiento)) {
+            if (valor.compareTo(BigDecimal.ZERO) > 0) {
+                valor = valor.negate();
+            }
+        } else if ("CREDITO".equals(tipoMovimiento)) {
+            if (valor.compareTo(BigDecimal.ZERO) < 0) {
+                valor = valor.abs();
+            }
+        }
+        BigDecimal nuevoSaldo = datos.saldo.add(valor);
+        if ("DEBITO".equals(tipoMovimiento) && nuevoSaldo.compareTo(BigDecimal.ZERO) < 0) {
+            throw new SaldoInsuficienteException("Saldo no disponible");
+        }
+        bh.consume(valor);
+        bh.consume(nuevoSaldo);
+    }
+
+    @Benchmark
+    public void centavos(Datos datos, Blackhole bh) {
+        int i = datos.siguiente();
+        TipoMovimiento tipo = TipoMovimiento.de(datos.tipos[i]);
+        long valor = tipo.conSigno(Centavos.de(datos.valores[i]));
+        long nuevoSaldo = MovimientoService.calcularSaldo(tipo, Centavos.de(datos.saldo), valor);
+        bh.consume(Centavos.aBigDecimal(valor));
+        bh.consume(Centavos.aBigDecimal(nuevoSaldo));
+    }
+
+    @Benchmark
+    public void centavosSinConversion(Datos datos, Blackhole bh) {
+        int i = datos.siguiente();
+        TipoMovimiento tipo = TipoMovimiento.de(datos.tipos[i]);
+        long valor = tipo.conSigno(datos.valoresCentavos[i]);
+        bh.consume(valor);
+        bh.consume(MovimientoService.calcularSaldo(tipo, datos.saldoCentavos, valor));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CalculoMovimientoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
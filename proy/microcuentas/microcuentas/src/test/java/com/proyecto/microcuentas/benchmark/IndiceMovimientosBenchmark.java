@@ -0,0 +1,235 @@
+package com.proyecto.microcuentas.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.proyecto.microcuentas.analitica.IndiceMovimientos;
+
+/**
+ * Analítica sobre un rango de 30 días: totales por tipo, totales por día y los 10 mayores débitos,
+ * con SQL en PostgreSQL (usando idx_movimiento_fecha_resumen, igual que /reportes/resumen) frente
+ * al índice columnar en memoria (IndiceMovimientos).
+ *
+ * Necesita un PostgreSQL de pruebas: crea y puebla el esquema "bench" la primera vez
+ * (10M de movimientos en un año por defecto, varios minutos) y lo reutiliza en las siguientes
+ * ejecuciones. El índice se carga desde esa tabla antes de medir (unos 280 MB con 10M).
+ *
+ * Ejecutar con:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.proyecto.microcuentas.benchmark.IndiceMovimientosBenchmark
+ *     -Dbench.url=jdbc:postgresql://localhost:5432/microcuentas_bench -Dbench.filas=10000000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IndiceMovimientosBenchmark {
+
+    private static final String URL = System.getProperty("bench.url", "jdbc:postgresql://localhost:5432/microcuentas_bench");
+    private static final String USUARIO = System.getProperty("bench.usuario", "postgres");
+    private static final String CONTRASENA = System.getProperty("bench.contrasena", "123");
+    private static final int FILAS = Integer.getInteger("bench.filas", 10_000_000);
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int DIAS = 365;
+    private static final int DIAS_RANGO = 30;
+    private static final int TOP = 10;
+
+    private static final String SQL_TOTALES = "SELECT tipo_movimiento, COUNT(*), SUM(valor) FROM bench.movimiento "
+            + "WHERE fecha BETWEEN ? AND ? GROUP BY tipo_movimiento";
+    private static final String SQL_POR_DIA = "SELECT DATE_TRUNC('day', fecha), tipo_movimiento, COUNT(*), SUM(valor) "
+            + "FROM bench.movimiento WHERE fecha BETWEEN ? AND ? GROUP BY 1, 2";
+    private static final String SQL_MAYORES_DEBITOS = "SELECT id, numero_cuenta, fecha, valor FROM bench.movimiento "
+            + "WHERE tipo_movimiento = 'DEBITO' AND fecha BETWEEN ? AND ? ORDER BY valor LIMIT " + TOP;
+
+    /**
+     * Crea y puebla la tabla una vez por ejecución si no tiene el número de filas pedido, y carga el índice
+     */
+    @State(Scope.Benchmark)
+    public static class Datos {
+
+        IndiceMovimientos indice;
+
+        @Setup(Level.Trial)
+        public void poblar() throws SQLException {
+            try (Connection con = DriverManager.getConnection(URL, USUARIO, CONTRASENA);
+                 Statement st = con.createStatement()) {
+                st.execute("CREATE SCHEMA IF NOT EXISTS bench");
+                if (filasExistentes(st) != FILAS) {
+                    crearTabla(st);
+                }
+            }
+
+            // La consulta de carga usa "movimiento" sin esquema: se apunta el search_path a bench
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, USUARIO, CONTRASENA);
+            Properties propiedades = new Properties();
+            propiedades.setProperty("currentSchema", "bench");
+            dataSource.setConnectionProperties(propiedades);
+            indice = new IndiceMovimientos(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource), true, 0);
+            long inicio = System.nanoTime();
+            indice.cargar();
+            System.out.println("Índice cargado: " + indice.getTamano() + " movimientos en "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) + " ms");
+        }
+
+        @TearDown(Level.Trial)
+        public void cerrar() {
+            indice.detener();
+        }
+
+        private static long filasExistentes(Statement st) throws SQLException {
+            try (ResultSet rs = st.executeQuery("SELECT to_regclass('bench.movimiento') IS NOT NULL")) {
+                rs.next();
+                if (!rs.getBoolean(1)) {
+                    return -1;
+                }
+            }
+            try (ResultSet rs = st.executeQuery("SELECT count(*) FROM bench.movimiento")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        private static void crearTabla(Statement st) throws SQLException {
+            System.out.println("Poblando bench con " + FILAS + " movimientos...");
+            st.execute("DROP TABLE IF EXISTS bench.movimiento");
+            st.execute("CREATE TABLE bench.movimiento (id BIGSERIAL PRIMARY KEY, fecha TIMESTAMP NOT NULL, "
+                    + "tipo_movimiento VARCHAR(20) NOT NULL, valor DECIMAL(19,2) NOT NULL, saldo DECIMAL(19,2) NOT NULL, "
+                    + "numero_cuenta VARCHAR(20) NOT NULL)");
+            // Repartidos en un año, 100.000 cuentas, un tercio débitos (en negativo, como los guarda MovimientoService)
+            st.execute("INSERT INTO bench.movimiento (fecha, tipo_movimiento, valor, saldo, numero_cuenta) "
+                    + "SELECT timestamp '2024-01-01' + (i::bigint * " + DIAS + " * 86400 / " + FILAS + ") * interval '1 second', "
+                    + "CASE WHEN i % 3 = 0 THEN 'DEBITO' ELSE 'CREDITO' END, "
+                    + "CASE WHEN i % 3 = 0 THEN -1 ELSE 1 END * ((i % 50000) + 1) / 100.0, 1000, "
+                    + "lpad((i % 100000)::text, 10, '0') "
+                    + "FROM generate_series(0, " + (FILAS - 1) + ") i");
+            st.execute("CREATE INDEX ON bench.movimiento(fecha) INCLUDE (numero_cuenta, id, tipo_movimiento, valor, saldo)");
+            // Mapa de visibilidad al día para que las lecturas sean index-only
+            st.execute("VACUUM ANALYZE bench.movimiento");
+        }
+    }
+
+    /**
+     * Conexión y sentencias preparadas por hilo
+     */
+    @State(Scope.Thread)
+    public static class Conexion {
+
+        Connection con;
+        PreparedStatement totales;
+        PreparedStatement porDia;
+        PreparedStatement mayoresDebitos;
+
+        @Setup(Level.Trial)
+        public void abrir(Datos datos) throws SQLException {
+            con = DriverManager.getConnection(URL, USUARIO, CONTRASENA);
+            con.setReadOnly(true);
+            totales = con.prepareStatement(SQL_TOTALES);
+            porDia = con.prepareStatement(SQL_POR_DIA);
+            mayoresDebitos = con.prepareStatement(SQL_MAYORES_DEBITOS);
+        }
+
+        @TearDown(Level.Trial)
+        public void cerrar() throws SQLException {
+            con.close();
+        }
+    }
+
+    @Benchmark
+    public long sqlTotales(Conexion c) throws SQLException {
+        return consultar(c.totales);
+    }
+
+    @Benchmark
+    public IndiceMovimientos.Totales indiceTotales(Datos datos) {
+        LocalDateTime desde = desdeAleatorio();
+        return datos.indice.totales(desde, hasta(desde));
+    }
+
+    @Benchmark
+    public long sqlPorDia(Conexion c) throws SQLException {
+        return consultar(c.porDia);
+    }
+
+    @Benchmark
+    public SortedMap<?, ?> indicePorDia(Datos datos) {
+        LocalDateTime desde = desdeAleatorio();
+        return datos.indice.totalesPorDia(desde, hasta(desde));
+    }
+
+    @Benchmark
+    public long sqlMayoresDebitos(Conexion c) throws SQLException {
+        return consultar(c.mayoresDebitos);
+    }
+
+    @Benchmark
+    public List<?> indiceMayoresDebitos(Datos datos) {
+        LocalDateTime desde = desdeAleatorio();
+        return datos.indice.mayoresDebitos(desde, hasta(desde), TOP);
+    }
+
+    private static LocalDateTime desdeAleatorio() {
+        return INICIO.plusDays(ThreadLocalRandom.current().nextInt(DIAS - DIAS_RANGO));
+    }
+
+    private static LocalDateTime hasta(LocalDateTime desde) {
+        return desde.plusDays(DIAS_RANGO).minusSeconds(1);
+    }
+
+    /**
+     * Ejecuta la consulta con un rango aleatorio y lee todas las filas, como haría el servicio
+     */
+    private static long consultar(PreparedStatement ps) throws SQLException {
+        LocalDateTime desde = desdeAleatorio();
+        ps.setTimestamp(1, Timestamp.valueOf(desde));
+        ps.setTimestamp(2, Timestamp.valueOf(hasta(desde)));
+        long suma = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            int columnas = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                suma += rs.getBigDecimal(columnas).unscaledValue().longValue();
+            }
+        }
+        return suma;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // El fork de JMH no hereda las propiedades del sistema: se le pasan las de conexión
+        new Runner(new OptionsBuilder()
+                .include(IndiceMovimientosBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-Xmx2g", "-Dbench.url=" + URL, "-Dbench.usuario=" + USUARIO,
+                        "-Dbench.contrasena=" + CONTRASENA, "-Dbench.filas=" + FILAS)
+                .build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.proyecto.microcuentas.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import com.proyecto.microcuentas.descubrimiento.BalanceadorMicroclientes;
+import com.proyecto.microcuentas.descubrimiento.BalanceadorMicroclientes.Instancia;
+import com.proyecto.microcuentas.dto.ClienteDTO;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas Unitarias - ClienteClient")
+class ClienteClientTest {
+
+    @Mock
+    private BalanceadorMicroclientes balanceador;
+
+    @Mock
+    private Instancia instanciaA;
+
+    @Mock
+    private Instancia instanciaB;
+
+    private MockRestServiceServer servidor;
+    private ClienteClient clienteClient;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        servidor = MockRestServiceServer.bindTo(builder).build();
+        clienteClient = new ClienteClient(builder.build(), balanceador);
+        when(instanciaA.getUri()).thenReturn(URI.create("http://a:8080"));
+        lenient().when(instanciaB.getUri()).thenReturn(URI.create("http://b:8080"));
+    }
+
+    @Test
+    @DisplayName("Debería reintentar en otra instancia excluyendo la que respondió 5xx")
+    void testReintentoEnOtraInstancia() {
+        // Given
+        when(balanceador.elegir(null)).thenReturn(instanciaA);
+        when(balanceador.elegir(instanciaA)).thenReturn(instanciaB);
+        servidor.expect(requestTo("http://a:8080/clientes/identificacion/1710034065"))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        servidor.expect(requestTo("http://b:8080/clientes/identificacion/1710034065"))
+            .andRespond(withSuccess("{\"identificacion\":\"1710034065\",\"nombre\":\"Juan Pérez\"}",
+                MediaType.APPLICATION_JSON));
+
+        // When
+        ClienteDTO cliente = clienteClient.obtenerClientePorIdentificacion("1710034065");
+
+        // Then
+        assertEquals("Juan Pérez", cliente.getNombre());
+        verify(balanceador).liberar(instanciaA, false);
+        verify(balanceador).liberar(instanciaB, true);
+        servidor.verify();
+    }
+
+    @Test
+    @DisplayName("Debería revalidar con If-None-Match y reutilizar el cliente si microclientes responde 304")
+    void testRevalidacionConEtag() {
+        // Given
+        when(balanceador.elegir(null)).thenReturn(instanciaA);
+        servidor.expect(requestTo("http://a:8080/clientes/identificacion/1710034065"))
+            .andRespond(withSuccess("{\"identificacion\":\"1710034065\",\"nombre\":\"Juan Pérez\"}",
+                MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"3\""));
+        servidor.expect(requestTo("http://a:8080/clientes/identificacion/1710034065"))
+            .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "\"3\""));
+
+        // When
+        ClienteDTO primero = clienteClient.obtenerClientePorIdentificacion("1710034065");
+        ClienteDTO revalidado = clienteClient.obtenerClientePorIdentificacion("1710034065");
+
+        // Then
+        assertEquals(3L, primero.getVersion());
+        assertSame(primero, revalidado);
+        servidor.verify();
+    }
+}
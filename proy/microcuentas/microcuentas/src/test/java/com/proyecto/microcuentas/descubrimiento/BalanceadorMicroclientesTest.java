@@ -0,0 +1,232 @@
+package com.proyecto.microcuentas.descubrimiento;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import com.proyecto.microcuentas.descubrimiento.BalanceadorMicroclientes.Instancia;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Pruebas Unitarias - BalanceadorMicroclientes")
+class BalanceadorMicroclientesTest {
+
+    private static final URI A = URI.create("http://a:8080");
+    private static final URI B = URI.create("http://b:8080");
+    private static final URI RESPALDO = URI.create("http://localhost:8080");
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final AtomicInteger consultasRegistro = new AtomicInteger();
+    private final AtomicReference<List<ServiceInstance>> registro = new AtomicReference<>(List.of());
+    private SimpleMeterRegistry meterRegistry;
+    private BalanceadorMicroclientes balanceador;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registro.set(List.of(instancia("a"), instancia("b")));
+        balanceador = new BalanceadorMicroclientes("microclientes", () -> {
+            consultasRegistro.incrementAndGet();
+            return registro.get();
+        }, RESPALDO, Duration.ofSeconds(5), 3, Duration.ofSeconds(10), meterRegistry, reloj::get);
+    }
+
+    @Test
+    @DisplayName("Debería elegir la instancia con menos peticiones en vuelo")
+    void testMenosPeticionesEnVuelo() {
+        // Given
+        Instancia primera = balanceador.elegir();
+        Instancia segunda = balanceador.elegir();
+
+        // When
+        balanceador.liberar(segunda, true);
+        Instancia tercera = balanceador.elegir();
+
+        // Then
+        assertNotEquals(primera.getUri(), segunda.getUri());
+        assertEquals(segunda.getUri(), tercera.getUri());
+        assertEquals(1, primera.getEnVuelo());
+        assertEquals(1, tercera.getEnVuelo());
+    }
+
+    @Test
+    @DisplayName("Debería expulsar tras 3 fallos seguidos y readmitir al vencer la expulsión")
+    void testExpulsion() {
+        // Given
+        Instancia fallida = fallar(3);
+
+        // When
+        List<URI> durante = elegirYLiberar(4);
+        reloj.addAndGet(Duration.ofSeconds(10).toNanos());
+        List<URI> despues = elegirYLiberar(4);
+
+        // Then
+        assertEquals(List.of(otra(fallida), otra(fallida), otra(fallida), otra(fallida)), durante);
+        assertEquals(2, despues.stream().filter(fallida.getUri()::equals).count());
+        assertEquals(1.0, meterRegistry.counter("cuentas.microclientes.expulsiones").count());
+    }
+
+    @Test
+    @DisplayName("Debería volver a expulsar con un solo fallo y durante más tiempo")
+    void testExpulsionRepetida() {
+        // Given
+        Instancia fallida = fallar(3);
+        reloj.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When: vuelve y falla una sola vez
+        balanceador.liberar(elegirInstancia(fallida.getUri()), false);
+        reloj.addAndGet(Duration.ofSeconds(10).toNanos());
+        List<URI> aLos10s = elegirYLiberar(2);
+        reloj.addAndGet(Duration.ofSeconds(10).toNanos());
+        List<URI> aLos20s = elegirYLiberar(2);
+
+        // Then
+        assertEquals(List.of(otra(fallida), otra(fallida)), aLos10s);
+        assertEquals(1, aLos20s.stream().filter(fallida.getUri()::equals).count());
+        assertEquals(2.0, meterRegistry.counter("cuentas.microclientes.expulsiones").count());
+    }
+
+    @Test
+    @DisplayName("Debería reintentar en otra instancia aunque la fallida tenga menos peticiones en vuelo")
+    void testReintentoExcluyeFallida() {
+        // Given: B queda ocupada y A, libre, falla
+        Instancia a = balanceador.elegir();
+        Instancia b = balanceador.elegir();
+        balanceador.liberar(a, false);
+
+        // When
+        Instancia reintento = balanceador.elegir(a);
+
+        // Then
+        assertEquals(A, a.getUri());
+        assertEquals(B, reintento.getUri());
+        assertEquals(2, b.getEnVuelo());
+    }
+
+    @Test
+    @DisplayName("Debería reintentar en la misma instancia si es la única registrada")
+    void testReintentoUnicaInstancia() {
+        // Given
+        registro.set(List.of(instancia("a")));
+        Instancia fallida = balanceador.elegir();
+        balanceador.liberar(fallida, false);
+
+        // When
+        Instancia reintento = balanceador.elegir(fallida);
+
+        // Then
+        assertEquals(A, reintento.getUri());
+    }
+
+    @Test
+    @DisplayName("Debería repartir entre todas si todas están expulsadas")
+    void testTodasExpulsadas() {
+        // Given
+        registro.set(List.of(instancia("a")));
+
+        // When
+        fallar(3);
+        Instancia elegida = balanceador.elegir();
+
+        // Then
+        assertEquals(A, elegida.getUri());
+    }
+
+    @Test
+    @DisplayName("Debería consultar el registro una vez por intervalo y conservar la última lista si queda vacío")
+    void testCacheRegistro() {
+        // Given
+        elegirYLiberar(3);
+        assertEquals(1, consultasRegistro.get());
+
+        // When
+        registro.set(List.of());
+        reloj.addAndGet(Duration.ofSeconds(5).toNanos());
+        List<URI> elegidas = elegirYLiberar(2);
+
+        // Then
+        assertEquals(2, consultasRegistro.get());
+        assertEquals(List.of(A, B), elegidas.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Debería usar microclientes.url si el registro nunca devolvió instancias")
+    void testUrlRespaldo() {
+        // Given
+        registro.set(List.of());
+
+        // When
+        Instancia elegida = balanceador.elegir();
+
+        // Then
+        assertEquals(RESPALDO, elegida.getUri());
+    }
+
+    @Test
+    @DisplayName("Debería fallar si no hay instancias ni URL de respaldo")
+    void testSinInstancias() {
+        // Given
+        BalanceadorMicroclientes sinRespaldo = new BalanceadorMicroclientes("microclientes", List::of, null,
+                Duration.ofSeconds(5), 3, Duration.ofSeconds(10), meterRegistry, reloj::get);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, sinRespaldo::elegir);
+    }
+
+    private static ServiceInstance instancia(String host) {
+        return new DefaultServiceInstance("microclientes:" + host, "microclientes", host, 8080, false);
+    }
+
+    private static URI otra(Instancia instancia) {
+        return instancia.getUri().equals(A) ? B : A;
+    }
+
+    /**
+     * Hace fallar seguidas las llamadas a A y devuelve su instancia
+     */
+    private Instancia fallar(int veces) {
+        Instancia instancia = null;
+        for (int i = 0; i < veces; i++) {
+            instancia = elegirInstancia(A);
+            balanceador.liberar(instancia, false);
+        }
+        return instancia;
+    }
+
+    /**
+     * Elige hasta obtener la instancia pedida (no expulsada); las demás quedan ocupadas mientras tanto
+     */
+    private Instancia elegirInstancia(URI uri) {
+        List<Instancia> ocupadas = new ArrayList<>();
+        Instancia elegida;
+        while (!(elegida = balanceador.elegir()).getUri().equals(uri)) {
+            ocupadas.add(elegida);
+        }
+        ocupadas.forEach(ocupada -> balanceador.liberar(ocupada, true));
+        return elegida;
+    }
+
+    private List<URI> elegirYLiberar(int veces) {
+        List<URI> elegidas = new ArrayList<>();
+        for (int i = 0; i < veces; i++) {
+            Instancia instancia = balanceador.elegir();
+            elegidas.add(instancia.getUri());
+            balanceador.liberar(instancia, true);
+        }
+        return elegidas;
+    }
+}
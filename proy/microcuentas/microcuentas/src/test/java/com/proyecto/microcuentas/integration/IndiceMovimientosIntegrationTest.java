@@ -0,0 +1,88 @@
+package com.proyecto.microcuentas.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.proyecto.microcuentas.analitica.IndiceMovimientos;
+import com.proyecto.microcuentas.client.ClienteClient;
+
+@SpringBootTest(properties = "cuentas.analitica.habilitado=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Integración - Índice de movimientos y eliminación de cuentas")
+class IndiceMovimientosIntegrationTest {
+
+    private static final String CUENTA = "0000000077";
+    private static final LocalDateTime DESDE = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime HASTA = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IndiceMovimientos indice;
+
+    @MockBean
+    private ClienteClient clienteClient;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // La carga inicial corre en segundo plano desde ApplicationReadyEvent
+        for (int i = 0; i < 100 && indice.getEstado() == IndiceMovimientos.Estado.CARGANDO; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(IndiceMovimientos.Estado.LISTO, indice.getEstado());
+
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO cuenta (numero_cuenta, tipo_cuenta, saldo_inicial, estado, cliente_id, "
+                + "fecha_creacion, fecha_actualizacion, version) VALUES (?, 'AHORRO', ?, 'ACTIVA', '1710034065', ?, ?, 0)",
+            CUENTA, new BigDecimal("1000.00"), ahora, ahora);
+    }
+
+    @Test
+    @DisplayName("Debería dejar de contar en el índice los movimientos de una cuenta eliminada")
+    void testEliminarCuenta() throws Exception {
+        // Given
+        IndiceMovimientos.Totales antes = indice.totales(DESDE, HASTA);
+        movimiento("CREDITO", "100.00");
+        movimiento("DEBITO", "40.00");
+        assertEquals(2, indice.totales(DESDE, HASTA, CUENTA).movimientos());
+        assertEquals(antes.movimientos() + 2, indice.totales(DESDE, HASTA).movimientos());
+
+        // When
+        mockMvc.perform(delete("/cuentas/{numeroCuenta}", CUENTA))
+            .andExpect(status().isNoContent());
+
+        // Then
+        assertEquals(IndiceMovimientos.Totales.VACIO, indice.totales(DESDE, HASTA, CUENTA));
+        assertEquals(antes, indice.totales(DESDE, HASTA));
+    }
+
+    private void movimiento(String tipo, String valor) throws Exception {
+        mockMvc.perform(post("/movimientos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tipoMovimiento\":\"" + tipo + "\",\"valor\":" + valor + ",\"numeroCuenta\":\"" + CUENTA + "\"}"))
+            .andExpect(status().is2xxSuccessful());
+    }
+}
@@ -0,0 +1,163 @@
+package com.proyecto.microcuentas.integration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.proyecto.microcuentas.client.ClienteClient;
+import com.proyecto.microcuentas.dto.ClienteDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Presupuesto de sentencias SQL y de entidades cargadas por endpoint, medido con las estadísticas
+ * de Hibernate. El número de sentencias no puede crecer con el volumen de datos: un N+1 (por ejemplo
+ * un proxy LAZY inicializado al mapear cada fila) hace fallar la prueba con 100 y 10.000 filas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Integración - Presupuesto de sentencias SQL por endpoint")
+class PresupuestoSqlIntegrationTest {
+
+    private static final String CLIENTE = "1710034065";
+    private static final String CUENTA_PRINCIPAL = "0000000001";
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 6, 1, 10, 0);
+    private static final String RANGO_INICIO = "2024-01-01T00:00:00";
+    private static final String RANGO_FIN = "2024-12-31T23:59:59";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ClienteClient clienteClient;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        ClienteDTO cliente = new ClienteDTO();
+        cliente.setIdentificacion(CLIENTE);
+        cliente.setClienteid("CLI001");
+        cliente.setNombre("Juan Pérez");
+        cliente.setEstado("ACTIVO");
+        when(clienteClient.obtenerClientePorIdentificacion(CLIENTE)).thenReturn(cliente);
+    }
+
+    @ParameterizedTest(name = "{0} filas")
+    @ValueSource(ints = {1, 100, 10_000})
+    @DisplayName("Debería mantener cada endpoint dentro de su presupuesto de sentencias y entidades")
+    void testPresupuestoPorEndpoint(int filas) throws Exception {
+        // Given: "filas" cuentas del mismo cliente con un movimiento cada una; la principal tiene "filas" movimientos
+        cargarDatos(filas);
+        int movimientos = 2 * filas - 1;
+        Long idMovimiento = jdbcTemplate.queryForObject("SELECT MIN(id) FROM movimiento", Long.class);
+
+        // When & Then
+        assertAll(
+            () -> presupuesto(get("/cuentas"), 1, filas),
+            () -> presupuesto(get("/cuentas/{numeroCuenta}", CUENTA_PRINCIPAL), 1, 1),
+            () -> presupuesto(get("/cuentas/cliente/{clienteId}", CLIENTE), 1, filas),
+            () -> presupuesto(get("/movimientos"), 1, movimientos + filas),
+            () -> presupuesto(get("/movimientos/{id}", idMovimiento), 1, 2),
+            () -> presupuesto(get("/movimientos/cuenta/{numeroCuenta}", CUENTA_PRINCIPAL), 1, filas + 1),
+            () -> presupuesto(get("/movimientos/reporte")
+                    .param("fechaInicio", RANGO_INICIO)
+                    .param("fechaFin", RANGO_FIN), 1, movimientos + filas),
+            () -> presupuesto(get("/reportes/movimientos"), 1, movimientos + filas),
+            () -> presupuesto(get("/reportes/movimientos/cuenta/{numeroCuenta}", CUENTA_PRINCIPAL), 1, filas + 1),
+            () -> presupuesto(get("/reportes/estado-cuenta/{numeroCuenta}", CUENTA_PRINCIPAL), 2, filas + 1),
+            () -> {
+                presupuesto(get("/reportes").param("fecha", RANGO_INICIO + "," + RANGO_FIN), 1, movimientos + filas);
+                // Todas las cuentas son del mismo cliente: una sola llamada a microclientes
+                verify(clienteClient, times(1)).obtenerClientePorIdentificacion(CLIENTE);
+            },
+            () -> presupuesto(get("/reportes/cliente/{identificacion}/cuentas", CLIENTE), 2, filas + movimientos),
+            // Lectura de la cuenta, inserción del movimiento y actualización del saldo
+            () -> presupuesto(post("/movimientos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"tipoMovimiento\":\"CREDITO\",\"valor\":10.00,\"numeroCuenta\":\"" + CUENTA_PRINCIPAL + "\"}"),
+                    3, 1)
+        );
+    }
+
+    /**
+     * Ejecuta la petición y comprueba el máximo de sentencias preparadas y de entidades cargadas,
+     * y que no haya ninguna inicialización perezosa de entidades o colecciones
+     */
+    private void presupuesto(RequestBuilder peticion, int maxSentencias, int maxEntidades) throws Exception {
+        clearInvocations(clienteClient);
+        estadisticas.clear();
+
+        mockMvc.perform(peticion).andExpect(status().is2xxSuccessful());
+
+        String endpoint = peticion.buildRequest(new MockServletContext()).getRequestURI();
+        long sentencias = estadisticas.getPrepareStatementCount();
+        long entidades = estadisticas.getEntityLoadCount();
+        long perezosas = estadisticas.getEntityFetchCount() + estadisticas.getCollectionFetchCount();
+        assertTrue(sentencias <= maxSentencias,
+                endpoint + ": " + sentencias + " sentencias SQL, presupuesto " + maxSentencias);
+        assertTrue(entidades <= maxEntidades,
+                endpoint + ": " + entidades + " entidades cargadas, presupuesto " + maxEntidades);
+        assertEquals(0, perezosas, endpoint + ": cargas perezosas (N+1)");
+    }
+
+    private void cargarDatos(int filas) {
+        jdbcTemplate.update("DELETE FROM movimiento");
+        jdbcTemplate.update("DELETE FROM cuenta");
+
+        Timestamp fecha = Timestamp.valueOf(FECHA);
+        List<Object[]> cuentas = new ArrayList<>(filas);
+        List<Object[]> movimientos = new ArrayList<>(2 * filas);
+        for (int i = 1; i <= filas; i++) {
+            String numeroCuenta = String.format("%010d", i);
+            cuentas.add(new Object[] {numeroCuenta, "AHORRO", new BigDecimal("1000.00"), "ACTIVA", CLIENTE, fecha, fecha});
+            movimientos.add(new Object[] {fecha, "CREDITO", new BigDecimal("1.00"), new BigDecimal("1000.00"), numeroCuenta});
+        }
+        for (int i = 1; i < filas; i++) {
+            movimientos.add(new Object[] {fecha, "DEBITO", new BigDecimal("-1.00"), new BigDecimal("999.00"), CUENTA_PRINCIPAL});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cuenta (numero_cuenta, tipo_cuenta, saldo_inicial, estado, cliente_id, "
+                + "fecha_creacion, fecha_actualizacion, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", cuentas);
+        jdbcTemplate.batchUpdate("INSERT INTO movimiento (fecha, tipo_movimiento, valor, saldo, numero_cuenta) "
+                + "VALUES (?, ?, ?, ?, ?)", movimientos);
+    }
+}
@@ -0,0 +1,320 @@
+package com.proyecto.microcuentas.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proyecto.microcuentas.client.ClienteClient;
+import com.proyecto.microcuentas.dto.ClienteDTO;
+import com.proyecto.microcuentas.dto.ReporteJobDTO;
+import com.proyecto.microcuentas.entity.ReporteJob;
+import com.proyecto.microcuentas.repository.MovimientoRepository;
+import com.proyecto.microcuentas.repository.ReporteJobRepository;
+import com.proyecto.microcuentas.service.ReporteJobService;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Integración - Jobs de reporte")
+class ReporteJobIntegrationTest {
+
+    private static final String CLIENTE = "1710034065";
+    private static final String RANGO = "2024-01-01T00:00:00,2024-12-31T23:59:59";
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 0, 0, 0);
+    private static final LocalDateTime FIN = LocalDateTime.of(2024, 12, 31, 23, 59, 59);
+    private static final int CUENTAS = 50;
+    private static final int MOVIMIENTOS_POR_CUENTA = 20;
+
+    @TempDir
+    static Path directorio;
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        registry.add("cuentas.reportes.directorio", directorio::toString);
+        registry.add("cuentas.reportes.instancia", () -> "prueba");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovimientoRepository movRepo;
+
+    @Autowired
+    private ReporteJobRepository jobRepo;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ClienteClient clienteClient;
+
+    private ClienteDTO cliente;
+
+    @BeforeEach
+    void setUp() {
+        cliente = new ClienteDTO();
+        cliente.setIdentificacion(CLIENTE);
+        cliente.setNombre("Juan Pérez");
+        cliente.setEstado("ACTIVO");
+        cargarDatos();
+    }
+
+    @Test
+    @DisplayName("Debería generar el reporte en segundo plano y descargarlo completo o por rangos")
+    void testJobCompleto() throws Exception {
+        // Given
+        when(clienteClient.obtenerClientePorIdentificacion(CLIENTE)).thenReturn(cliente);
+
+        // When
+        String id = crearJob();
+        JsonNode estado = esperarFin(id);
+
+        // Then
+        assertEquals("COMPLETADO", estado.get("estado").asText());
+        assertEquals(CUENTAS * MOVIMIENTOS_POR_CUENTA, estado.get("procesados").asLong());
+        assertEquals(100, estado.get("porcentaje").asInt());
+
+        byte[] comprimido = mockMvc.perform(get("/reportes/jobs/{id}/resultado", id))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(estado.get("bytes").asLong(), comprimido.length);
+        assertTrue(Files.exists(directorio.resolve(id + ".ndjson.gz")));
+        ReporteJob job = jobRepo.findById(id).orElseThrow();
+        assertEquals("prueba", job.getInstancia());
+        assertNull(job.getRangoActivo(), "Un job terminado libera su rango");
+
+        List<JsonNode> lineas = leerNdjson(comprimido);
+        assertEquals(CUENTAS, lineas.size());
+        assertEquals(String.format("%010d", 1), lineas.get(0).get("cuenta").get("numeroCuenta").asText());
+        assertEquals("Juan Pérez", lineas.get(0).get("cliente").get("nombre").asText());
+        assertTrue(lineas.stream().allMatch(linea -> linea.get("movimientos").size() == MOVIMIENTOS_POR_CUENTA));
+
+        // Descarga reanudada: los bytes a partir del 10
+        byte[] parte = mockMvc.perform(get("/reportes/jobs/{id}/resultado", id).header(HttpHeaders.RANGE, "bytes=10-"))
+            .andExpect(status().isPartialContent())
+            .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(comprimido.length - 10, parte.length);
+        assertEquals(comprimido[10], parte[0]);
+    }
+
+    @Test
+    @DisplayName("Debería compartir el job entre solicitudes del mismo rango mientras está en curso")
+    void testDeduplicacion() throws Exception {
+        // Given: el job queda retenido en la consulta del cliente hasta liberar el cerrojo
+        CountDownLatch cerrojo = new CountDownLatch(1);
+        when(clienteClient.obtenerClientePorIdentificacion(anyString())).thenAnswer(invocacion -> {
+            cerrojo.await(10, TimeUnit.SECONDS);
+            return cliente;
+        });
+
+        // When
+        String primero = crearJob();
+        String segundo = crearJob();
+        mockMvc.perform(get("/reportes/jobs/{id}/resultado", primero))
+            .andExpect(status().isConflict());
+        cerrojo.countDown();
+        JsonNode estado = esperarFin(primero);
+        String tercero = crearJob();
+
+        // Then
+        assertEquals(primero, segundo);
+        assertEquals("COMPLETADO", estado.get("estado").asText());
+        assertNotEquals(primero, tercero, "Un job terminado no se reutiliza");
+        esperarFin(tercero);
+    }
+
+    @Test
+    @DisplayName("Debería compartir el job, su progreso y su resultado con otra instancia")
+    void testOtraInstancia() throws Exception {
+        // Given: otra instancia con la misma base de datos y el mismo directorio
+        CountDownLatch cerrojo = new CountDownLatch(1);
+        when(clienteClient.obtenerClientePorIdentificacion(anyString())).thenAnswer(invocacion -> {
+            cerrojo.await(10, TimeUnit.SECONDS);
+            return cliente;
+        });
+        ReporteJobService otra = otraInstancia(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        try {
+            // When: la otra instancia crea el job y esta recibe la misma solicitud y las consultas
+            ReporteJobDTO creado = otra.solicitar(INICIO, FIN);
+            String compartido = crearJob();
+            cerrojo.countDown();
+            JsonNode estado = esperarFin(creado.getId());
+
+            // Then
+            assertEquals(creado.getId(), compartido);
+            assertEquals("COMPLETADO", estado.get("estado").asText());
+            assertEquals("otra", jobRepo.findById(creado.getId()).orElseThrow().getInstancia());
+            byte[] comprimido = mockMvc.perform(get("/reportes/jobs/{id}/resultado", creado.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+            assertEquals(CUENTAS, leerNdjson(comprimido).size());
+            assertEquals(otra.resultado(creado.getId()), Optional.of(directorio.resolve(creado.getId() + ".ndjson.gz")));
+        } finally {
+            otra.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería dar por fallido el job de una instancia sin latido y liberar su rango")
+    void testJobAbandonado() throws Exception {
+        // Given: un job en curso de una instancia que cayó hace un minuto
+        LocalDateTime haceUnMinuto = LocalDateTime.now().minusMinutes(1);
+        jobRepo.saveAndFlush(ReporteJob.builder()
+            .id("caido")
+            .fechaInicio(INICIO)
+            .fechaFin(FIN)
+            .rangoActivo(INICIO + "," + FIN)
+            .estado(ReporteJob.Estado.EN_CURSO)
+            .instancia("caida")
+            .creado(haceUnMinuto)
+            .actualizado(haceUnMinuto)
+            .build());
+        when(clienteClient.obtenerClientePorIdentificacion(CLIENTE)).thenReturn(cliente);
+        assertEquals("caido", crearJob());
+
+        // When: la purga de otra instancia lo detecta
+        ReporteJobService otra = otraInstancia(Duration.ofMillis(50), Duration.ofSeconds(30));
+        try {
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (jobRepo.findById("caido").orElseThrow().getEstado() != ReporteJob.Estado.FALLIDO
+                    && System.nanoTime() < limite) {
+                Thread.sleep(50);
+            }
+        } finally {
+            otra.detener();
+        }
+
+        // Then
+        ReporteJob caido = jobRepo.findById("caido").orElseThrow();
+        assertEquals(ReporteJob.Estado.FALLIDO, caido.getEstado());
+        assertNull(caido.getRangoActivo());
+        String nuevo = crearJob();
+        assertNotEquals("caido", nuevo);
+        assertEquals("COMPLETADO", esperarFin(nuevo).get("estado").asText());
+    }
+
+    private ReporteJobService otraInstancia(Duration purga, Duration abandono) throws Exception {
+        return new ReporteJobService(movRepo, jobRepo, clienteClient, modelMapper, objectMapper, entityManager,
+            transactionManager, directorio, "otra", Duration.ofHours(1), purga, abandono, 1, 5);
+    }
+
+    private String crearJob() throws Exception {
+        String respuesta = mockMvc.perform(post("/reportes/jobs").param("fecha", RANGO))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists(HttpHeaders.LOCATION))
+            .andExpect(jsonPath("$.id").exists())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(respuesta).get("id").asText();
+    }
+
+    private JsonNode esperarFin(String id) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            String respuesta = mockMvc.perform(get("/reportes/jobs/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode estado = objectMapper.readTree(respuesta);
+            String valor = estado.get("estado").asText();
+            if (valor.equals("COMPLETADO") || valor.equals("FALLIDO") || System.nanoTime() > limite) {
+                return estado;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private List<JsonNode> leerNdjson(byte[] comprimido) throws Exception {
+        List<JsonNode> lineas = new ArrayList<>();
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(comprimido)), StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                lineas.add(objectMapper.readTree(linea));
+            }
+        }
+        return lineas;
+    }
+
+    private void cargarDatos() {
+        jdbcTemplate.update("DELETE FROM reporte_job");
+        jdbcTemplate.update("DELETE FROM movimiento");
+        jdbcTemplate.update("DELETE FROM cuenta");
+
+        Timestamp fechaCreacion = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<Object[]> cuentas = new ArrayList<>(CUENTAS);
+        List<Object[]> movimientos = new ArrayList<>(CUENTAS * MOVIMIENTOS_POR_CUENTA);
+        for (int i = 1; i <= CUENTAS; i++) {
+            String numeroCuenta = String.format("%010d", i);
+            cuentas.add(new Object[] {numeroCuenta, "AHORRO", new BigDecimal("1000.00"), "ACTIVA", CLIENTE,
+                fechaCreacion, fechaCreacion});
+            for (int j = 1; j <= MOVIMIENTOS_POR_CUENTA; j++) {
+                Timestamp fecha = Timestamp.valueOf(LocalDateTime.of(2024, 6, 1, 10, 0).plusMinutes(j));
+                movimientos.add(new Object[] {fecha, "CREDITO", new BigDecimal("1.00"),
+                    new BigDecimal(1000 + j), numeroCuenta});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cuenta (numero_cuenta, tipo_cuenta, saldo_inicial, estado, cliente_id, "
+                + "fecha_creacion, fecha_actualizacion, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", cuentas);
+        jdbcTemplate.batchUpdate("INSERT INTO movimiento (fecha, tipo_movimiento, valor, saldo, numero_cuenta) "
+                + "VALUES (?, ?, ?, ?, ?)", movimientos);
+    }
+}
@@ -0,0 +1,140 @@
+package com.proyecto.microcuentas.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.proyecto.microcuentas.client.ClienteClient;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Integración - Resumen de movimientos por cuenta y periodo")
+class ResumenMovimientosIntegrationTest {
+
+    private static final String DESDE = "2024-01-01T00:00:00";
+    private static final String HASTA = "2024-12-31T23:59:59";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ClienteClient clienteClient;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM movimiento");
+        jdbcTemplate.update("DELETE FROM cuenta");
+
+        Timestamp creacion = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0));
+        jdbcTemplate.batchUpdate("INSERT INTO cuenta (numero_cuenta, tipo_cuenta, saldo_inicial, estado, cliente_id, "
+                + "fecha_creacion, fecha_actualizacion, version) VALUES (?, 'AHORRO', ?, 'ACTIVA', '1710034065', ?, ?, 0)",
+            List.of(
+                new Object[] {"0000000001", new BigDecimal("1150.00"), creacion, creacion},
+                new Object[] {"0000000002", new BigDecimal("475.00"), creacion, creacion}));
+
+        // Cuenta 1: junio (crédito 200, débito 50) y julio (crédito 25 el mismo día, débito 25 después)
+        // Cuenta 2: junio (débito 25)
+        jdbcTemplate.batchUpdate("INSERT INTO movimiento (fecha, tipo_movimiento, valor, saldo, numero_cuenta) "
+                + "VALUES (?, ?, ?, ?, ?)",
+            List.of(
+                movimiento(2024, 6, 1, 10, "CREDITO", "200.00", "1200.00", "0000000001"),
+                movimiento(2024, 6, 15, 9, "DEBITO", "-50.00", "1150.00", "0000000001"),
+                movimiento(2024, 7, 2, 8, "CREDITO", "25.00", "1175.00", "0000000001"),
+                movimiento(2024, 7, 2, 18, "DEBITO", "-25.00", "1150.00", "0000000001"),
+                movimiento(2024, 6, 20, 12, "DEBITO", "-25.00", "475.00", "0000000002"),
+                // Fuera del rango
+                movimiento(2023, 12, 31, 23, "CREDITO", "999.00", "999.00", "0000000002")));
+    }
+
+    @Test
+    @DisplayName("Debería agrupar por cuenta y mes con totales, mínimo, máximo y saldo final")
+    void testResumenPorMes() throws Exception {
+        // When
+        ResultActions respuesta = resumen("mes");
+
+        // Then
+        respuesta
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.agrupar").value("mes"))
+            .andExpect(jsonPath("$.columnas[8]").value("saldoFinal"))
+            .andExpect(jsonPath("$.filas.length()").value(3))
+            .andExpect(jsonPath("$.filas[0][0]").value("0000000001"))
+            .andExpect(jsonPath("$.filas[0][1]").value("2024-06"))
+            .andExpect(jsonPath("$.filas[0][2]").value(1))
+            .andExpect(jsonPath("$.filas[0][3]").value(200.0))
+            .andExpect(jsonPath("$.filas[0][4]").value(1))
+            .andExpect(jsonPath("$.filas[0][5]").value(-50.0))
+            .andExpect(jsonPath("$.filas[0][6]").value(-50.0))
+            .andExpect(jsonPath("$.filas[0][7]").value(200.0))
+            .andExpect(jsonPath("$.filas[0][8]").value(1150.0))
+            .andExpect(jsonPath("$.filas[1][1]").value("2024-07"))
+            .andExpect(jsonPath("$.filas[1][8]").value(1150.0))
+            .andExpect(jsonPath("$.filas[2][0]").value("0000000002"))
+            .andExpect(jsonPath("$.filas[2][2]").value(0))
+            .andExpect(jsonPath("$.filas[2][3]").value(0.0))
+            .andExpect(jsonPath("$.filas[2][8]").value(475.0));
+    }
+
+    @Test
+    @DisplayName("Debería agrupar por día")
+    void testResumenPorDia() throws Exception {
+        // When
+        ResultActions respuesta = resumen("dia");
+
+        // Then: el 2 de julio tiene dos movimientos y el saldo final es el del último
+        respuesta
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.filas.length()").value(4))
+            .andExpect(jsonPath("$.filas[2][1]").value("2024-07-02"))
+            .andExpect(jsonPath("$.filas[2][2]").value(1))
+            .andExpect(jsonPath("$.filas[2][4]").value(1))
+            .andExpect(jsonPath("$.filas[2][8]").value(1150.0));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una agrupación desconocida")
+    void testAgrupacionInvalida() throws Exception {
+        mockMvc.perform(get("/reportes/resumen").param("desde", DESDE).param("hasta", HASTA).param("agrupar", "semana"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions resumen(String agrupar) throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/reportes/resumen")
+                .param("desde", DESDE)
+                .param("hasta", HASTA)
+                .param("agrupar", agrupar))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(resultado));
+    }
+
+    private static Object[] movimiento(int anio, int mes, int dia, int hora, String tipo, String valor, String saldo,
+                                       String numeroCuenta) {
+        return new Object[] {Timestamp.valueOf(LocalDateTime.of(anio, mes, dia, hora, 0)), tipo,
+            new BigDecimal(valor), new BigDecimal(saldo), numeroCuenta};
+    }
+}
@@ -0,0 +1,57 @@
+package com.proyecto.microcuentas.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Pruebas Unitarias - ConsultasLentas")
+class ConsultasLentasTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConsultasLentas consultasLentas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        consultasLentas = new ConsultasLentas(meterRegistry, Duration.ofMillis(100), 2);
+    }
+
+    @Test
+    @DisplayName("Debería guardar solo las consultas que alcanzan el umbral")
+    void testUmbral() {
+        // When
+        boolean rapida = consultasLentas.registrar("SELECT 1", 99, true);
+        boolean lenta = consultasLentas.registrar("SELECT 2", 100, false);
+
+        // Then
+        assertFalse(rapida);
+        assertTrue(lenta);
+        List<ConsultasLentas.ConsultaLenta> recientes = consultasLentas.recientes();
+        assertEquals(1, recientes.size());
+        assertEquals("SELECT 2", recientes.get(0).sql());
+        assertFalse(recientes.get(0).exito());
+    }
+
+    @Test
+    @DisplayName("Debería descartar la más antigua al llenarse y seguir contando todas")
+    void testBuferCircular() {
+        // When
+        consultasLentas.registrar("SELECT 1", 150, true);
+        consultasLentas.registrar("SELECT 2", 150, true);
+        consultasLentas.registrar("SELECT 3", 150, true);
+
+        // Then
+        assertEquals(List.of("SELECT 3", "SELECT 2"),
+                consultasLentas.recientes().stream().map(ConsultasLentas.ConsultaLenta::sql).toList());
+        assertEquals(3.0, meterRegistry.counter("cuentas.consultas.lentas").count());
+    }
+}
@@ -0,0 +1,49 @@
+package com.proyecto.microcuentas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.proyecto.microcuentas.entity.TipoMovimiento;
+import com.proyecto.microcuentas.exception.SaldoInsuficienteException;
+
+@DisplayName("Pruebas Unitarias - Cálculo de movimientos en centavos")
+class CentavosTest {
+
+    @Test
+    @DisplayName("Debería convertir entre BigDecimal y centavos sin perder precisión")
+    void testConversion() {
+        assertEquals(12_345, Centavos.de(new BigDecimal("123.45")));
+        assertEquals(12_300, Centavos.de(new BigDecimal("123")));
+        assertEquals(-5, Centavos.de(new BigDecimal("-0.05")));
+        assertEquals(new BigDecimal("123.45"), Centavos.aBigDecimal(12_345));
+        assertThrows(IllegalArgumentException.class, () -> Centavos.de(new BigDecimal("0.005")));
+        assertThrows(IllegalArgumentException.class, () -> Centavos.de(new BigDecimal("1E20")));
+    }
+
+    @Test
+    @DisplayName("Debería aplicar el signo del tipo y validar el saldo de los débitos")
+    void testCalcularSaldo() {
+        // Given
+        long saldo = 10_000;
+
+        // When
+        long trasCredito = MovimientoService.calcularSaldo(TipoMovimiento.CREDITO, saldo,
+            TipoMovimiento.de("credito").conSigno(-2_500));
+        long trasDebito = MovimientoService.calcularSaldo(TipoMovimiento.DEBITO, saldo,
+            TipoMovimiento.DEBITO.conSigno(10_000));
+
+        // Then
+        assertEquals(12_500, trasCredito);
+        assertEquals(0, trasDebito);
+        assertThrows(SaldoInsuficienteException.class,
+            () -> MovimientoService.calcularSaldo(TipoMovimiento.DEBITO, saldo, TipoMovimiento.DEBITO.conSigno(10_001)));
+        assertThrows(IllegalArgumentException.class,
+            () -> MovimientoService.calcularSaldo(TipoMovimiento.CREDITO, Long.MAX_VALUE, 1));
+        assertThrows(IllegalArgumentException.class, () -> TipoMovimiento.de("TRANSFERENCIA"));
+    }
+}
@@ -33,7 +33,6 @@ function Show-Help {
     Write-Host "  error     - Logs de error" -ForegroundColor $Red
     Write-Host "  debug     - Logs de debug" -ForegroundColor $Blue
     Write-Host "  sql       - Logs SQL (solo microservicios)" -ForegroundColor $Magenta
-    Write-Host "  feign     - Logs Feign (solo microcuentas)" -ForegroundColor $Magenta
     Write-Host ""
     Write-Host "Comandos especiales:" -ForegroundColor $Cyan
     Write-Host "  search    - Buscar errores en todos los logs" -ForegroundColor $Cyan
@@ -108,7 +107,6 @@ function Show-ServiceLogs {
                 "error" { $logFile = "logs\microcuentas-error.log" }
                 "debug" { $logFile = "logs\microcuentas-debug.log" }
                 "sql" { $logFile = "logs\microcuentas-sql.log" }
-                "feign" { $logFile = "logs\microcuentas-feign.log" }
                 default {
                     Write-Host "❌ Tipo de log no válido para Cuentas: $LogType" -ForegroundColor $Red
                     return
@@ -30,7 +30,6 @@ show_help() {
     echo -e "  ${RED}error${NC}     - Logs de error"
     echo -e "  ${BLUE}debug${NC}     - Logs de debug"
     echo -e "  ${PURPLE}sql${NC}      - Logs SQL (solo microservicios)"
-    echo -e "  ${PURPLE}feign${NC}    - Logs Feign (solo microcuentas)"
     echo ""
     echo "Ejemplos:"
     echo "  $0 eureka info      - Ver logs informativos de Eureka"
@@ -125,9 +124,6 @@ show_service_logs() {
                 "sql")
                     log_file="logs/microcuentas-sql.log"
                     ;;
-                "feign")
-                    log_file="logs/microcuentas-feign.log"
-                    ;;
                 *)
                     echo -e "${RED}❌ Tipo de log no válido para Cuentas: $log_type${NC}"
                     return 1
@@ -0,0 +1,54 @@
+package com.proyecto.comun.logging;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica, por cada ContadorAsyncAppender configurado en logback (perfil prod):
+ * - logging.eventos.descartados: eventos perdidos con la cola llena
+ * - logging.cola.eventos: eventos pendientes de escribir
+ *
+ * Cada servicio lo declara como bean (LoggingConfig).
+ */
+public class AppenderMetricas implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return;
+        }
+        Map<ContadorAsyncAppender, Boolean> appenders = new IdentityHashMap<>();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders();
+            while (it.hasNext()) {
+                if (it.next() instanceof ContadorAsyncAppender appender) {
+                    appenders.put(appender, Boolean.TRUE);
+                }
+            }
+        }
+        for (ContadorAsyncAppender appender : appenders.keySet()) {
+            FunctionCounter.builder("logging.eventos.descartados", appender, ContadorAsyncAppender::getDescartados)
+                    .description("Eventos de log TRACE/DEBUG/INFO descartados por cola llena")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+            Gauge.builder("logging.cola.eventos", appender, ContadorAsyncAppender::getNumberOfElementsInQueue)
+                    .description("Eventos de log en cola pendientes de escribir")
+                    .tag("appender", appender.getName())
+                    .register(registry);
+        }
+    }
+}
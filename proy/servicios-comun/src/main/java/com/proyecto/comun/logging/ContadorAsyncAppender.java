@@ -0,0 +1,31 @@
+package com.proyecto.comun.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * AsyncAppender que cuenta los eventos descartados.
+ *
+ * Con la cola por encima de su umbral (discardingThreshold), AsyncAppender descarta los eventos
+ * TRACE, DEBUG e INFO y conserva WARN y ERROR; aquí solo se cuenta cuántos se perdieron para
+ * publicarlo como métrica (logging.eventos.descartados).
+ */
+public class ContadorAsyncAppender extends AsyncAppender {
+
+    private final LongAdder descartados = new LongAdder();
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean descartable = super.isDiscardable(event);
+        if (descartable) {
+            descartados.increment();
+        }
+        return descartable;
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+}
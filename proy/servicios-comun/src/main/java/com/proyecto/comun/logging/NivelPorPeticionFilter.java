@@ -0,0 +1,71 @@
+package com.proyecto.comun.logging;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Lee la cabecera X-Log-Level (DEBUG o TRACE) y la deja en el MDC durante la petición para
+ * NivelPorPeticionTurboFilter.
+ *
+ * Desactivado por defecto. Con logging.por-peticion.habilitado=true solo se aplica si la
+ * petición trae en X-Log-Level-Token el secreto compartido logging.por-peticion.secreto; sin
+ * secreto configurado la cabecera se ignora. El gateway elimina ambas cabeceras de las
+ * peticiones externas, así que solo las usan llamadas internas.
+ *
+ * Cada servicio lo declara como bean (LoggingConfig) con esas dos propiedades.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class NivelPorPeticionFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Log-Level";
+    public static final String HEADER_TOKEN = "X-Log-Level-Token";
+
+    private static final Logger log = LoggerFactory.getLogger(NivelPorPeticionFilter.class);
+
+    private static final Set<String> NIVELES = Set.of("DEBUG", "TRACE");
+
+    private final byte[] secreto;
+
+    public NivelPorPeticionFilter(boolean habilitado, String secreto) {
+        if (habilitado && secreto.isBlank()) {
+            log.warn("logging.por-peticion.habilitado=true sin logging.por-peticion.secreto: se ignora {}", HEADER);
+        }
+        this.secreto = habilitado && !secreto.isBlank() ? secreto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String nivel = secreto != null ? request.getHeader(HEADER) : null;
+        if (nivel == null || !NIVELES.contains(nivel.toUpperCase()) || !autorizada(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(NivelPorPeticionTurboFilter.MDC_NIVEL, nivel.toUpperCase());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(NivelPorPeticionTurboFilter.MDC_NIVEL);
+        }
+    }
+
+    private boolean autorizada(HttpServletRequest request) {
+        String token = request.getHeader(HEADER_TOKEN);
+        // Comparación en tiempo constante
+        return token != null && MessageDigest.isEqual(secreto, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
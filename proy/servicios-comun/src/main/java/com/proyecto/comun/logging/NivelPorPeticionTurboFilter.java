@@ -0,0 +1,46 @@
+package com.proyecto.comun.logging;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Habilita niveles más detallados solo para una petición.
+ *
+ * NivelPorPeticionFilter deja en el MDC el nivel pedido en la cabecera X-Log-Level; mientras se
+ * atiende esa petición, cualquier evento de ese nivel o superior se acepta aunque el logger esté
+ * configurado más alto. El resto de peticiones no se ve afectado.
+ *
+ * Solo se aplica a los loggers del paquete configurado (por defecto com.proyecto): los de
+ * Hibernate, como BasicBinder con los valores de los parámetros SQL, o los del framework
+ * mantienen siempre su nivel.
+ */
+public class NivelPorPeticionTurboFilter extends TurboFilter {
+
+    public static final String MDC_NIVEL = "nivelLog";
+
+    private String paquete = "com.proyecto";
+
+    public void setPaquete(String paquete) {
+        this.paquete = paquete;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        String nivel = MDC.get(MDC_NIVEL);
+        if (nivel == null || !delPaquete(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        Level pedido = Level.toLevel(nivel, null);
+        return pedido != null && level.isGreaterOrEqual(pedido) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+
+    private boolean delPaquete(String nombre) {
+        return nombre.startsWith(paquete)
+            && (nombre.length() == paquete.length() || nombre.charAt(paquete.length()) == '.');
+    }
+}
@@ -0,0 +1,131 @@
+package com.proyecto.comun.trazas;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+
+/**
+ * Exportador local de spans: guarda los últimos spans terminados en memoria, sin colector externo.
+ *
+ * Es un búfer circular de tamaño fijo (clientes.trazas.capacidad o cuentas.trazas.capacidad, según
+ * el servicio); al llenarse se descarta el span más antiguo. Se consulta en /actuator/trazas y
+ * /actuator/trazas/{traceId}; el mismo traceId aparece en el gateway, microclientes y microcuentas,
+ * cada servicio con sus propios spans.
+ *
+ * Cada servicio lo declara como bean (TrazasConfig) con su propiedad de capacidad.
+ */
+public class AlmacenSpans extends SpanHandler {
+
+    /**
+     * @param inicio instante de inicio del span
+     * @param duracionMicros duración en microsegundos
+     * @param tipo SERVER, CLIENT o null para spans locales (por ejemplo las consultas JDBC)
+     */
+    public record SpanRegistrado(String traceId, String spanId, String parentId, String servicio, String nombre,
+                                 String tipo, Instant inicio, long duracionMicros, Map<String, String> tags,
+                                 String error) {
+    }
+
+    /**
+     * Resumen de una traza: su span raíz en este servicio y el número de spans guardados
+     */
+    public record ResumenTraza(String traceId, String nombre, Instant inicio, long duracionMicros, int spans) {
+    }
+
+    private final int capacidad;
+    private final ArrayDeque<SpanRegistrado> spans;
+
+    public AlmacenSpans(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad del almacén de spans debe ser mayor que 0");
+        }
+        this.capacidad = capacidad;
+        this.spans = new ArrayDeque<>(capacidad);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.forEachTag(Map::put, tags);
+        Throwable error = span.error();
+        SpanRegistrado registrado = new SpanRegistrado(
+                context.traceIdString(),
+                context.spanIdString(),
+                context.parentIdString(),
+                span.localServiceName(),
+                span.name(),
+                span.kind() != null ? span.kind().name() : null,
+                Instant.ofEpochSecond(0, span.startTimestamp() * 1000),
+                span.finishTimestamp() - span.startTimestamp(),
+                tags,
+                error != null ? error.toString() : span.tag("error"));
+        synchronized (spans) {
+            if (spans.size() == capacidad) {
+                spans.pollFirst();
+            }
+            spans.addLast(registrado);
+        }
+        return true;
+    }
+
+    /**
+     * Spans de una traza en este servicio, en orden de inicio
+     */
+    public List<SpanRegistrado> traza(String traceId) {
+        List<SpanRegistrado> resultado = new ArrayList<>();
+        synchronized (spans) {
+            for (SpanRegistrado span : spans) {
+                if (span.traceId().equals(traceId)) {
+                    resultado.add(span);
+                }
+            }
+        }
+        resultado.sort(Comparator.comparing(SpanRegistrado::inicio));
+        return resultado;
+    }
+
+    /**
+     * Últimas trazas, de la más reciente a la más antigua
+     * @param limite número máximo de trazas
+     */
+    public List<ResumenTraza> recientes(int limite) {
+        Map<String, List<SpanRegistrado>> porTraza = new LinkedHashMap<>();
+        synchronized (spans) {
+            Iterator<SpanRegistrado> it = spans.descendingIterator();
+            while (it.hasNext()) {
+                SpanRegistrado span = it.next();
+                List<SpanRegistrado> lista = porTraza.get(span.traceId());
+                if (lista == null) {
+                    if (porTraza.size() == limite) {
+                        continue;
+                    }
+                    lista = new ArrayList<>();
+                    porTraza.put(span.traceId(), lista);
+                }
+                lista.add(span);
+            }
+        }
+        List<ResumenTraza> resumen = new ArrayList<>(porTraza.size());
+        porTraza.forEach((traceId, lista) -> {
+            // Raíz en este servicio: el span cuyo padre no está entre los guardados (o el más largo)
+            SpanRegistrado raiz = lista.stream()
+                    .filter(span -> lista.stream().noneMatch(otro -> otro.spanId().equals(span.parentId())))
+                    .max(Comparator.comparingLong(SpanRegistrado::duracionMicros))
+                    .orElse(lista.get(0));
+            resumen.add(new ResumenTraza(traceId, raiz.nombre(), raiz.inicio(), raiz.duracionMicros(), lista.size()));
+        });
+        return resumen;
+    }
+}
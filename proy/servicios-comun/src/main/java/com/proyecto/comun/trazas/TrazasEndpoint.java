@@ -0,0 +1,35 @@
+package com.proyecto.comun.trazas;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+/**
+ * GET /actuator/trazas?limite=n: últimas trazas con su duración en este servicio.
+ * GET /actuator/trazas/{traceId}: spans de la traza en este servicio (petición HTTP, consultas JDBC,
+ * llamadas a otros servicios).
+ */
+@Endpoint(id = "trazas")
+public class TrazasEndpoint {
+
+    private static final int LIMITE_POR_DEFECTO = 50;
+
+    private final AlmacenSpans almacenSpans;
+
+    public TrazasEndpoint(AlmacenSpans almacenSpans) {
+        this.almacenSpans = almacenSpans;
+    }
+
+    @ReadOperation
+    public List<AlmacenSpans.ResumenTraza> recientes(@Nullable Integer limite) {
+        return almacenSpans.recientes(limite != null && limite > 0 ? limite : LIMITE_POR_DEFECTO);
+    }
+
+    @ReadOperation
+    public List<AlmacenSpans.SpanRegistrado> traza(@Selector String traceId) {
+        return almacenSpans.traza(traceId);
+    }
+}
@@ -0,0 +1,42 @@
+package com.proyecto.comun.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+@DisplayName("Pruebas Unitarias - ContadorAsyncAppender")
+class ContadorAsyncAppenderTest {
+
+    @Test
+    @DisplayName("Debería descartar y contar solo eventos por debajo de WARN")
+    void testDescartaPorDebajoDeWarn() {
+        // Given
+        ContadorAsyncAppender appender = new ContadorAsyncAppender();
+
+        // When
+        boolean debug = appender.isDiscardable(evento(Level.DEBUG));
+        boolean info = appender.isDiscardable(evento(Level.INFO));
+        boolean warn = appender.isDiscardable(evento(Level.WARN));
+        boolean error = appender.isDiscardable(evento(Level.ERROR));
+
+        // Then
+        assertTrue(debug);
+        assertTrue(info);
+        assertFalse(warn);
+        assertFalse(error);
+        assertEquals(2, appender.getDescartados());
+    }
+
+    private static LoggingEvent evento(Level level) {
+        LoggingEvent evento = new LoggingEvent();
+        evento.setLevel(level);
+        evento.setMessage("mensaje");
+        return evento;
+    }
+}
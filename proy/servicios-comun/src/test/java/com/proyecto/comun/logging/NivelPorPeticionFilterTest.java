@@ -0,0 +1,62 @@
+package com.proyecto.comun.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+
+@DisplayName("Pruebas Unitarias - NivelPorPeticionFilter")
+class NivelPorPeticionFilterTest {
+
+    private final AtomicReference<String> nivelEnPeticion = new AtomicReference<>();
+    private final FilterChain chain = (request, response) ->
+        nivelEnPeticion.set(MDC.get(NivelPorPeticionTurboFilter.MDC_NIVEL));
+
+    @Test
+    @DisplayName("Debería aplicar el nivel solo con el secreto correcto")
+    void testRequiereSecreto() throws Exception {
+        // Given
+        NivelPorPeticionFilter filtro = new NivelPorPeticionFilter(true, "s3creto");
+
+        // When & Then
+        filtro.doFilter(peticion("TRACE", "s3creto"), new MockHttpServletResponse(), chain);
+        assertEquals("TRACE", nivelEnPeticion.get());
+        assertNull(MDC.get(NivelPorPeticionTurboFilter.MDC_NIVEL));
+
+        filtro.doFilter(peticion("TRACE", "otro"), new MockHttpServletResponse(), chain);
+        assertNull(nivelEnPeticion.get());
+
+        filtro.doFilter(peticion("TRACE", null), new MockHttpServletResponse(), chain);
+        assertNull(nivelEnPeticion.get());
+    }
+
+    @Test
+    @DisplayName("Debería ignorar la cabecera si está desactivado o no hay secreto configurado")
+    void testDesactivado() throws Exception {
+        // When & Then
+        new NivelPorPeticionFilter(false, "s3creto")
+            .doFilter(peticion("DEBUG", "s3creto"), new MockHttpServletResponse(), chain);
+        assertNull(nivelEnPeticion.get());
+
+        new NivelPorPeticionFilter(true, "")
+            .doFilter(peticion("DEBUG", ""), new MockHttpServletResponse(), chain);
+        assertNull(nivelEnPeticion.get());
+    }
+
+    private static MockHttpServletRequest peticion(String nivel, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clientes/CLI001");
+        request.addHeader(NivelPorPeticionFilter.HEADER, nivel);
+        if (token != null) {
+            request.addHeader(NivelPorPeticionFilter.HEADER_TOKEN, token);
+        }
+        return request;
+    }
+}
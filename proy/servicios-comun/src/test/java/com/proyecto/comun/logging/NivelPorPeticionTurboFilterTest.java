@@ -0,0 +1,60 @@
+package com.proyecto.comun.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+@DisplayName("Pruebas Unitarias - NivelPorPeticionTurboFilter")
+class NivelPorPeticionTurboFilterTest {
+
+    private final NivelPorPeticionTurboFilter filtro = new NivelPorPeticionTurboFilter();
+    private final Logger logger = new LoggerContext().getLogger("com.proyecto.microclientes.service");
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Debería aceptar eventos del nivel pedido en la petición aunque el logger esté más alto")
+    void testAceptaNivelPedido() {
+        // Given
+        logger.setLevel(Level.WARN);
+        MDC.put(NivelPorPeticionTurboFilter.MDC_NIVEL, "DEBUG");
+
+        // When & Then
+        assertEquals(FilterReply.ACCEPT, filtro.decide(null, logger, Level.DEBUG, "mensaje", null, null));
+        assertEquals(FilterReply.ACCEPT, filtro.decide(null, logger, Level.INFO, "mensaje", null, null));
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, logger, Level.TRACE, "mensaje", null, null));
+    }
+
+    @Test
+    @DisplayName("Debería dejar decidir al logger si la petición no pide nivel")
+    void testSinNivelPedido() {
+        // When & Then
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, logger, Level.DEBUG, "mensaje", null, null));
+    }
+
+    @Test
+    @DisplayName("No debería subir el nivel de los loggers fuera de com.proyecto")
+    void testLoggerFueraDelPaquete() {
+        // Given
+        Logger binder = logger.getLoggerContext().getLogger("org.hibernate.type.descriptor.sql.BasicBinder");
+        binder.setLevel(Level.WARN);
+        Logger parecido = logger.getLoggerContext().getLogger("com.proyectoajeno.servicio");
+        MDC.put(NivelPorPeticionTurboFilter.MDC_NIVEL, "TRACE");
+
+        // When & Then
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, binder, Level.TRACE, "mensaje", null, null));
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, parecido, Level.TRACE, "mensaje", null, null));
+        assertEquals(FilterReply.ACCEPT, filtro.decide(null, logger, Level.TRACE, "mensaje", null, null));
+    }
+}
@@ -0,0 +1,69 @@
+package com.proyecto.comun.trazas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import brave.Span.Kind;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler.Cause;
+import brave.propagation.TraceContext;
+
+@DisplayName("Pruebas Unitarias - AlmacenSpans")
+class AlmacenSpansTest {
+
+    @Test
+    @DisplayName("Debería devolver los spans de una traza en orden de inicio y resumirla por su raíz")
+    void testTraza() {
+        // Given
+        AlmacenSpans almacen = new AlmacenSpans(10);
+        terminar(almacen, 1, 3, 2L, "jdbc.query", null, 1_100, 1_400);
+        terminar(almacen, 1, 2, null, "http get /reportes/estado-cuenta/{numerocuenta}", Kind.SERVER, 1_000, 2_000);
+        terminar(almacen, 7, 8, null, "http get /cuentas", Kind.SERVER, 3_000, 3_100);
+
+        // When
+        List<AlmacenSpans.SpanRegistrado> traza = almacen.traza(TraceContext.newBuilder().traceId(1).spanId(1).build().traceIdString());
+        List<AlmacenSpans.ResumenTraza> recientes = almacen.recientes(10);
+
+        // Then
+        assertEquals(List.of("http get /reportes/estado-cuenta/{numerocuenta}", "jdbc.query"),
+                traza.stream().map(AlmacenSpans.SpanRegistrado::nombre).toList());
+        assertEquals(300, traza.get(1).duracionMicros());
+        assertEquals(2, recientes.size());
+        assertEquals("http get /cuentas", recientes.get(0).nombre());
+        assertEquals("http get /reportes/estado-cuenta/{numerocuenta}", recientes.get(1).nombre());
+        assertEquals(2, recientes.get(1).spans());
+    }
+
+    @Test
+    @DisplayName("Debería descartar el span más antiguo al llenarse")
+    void testCapacidad() {
+        // Given
+        AlmacenSpans almacen = new AlmacenSpans(2);
+
+        // When
+        terminar(almacen, 1, 1, null, "a", Kind.SERVER, 0, 10);
+        terminar(almacen, 2, 2, null, "b", Kind.SERVER, 10, 20);
+        terminar(almacen, 3, 3, null, "c", Kind.SERVER, 20, 30);
+
+        // Then
+        assertTrue(almacen.traza(TraceContext.newBuilder().traceId(1).spanId(1).build().traceIdString()).isEmpty());
+        assertEquals(List.of("c", "b"), almacen.recientes(10).stream().map(AlmacenSpans.ResumenTraza::nombre).toList());
+    }
+
+    private static void terminar(AlmacenSpans almacen, long traceId, long spanId, Long parentId, String nombre,
+                                 Kind tipo, long inicioMicros, long finMicros) {
+        TraceContext contexto = TraceContext.newBuilder().traceId(traceId).spanId(spanId).parentId(parentId).build();
+        MutableSpan span = new MutableSpan();
+        span.name(nombre);
+        span.kind(tipo);
+        span.localServiceName("microcuentas");
+        span.startTimestamp(inicioMicros);
+        span.finishTimestamp(finMicros);
+        almacen.end(contexto, span, Cause.FINISHED);
+    }
+}
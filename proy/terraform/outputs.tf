@@ -125,10 +125,10 @@ output "deployment_instructions" {
        az aks get-credentials --resource-group ${azurerm_resource_group.rg.name} --name ${azurerm_kubernetes_cluster.aks.name}
     
     2. Construir y subir las imágenes Docker:
-       docker build -t [registry].azurecr.io/eureka-server:latest ../eureka-server/
+       docker build -t [registry].azurecr.io/eureka-server:latest -f ../eureka-server/Dockerfile ..
        docker build -t [registry].azurecr.io/microclientes:latest ../microclientes/microclientes/
-       docker build -t [registry].azurecr.io/microcuentas:latest ../microcuentas/microcuentas/
-       docker build -t [registry].azurecr.io/gateway:latest ../gateway/gateway/
+       docker build -t [registry].azurecr.io/microcuentas:latest -f ../microcuentas/microcuentas/Dockerfile ..
+       docker build -t [registry].azurecr.io/gateway:latest -f ../gateway/gateway/Dockerfile ..
     
     3. Aplicar los manifiestos de Kubernetes:
        kubectl apply -f k8s-manifests/